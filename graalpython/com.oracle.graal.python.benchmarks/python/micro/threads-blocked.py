@@ -0,0 +1,88 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Many mostly blocked threads, like in a thread-per-connection server. Meant to be compared with and
+# without --python.VirtualThreads.
+
+import socket
+import threading
+import time
+
+SLEEPING_THREADS = 10_000
+# each socket thread needs two file descriptors, stay well below the usual limit of 1024
+SOCKET_THREADS = 256
+
+
+def sleeper(barrier):
+    barrier.wait()
+    time.sleep(0.05)
+
+
+def echo(sock):
+    with sock:
+        data = sock.recv(64)
+        sock.sendall(data)
+
+
+def run_once():
+    barrier = threading.Barrier(SLEEPING_THREADS)
+    threads = [threading.Thread(target=sleeper, args=(barrier,)) for _ in range(SLEEPING_THREADS)]
+    pairs = [socket.socketpair() for _ in range(SOCKET_THREADS)]
+    threads += [threading.Thread(target=echo, args=(server,)) for server, _ in pairs]
+    for t in threads:
+        t.start()
+    received = 0
+    for _, client in pairs:
+        with client:
+            client.sendall(b"ping")
+            received += len(client.recv(64))
+    for t in threads:
+        t.join()
+    return received
+
+
+def measure(num):
+    result = 0
+    for _ in range(num):
+        result = run_once()
+    return result
+
+
+def __benchmark__(num=10):
+    return measure(num)
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023, 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.graalvm.python.embedding.utils.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.python.embedding.utils.GraalPyContextPool;
+import org.graalvm.python.embedding.utils.VirtualFileSystem;
+import org.junit.Test;
+
+public class GraalPyContextPoolTest {
+
+    static final String PYTHON = "python";
+
+    private static GraalPyContextPool.Builder poolBuilder() {
+        VirtualFileSystem fs = VirtualFileSystem.newBuilder().resourceLoadingClass(GraalPyContextPoolTest.class).build();
+        return GraalPyContextPool.newBuilder().size(2).virtualFileSystem(fs);
+    }
+
+    @Test
+    public void preloadModules() {
+        try (GraalPyContextPool pool = poolBuilder().preloadModules("json", "os.path").build()) {
+            Context context = pool.acquire();
+            try {
+                assertEquals("[1]", context.eval(PYTHON, "json.dumps([1])").asString());
+                assertTrue(context.eval(PYTHON, "os.path.isabs('/')").asBoolean());
+            } finally {
+                pool.release(context);
+            }
+        }
+    }
+
+    @Test
+    public void singleUse() {
+        try (GraalPyContextPool pool = poolBuilder().build()) {
+            Context first = pool.acquire();
+            first.eval(PYTHON, "leaked = 42");
+            pool.release(first);
+            Context second = pool.acquire();
+            try {
+                assertNotSame(first, second);
+                assertFalse(second.eval(PYTHON, "'leaked' in globals()").asBoolean());
+            } finally {
+                pool.release(second);
+            }
+            GraalPyContextPool.Statistics statistics = pool.getStatistics();
+            assertEquals(2, statistics.getHits() + statistics.getMisses());
+            assertEquals(1, statistics.getContextsDiscarded());
+            assertEquals(0, statistics.getContextsReused());
+            assertTrue(statistics.getContextsCreated() >= 2);
+        }
+    }
+
+    @Test
+    public void reuseWithReset() {
+        try (GraalPyContextPool pool = poolBuilder().size(1).maxUses(2).resetAction(c -> c.eval(PYTHON, "globals().pop('leaked', None)")).build()) {
+            Context first = pool.acquire();
+            first.eval(PYTHON, "leaked = 42");
+            pool.release(first);
+            Context second = pool.acquire();
+            try {
+                assertSame(first, second);
+                assertFalse(second.eval(PYTHON, "'leaked' in globals()").asBoolean());
+            } finally {
+                pool.release(second);
+            }
+            GraalPyContextPool.Statistics statistics = pool.getStatistics();
+            assertEquals(1, statistics.getContextsReused());
+            assertTrue(statistics.getTotalResetTime().toNanos() > 0);
+        }
+    }
+
+    @Test
+    public void failingResetDiscards() {
+        try (GraalPyContextPool pool = poolBuilder().maxUses(10).resetAction(c -> c.eval(PYTHON, "raise RuntimeError")).build()) {
+            Context first = pool.acquire();
+            pool.release(first);
+            assertEquals(0, pool.getStatistics().getContextsReused());
+            assertEquals(1, pool.getStatistics().getContextsDiscarded());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void releaseForeignContext() {
+        try (GraalPyContextPool pool = poolBuilder().size(1).build(); Context context = Context.create(PYTHON)) {
+            pool.release(context);
+        }
+    }
+}
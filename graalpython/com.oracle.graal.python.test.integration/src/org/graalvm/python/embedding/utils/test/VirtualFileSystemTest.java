@@ -42,18 +42,33 @@
 package org.graalvm.python.embedding.utils.test;
 
 import static com.oracle.graal.python.test.integration.Utils.IS_WINDOWS;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.HostAccess;
@@ -61,6 +76,7 @@ import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.io.FileSystem;
 import org.graalvm.polyglot.io.IOAccess;
 import org.graalvm.python.embedding.utils.GraalPyResources;
+import org.graalvm.python.embedding.tools.vfs.VFSUtils;
 import org.graalvm.python.embedding.utils.VirtualFileSystem;
 import org.junit.Test;
 
@@ -519,4 +535,186 @@ public class VirtualFileSystemTest {
         }
     }
 
+    /**
+     * Loaded from a class loader that only sees a generated archive, see
+     * {@link #archiveResourcesClass}.
+     */
+    public static final class ArchiveResources {
+    }
+
+    private static final byte[] COMPRESSIBLE = "compressible contents ".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Creates a virtual filesystem source tree and packs it with
+     * {@link VFSUtils#generateVFSArchive}. Returns a class whose resources are the packed archive,
+     * either as a plain file or inside a jar.
+     */
+    private static Class<?> archiveResourcesClass(boolean compress, boolean jar) throws Exception {
+        Path tmp = Files.createTempDirectory("vfs-archive-test");
+        Path vfs = tmp.resolve("src").resolve("org.graalvm.python.vfs");
+        Files.createDirectories(vfs.resolve("dir1").resolve("sub"));
+        Files.createDirectories(vfs.resolve("dir1-x"));
+        Files.createDirectories(vfs.resolve("emptydir"));
+        Files.writeString(vfs.resolve("file1"), "text1\ntext2\n");
+        Files.write(vfs.resolve("dir1").resolve("file2"), COMPRESSIBLE);
+        Files.writeString(vfs.resolve("dir1").resolve("sub").resolve("file3"), "file3");
+        Files.writeString(vfs.resolve("dir1-x").resolve("file4"), "file4");
+
+        Path classes = tmp.resolve("classes");
+        VFSUtils.generateVFSArchive(classes.resolve("org.graalvm.python.vfs").resolve("vfs.pack"), compress, vfs);
+        String classFile = ArchiveResources.class.getName().replace('.', '/') + ".class";
+        try (InputStream in = VirtualFileSystemTest.class.getClassLoader().getResourceAsStream(classFile)) {
+            Path target = classes.resolve(classFile);
+            Files.createDirectories(target.getParent());
+            Files.copy(in, target);
+        }
+        URL url = classes.toUri().toURL();
+        if (jar) {
+            Path jarFile = tmp.resolve("resources.jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile))) {
+                for (String name : new String[]{"org.graalvm.python.vfs/vfs.pack", classFile}) {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(classes.resolve(name), out);
+                    out.closeEntry();
+                }
+            }
+            url = jarFile.toUri().toURL();
+        }
+        // no parent, so that the archive is the only virtual filesystem resource
+        return new URLClassLoader(new URL[]{url}, null).loadClass(ArchiveResources.class.getName());
+    }
+
+    private static VirtualFileSystem archiveFileSystem(Class<?> resourcesClass, boolean caseInsensitive) {
+        return VirtualFileSystem.newBuilder().//
+                        unixMountPoint(VFS_MOUNT_POINT).//
+                        windowsMountPoint(VFS_WIN_MOUNT_POINT).//
+                        caseInsensitive(caseInsensitive).//
+                        resourceLoadingClass(resourcesClass).build();
+    }
+
+    private static Path vfsPath(String... names) {
+        return Path.of(VFS_MOUNT_POINT, names);
+    }
+
+    private static byte[] readAll(FileSystem fs, Path path) throws IOException {
+        try (SeekableByteChannel ch = fs.newByteChannel(path, Set.of(StandardOpenOption.READ))) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) ch.size());
+            while (buffer.hasRemaining() && ch.read(buffer) > 0) {
+                // keep reading
+            }
+            return buffer.array();
+        }
+    }
+
+    private static Set<String> list(FileSystem fs, Path dir) throws IOException {
+        Set<String> names = new TreeSet<>();
+        try (DirectoryStream<Path> stream = fs.newDirectoryStream(dir, p -> true)) {
+            for (Path p : stream) {
+                names.add(p.getFileName().toString());
+            }
+        }
+        return names;
+    }
+
+    @Test
+    public void archiveRoundTrip() throws Exception {
+        for (boolean compress : new boolean[]{false, true}) {
+            for (boolean jar : new boolean[]{false, true}) {
+                Class<?> resourcesClass = archiveResourcesClass(compress, jar);
+                try (VirtualFileSystem vfs = archiveFileSystem(resourcesClass, false)) {
+                    FileSystem fs = vfs;
+                    assertEquals(Set.of("dir1", "dir1-x", "emptydir", "file1"), list(fs, Path.of(VFS_MOUNT_POINT)));
+                    assertEquals(Set.of("file2", "sub"), list(fs, vfsPath("dir1")));
+                    assertEquals(Set.of("file3"), list(fs, vfsPath("dir1", "sub")));
+                    assertEquals(Set.of(), list(fs, vfsPath("emptydir")));
+
+                    assertEquals(Boolean.TRUE, fs.readAttributes(vfsPath("dir1", "sub"), "isDirectory").get("isDirectory"));
+                    assertEquals(Boolean.TRUE, fs.readAttributes(vfsPath("dir1", "file2"), "isRegularFile").get("isRegularFile"));
+                    assertEquals((long) COMPRESSIBLE.length, fs.readAttributes(vfsPath("dir1", "file2"), "size").get("size"));
+
+                    assertEquals("text1\ntext2\n", new String(readAll(fs, vfsPath("file1")), StandardCharsets.UTF_8));
+                    assertArrayEquals(COMPRESSIBLE, readAll(fs, vfsPath("dir1", "file2")));
+                    assertArrayEquals(COMPRESSIBLE, readAll(fs, vfsPath("dir1", "file2")));
+                    assertEquals("file4", new String(readAll(fs, vfsPath("dir1-x", "file4")), StandardCharsets.UTF_8));
+
+                    try {
+                        fs.readAttributes(vfsPath("dir1", "doesnotexist"), "size");
+                        fail("expected NoSuchFileException");
+                    } catch (NoSuchFileException e) {
+                        // expected
+                    }
+                }
+                // the archive is shared by all virtual filesystems reading it
+                try (VirtualFileSystem vfs = archiveFileSystem(resourcesClass, true)) {
+                    FileSystem fs = vfs;
+                    assertEquals("file3", new String(readAll(fs, vfsPath("DIR1", "Sub", "FILE3")), StandardCharsets.UTF_8));
+                    assertEquals(Set.of("file2", "sub"), list(fs, vfsPath("Dir1")));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void archiveEntryChannel() throws Exception {
+        try (VirtualFileSystem vfs = archiveFileSystem(archiveResourcesClass(false, false), false)) {
+            FileSystem fs = vfs;
+            SeekableByteChannel ch = fs.newByteChannel(vfsPath("dir1", "file2"), Set.of(StandardOpenOption.READ));
+            assertEquals(COMPRESSIBLE.length, ch.size());
+            ByteBuffer buffer = ByteBuffer.allocate(5);
+            assertEquals(5, ch.read(buffer));
+            assertEquals("compr", new String(buffer.array(), StandardCharsets.UTF_8));
+            assertEquals(5, ch.position());
+
+            ch.position(COMPRESSIBLE.length - 3);
+            buffer = ByteBuffer.allocate(10);
+            assertEquals(3, ch.read(buffer));
+            assertEquals("ts ", new String(buffer.array(), 0, 3, StandardCharsets.UTF_8));
+            assertEquals(-1, ch.read(buffer));
+
+            ch.position(COMPRESSIBLE.length + 10);
+            assertEquals(-1, ch.read(ByteBuffer.allocate(1)));
+
+            ch.close();
+            try {
+                ch.read(ByteBuffer.allocate(1));
+                fail("expected ClosedChannelException");
+            } catch (ClosedChannelException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void archiveDataCache() throws Exception {
+        Class<?> resourcesClass = archiveResourcesClass(true, false);
+        // keeps at most one of the inflated files
+        System.setProperty("graalpy.vfs.maxCachedBytes", String.valueOf(COMPRESSIBLE.length + 10));
+        VirtualFileSystem vfs;
+        try {
+            vfs = archiveFileSystem(resourcesClass, false);
+        } finally {
+            System.clearProperty("graalpy.vfs.maxCachedBytes");
+        }
+        try (vfs) {
+            FileSystem fs = vfs;
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(COMPRESSIBLE, readAll(fs, vfsPath("dir1", "file2")));
+                assertEquals("text1\ntext2\n", new String(readAll(fs, vfsPath("file1")), StandardCharsets.UTF_8));
+                assertEquals("file3", new String(readAll(fs, vfsPath("dir1", "sub", "file3")), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void archiveExtractResources() throws Exception {
+        Path resourcesDir = Files.createTempDirectory("vfs-test-archive-resources");
+        try (VirtualFileSystem vfs = archiveFileSystem(archiveResourcesClass(true, true), false)) {
+            GraalPyResources.extractVirtualFileSystemResources(vfs, resourcesDir);
+        }
+        checkExtractedFile(resourcesDir.resolve("file1"), new String[]{"text1", "text2"});
+        assertArrayEquals(COMPRESSIBLE, Files.readAllBytes(resourcesDir.resolve("dir1").resolve("file2")));
+        assertEquals("file4", Files.readString(resourcesDir.resolve("dir1-x").resolve("file4")));
+        assertTrue(Files.isDirectory(resourcesDir.resolve("emptydir")));
+    }
+
 }
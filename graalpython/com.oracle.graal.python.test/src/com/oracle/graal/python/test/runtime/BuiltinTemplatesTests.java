@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___DOC__;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.junit.Test;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.nodes.BuiltinNames;
+import com.oracle.graal.python.runtime.PythonContext;
+
+public class BuiltinTemplatesTests {
+
+    private static final class BuiltinInfo {
+        PythonLanguage language;
+        PBuiltinFunction function;
+        Object doc;
+    }
+
+    private static BuiltinInfo getLen(Engine engine) {
+        Context.Builder builder = Context.newBuilder("python");
+        if (engine != null) {
+            builder.engine(engine);
+        }
+        try (Context context = builder.build()) {
+            context.initialize("python");
+            context.enter();
+            try {
+                BuiltinInfo info = new BuiltinInfo();
+                PythonContext pythonContext = PythonContext.get(null);
+                info.language = pythonContext.getLanguage();
+                info.function = (PBuiltinFunction) pythonContext.getBuiltins().getAttribute(BuiltinNames.T_LEN);
+                info.doc = info.function.getAttribute(T___DOC__);
+                return info;
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    @Test
+    public void templatesAreSharedBetweenContexts() {
+        try (Engine engine = Engine.newBuilder("python").build()) {
+            BuiltinInfo first = getLen(engine);
+            BuiltinInfo second = getLen(engine);
+            assertSame(first.language, second.language);
+            // the function objects belong to the contexts ...
+            assertNotSame(first.function, second.function);
+            // ... but are created from the same template
+            assertSame(first.function.getCallTarget(), second.function.getCallTarget());
+            assertSame(first.doc, second.doc);
+        }
+    }
+
+    @Test
+    public void templatesAreNotSharedWithoutEngine() {
+        BuiltinInfo first = getLen(null);
+        BuiltinInfo second = getLen(null);
+        assertNotSame(first.doc, second.doc);
+    }
+}
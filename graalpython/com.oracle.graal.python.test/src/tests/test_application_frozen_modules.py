@@ -0,0 +1,142 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import importlib.util
+import marshal
+import os
+import struct
+import subprocess
+import sys
+import tempfile
+import unittest
+
+IS_GRAALPY = sys.implementation.name == 'graalpy'
+
+# the magic number is 21000 + 10 * the bytecode version of the compiler
+BYTECODE_VERSION = (int.from_bytes(importlib.util.MAGIC_NUMBER[:2], 'little') - 21000) // 10
+
+# a name outside of the BMP, which modified UTF-8 would encode differently
+SUPPLEMENTARY_NAME = 'appfrozen_\U00020000'
+
+MODULES = {
+    'appfrozen_pkg': (True, 'VALUE = 42\n'),
+    'appfrozen_pkg.mod': (False, 'from . import VALUE\nNAME = __name__\n'),
+    SUPPLEMENTARY_NAME: (False, 'VALUE = "supplementary"\n'),
+}
+
+
+def write_frozen_modules(path, version=BYTECODE_VERSION):
+    # the same format as written by VFSUtils#freezeModules in the embedding tools
+    with open(path, 'wb') as f:
+        f.write(b'GPYFRZ\x00\x01')
+        f.write(struct.pack('>I', version))
+        f.write(struct.pack('>I', len(MODULES)))
+        for name, (is_package, source) in sorted(MODULES.items()):
+            encoded = name.encode('utf-8')
+            f.write(struct.pack('>H', len(encoded)) + encoded)
+            code = marshal.dumps(compile(source, f'<frozen {name}>', 'exec'))
+            f.write(struct.pack('>?I', is_package, len(code)) + code)
+
+
+def run_with_frozen_modules(path, code):
+    return subprocess.run([sys.executable, '-I', f'--python.ApplicationFrozenModules={path}', '-c', code],
+                          capture_output=True, text=True)
+
+
+@unittest.skipUnless(IS_GRAALPY, "GraalPy specific")
+class ApplicationFrozenModulesTests(unittest.TestCase):
+    def setUp(self):
+        self.tmpdir = tempfile.TemporaryDirectory()
+        self.path = os.path.join(self.tmpdir.name, 'frozen_modules.bin')
+
+    def tearDown(self):
+        self.tmpdir.cleanup()
+
+    def test_import(self):
+        write_frozen_modules(self.path)
+        result = run_with_frozen_modules(self.path, f'''if True:
+            import importlib, importlib.machinery
+            import appfrozen_pkg.mod
+            assert appfrozen_pkg.VALUE == 42
+            assert appfrozen_pkg.mod.NAME == 'appfrozen_pkg.mod'
+            assert appfrozen_pkg.mod.__loader__ is importlib.machinery.FrozenImporter
+            assert importlib.import_module({SUPPLEMENTARY_NAME!r}).VALUE == 'supplementary'
+            print('ok')
+        ''')
+        self.assertEqual(result.returncode, 0, result.stderr)
+        self.assertEqual(result.stdout.strip(), 'ok')
+
+    def test_find_frozen_fallback(self):
+        write_frozen_modules(self.path)
+        result = run_with_frozen_modules(self.path, f'''if True:
+            import _imp
+            # the modules frozen into GraalPy are still found first
+            assert _imp.find_frozen('zipimport') is not None
+            assert _imp.find_frozen('appfrozen_pkg') is not None
+            assert _imp.is_frozen_package('appfrozen_pkg')
+            assert _imp.is_frozen('appfrozen_pkg.mod')
+            assert not _imp.is_frozen_package('appfrozen_pkg.mod')
+            assert _imp.is_frozen({SUPPLEMENTARY_NAME!r})
+            assert _imp.find_frozen('appfrozen_missing') is None
+            print('ok')
+        ''')
+        self.assertEqual(result.returncode, 0, result.stderr)
+        self.assertEqual(result.stdout.strip(), 'ok')
+
+    def test_other_bytecode_version(self):
+        write_frozen_modules(self.path, BYTECODE_VERSION + 1)
+        result = run_with_frozen_modules(self.path, '''if True:
+            import _imp
+            assert _imp.find_frozen('appfrozen_pkg') is None
+            try:
+                import appfrozen_pkg
+            except ModuleNotFoundError:
+                print('ok')
+        ''')
+        self.assertEqual(result.returncode, 0, result.stderr)
+        self.assertEqual(result.stdout.strip(), 'ok')
+
+    def test_missing_file(self):
+        result = run_with_frozen_modules(self.path, '''if True:
+            import _imp
+            assert _imp.find_frozen('appfrozen_pkg') is None
+            assert _imp.find_frozen('zipimport') is not None
+            print('ok')
+        ''')
+        self.assertEqual(result.returncode, 0, result.stderr)
+        self.assertEqual(result.stdout.strip(), 'ok')
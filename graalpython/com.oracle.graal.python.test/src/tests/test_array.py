@@ -111,3 +111,87 @@ def test_array_native_storage():
     del a[2:]
     a.insert(1, -1)
     assert a == array('l', [1, -1, 3])
+
+
+def test_tolist():
+    for typecode, items in [
+        ('b', [-128, 0, 127]),
+        ('B', [0, 128, 255]),
+        ('h', [-32768, 0, 32767]),
+        ('H', [0, 32768, 65535]),
+        ('i', [-2 ** 31, 0, 2 ** 31 - 1]),
+        ('I', [0, 2 ** 31, 2 ** 32 - 1]),
+        ('q', [-2 ** 63, 0, 2 ** 63 - 1]),
+        ('Q', [0, 2 ** 63 - 1]),
+        ('Q', [0, 2 ** 63, 2 ** 64 - 1]),
+        ('f', [-1.5, 0.0, 0.25]),
+        ('d', [-1.5, 0.1, float('inf')]),
+        ('u', ['a', 'b']),
+    ]:
+        a = array(typecode, items)
+        lst = a.tolist()
+        assert lst == items, (typecode, lst)
+        assert type(lst[0]) is type(items[0])
+        lst.append(items[0])
+        assert lst[-1] == items[0]
+        assert array(typecode).tolist() == []
+    assert array('f', [0.1]).tolist() == [array('f', [0.1])[0]]
+
+
+def test_sum_min_max():
+    for typecode, items in [
+        ('b', [-128, 0, 127, -5]),
+        ('B', [0, 128, 255, 7]),
+        ('h', [-32768, 0, 32767, -5]),
+        ('H', [0, 32768, 65535, 7]),
+        ('i', [-2 ** 31, 0, 2 ** 31 - 1, -5]),
+        ('I', [0, 2 ** 31, 2 ** 32 - 1, 7]),
+        ('q', [-2 ** 63, 0, 2 ** 63 - 1, -5]),
+        ('q', [2 ** 63 - 1, 2 ** 63 - 1]),
+        ('Q', [0, 2 ** 63 - 1, 7]),
+        ('Q', [0, 2 ** 63, 2 ** 64 - 1, 7]),
+        ('f', [-1.5, 0.0, 0.1, 3.25]),
+        ('d', [-1.5, 0.1, float('inf'), 2.0]),
+        ('d', [0.0, -0.0]),
+        ('d', [1.0, float('nan'), 0.5]),
+    ]:
+        a = array(typecode, items)
+        expected = list(a)
+        for start in [0, 1, 2 ** 63 - 1, 0.5]:
+            assert repr(sum(a, start)) == repr(sum(expected, start)), (typecode, start)
+        assert repr(sum(a)) == repr(sum(expected)), typecode
+        assert repr(min(a)) == repr(min(expected)), typecode
+        assert repr(max(a)) == repr(max(expected)), typecode
+        assert type(sum(a)) is type(expected[0])
+        assert max(a, key=lambda x: -x) == max(expected, key=lambda x: -x)
+        empty = array(typecode)
+        assert sum(empty) == 0 and type(sum(empty)) is int
+        assert sum(empty, 0.5) == 0.5
+        assert min(empty, default='empty') == 'empty'
+        assert_raises(ValueError, max, empty)
+
+    class Reversed(array):
+        def __iter__(self):
+            return iter([-x for x in self.tolist()])
+
+    a = Reversed('i', [1, 2, 3])
+    assert sum(a) == -6
+    assert min(a) == -3
+    assert max(a) == -1
+
+
+def test_array_copy():
+    a = array('h', [1, -2, 3])
+    b = array('h', a)
+    assert b == a
+    b[0] = 5
+    assert a[0] == 1
+    assert array('d', array('i', [1, 2])) == array('d', [1.0, 2.0])
+    assert array('q', array('l', [1, 2])) == array('q', [1, 2])
+
+
+def test_array_native_storage_tolist():
+    a = array('f', [1.0, 2.0, 3.0])
+    storage_to_native(a)
+    assert a.tolist() == [1.0, 2.0, 3.0]
+    assert array('f', a) == a
@@ -388,6 +388,15 @@ def test_join():
     _test_join(bytearray, ByteArraySubclass)
     assert b"--".join([]) == b""
     assert b"--".join([b"hello"]) == b"hello"
+    parts = [b"ab", bytearray(b"cd"), memoryview(b"ef"), BytesSubclass(b"gh"), b""]
+    assert b", ".join(parts) == b"ab, cd, ef, gh, "
+    assert b", ".join(tuple(parts)) == b"ab, cd, ef, gh, "
+    assert b", ".join(iter(parts)) == b"ab, cd, ef, gh, "
+    assert bytearray(b"").join(p for p in parts) == bytearray(b"abcdefgh")
+    assert b"".join([b"x"] * 1000) == b"x" * 1000
+    assert_raises(TypeError, b"".join, [b"a", "b"])
+    assert_raises(TypeError, b"".join, (b"a", 1))
+    assert_raises(TypeError, b"".join, b"ab")
 
 
 def test_concat():
@@ -475,6 +484,25 @@ def test_extend():
     assert len(a) == 0
 
 
+def test_inplace_append():
+    a = bytearray()
+    for i in range(1000):
+        a += bytes([i % 256])
+        a.extend(memoryview(bytes([(i + 1) % 256])))
+    assert len(a) == 2000
+    assert a[:4] == b"\x00\x01\x01\x02"
+    assert a[-2:] == b"\xe7\xe8"
+
+    a = bytearray(b"ab")
+    a += bytes(a)
+    a.extend(ByteArraySubclass(b"c"))
+    a += BytesSubclass(b"d")
+    assert a == b"ababcd"
+    assert_raises(TypeError, a.__iadd__, "e")
+    assert_raises(TypeError, a.extend, "e")
+    assert a == b"ababcd"
+
+
 def test_startswith():
     b = b'hello'
     assert not b.startswith(b"anything")
@@ -37,6 +37,8 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import io
+import sys
 import unittest
 import csv
 from tempfile import TemporaryFile
@@ -75,6 +77,68 @@ class TestUnicodeCharacters(unittest.TestCase):
                              expected + writer.dialect.lineterminator)
 
 
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific block parsing")
+class TestBlockParsing(unittest.TestCase):
+    DATA = ('a,b,c\r\n'
+            '1,"two\nlines",3\n'
+            '\n'
+            '"x""y",\U0001F642,\r'
+            'last,,"q"\r\n'
+            'tail,no,newline')
 
+    def test_block_reader_matches_reader(self):
+        import _csv
+        expected = list(csv.reader(io.StringIO(self.DATA, newline='')))
+        for block_size in (1, 2, 3, 7, 64):
+            reader = _csv.block_reader(io.BytesIO(self.DATA.encode()), block_size=block_size)
+            self.assertEqual(list(reader), expected, block_size)
+            self.assertEqual(reader.line_num, 7)
 
+    def test_block_reader_dialect(self):
+        import _csv
+        data = "'x';'a;b';  3\n1;2;3\n"
+        kwargs = dict(delimiter=';', quotechar="'", skipinitialspace=True, quoting=csv.QUOTE_NONNUMERIC)
+        expected = list(csv.reader(io.StringIO(data, newline=''), **kwargs))
+        self.assertEqual(list(_csv.block_reader(io.BytesIO(data.encode()), block_size=4, **kwargs)), expected)
+        with self.assertRaises(csv.Error):
+            list(_csv.block_reader(io.BytesIO(b'"a'), strict=True))
+        with self.assertRaises(ValueError):
+            _csv.block_reader(io.BytesIO(b''), delimiter='\u00e9')
 
+    def test_block_reader_encodings(self):
+        import _csv
+        self.assertEqual(list(_csv.block_reader(io.BytesIO('\u00e9,x\n'.encode('latin-1')), encoding='latin-1')), [['\u00e9', 'x']])
+        with self.assertRaises(UnicodeDecodeError):
+            list(_csv.block_reader(io.BytesIO(b'a,\xff\n')))
+        with self.assertRaises(UnicodeDecodeError):
+            list(_csv.block_reader(io.BytesIO(b'a,\xc3\xa9\n'), encoding='ascii'))
+        with self.assertRaises(ValueError):
+            _csv.block_reader(io.BytesIO(b''), encoding='utf-16')
+
+    def test_read_columns_types(self):
+        import _csv
+        data = b'1,1.5,x,9223372036854775808\n-2,2,,1\n+3,nan,z,2\n'
+        columns = _csv.read_columns(io.BytesIO(data), block_size=5)
+        self.assertEqual(columns[0], [1, -2, 3])
+        self.assertEqual(columns[1][:2], [1.5, 2.0])
+        self.assertTrue(all(type(v) is float for v in columns[1]))
+        self.assertEqual(columns[2], ['x', '', 'z'])
+        self.assertEqual(columns[3], [2 ** 63, 1, 2])
+        columns = _csv.read_columns(io.BytesIO(data), infer_types=False)
+        self.assertEqual(columns[0], ['1', '-2', '+3'])
+
+    def test_read_columns_header(self):
+        import _csv
+        data = b'name,value\r\n\r\n"a,b",1\r\nc,2\r\n'
+        self.assertEqual(_csv.read_columns(io.BytesIO(data), header=True), {'name': ['a,b', 'c'], 'value': [1, 2]})
+        self.assertEqual(_csv.read_columns(io.BytesIO(b'h1,h2\n'), header=True), {'h1': [], 'h2': []})
+
+    def test_read_columns_nonnumeric(self):
+        import _csv
+        data = b'1,"a"\n2.5,3\n'
+        self.assertEqual(_csv.read_columns(io.BytesIO(data), quoting=csv.QUOTE_NONNUMERIC), [[1.0, 2.5], ['a', 3.0]])
+
+    def test_read_columns_field_count(self):
+        import _csv
+        with self.assertRaises(csv.Error):
+            _csv.read_columns(io.BytesIO(b'1,2\n3\n'))
@@ -0,0 +1,155 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import os
+import random
+import sys
+import time
+import unittest
+
+import datetime as D
+
+
+def reference(op, *args):
+    fast = D._fast
+    D._fast = None
+    try:
+        return op(*args)
+    except Exception as e:
+        return type(e)
+    finally:
+        D._fast = fast
+
+
+def actual(op, *args):
+    try:
+        return op(*args)
+    except Exception as e:
+        return type(e)
+
+
+class DateTimeFastPathTests(unittest.TestCase):
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific")
+    def test_fast_paths_available(self):
+        self.assertIsNotNone(D._fast)
+
+    def test_ordinals(self):
+        rnd = random.Random(42)
+        for _ in range(2000):
+            d = D.date.fromordinal(rnd.randint(1, D.date.max.toordinal()))
+            self.assertEqual(D.date(d.year, d.month, d.day).toordinal(), d.toordinal())
+            self.assertEqual(d + D.timedelta(days=1) - d, D.timedelta(days=1))
+        self.assertEqual(D.date(1, 1, 1).toordinal(), 1)
+        self.assertEqual(D.date(9999, 12, 31).toordinal(), 3652059)
+        self.assertEqual(D.date.fromordinal(730120), D.date(2000, 1, 1))
+        self.assertRaises(ValueError, D.date.fromordinal, 0)
+        self.assertRaises(TypeError, D.date.fromordinal, 1.0)
+
+    def test_timedelta(self):
+        rnd = random.Random(42)
+        values = [0, 1, -1, 59, 1000, -999999, 86399, 10 ** 6, -10 ** 9, 2 ** 62, True]
+        for _ in range(2000):
+            args = [rnd.choice(values) for _ in range(7)]
+            expected = reference(D.timedelta, *args)
+            result = actual(D.timedelta, *args)
+            self.assertEqual(result, expected, args)
+            if isinstance(result, D.timedelta):
+                self.assertEqual((result.days, result.seconds, result.microseconds),
+                                 (expected.days, expected.seconds, expected.microseconds))
+        self.assertEqual(D.timedelta(hours=1.5), D.timedelta(minutes=90))
+
+    def test_fromisoformat(self):
+        strings = ["2020-01-02", "2020-01-02T03", "2020-01-02T03:04", "2020-01-02 03:04:05",
+                   "2020-01-02T03:04:05.6", "2020-01-02T03:04:05,123", "2020-01-02T03:04:05.1234567",
+                   "2020-01-02T03:04:05Z", "2020-01-02T03:04:05+00:00", "2020-01-02T03:04:05-05:30",
+                   "2020-01-02T03:04:05.123456+01:02:03.5", "2020-01-02T03:04:05+24:00",
+                   "2020-01-02T", "2020-01-02T25:00", "2020-13-02", "2020-02-30T00:00", "2020-01-02T03:",
+                   "2020-01-02T03:04:05Z1", "2020-01-02T03:04.5", "20200102T030405", "2020-W01-2",
+                   "2020-01-02T03:04:05+0100", "٢٠٢٠-01-02", "2020-01-0203:04"]
+        for s in strings:
+            self.assertEqual(actual(D.datetime.fromisoformat, s), reference(D.datetime.fromisoformat, s), s)
+            self.assertEqual(actual(D.date.fromisoformat, s[:10]), reference(D.date.fromisoformat, s[:10]), s)
+            self.assertEqual(actual(D.time.fromisoformat, s[11:]), reference(D.time.fromisoformat, s[11:]), s)
+        self.assertIs(D.datetime.fromisoformat("2020-01-02T03:04:05Z").tzinfo, D.timezone.utc)
+        self.assertEqual(D.datetime.fromisoformat("2020-01-02T03:04:05-05:30").utcoffset(),
+                         -D.timedelta(hours=5, minutes=30))
+
+    def test_isoformat(self):
+        dt = D.datetime(2020, 1, 2, 3, 4, 5, 6789)
+        for timespec in ['auto', 'hours', 'minutes', 'seconds', 'milliseconds', 'microseconds', 'foo']:
+            for sep in ['T', ' ', 'ü', '\U0001F600', 'ab']:
+                self.assertEqual(actual(dt.isoformat, sep, timespec), reference(dt.isoformat, sep, timespec))
+            self.assertEqual(actual(dt.time().isoformat, timespec), reference(dt.time().isoformat, timespec))
+        self.assertEqual(D.datetime(5, 1, 2).isoformat(), "0005-01-02T00:00:00")
+        self.assertEqual(dt.replace(tzinfo=D.timezone.utc).isoformat(), "2020-01-02T03:04:05.006789+00:00")
+
+    def test_fromtimestamp(self):
+        rnd = random.Random(42)
+        for _ in range(2000):
+            t = rnd.choice([rnd.uniform(-1e10, 1e10), float(rnd.randint(0, 2 ** 31)), rnd.randint(0, 2 ** 31) + 0.9999995])
+            self.assertEqual(actual(D.datetime.utcfromtimestamp, t), reference(D.datetime.utcfromtimestamp, t), t)
+            self.assertEqual(actual(D.datetime.fromtimestamp, t, D.timezone.utc),
+                             reference(D.datetime.fromtimestamp, t, D.timezone.utc), t)
+            local = actual(D.datetime.fromtimestamp, t)
+            expected = reference(D.datetime.fromtimestamp, t)
+            self.assertEqual(local, expected, t)
+            if isinstance(local, D.datetime):
+                self.assertEqual(local.fold, expected.fold, t)
+        for t in [1e20, -1e20, float('nan'), float('inf'), 2 ** 70, "1"]:
+            self.assertEqual(actual(D.datetime.utcfromtimestamp, t), reference(D.datetime.utcfromtimestamp, t), t)
+
+    @unittest.skipUnless(hasattr(time, 'tzset'), "needs time.tzset")
+    def test_fold(self):
+        old = os.environ.get('TZ')
+        os.environ['TZ'] = 'Europe/Berlin'
+        time.tzset()
+        try:
+            # 2021-10-31 02:30 local time happens twice in Berlin
+            first = D.datetime.fromtimestamp(1635640200)
+            second = D.datetime.fromtimestamp(1635643800)
+            self.assertEqual(first.replace(fold=0), second.replace(fold=0))
+            self.assertEqual((first.hour, first.minute, first.fold), (2, 30, 0))
+            self.assertEqual(second.fold, 1)
+            for t in range(1635636600, 1635651000, 600):
+                self.assertEqual(D.datetime.fromtimestamp(t).fold, reference(D.datetime.fromtimestamp, t).fold, t)
+        finally:
+            if old is None:
+                del os.environ['TZ']
+            else:
+                os.environ['TZ'] = old
+            time.tzset()
@@ -0,0 +1,112 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import random
+import sys
+import unittest
+
+import _pydecimal as P
+
+
+def reference(op, *args):
+    fast = P._fast
+    P._fast = None
+    try:
+        return op(*args)
+    finally:
+        P._fast = fast
+
+
+class DecimalFastPathTests(unittest.TestCase):
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific")
+    def test_fast_paths_available(self):
+        self.assertIsNotNone(P._fast)
+
+    def test_parse(self):
+        for s in ["0", "-0", "007", "1.", ".5", "-1.250", "+3e5", "1E-3", "12.34e+2", "0.000",
+                  " 1", "1_000", "1e", ".", "-", "inf", "NaN", "1.2.3", "١"]:
+            try:
+                expected = reference(P.Decimal, s)
+            except P.InvalidOperation:
+                self.assertRaises(P.InvalidOperation, P.Decimal, s)
+                continue
+            actual = P.Decimal(s)
+            self.assertEqual(actual.as_tuple(), expected.as_tuple(), s)
+
+    def test_arithmetic_and_flags(self):
+        rnd = random.Random(42)
+        roundings = [P.ROUND_HALF_EVEN, P.ROUND_HALF_UP, P.ROUND_HALF_DOWN, P.ROUND_DOWN,
+                     P.ROUND_UP, P.ROUND_CEILING, P.ROUND_FLOOR, P.ROUND_05UP]
+        ops = [P.Context.add, P.Context.subtract, P.Context.multiply, P.Context.divide]
+        for _ in range(2000):
+            a = P.Decimal((rnd.randint(0, 1), tuple(rnd.randint(0, 9) for _ in range(rnd.randint(1, 30))), rnd.randint(-40, 40)))
+            b = P.Decimal((rnd.randint(0, 1), tuple(rnd.randint(0, 9) for _ in range(rnd.randint(1, 30))), rnd.randint(-40, 40)))
+            prec = rnd.choice([1, 3, 9, 28])
+            emax = rnd.choice([99, 999999])
+            rounding = rnd.choice(roundings)
+            clamp = rnd.randint(0, 1)
+            op = rnd.choice(ops)
+            ctx1 = P.Context(prec=prec, rounding=rounding, Emin=-emax, Emax=emax, clamp=clamp, traps=[])
+            ctx2 = ctx1.copy()
+            try:
+                expected = reference(op, ctx1, a, b)
+            except ZeroDivisionError:
+                continue
+            actual = op(ctx2, a, b)
+            self.assertEqual(str(actual), str(expected), (op, a, b, ctx1))
+            self.assertEqual(ctx2.flags, ctx1.flags, (op, a, b, ctx1))
+
+    def test_cached_coefficient(self):
+        ctx = P.Context(prec=40)
+        values = [P.Decimal("12.5"), P.Decimal("-0.0031"), P.Decimal("123456789012345678901234567890"),
+                  P.Decimal((0, (9,) * 25, -3))]
+        for a in values:
+            for b in values:
+                for result in (ctx.add(a, b), ctx.multiply(a, b), ctx.divide(a, b), a):
+                    if hasattr(result, '_coeff'):
+                        self.assertEqual(result._coeff, int(result._int), (a, b, result))
+                    self.assertEqual(P._fast_coeff(result), int(result._int))
+                    self.assertEqual(result._coeff, int(result._int))
+
+    def test_traps(self):
+        ctx = P.Context(prec=3, traps=[P.Inexact])
+        self.assertRaises(P.Inexact, ctx.divide, P.Decimal(1), P.Decimal(3))
+        self.assertEqual(ctx.add(P.Decimal("1.5"), P.Decimal("2.5")), P.Decimal(4))
+        ctx = P.Context(prec=3, traps=[P.Rounded])
+        self.assertRaises(P.Rounded, ctx.multiply, P.Decimal(125), P.Decimal(10))
@@ -1267,3 +1267,150 @@ def test_dict_values_eq():
     d1 = {1: 1, 2: 2, 4: 4}
     assert d1.values() != d1.values()
 
+
+
+def test_int_keys():
+    d = {}
+    for i in range(-1000, 1000):
+        d[i * 31] = i
+    d[2 ** 62] = 'big'
+    d[-2 ** 63] = 'min'
+    assert len(d) == 2002
+    assert d[31] == 1
+    assert d[-31] == -1
+    assert d[2 ** 62] == 'big'
+    assert d[-2 ** 63] == 'min'
+    assert 2 ** 64 not in d
+    assert 1 not in d
+    # keys of other types that are equal to ints
+    assert True not in d
+    assert d[False] == 0
+    assert d[62.0] == 2
+    assert d[sub_int(93)] == 3
+    assert 31.5 not in d
+    assert 'foo' not in d
+    for i in range(-1000, 1000, 2):
+        del d[i * 31]
+    del d[-31.0]
+    assert len(d) == 1001
+    assert list(d)[:3] == [-30969, -30907, -30845]
+    assert list(reversed(d))[:3] == [-2 ** 63, 2 ** 62, 30969]
+    assert d.popitem() == (-2 ** 63, 'min')
+    assert d.pop(2 ** 62) == 'big'
+    d[62] = 'again'
+    assert list(d.items())[-1] == (62, 'again')
+
+
+def test_int_keys_generalization():
+    d = {1: 'a', 2: 'b', 3: 'c'}
+    d[True] = 'x'
+    assert d == {1: 'x', 2: 'b', 3: 'c'}
+    assert type(list(d)[0]) is int
+    d['foo'] = 'd'
+    d[2.5] = 'e'
+    assert list(d) == [1, 2, 3, 'foo', 2.5]
+    assert d[2.0] == 'b'
+    del d[3]
+    assert list(d.items()) == [(1, 'x'), (2, 'b'), ('foo', 'd'), (2.5, 'e')]
+
+    s = {1, 2, 3}
+    s.add(1.0)
+    assert s == {1, 2, 3}
+    assert type(list(s)[0]) is int
+    s.add(4.5)
+    s.discard(2)
+    assert s == {1, 3, 4.5}
+
+    d = {-1: 'a', -2: 'b', 2 ** 61 - 2: 'c', 2 ** 61 - 1: 'd', 0: 'e'}
+    assert hash(-1) == hash(-2)
+    assert d[-1] == 'a' and d[-2] == 'b' and d[0] == 'e'
+    assert d[-1.0] == 'a' and d[-2.0] == 'b' and d[0.0] == 'e'
+    assert d[2 ** 61 - 2] == 'c'
+    assert d[sub_int(2 ** 61 - 1)] == 'd'
+
+
+
+def test_str_keys():
+    d = {}
+    for i in range(2000):
+        d['key%d' % i] = i
+    assert len(d) == 2000
+    # equal, but not identical strings
+    assert d[''.join(['key', '1999'])] == 1999
+    assert d[sub_str('key42')] == 42
+    assert 'key2000' not in d
+    assert 42 not in d
+    for i in range(0, 2000, 2):
+        del d['key%d' % i]
+    del d[sub_str('key1')]
+    assert len(d) == 999
+    assert list(d)[:3] == ['key3', 'key5', 'key7']
+    assert list(reversed(d))[:2] == ['key1999', 'key1997']
+    assert d.popitem() == ('key1999', 1999)
+    d['key0'] = 'again'
+    assert list(d.items())[-1] == ('key0', 'again')
+    d['key3'] = 'replaced'
+    assert list(d)[0] == 'key3' and d['key3'] == 'replaced'
+    assert d.copy() == d
+
+
+def test_str_keys_generalization():
+    d = {'a': 1, 'b': 2}
+    d[1] = 'int'
+    d['c'] = 3
+    assert list(d.items()) == [('a', 1), ('b', 2), (1, 'int'), ('c', 3)]
+
+    key = sub_str('b')
+    d = {'a': 1, 'b': 2}
+    d[key] = 'x'
+    assert d == {'a': 1, 'b': 'x'}
+    assert type(list(d)[1]) is str
+    d[sub_str('c')] = 3
+    assert type(list(d)[2]) is sub_str
+
+    class EqualToA:
+        def __hash__(self):
+            return hash('a')
+
+        def __eq__(self, other):
+            return other == 'a'
+
+    d = {'a': 1, 'b': 2}
+    assert d[EqualToA()] == 1
+    del d[EqualToA()]
+    assert d == {'b': 2}
+
+
+def test_str_keys_first_key():
+    # the first key decides the storage, it may be a wrapped builtin string
+    for key in ['ab', ''.join(['a', 'b']), str.__new__(str, 'ab'), 'a' + str(chr(98)), '%s' % 'ab', sub_str('ab')]:
+        d = {}
+        d[key] = 1
+        d['cd'] = 2
+        assert d['ab'] == 1
+        assert d[sub_str('ab')] == 1
+        assert list(d) == ['ab', 'cd']
+        d[3] = 3
+        assert list(d.items()) == [('ab', 1), ('cd', 2), (3, 3)]
+        assert type(list(d)[0]) is type(key)
+        s = set()
+        s.add(key)
+        assert 'ab' in s and sub_str('ab') in s and 'cd' not in s
+
+
+def test_many_str_keys_in_namespace():
+    code = "class C:\n" + "".join("    attr%d = %d\n" % (i, i) for i in range(300))
+    ns = {}
+    exec(code, ns)
+    C = ns['C']
+    assert C.attr0 == 0
+    assert C.attr299 == 299
+    assert [k for k in C.__dict__ if k.startswith('attr')] == ['attr%d' % i for i in range(300)]
+
+
+class sub_str(str):
+    pass
+
+
+class sub_int(int):
+    pass
@@ -326,6 +326,55 @@ class ExceptionTests(unittest.TestCase):
         self.assertEqual(e.__context__.__context__.__context__.args[0], "fourth")
         self.assertIsNone(e.__context__.__context__.__context__.__context__)
 
+    def test_implicit_chaining_handled_in_callee(self):
+        def bind():
+            try:
+                raise KeyError("inner")
+            except KeyError as e:
+                return e
+        def reraise():
+            try:
+                raise KeyError("inner")
+            except KeyError:
+                raise
+        def swallow():
+            try:
+                raise KeyError("inner")
+            except KeyError:
+                return sys.exc_info()[1]
+        try:
+            raise OSError("outer")
+        except OSError:
+            bound = bind()
+            try:
+                reraise()
+            except KeyError as e:
+                reraised = e
+            info = swallow()
+        for e in (bound, reraised, info):
+            self.assertEqual(e.args[0], "inner")
+            self.assertEqual(type(e.__context__), OSError)
+            self.assertEqual(e.__context__.args[0], "outer")
+            self.assertIsNone(e.__context__.__context__)
+
+    def test_implicit_chaining_reraise_outer_in_callee(self):
+        def callee(outer):
+            try:
+                raise KeyError("inner")
+            except KeyError:
+                raise outer
+        try:
+            raise OSError("outer")
+        except OSError as e:
+            outer = e
+            try:
+                callee(outer)
+            except OSError as e:
+                caught = e
+        self.assertIs(caught, outer)
+        self.assertEqual(type(outer.__context__), KeyError)
+        self.assertIsNone(outer.__context__.__context__)
+
     def test_implicit_chaining_finally(self):
         try:
             try:
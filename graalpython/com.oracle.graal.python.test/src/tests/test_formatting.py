@@ -215,3 +215,85 @@ def test_fstring():
     # this is not walrus but 'x' with a format specifier "=10"
     x = 20
     assert f'{x:=10}' == '        20'
+
+
+def test_fstring_values():
+    class MyStr(str):
+        def __str__(self):
+            return "overridden"
+
+        def __format__(self, format_spec):
+            return "formatted" + format_spec
+
+    class MyInt(int):
+        def __str__(self):
+            return '42'
+
+    i, l, big, d, s = 7, -2 ** 40, 3 ** 50, 1.5, 'text'
+    assert f'{i}{l}{big}{d}{s}' == '7-1099511627776717897987691852588770249' + '1.5text'
+    assert f'a{i}b{{c}}d{s!r}e' == "a7b{c}d'text'e"
+    assert f'{s!a}{"€"!a}{s!s}' == "'text''\\u20ac'text"
+    assert f'{i:5}|{i:<5}|{i:05}|{i:x}|{i:#b}|{l:,}|{big:_x}' == '    7|7    |00007|7|0b111|-1,099,511,627,776|' + format(big, '_x')
+    assert f'{i:.2f}|{i:e}|{l:%}' == '7.00|7.000000e+00|' + format(l, '%')
+    assert f'{d:8.3f}|{d:e}|{d:.0%}|{1e20}|{2.0}' == '   1.500|1.500000e+00|150%|1e+20|2.0'
+    assert f'{True}{None}{[1, 2]}{True:5}' == 'TrueNone[1, 2]    1'
+    assert f'{i!r:>4}{d!s:<5}|' == '   71.5  |'
+    assert f'{MyStr("x")}|{MyStr("x")!s}|{MyStr("x"):>3}' == 'formatted|overridden|formatted>3'
+    assert f'{MyInt(2)}|{MyInt(2):3}' == '42|  2'
+    width = 6
+    assert f'{i:{width}}|{d:>{width}.{width - 4}f}' == '     7|  1.50'
+    assert f'' == ''
+    assert f'{""}' == ''
+    for bad in [lambda: f'{i:.2}', lambda: f'{i:+c}', lambda: f'{i:#c}', lambda: f'{s:d}', lambda: f'{d:d}']:
+        try:
+            bad()
+        except ValueError:
+            pass
+        else:
+            assert False, "ValueError expected"
+
+
+def test_fstring_evaluation_order():
+    l = [1]
+    assert f"{l}{l.append(2)}" == "[1]None"
+    assert f"{l!r:>8}|{l.append(3)}|{l}" == "  [1, 2]|None|[1, 2, 3]"
+
+    events = []
+
+    class Traced:
+        def __init__(self, name):
+            self.name = name
+
+        def __format__(self, format_spec):
+            events.append('format ' + self.name)
+            return self.name
+
+    def value(name):
+        events.append('eval ' + name)
+        return Traced(name)
+
+    def fail():
+        events.append('eval fail')
+        raise KeyError
+
+    assert f"{value('a')}-{value('b'):x}" == "a-b"
+    assert events == ['eval a', 'format a', 'eval b', 'format b']
+    del events[:]
+    try:
+        f"{value('a')}{value('b')}{fail()}{value('c')}"
+    except KeyError:
+        pass
+    else:
+        assert False, "KeyError expected"
+    assert events == ['eval a', 'format a', 'eval b', 'format b', 'eval fail']
+    del events[:]
+
+    class Rebinding:
+        def __format__(self, format_spec):
+            global _fstring_later
+            _fstring_later = 'rebound'
+            return 'first'
+
+    global _fstring_later
+    _fstring_later = 'original'
+    assert f"{Rebinding()} {_fstring_later}" == "first rebound"
@@ -0,0 +1,228 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import asyncio
+import select
+import socket
+import sys
+import threading
+import unittest
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific event loop")
+class TestGraalPyEventLoop(unittest.TestCase):
+
+    def setUp(self):
+        import graalpy_asyncio
+        self.loop = graalpy_asyncio.new_event_loop()
+
+    def tearDown(self):
+        self.loop.close()
+
+    def test_callbacks_and_timers(self):
+        order = []
+
+        async def main():
+            loop = asyncio.get_running_loop()
+            loop.call_later(0.02, order.append, 3)
+            loop.call_later(0.01, order.append, 2)
+            cancelled = loop.call_later(0.005, order.append, 'cancelled')
+            cancelled.cancel()
+            loop.call_soon(order.append, 1)
+            await asyncio.sleep(0.05)
+
+        self.loop.run_until_complete(main())
+        self.assertEqual(order, [1, 2, 3])
+
+    def test_many_cancelled_timers(self):
+        async def main():
+            loop = asyncio.get_running_loop()
+            handles = [loop.call_later(10, lambda: None) for _ in range(500)]
+            for h in handles:
+                h.cancel()
+            await asyncio.sleep(0.01)
+            return 42
+
+        self.assertEqual(self.loop.run_until_complete(main()), 42)
+
+    def test_timer_scheduled_flag(self):
+        async def main():
+            loop = asyncio.get_running_loop()
+            fired = loop.call_later(0, lambda: None)
+            pending = loop.call_later(10, lambda: None)
+            self.assertTrue(fired._scheduled)
+            self.assertTrue(pending._scheduled)
+            await asyncio.sleep(0.01)
+            self.assertFalse(fired._scheduled)
+            self.assertTrue(pending._scheduled)
+            # cancelling a timer that already left the heap must not count it as cancelled
+            fired.cancel()
+            pending.cancel()
+            await asyncio.sleep(0)
+            self.assertFalse(pending._scheduled)
+
+        self.loop.run_until_complete(main())
+
+    def test_blocking_socket_and_select(self):
+        a, b = socket.socketpair()
+        try:
+            fut = self.loop.create_future()
+
+            def on_readable():
+                fut.set_result(a.getblocking())
+
+            self.loop.add_reader(a, on_readable)
+            self.loop.call_soon(b.send, b'data')
+            # the loop must not leave the socket in non-blocking mode
+            self.assertTrue(self.loop.run_until_complete(fut))
+            self.assertTrue(a.getblocking())
+            self.assertEqual(select.select([a], [], [], 1)[0], [a])
+            self.assertEqual(a.recv(100), b'data')
+            self.assertTrue(self.loop.remove_reader(a))
+            self.loop.run_until_complete(asyncio.sleep(0))
+            b.send(b'more')
+            self.assertEqual(select.select([a], [], [], 1)[0], [a])
+            self.assertEqual(a.recv(100), b'more')
+        finally:
+            a.close()
+            b.close()
+
+    def test_reader(self):
+        a, b = socket.socketpair()
+        a.setblocking(False)
+        b.setblocking(False)
+        try:
+            fut = self.loop.create_future()
+
+            def on_readable():
+                self.loop.remove_reader(a)
+                fut.set_result(a.recv(100))
+
+            self.loop.add_reader(a, on_readable)
+            self.loop.call_soon(b.send, b'data')
+            self.assertEqual(self.loop.run_until_complete(fut), b'data')
+            self.assertFalse(self.loop.remove_reader(a))
+        finally:
+            a.close()
+            b.close()
+
+    def test_many_readers(self):
+        # enough sockets to get file descriptors past FD_SETSIZE
+        count = 600
+        try:
+            import resource
+            soft, hard = resource.getrlimit(resource.RLIMIT_NOFILE)
+            if soft != resource.RLIM_INFINITY and soft < 4 * count:
+                resource.setrlimit(resource.RLIMIT_NOFILE, (min(4 * count, hard), hard))
+        except (ImportError, ValueError, OSError):
+            pass
+        pairs = []
+        try:
+            try:
+                for _ in range(count):
+                    pairs.append(socket.socketpair())
+            except OSError:
+                self.skipTest("cannot open enough sockets")
+            for a, b in pairs:
+                a.setblocking(False)
+            self.assertGreater(max(a.fileno() for a, b in pairs), 1024)
+            fut = self.loop.create_future()
+            received = []
+
+            def on_readable(sock):
+                received.append(sock.recv(100))
+                if len(received) == 2:
+                    fut.set_result(received)
+
+            for a, b in pairs:
+                self.loop.add_reader(a, on_readable, a)
+            self.loop.call_soon(pairs[-1][1].send, b'last')
+            self.loop.call_soon(pairs[0][1].send, b'first')
+            self.assertEqual(sorted(self.loop.run_until_complete(fut)), [b'first', b'last'])
+            for a, b in pairs:
+                self.loop.remove_reader(a)
+        finally:
+            for a, b in pairs:
+                a.close()
+                b.close()
+
+    def test_call_soon_threadsafe(self):
+        fut = self.loop.create_future()
+        t = threading.Thread(target=lambda: self.loop.call_soon_threadsafe(fut.set_result, 'done'))
+        self.loop.call_soon(t.start)
+        self.assertEqual(self.loop.run_until_complete(fut), 'done')
+        t.join()
+
+    def test_echo_server(self):
+        async def echo(reader, writer):
+            writer.write(await reader.read(100))
+            await writer.drain()
+            writer.close()
+
+        async def main():
+            server = await asyncio.start_server(echo, '127.0.0.1', 0)
+            port = server.sockets[0].getsockname()[1]
+            reader, writer = await asyncio.open_connection('127.0.0.1', port)
+            writer.write(b'hello')
+            await writer.drain()
+            result = await reader.read(100)
+            writer.close()
+            server.close()
+            await server.wait_closed()
+            return result
+
+        self.assertEqual(self.loop.run_until_complete(main()), b'hello')
+
+    def test_debug_mode(self):
+        self.loop.set_debug(True)
+        self.loop.slow_callback_duration = 100
+
+        async def main():
+            await asyncio.sleep(0)
+            return 'ok'
+
+        self.assertEqual(self.loop.run_until_complete(main()), 'ok')
+
+    def test_run(self):
+        import graalpy_asyncio
+
+        async def main():
+            return type(asyncio.get_running_loop())
+
+        self.assertIs(graalpy_asyncio.run(main()), graalpy_asyncio.EventLoop)
@@ -80,6 +80,39 @@ class HashlibTest(unittest.TestCase):
         hm = hmac.new(self._get_buffer(), b'data', digestmod=hashlib.sha256)
         self.assertEqual('c449f6626bf7f997cda786d07895f086c2fa18eab25b1c08c4de66a5d46a2a08', hm.hexdigest())
 
+    def test_update_large_and_native_buffers(self):
+        import array
+        import mmap
+        data = bytes(range(256)) * 1000
+        expected = hashlib.sha256(data).hexdigest()
+        for buf in (data, bytearray(data), memoryview(data)[::1], array.array('B', data)):
+            h = hashlib.sha256()
+            h.update(buf)
+            self.assertEqual(expected, h.hexdigest())
+        with mmap.mmap(-1, len(data)) as m:
+            m.write(data)
+            h = hashlib.sha256()
+            h.update(m)
+            self.assertEqual(expected, h.hexdigest())
+
+    def test_file_digest(self):
+        import io
+        import tempfile
+        data = bytes(range(256)) * 5000
+        with tempfile.TemporaryFile() as f:
+            f.write(data)
+            f.flush()
+            for skip in (0, 1, 1000):
+                f.seek(0)
+                f.read(skip)
+                self.assertEqual(hashlib.sha1(data[skip:]).hexdigest(), hashlib.file_digest(f, 'sha1').hexdigest())
+                self.assertEqual(b'', f.read())
+            # digests not implemented by us use the generic loop
+            f.seek(0)
+            f.read(10)
+            self.assertEqual(hashlib.md5(data[10:]).hexdigest(), hashlib.file_digest(f, lambda: _Wrapped(hashlib.md5())).hexdigest())
+        self.assertEqual(hashlib.md5(data).hexdigest(), hashlib.file_digest(io.BytesIO(data), 'md5').hexdigest())
+
     @staticmethod
     def _get_buffer():
         ba = bytearray(b'ab')
@@ -92,5 +125,16 @@ class HashlibTest(unittest.TestCase):
         return ba
 
 
+class _Wrapped:
+    def __init__(self, digest):
+        self.digest = digest
+
+    def update(self, data):
+        self.digest.update(data)
+
+    def hexdigest(self):
+        return self.digest.hexdigest()
+
+
 if __name__ == '__main__':
     unittest.main()
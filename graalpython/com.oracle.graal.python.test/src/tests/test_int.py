@@ -392,6 +392,37 @@ def test_create_int_from_string():
         assert False, "expected TypeError"
 
 
+def test_create_int_from_long_string():
+    old_limit = sys.get_int_max_str_digits()
+    sys.set_int_max_str_digits(0)
+    try:
+        for n in (999, 1000, 1001, 4001, 25000):
+            digits = ''.join(str((i * 7 + n) % 10) for i in range(n))
+            x = int(digits)
+            assert str(x) == digits.lstrip('0')
+            assert int('-' + digits) == -x
+            assert int(' +' + digits + ' ') == x
+            assert int('_'.join(digits[i:i + 3] for i in range(0, n, 3))) == x
+            assert int('0x' + digits, 0) == int(digits, 16)
+            assert hex(int(digits, 16)) == '0x' + digits.lstrip('0')
+            base9 = 0
+            for d in digits.replace('9', '1'):
+                base9 = base9 * 9 + int(d)
+            assert int(digits.replace('9', '1'), 9) == base9
+        x = 3 ** 40000
+        assert int(str(x)) == x
+        assert int(hex(x), 16) == x
+        assert int(bin(-x), 2) == -x
+        try:
+            int('1' * 3000 + '-' + '1' * 1000)
+        except ValueError:
+            pass
+        else:
+            assert False, "expected ValueError"
+    finally:
+        sys.set_int_max_str_digits(old_limit)
+
+
 def test_create_int_from_float():
     assert int(123.0) == 123
     assert int(123.4) == 123
@@ -426,6 +457,50 @@ def test_mullnode_specialization():
     assert b * 622702 == 3877578306201600
     assert 622702 * 622701 == 387757158102
 
+
+def test_mixed_width_arithmetic():
+    big = 1 << 80
+    # results of operations on big ints that fit into a machine word again
+    assert (big + 5) - big == 5
+    assert big - (big + 5) == -5
+    assert (big + 5) + (-big) == 5
+    assert -big + (big + 3) == 3
+    assert (big * 7 + 3) // big == 7
+    assert (big * 7 + 3) // (big * 7) == 1
+    assert (big * 7 + 3) // (big >> 10) == 7168
+    assert (big * 7 + 3) % big == 3
+    assert (big * 7 + 3) % -big == 3 - big
+    assert (big * 7 + 3) % 10 == 5
+    assert (big * 7 + 3) % -10 == -5
+    assert 12345 % big == 12345
+    assert -12345 % big == big - 12345
+    assert 12345 % -big == 12345 - big
+    assert (big + 0xabcd) & 0xffff == 0xabcd
+    assert 0xffff & (big + 0xabcd) == 0xabcd
+    assert (big | 0xff) ^ big == 0xff
+    assert (big + 1) >> 70 == 1024
+    assert big * 0 == 0
+    assert 0 * big == 0
+    assert big * (big - big) == 0
+    assert (big - big) * big == 0
+    assert -big * ((big + 3) - big) == -3 * big
+    assert (big // big) * (big // big) == 1
+    assert (-big) >> 70 == -1024
+    assert (-big) >> 200 == -1
+    assert big >> (1 << 70) == 0
+    # products of two machine words that just overflow
+    assert 3037000500 * 3037000500 == 9223372037000250000
+    assert -3037000500 * 3037000500 == -9223372037000250000
+    assert 3037000499 * 3037000499 == 9223372030926249001
+    assert (1 << 62) * 2 == 9223372036854775808
+    assert (1 << 62) * -2 == -9223372036854775808
+    assert (-(1 << 63)) * -1 == 9223372036854775808
+    assert (-(1 << 63)) * (-(1 << 63)) == 85070591730234615865843651857942052864
+    assert 9223372036854775807 * 9223372036854775807 == 85070591730234615847396907784232501249
+    assert 9223372036854775807 * -9223372036854775807 == -85070591730234615847396907784232501249
+    assert (-(1 << 63)) // -1 == 9223372036854775808
+    assert (-(1 << 63)) // 1 == -9223372036854775808
+
 class FromBytesTests(unittest.TestCase):
 
     def check(self, tests, byteorder, signed=False):
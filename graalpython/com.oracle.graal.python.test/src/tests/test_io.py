@@ -278,6 +278,37 @@ class IOBaseTests(unittest.TestCase):
         self.assertEqual(second_pickled, b'1234')
         self.assertEqual(third_pickled, b'abcd')
 
+    def test_bytesio_getvalue_while_appending(self):
+        f = _io.BytesIO()
+        values = []
+        for i in range(50):
+            f.write(b"%d," % i)
+            values.append(f.getvalue())
+        for i, value in enumerate(values):
+            self.assertEqual(b"".join(b"%d," % j for j in range(i + 1)), value)
+        f.seek(1)
+        f.write(b"x")
+        self.assertEqual(b"0,1,", values[1])
+        self.assertEqual(b"0x1,", f.getvalue()[:4])
+        f.truncate(3)
+        f.seek(5)
+        f.write(b"y")
+        self.assertEqual(b"0x1\0\0y", f.getvalue())
+        self.assertEqual(b"0,1,", values[1])
+
+    def test_bytesio_getvalue_with_exported_buffer(self):
+        f = _io.BytesIO(b"abc")
+        view = f.getbuffer()
+        value = f.getvalue()
+        view[0] = ord("x")
+        self.assertEqual(b"abc", value)
+        self.assertEqual(b"xbc", f.getvalue())
+        view.release()
+        value = f.getvalue()
+        f.getbuffer()[1] = ord("y")
+        self.assertEqual(b"xbc", value)
+        self.assertEqual(b"xyc", f.getvalue())
+
     def test_stringio_overwrite(self):
         s = _io.StringIO('hello')
         s.seek(2)
@@ -311,6 +342,53 @@ class IOBaseTests(unittest.TestCase):
         t = _io.TextIOWrapper(MockRawIO(), newline="\r\n")
         self.assertEqual(["ab\r\n", "cd"], t.readlines())
 
+    def _write_temp(self, data):
+        import tempfile
+        fd, name = tempfile.mkstemp()
+        with open(fd, 'wb') as f:
+            f.write(data)
+        self.addCleanup(__import__('os').unlink, name)
+        return name
+
+    def test_textio_utf8_sequences_across_chunks(self):
+        line = 'a\u00e9\u20ac\U0001F600' * 1000
+        name = self._write_temp(((line + '\r\n') * 10 + line).encode('utf-8'))
+        for chunk_size in (1, 2, 3, 7, 8192):
+            with open(name, 'r', encoding='utf-8') as f:
+                f._CHUNK_SIZE = chunk_size
+                self.assertEqual([line + '\n'] * 10 + [line], f.readlines())
+            with open(name, 'r', encoding='utf-8', newline='') as f:
+                f._CHUNK_SIZE = chunk_size
+                self.assertEqual([line + '\r\n'] * 10 + [line], f.readlines())
+                self.assertEqual('\r\n', f.newlines)
+
+    def test_textio_latin1_and_ascii(self):
+        name = self._write_temp(b'caf\xe9\rna\xefve\n')
+        with open(name, 'r', encoding='latin-1') as f:
+            self.assertEqual(['caf\xe9\n', 'na\xefve\n'], f.readlines())
+            self.assertEqual(('\r', '\n'), f.newlines)
+        with open(name, 'r', encoding='ascii') as f:
+            self.assertRaises(UnicodeDecodeError, f.readline)
+        name = self._write_temp(b'abc\n' * 10 + b'\xff\n')
+        with open(name, 'r', encoding='utf-8') as f:
+            f._CHUNK_SIZE = 8
+            self.assertEqual('abc\n', f.readline())
+            self.assertRaises(UnicodeDecodeError, f.readlines)
+
+    def test_textio_tell_seek_utf8(self):
+        lines = ['\u00e9\u20ac%d\n' % i for i in range(2000)]
+        name = self._write_temp(''.join(lines).encode('utf-8'))
+        with open(name, 'r', encoding='utf-8') as f:
+            f._CHUNK_SIZE = 5
+            positions = []
+            for i in range(len(lines)):
+                positions.append(f.tell())
+                self.assertEqual(lines[i], f.readline())
+            for i in (1999, 0, 1234, 7):
+                f.seek(positions[i])
+                self.assertEqual(lines[i], f.readline())
+                self.assertEqual(lines[i + 1] if i + 1 < len(lines) else '', f.readline())
+
 
 if __name__ == '__main__':
     unittest.main()
@@ -493,3 +493,24 @@ class ReTests(unittest.TestCase):
             r"(//?| ==?)|([[]]+)")
         for m in regex.finditer(''):
             self.fail()
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific regex cache")
+class TRegexEngineCacheTests(unittest.TestCase):
+
+    def test_cache_stats(self):
+        stats = __graalpython__.tregex_cache_stats()
+        self.assertEqual({'hits', 'misses', 'size', 'background_compilations'}, set(stats.keys()))
+        pattern = r'engine-cache-test-(\d+)'
+        self.assertTrue(re.compile(pattern).search('engine-cache-test-1'))
+        re.purge()
+        # a new pattern object with the same source gets the compiled regex from the engine cache
+        self.assertTrue(re.compile(pattern).search('engine-cache-test-2'))
+        after = __graalpython__.tregex_cache_stats()
+        self.assertGreater(after['hits'], stats['hits'])
+        self.assertGreater(after['size'], stats['size'])
+
+    def test_errors_not_cached(self):
+        for _ in range(2):
+            with self.assertRaises(re.error):
+                re.compile(r'engine-cache-test-(').search('x')
@@ -0,0 +1,132 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import os
+import sys
+import tempfile
+import threading
+import time
+import unittest
+
+IS_GRAALPY = sys.implementation.name == 'graalpy'
+
+
+def busy_loop(deadline):
+    x = 0
+    while time.time() < deadline:
+        for i in range(1000):
+            x += i
+    return x
+
+
+@unittest.skipUnless(IS_GRAALPY, "GraalPy specific")
+class SamplingProfilerTests(unittest.TestCase):
+    def setUp(self):
+        __graalpython__.sampling_profiler_clear()
+
+    def tearDown(self):
+        __graalpython__.sampling_profiler_stop()
+        __graalpython__.sampling_profiler_clear()
+
+    def test_collapsed_stacks(self):
+        __graalpython__.sampling_profiler_start(1)
+        self.assertTrue(__graalpython__.sampling_profiler_stats()["running"])
+        busy_loop(time.time() + 0.5)
+        __graalpython__.sampling_profiler_stop()
+        stats = __graalpython__.sampling_profiler_stats()
+        self.assertFalse(stats["running"])
+        self.assertEqual(stats["interval"], 1)
+        self.assertGreater(stats["samples"], 0)
+        dump = __graalpython__.sampling_profiler_dump()
+        self.assertIn("busy_loop", dump)
+        for line in dump.splitlines():
+            stack, count = line.rsplit(" ", 1)
+            self.assertTrue(stack)
+            self.assertGreater(int(count), 0)
+
+    def test_gil_waiters(self):
+        __graalpython__.sampling_profiler_start(1)
+        deadline = time.time() + 0.5
+        threads = [threading.Thread(target=busy_loop, args=(deadline,)) for _ in range(2)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        __graalpython__.sampling_profiler_stop()
+        stats = __graalpython__.sampling_profiler_stats()
+        self.assertGreater(stats["samples"], 0)
+        # one of the two threads always waits for the other to release the GIL
+        self.assertGreater(stats["gil_wait"], 0)
+        self.assertIn("[GIL wait]", __graalpython__.sampling_profiler_dump())
+
+    def test_dump_to_file(self):
+        __graalpython__.sampling_profiler_start(1)
+        busy_loop(time.time() + 0.2)
+        __graalpython__.sampling_profiler_stop()
+        with tempfile.TemporaryDirectory() as d:
+            path = os.path.join(d, "profile.txt")
+            self.assertIsNone(__graalpython__.sampling_profiler_dump(path))
+            with open(path) as f:
+                self.assertEqual(f.read(), __graalpython__.sampling_profiler_dump())
+
+    def test_dump_jfr(self):
+        __graalpython__.sampling_profiler_start(1)
+        busy_loop(time.time() + 0.2)
+        __graalpython__.sampling_profiler_stop()
+        try:
+            recording = __graalpython__.sampling_profiler_dump(None, "jfr")
+        except OSError:
+            # not supported in native images
+            return
+        self.assertIsInstance(recording, bytes)
+        self.assertTrue(recording.startswith(b"FLR\0"))
+        self.assertIn(b"graalpy.PythonStackSample", recording)
+        self.assertIn(b"busy_loop", recording)
+        with tempfile.TemporaryDirectory() as d:
+            path = os.path.join(d, "profile.jfr")
+            self.assertIsNone(__graalpython__.sampling_profiler_dump(path, "jfr"))
+            with open(path, "rb") as f:
+                self.assertTrue(f.read().startswith(b"FLR\0"))
+
+    def test_invalid_arguments(self):
+        self.assertRaises(ValueError, __graalpython__.sampling_profiler_start, 0)
+        self.assertRaises(ValueError, __graalpython__.sampling_profiler_dump, None, "pprof")
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -287,3 +287,35 @@ def test_pack_varargs():
         struct.Struct("iii").pack()
     except struct.error as e:
         assert "expected 3" in str(e), f"expected 3 not in {str(e)}"
+
+
+def test_pack_unpack_many_formats():
+    # exercises the per-format cached pack and unpack nodes with more formats than the cache holds
+    formats = ['<bhiq', '>BHIQ', '=?fd', '@cP', '<3s2p', '>e5x', 'i' * 40]
+    for _ in range(3):
+        for fmt in formats:
+            s = struct.Struct(fmt)
+            values = s.unpack(bytes(range(1, s.size + 1)))
+            assert s.unpack(s.pack(*values)) == values
+            assert struct.unpack(fmt, struct.pack(fmt, *values)) == values
+
+
+def test_unpack_columns():
+    if sys.implementation.name != "graalpy":
+        return
+    import _struct
+    fmt = '<bHiIqQ?fd2s'
+    s = struct.Struct(fmt)
+    rows = [
+        (-1, 65535, -2 ** 31, 2 ** 32 - 1, -2 ** 63, 2 ** 64 - 1, True, 1.5, -0.25, b'ab'),
+        (7, 0, 2 ** 31 - 1, 0, 2 ** 63 - 1, 42, False, float('inf'), 1e300, b'\0x'),
+    ]
+    data = b''.join(s.pack(*r) for r in rows)
+    columns = s.unpack_columns(data)
+    assert columns == tuple(list(c) for c in zip(*rows)), columns
+    assert all(type(c) is list for c in columns)
+    assert _struct.unpack_columns(fmt, memoryview(data)) == columns
+
+    assert struct.Struct('>hd').unpack_columns(b'') == ([], [])
+    assert_raises(struct.error, s.unpack_columns, data[:-1])
+    assert_raises(struct.error, struct.Struct('').unpack_columns, b'')
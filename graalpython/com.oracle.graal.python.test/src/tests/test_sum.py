@@ -76,3 +76,64 @@ def test_iterator():
 def test_basics():
     assert sum([[1, 2], [3, 4]], []) == [1, 2, 3, 4]
     assert_raises(TypeError, sum, [1,2,3], None)
+
+
+def test_primitive_storages():
+    import math
+    ints = [3, -1, 7, 0, 5]
+    longs = [2 ** 40, -2 ** 41, 3]
+    floats = [0.1, 0.2, 0.3, -1e-17]
+    for seq in (ints, longs, floats, tuple(ints), tuple(floats), b'\x01\xff\x80'):
+        items = list(iter(seq))
+        expected_sum = 0
+        expected_sum_10 = 10
+        for x in items:
+            expected_sum += x
+            expected_sum_10 += x
+        assert sum(seq) == expected_sum
+        assert type(sum(seq)) is type(expected_sum)
+        assert sum(seq, 10) == expected_sum_10
+        assert max(seq) == max(iter(seq))
+        assert min(seq) == min(iter(seq))
+        assert any(seq) == any(iter(seq))
+        assert all(seq) == all(iter(seq))
+        assert math.fsum(seq) == math.fsum(iter(seq))
+        assert math.prod(seq) == math.prod(iter(seq))
+
+    # overflow of the primitive sum and product
+    big = [2 ** 62, 2 ** 62, 2 ** 62]
+    assert sum(big) == 3 * 2 ** 62
+    assert sum(big, -2 ** 63) == 2 ** 62
+    assert math.prod(big) == 2 ** 186
+    assert math.prod([2 ** 31] * 3) == 2 ** 93
+    assert sum([2 ** 31 - 1] * 4, 2 ** 63 - 1) == 4 * (2 ** 31 - 1) + 2 ** 63 - 1
+
+    # start values and float semantics
+    assert sum([], 5) == 5 and type(sum([], 5)) is int
+    assert sum([0.5, 0.25], 1) == 1.75
+    assert sum([-0.0]) == 0.0 and math.copysign(1, sum([-0.0])) == 1
+    assert math.copysign(1, sum([-0.0], -0.0)) == -1
+    assert sum([1e308, 1e308, -1e308]) == float('inf')
+    assert math.prod([]) == 1 and type(math.prod([])) is int
+    assert math.copysign(1, math.prod([-0.0])) == -1
+    assert_raises(TypeError, sum, [1, 2], 'a')
+
+    # NaNs and signed zeros keep the first item of equal ones like the generic comparison
+    nan = float('nan')
+    assert math.isnan(max([nan, 1.0]))
+    assert max([1.0, nan]) == 1.0
+    assert math.isnan(min([nan, 1.0]))
+    assert math.copysign(1, max([-0.0, 0.0])) == -1
+    assert math.copysign(1, min([0.0, -0.0])) == 1
+    assert any([0.0, nan]) and not all([nan, 0.0])
+    assert_raises(ValueError, max, [])
+    assert max([], default=42) == 42
+    assert max([1, 5, 2], key=lambda x: -x) == 1
+
+    # ranges
+    for r in (range(10), range(10, 0, -3), range(-5, 5, 2), range(0), range(2 ** 30, 2 ** 31 - 1, 2 ** 20)):
+        assert sum(r) == sum(list(iter(r)))
+        if len(r):
+            assert max(r) == max(iter(r))
+            assert min(r) == min(iter(r))
+    assert sum(range(2 ** 31 - 1)) == (2 ** 31 - 1) * (2 ** 31 - 2) // 2
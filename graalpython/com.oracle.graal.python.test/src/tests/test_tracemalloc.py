@@ -0,0 +1,109 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import gc
+import sys
+import tracemalloc
+import unittest
+
+
+def allocate(size):
+    return b'x' * size
+
+
+class TracemallocTests(unittest.TestCase):
+    def setUp(self):
+        tracemalloc.start(5)
+
+    def tearDown(self):
+        tracemalloc.stop()
+
+    def test_is_tracing(self):
+        self.assertTrue(tracemalloc.is_tracing())
+        self.assertEqual(tracemalloc.get_traceback_limit(), 5)
+        tracemalloc.stop()
+        self.assertFalse(tracemalloc.is_tracing())
+        self.assertEqual(tracemalloc.get_traced_memory(), (0, 0))
+        self.assertRaises(ValueError, tracemalloc.start, 0)
+
+    def test_object_traceback(self):
+        obj = allocate(1000); lineno = sys._getframe().f_lineno
+        traceback = tracemalloc.get_object_traceback(obj)
+        self.assertIsNotNone(traceback)
+        self.assertIn((__file__, lineno), [(frame.filename, frame.lineno) for frame in traceback])
+        self.assertGreater(traceback.total_nframe, 1)
+
+    def test_traced_memory(self):
+        before, _ = tracemalloc.get_traced_memory()
+        data = [allocate(10000) for _ in range(10)]
+        current, peak = tracemalloc.get_traced_memory()
+        self.assertGreaterEqual(current - before, 100000)
+        self.assertGreaterEqual(peak, current)
+        del data
+        for _ in range(3):
+            gc.collect()
+        tracemalloc.reset_peak()
+        current2, peak2 = tracemalloc.get_traced_memory()
+        self.assertLessEqual(peak2, peak)
+
+    def test_snapshot_compare(self):
+        snapshot1 = tracemalloc.take_snapshot()
+        data = [allocate(1000) for _ in range(100)]
+        snapshot2 = tracemalloc.take_snapshot()
+        stats = snapshot2.compare_to(snapshot1, 'lineno')
+        self.assertTrue(any(stat.traceback[0].filename == __file__ and stat.size_diff >= 100000 for stat in stats))
+        self.assertGreater(tracemalloc.get_tracemalloc_memory(), 0)
+        del data
+
+    def test_results_not_traced(self):
+        obj = allocate(1000)
+        traceback = tracemalloc._get_object_traceback(obj)
+        self.assertIsNotNone(traceback)
+        self.assertIsNone(tracemalloc._get_object_traceback(traceback))
+        traces = tracemalloc._get_traces()
+        self.assertIsNone(tracemalloc._get_object_traceback(traces))
+        self.assertIsNone(tracemalloc._get_object_traceback(traces[0]))
+
+    def test_clear_traces(self):
+        obj = allocate(100)
+        tracemalloc.clear_traces()
+        self.assertIsNone(tracemalloc.get_object_traceback(obj))
+
+
+if __name__ == '__main__':
+    unittest.main()
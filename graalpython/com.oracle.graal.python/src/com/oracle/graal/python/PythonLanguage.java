@@ -60,7 +60,10 @@ import org.graalvm.options.OptionValues;
 
 import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.PythonBuiltins.BuiltinTemplate;
 import com.oracle.graal.python.builtins.modules.MarshalModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.SREModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SignalModuleBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PNotImplemented;
@@ -315,6 +318,12 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
      */
     public final Assumption noTracingOrProfilingAssumption = Assumption.create("No tracing function was set");
 
+    /**
+     * This assumption will be valid if no context started tracemalloc at any point. Allocations of
+     * Python objects only need to be reported to tracemalloc once it is invalid.
+     */
+    public final Assumption noTracemallocAssumption = Assumption.create("tracemalloc was never started");
+
     @CompilationFinal private boolean singleContext = true;
 
     @Idempotent
@@ -427,10 +436,17 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
      */
     private final ConcurrentHashMap<Object, Source> sourceCache = new ConcurrentHashMap<>();
 
+    /** Compiled TRegex regexes shared between all contexts of this language instance. */
+    private final SREModuleBuiltins.TRegexEngineCache tregexEngineCache = new SREModuleBuiltins.TRegexEngineCache();
+
     public static PythonLanguage get(Node node) {
         return REFERENCE.get(node);
     }
 
+    public SREModuleBuiltins.TRegexEngineCache getTRegexEngineCache() {
+        return tregexEngineCache;
+    }
+
     public PythonLanguage() {
         // Make sure all the builtin slot classes are initialized
         if (PythonBuiltinClassType.PythonClass.getSlots() == null) {
@@ -981,6 +997,22 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         }
     }
 
+    private final ConcurrentHashMap<Class<? extends PythonBuiltins>, BuiltinTemplate[]> cachedBuiltinTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the context independent data of the builtin functions defined by the given builtins
+     * class. When the engine is shared, the templates are created only by the first context and
+     * further contexts only need to allocate the function objects.
+     */
+    @TruffleBoundary
+    public BuiltinTemplate[] getBuiltinTemplates(PythonBuiltins builtins) {
+        if (!singleContext) {
+            return cachedBuiltinTemplates.computeIfAbsent(builtins.getClass(), k -> builtins.createBuiltinTemplates(this));
+        } else {
+            return builtins.createBuiltinTemplates(this);
+        }
+    }
+
     @Override
     protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
         if (singleThreaded) {
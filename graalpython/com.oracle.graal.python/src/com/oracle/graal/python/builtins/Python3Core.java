@@ -160,6 +160,8 @@ import com.oracle.graal.python.builtins.modules.ctypes.StgDictBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.StructUnionTypeBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.StructureBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.UnionTypeBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DateTimeGraalPyModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalGraalPyModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.functools.FunctoolsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.functools.KeyWrapperBuiltins;
 import com.oracle.graal.python.builtins.modules.functools.LruCacheWrapperBuiltins;
@@ -221,6 +223,7 @@ import com.oracle.graal.python.builtins.objects.asyncio.AsyncGenSendBuiltins;
 import com.oracle.graal.python.builtins.objects.asyncio.AsyncGenThrowBuiltins;
 import com.oracle.graal.python.builtins.objects.asyncio.AsyncGeneratorBuiltins;
 import com.oracle.graal.python.builtins.objects.asyncio.CoroutineWrapperBuiltins;
+import com.oracle.graal.python.builtins.objects.asyncio.LoopCoreBuiltins;
 import com.oracle.graal.python.builtins.objects.bool.BoolBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.ByteArrayBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
@@ -506,6 +509,7 @@ public abstract class Python3Core {
                         new GeneratorBuiltins(),
                         new CoroutineBuiltins(),
                         new CoroutineWrapperBuiltins(),
+                        new LoopCoreBuiltins(),
                         new CommonGeneratorBuiltins(),
                         new AbstractFunctionBuiltins(),
                         new FunctionBuiltins(),
@@ -629,6 +633,8 @@ public abstract class Python3Core {
                         new JavaModuleBuiltins(),
                         new JArrayModuleBuiltins(),
                         new CSVModuleBuiltins(),
+                        new DecimalGraalPyModuleBuiltins(),
+                        new DateTimeGraalPyModuleBuiltins(),
                         new JSONModuleBuiltins(),
                         new SREModuleBuiltins(),
                         new AstModuleBuiltins(),
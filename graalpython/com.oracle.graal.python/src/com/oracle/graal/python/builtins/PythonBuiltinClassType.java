@@ -380,6 +380,9 @@ public enum PythonBuiltinClassType implements TruffleObject {
     CSVReader("Reader", "_csv", Flags.PUBLIC_BASE_WODICT),
     CSVWriter("Writer", "_csv", Flags.PUBLIC_BASE_WODICT),
 
+    // _asyncio
+    PAsyncioLoopCore("_LoopCore", "_asyncio", Flags.PUBLIC_DERIVED_WODICT),
+
     // codecs
     PEncodingMap("EncodingMap", Flags.PRIVATE_DERIVED_WODICT),
 
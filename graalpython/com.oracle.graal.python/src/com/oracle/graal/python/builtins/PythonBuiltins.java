@@ -110,12 +110,14 @@ import static com.oracle.graal.python.nodes.truffle.TruffleStringMigrationHelper
 import static com.oracle.graal.python.nodes.truffle.TruffleStringMigrationHelpers.ensureNoJavaString;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
@@ -157,64 +159,97 @@ public abstract class PythonBuiltins {
         if (builtinFunctions.size() > 0) {
             return;
         }
-        initializeEachFactoryWith((factory, builtin) -> {
-            CoreFunctions annotation = getClass().getAnnotation(CoreFunctions.class);
-            final boolean declaresExplicitSelf;
+        for (BuiltinTemplate template : core.getLanguage().getBuiltinTemplates(this)) {
+            Builtin builtin = template.builtin;
             PythonBuiltinClassType constructsClass = builtin.constructsClass();
-            if ((annotation.defineModule().length() > 0 || annotation.extendsModule().length() > 0) && constructsClass == PythonBuiltinClassType.nil) {
-                assert !builtin.isGetter();
-                assert !builtin.isSetter();
-                assert annotation.extendClasses().length == 0;
-                // for module functions, explicit self is false by default
-                declaresExplicitSelf = builtin.declaresExplicitSelf();
-            } else if (builtin.constructsClass() != PythonBuiltinClassType.nil) {
-                declaresExplicitSelf = false;
-            } else {
-                declaresExplicitSelf = true;
-            }
-            TruffleString tsName = toTruffleStringUncached(builtin.name());
-            RootCallTarget callTarget = core.getLanguage().createCachedCallTarget(l -> new BuiltinFunctionRootNode(l, builtin, factory, declaresExplicitSelf), factory.getNodeClass(),
-                            builtin.name());
-            Object builtinDoc = builtin.doc().isEmpty() ? PNone.NONE : toTruffleStringUncached(builtin.doc());
-            int flags = PBuiltinFunction.getFlags(builtin, callTarget);
             if (constructsClass != PythonBuiltinClassType.nil) {
-                assert !builtin.isGetter() && !builtin.isSetter() && !builtin.isClassmethod() && !builtin.isStaticmethod();
                 // we explicitly do not make these "staticmethods" here, since CPython also doesn't
                 // for builtin types
-                PBuiltinFunction newFunc = core.factory().createBuiltinFunction(T___NEW__, constructsClass, numDefaults(builtin), flags, callTarget);
+                PBuiltinFunction newFunc = core.factory().createBuiltinFunction(T___NEW__, constructsClass, template.numDefaults, template.flags, template.callTarget);
                 PBuiltinMethod newMethod = core.factory().createBuiltinMethod(constructsClass, newFunc);
                 PythonBuiltinClass builtinClass = core.lookupType(constructsClass);
                 builtinClass.setAttributeUnsafe(T___NEW__, newMethod);
                 final Object currentBuiltinDoc = builtinClass.getAttribute(T___DOC__);
                 if (PGuards.isPNone(currentBuiltinDoc)) {
-                    builtinClass.setAttribute(T___DOC__, builtinDoc);
+                    builtinClass.setAttribute(T___DOC__, template.doc);
                 }
             } else {
                 PBuiltinFunction function;
-                if (isSlotMethod(builtin)) {
+                if (template.isSlotMethod) {
                     // HACK: TODO: we should not see any slots here anymore once all are converted
                     // to slots, then we can make the slot field in PBuiltinFunction final, for now,
                     // we patch it in TpSlots#wrapBuiltinSlots
-                    function = core.factory().createWrapperDescriptor(tsName, null, numDefaults(builtin), flags, callTarget, null, null);
+                    function = core.factory().createWrapperDescriptor(template.name, null, template.numDefaults, template.flags, template.callTarget, null, null);
                 } else {
-                    function = core.factory().createBuiltinFunction(tsName, null, numDefaults(builtin), flags, callTarget);
+                    function = core.factory().createBuiltinFunction(template.name, null, template.numDefaults, template.flags, template.callTarget);
                 }
-                function.setAttribute(T___DOC__, builtinDoc);
+                function.setAttribute(T___DOC__, template.doc);
                 BoundBuiltinCallable<?> callable = function;
                 if (builtin.isGetter() || builtin.isSetter()) {
                     assert !builtin.isClassmethod() && !builtin.isStaticmethod();
                     PBuiltinFunction get = builtin.isGetter() ? function : null;
                     PBuiltinFunction set = builtin.isSetter() ? function : null;
-                    callable = core.factory().createGetSetDescriptor(get, set, tsName, null, builtin.allowsDelete());
+                    callable = core.factory().createGetSetDescriptor(get, set, template.name, null, builtin.allowsDelete());
                 } else if (builtin.isClassmethod()) {
                     assert !builtin.isStaticmethod();
                     callable = core.factory().createBuiltinClassmethodFromCallableObj(function);
                 } else if (builtin.isStaticmethod()) {
                     callable = core.factory().createStaticmethodFromCallableObj(function);
                 }
-                builtinFunctions.put(toTruffleStringUncached(builtin.name()), callable);
+                builtinFunctions.put(template.name, callable);
+            }
+        }
+    }
+
+    /**
+     * The context independent data of a builtin function. The templates of each builtins class
+     * are created once per language, so that further contexts only need to allocate the function
+     * objects, see {@link PythonLanguage#getBuiltinTemplates(PythonBuiltins)}.
+     */
+    public static final class BuiltinTemplate {
+        final Builtin builtin;
+        final TruffleString name;
+        final Object doc;
+        final int numDefaults;
+        final int flags;
+        final RootCallTarget callTarget;
+        final boolean isSlotMethod;
+
+        BuiltinTemplate(Builtin builtin, RootCallTarget callTarget) {
+            this.builtin = builtin;
+            this.name = toTruffleStringUncached(builtin.name());
+            this.doc = builtin.doc().isEmpty() ? PNone.NONE : toTruffleStringUncached(builtin.doc());
+            this.numDefaults = numDefaults(builtin);
+            this.flags = PBuiltinFunction.getFlags(builtin, callTarget);
+            this.callTarget = callTarget;
+            this.isSlotMethod = isSlotMethod(builtin);
+        }
+    }
+
+    public final BuiltinTemplate[] createBuiltinTemplates(PythonLanguage language) {
+        CoreFunctions annotation = getClass().getAnnotation(CoreFunctions.class);
+        boolean isModule = annotation.defineModule().length() > 0 || annotation.extendsModule().length() > 0;
+        List<BuiltinTemplate> templates = new ArrayList<>();
+        initializeEachFactoryWith((factory, builtin) -> {
+            final boolean declaresExplicitSelf;
+            PythonBuiltinClassType constructsClass = builtin.constructsClass();
+            if (isModule && constructsClass == PythonBuiltinClassType.nil) {
+                assert !builtin.isGetter();
+                assert !builtin.isSetter();
+                assert annotation.extendClasses().length == 0;
+                // for module functions, explicit self is false by default
+                declaresExplicitSelf = builtin.declaresExplicitSelf();
+            } else if (constructsClass != PythonBuiltinClassType.nil) {
+                assert !builtin.isGetter() && !builtin.isSetter() && !builtin.isClassmethod() && !builtin.isStaticmethod();
+                declaresExplicitSelf = false;
+            } else {
+                declaresExplicitSelf = true;
             }
+            RootCallTarget callTarget = language.createCachedCallTarget(l -> new BuiltinFunctionRootNode(l, builtin, factory, declaresExplicitSelf), factory.getNodeClass(),
+                            builtin.name());
+            templates.add(new BuiltinTemplate(builtin, callTarget));
         });
+        return templates.toArray(new BuiltinTemplate[0]);
     }
 
     // All methods that are really slots in CPython
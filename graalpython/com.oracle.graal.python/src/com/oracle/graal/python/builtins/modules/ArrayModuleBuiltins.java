@@ -51,6 +51,7 @@ import com.oracle.graal.python.builtins.objects.array.ArrayBuiltins;
 import com.oracle.graal.python.builtins.objects.array.ArrayNodes;
 import com.oracle.graal.python.builtins.objects.array.PArray;
 import com.oracle.graal.python.builtins.objects.array.PArray.MachineFormat;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
@@ -94,6 +95,7 @@ import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.InlinedConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
@@ -233,11 +235,17 @@ public final class ArrayModuleBuiltins extends PythonBuiltins {
                             @Shared @Cached GetFormatCheckedNode getFormatCheckedNode,
                             @Shared @Cached(inline = false) PythonObjectFactory factory,
                             @Exclusive @Cached ArrayNodes.PutValueNode putValueNode,
-                            @Cached ArrayNodes.GetValueNode getValueNode) {
+                            @Cached ArrayNodes.GetValueNode getValueNode,
+                            @Cached InlinedConditionProfile sameFormatProfile,
+                            @CachedLibrary(limit = "2") PythonBufferAccessLibrary bufferLib) {
                 BufferFormat format = getFormatCheckedNode.execute(inliningTarget, typeCode);
                 try {
                     int length = initializer.getLength();
                     PArray array = factory.createArray(cls, typeCode, format, length);
+                    if (sameFormatProfile.profile(inliningTarget, format == initializer.getFormat())) {
+                        bufferLib.readIntoBuffer(initializer.getBuffer(), 0, array.getBuffer(), 0, initializer.getBytesLength(), bufferLib);
+                        return array;
+                    }
                     for (int i = 0; i < length; i++) {
                         putValueNode.execute(frame, inliningTarget, array, i, getValueNode.execute(inliningTarget, initializer, i));
                     }
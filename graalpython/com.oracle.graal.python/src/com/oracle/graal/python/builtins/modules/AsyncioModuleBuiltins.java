@@ -54,6 +54,7 @@ import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.asyncio.PLoopCore;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.lib.PyDictDelItem;
@@ -164,6 +165,15 @@ public final class AsyncioModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "_LoopCore", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PAsyncioLoopCore)
+    @GenerateNodeFactory
+    public abstract static class LoopCoreNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PLoopCore doGeneric(Object cls) {
+            return factory().createAsyncioLoopCore(cls);
+        }
+    }
+
     public static final TruffleString CURRENT_TASKS_ATTR = tsLiteral("_current_tasks");
 
     @Builtin(name = "_enter_task", declaresExplicitSelf = true, minNumOfPositionalArgs = 3)
@@ -1449,11 +1449,9 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
             checkMaxDigits(context, s.length(), base);
 
-            BigInteger bi;
+            BigInteger bi = PInt.parseBigInteger(s, base);
             if (sign == '-') {
-                bi = new BigInteger("-" + s, base);
-            } else {
-                bi = new BigInteger(s, base);
+                bi = bi.negate();
             }
 
             if (raiseIfNotZero && !bi.equals(BigInteger.ZERO)) {
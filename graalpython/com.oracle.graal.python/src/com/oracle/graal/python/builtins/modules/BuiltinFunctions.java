@@ -122,6 +122,8 @@ import com.oracle.graal.python.builtins.modules.ast.AstModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.IOModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.IONodes;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.array.ArrayNodes;
+import com.oracle.graal.python.builtins.objects.array.PArray;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
@@ -153,6 +155,7 @@ import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.ObjectNodes;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.builtins.objects.type.TypeBuiltins;
@@ -233,6 +236,7 @@ import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObject
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.object.GetOrCreateDictNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.truffle.PythonTypes;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToJavaLongExactNode;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
@@ -250,9 +254,14 @@ import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.BufferFormat;
 import com.oracle.graal.python.util.CharsetMapping;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.graal.python.util.Supplier;
@@ -405,6 +414,46 @@ public final class BuiltinFunctions extends PythonBuiltins {
             return nodeType == AnyOrAllNodeType.ALL;
         }
 
+        @Specialization
+        static boolean doLongSequence(Node inliningTarget, LongSequenceStorage sequenceStorage, AnyOrAllNodeType nodeType,
+                        @Exclusive @Cached InlinedLoopConditionProfile loopConditionProfile,
+                        @Exclusive @Cached InlinedCountingConditionProfile earlyExitProfile) {
+            long[] internalArray = sequenceStorage.getInternalLongArray();
+            int seqLength = sequenceStorage.length();
+
+            for (int i = 0; loopConditionProfile.profile(inliningTarget, i < seqLength); i++) {
+                if (nodeType == AnyOrAllNodeType.ALL && earlyExitProfile.profile(inliningTarget, internalArray[i] == 0)) {
+                    LoopNode.reportLoopCount(inliningTarget, i);
+                    return false;
+                } else if (nodeType == AnyOrAllNodeType.ANY && earlyExitProfile.profile(inliningTarget, internalArray[i] != 0)) {
+                    LoopNode.reportLoopCount(inliningTarget, i);
+                    return true;
+                }
+            }
+            LoopNode.reportLoopCount(inliningTarget, seqLength);
+            return nodeType == AnyOrAllNodeType.ALL;
+        }
+
+        @Specialization
+        static boolean doDoubleSequence(Node inliningTarget, DoubleSequenceStorage sequenceStorage, AnyOrAllNodeType nodeType,
+                        @Exclusive @Cached InlinedLoopConditionProfile loopConditionProfile,
+                        @Exclusive @Cached InlinedCountingConditionProfile earlyExitProfile) {
+            double[] internalArray = sequenceStorage.getInternalDoubleArray();
+            int seqLength = sequenceStorage.length();
+
+            for (int i = 0; loopConditionProfile.profile(inliningTarget, i < seqLength); i++) {
+                if (nodeType == AnyOrAllNodeType.ALL && earlyExitProfile.profile(inliningTarget, internalArray[i] == 0.0)) {
+                    LoopNode.reportLoopCount(inliningTarget, i);
+                    return false;
+                } else if (nodeType == AnyOrAllNodeType.ANY && earlyExitProfile.profile(inliningTarget, internalArray[i] != 0.0)) {
+                    LoopNode.reportLoopCount(inliningTarget, i);
+                    return true;
+                }
+            }
+            LoopNode.reportLoopCount(inliningTarget, seqLength);
+            return nodeType == AnyOrAllNodeType.ALL;
+        }
+
         @Specialization
         static boolean doGenericSequence(VirtualFrame frame, Node inliningTarget, SequenceStorage sequenceStorage, AnyOrAllNodeType nodeType,
                         @Exclusive @Cached InlinedLoopConditionProfile loopConditionProfile,
@@ -1612,6 +1661,150 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
     }
 
+    /**
+     * Finds the smallest or largest item of a non-empty primitive sequence storage, numeric array
+     * or int range without going through the iterator protocol. Returns {@code null} otherwise.
+     * Floats are compared with {@code <} and {@code >} so that NaNs and signed zeros give the same
+     * result as the generic comparison.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic({PGuards.class, ArrayNodes.class})
+    abstract static class MinMaxPrimitivesNode extends Node {
+        abstract Object execute(Node inliningTarget, Object items, boolean isMax);
+
+        @Specialization(guards = "storage.length() > 0")
+        static int doInt(IntSequenceStorage storage, boolean isMax) {
+            int[] items = storage.getInternalIntArray();
+            int length = storage.length();
+            int result = items[0];
+            if (isMax) {
+                for (int i = 1; i < length; i++) {
+                    result = Math.max(result, items[i]);
+                }
+            } else {
+                for (int i = 1; i < length; i++) {
+                    result = Math.min(result, items[i]);
+                }
+            }
+            return result;
+        }
+
+        @Specialization(guards = "storage.length() > 0")
+        static long doLong(LongSequenceStorage storage, boolean isMax) {
+            long[] items = storage.getInternalLongArray();
+            int length = storage.length();
+            long result = items[0];
+            if (isMax) {
+                for (int i = 1; i < length; i++) {
+                    result = Math.max(result, items[i]);
+                }
+            } else {
+                for (int i = 1; i < length; i++) {
+                    result = Math.min(result, items[i]);
+                }
+            }
+            return result;
+        }
+
+        @Specialization(guards = "storage.length() > 0")
+        static int doByte(ByteSequenceStorage storage, boolean isMax) {
+            byte[] items = storage.getInternalByteArray();
+            int length = storage.length();
+            int result = items[0] & 0xFF;
+            if (isMax) {
+                for (int i = 1; i < length; i++) {
+                    result = Math.max(result, items[i] & 0xFF);
+                }
+            } else {
+                for (int i = 1; i < length; i++) {
+                    result = Math.min(result, items[i] & 0xFF);
+                }
+            }
+            return result;
+        }
+
+        @Specialization(guards = "storage.length() > 0")
+        static double doDouble(DoubleSequenceStorage storage, boolean isMax) {
+            double[] items = storage.getInternalDoubleArray();
+            int length = storage.length();
+            double result = items[0];
+            if (isMax) {
+                for (int i = 1; i < length; i++) {
+                    if (items[i] > result) {
+                        result = items[i];
+                    }
+                }
+            } else {
+                for (int i = 1; i < length; i++) {
+                    if (items[i] < result) {
+                        result = items[i];
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Specialization(guards = {"isBuiltinArray(array)", "array.getLength() > 0", "isIntegerFormat(array.getFormat())"})
+        static Object doIntegerArray(PArray array, boolean isMax,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            BufferFormat format = array.getFormat();
+            int length = array.getLength();
+            long result = ArrayNodes.readIntegerItem(bufferLib, buffer, format, 0);
+            for (int i = 1; i < length; i++) {
+                long item = ArrayNodes.readIntegerItem(bufferLib, buffer, format, i);
+                result = isMax ? Math.max(result, item) : Math.min(result, item);
+                if (item < 0 && format == BufferFormat.UINT_64) {
+                    // does not fit into a long
+                    return null;
+                }
+            }
+            if (result < 0 && format == BufferFormat.UINT_64) {
+                return null;
+            }
+            return result;
+        }
+
+        @Specialization(guards = {"isBuiltinArray(array)", "array.getLength() > 0", "isFloatFormat(array.getFormat())"})
+        static double doFloatArray(PArray array, boolean isMax,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            BufferFormat format = array.getFormat();
+            int length = array.getLength();
+            double result = ArrayNodes.readFloatItem(bufferLib, buffer, format, 0);
+            if (isMax) {
+                for (int i = 1; i < length; i++) {
+                    double item = ArrayNodes.readFloatItem(bufferLib, buffer, format, i);
+                    if (item > result) {
+                        result = item;
+                    }
+                }
+            } else {
+                for (int i = 1; i < length; i++) {
+                    double item = ArrayNodes.readFloatItem(bufferLib, buffer, format, i);
+                    if (item < result) {
+                        result = item;
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Specialization(guards = "range.getIntLength() > 0")
+        static int doRange(PIntRange range, boolean isMax) {
+            int first = range.getIntStart();
+            int last = range.getIntItemNormalized(range.getIntLength() - 1);
+            return isMax == (range.getIntStep() > 0) ? last : first;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object items, boolean isMax) {
+            return null;
+        }
+    }
+
     @GenerateInline
     @GenerateCached(false)
     public abstract static class MinMaxNode extends Node {
@@ -1630,10 +1823,19 @@ public final class BuiltinFunctions extends PythonBuiltins {
                         @Exclusive @Cached IsBuiltinObjectProfile errorProfile1,
                         @Exclusive @Cached IsBuiltinObjectProfile errorProfile2,
                         @Exclusive @Cached InlinedConditionProfile hasDefaultProfile,
-                        @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
+                        @Exclusive @Cached PRaiseNode.Lazy raiseNode,
+                        @Cached MinMaxPrimitivesNode minMaxPrimitivesNode) {
             boolean kwArgsAreNone = keywordArgIsNone.profile(inliningTarget, PGuards.isPNone(keywordArgIn));
             Object keywordArg = kwArgsAreNone ? null : keywordArgIn;
 
+            if (kwArgsAreNone) {
+                Object items = arg1 instanceof PSequence sequence && PGuards.isBuiltinSequence(sequence) ? sequence.getSequenceStorage() : arg1;
+                Object result = minMaxPrimitivesNode.execute(inliningTarget, items, compare instanceof BinaryComparisonNode.GtNode);
+                if (result != null) {
+                    return result;
+                }
+            }
+
             Object iterator = getIter.execute(frame, inliningTarget, arg1);
             Object currentValue;
             try {
@@ -2177,6 +2379,155 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
     }
 
+    /**
+     * Sums the items of a primitive sequence storage, of a numeric array or of an int range without
+     * going through the iterator protocol. Returns {@code null} if the items are not primitive or if
+     * the result does not fit into a {@code long}, in which case the caller falls back to the
+     * generic iteration that produces the same result. Floats are added one after the other,
+     * starting from the {@code start} value, exactly like CPython does.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @TypeSystemReference(PythonTypes.class)
+    @ImportStatic({PGuards.class, ArrayNodes.class})
+    abstract static class SumPrimitivesNode extends Node {
+        abstract Object execute(Node inliningTarget, Object items, Object start);
+
+        @Specialization
+        static Object doInt(IntSequenceStorage storage, long start) {
+            int[] items = storage.getInternalIntArray();
+            int length = storage.length();
+            long sum = 0;
+            for (int i = 0; i < length; i++) {
+                // cannot overflow, the storage has less than 2^31 items of less than 2^31
+                sum += items[i];
+            }
+            try {
+                return narrow(Math.addExact(start, sum));
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+
+        @Specialization
+        static Object doLong(LongSequenceStorage storage, long start) {
+            long[] items = storage.getInternalLongArray();
+            int length = storage.length();
+            long sum = start;
+            try {
+                for (int i = 0; i < length; i++) {
+                    sum = Math.addExact(sum, items[i]);
+                }
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            return narrow(sum);
+        }
+
+        @Specialization
+        static Object doByte(ByteSequenceStorage storage, long start) {
+            byte[] items = storage.getInternalByteArray();
+            int length = storage.length();
+            long sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += items[i] & 0xFF;
+            }
+            try {
+                return narrow(Math.addExact(start, sum));
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+
+        @Specialization
+        static double doDouble(DoubleSequenceStorage storage, double start) {
+            return sumDoubles(storage, start);
+        }
+
+        @Specialization(guards = "storage.length() > 0")
+        static double doDoubleIntStart(DoubleSequenceStorage storage, long start) {
+            // like int.__add__(float), the first addition converts the int start to a float
+            return sumDoubles(storage, start);
+        }
+
+        private static double sumDoubles(DoubleSequenceStorage storage, double start) {
+            double[] items = storage.getInternalDoubleArray();
+            int length = storage.length();
+            double sum = start;
+            for (int i = 0; i < length; i++) {
+                sum += items[i];
+            }
+            return sum;
+        }
+
+        @Specialization(guards = {"isBuiltinArray(array)", "isIntegerFormat(array.getFormat())"})
+        static Object doIntegerArray(PArray array, long start,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            BufferFormat format = array.getFormat();
+            int length = array.getLength();
+            long sum = start;
+            try {
+                for (int i = 0; i < length; i++) {
+                    long item = ArrayNodes.readIntegerItem(bufferLib, buffer, format, i);
+                    if (item < 0 && format == BufferFormat.UINT_64) {
+                        // does not fit into a long
+                        return null;
+                    }
+                    sum = Math.addExact(sum, item);
+                }
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            return narrow(sum);
+        }
+
+        @Specialization(guards = {"isBuiltinArray(array)", "isFloatFormat(array.getFormat())"})
+        static double doFloatArray(PArray array, double start,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            return sumFloatArray(array, start, bufferLib);
+        }
+
+        @Specialization(guards = {"isBuiltinArray(array)", "array.getLength() > 0", "isFloatFormat(array.getFormat())"})
+        static double doFloatArrayIntStart(PArray array, long start,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            // like int.__add__(float), the first addition converts the int start to a float
+            return sumFloatArray(array, start, bufferLib);
+        }
+
+        private static double sumFloatArray(PArray array, double start, PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            BufferFormat format = array.getFormat();
+            int length = array.getLength();
+            double sum = start;
+            for (int i = 0; i < length; i++) {
+                sum += ArrayNodes.readFloatItem(bufferLib, buffer, format, i);
+            }
+            return sum;
+        }
+
+        @Specialization
+        static Object doRange(PIntRange range, long start) {
+            long length = range.getIntLength();
+            try {
+                long sum = Math.addExact(Math.multiplyExact(length, range.getIntStart()), Math.multiplyExact(range.getIntStep(), length * (length - 1) / 2));
+                return narrow(Math.addExact(start, sum));
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object items, Object start) {
+            return null;
+        }
+
+        private static Object narrow(long value) {
+            return PInt.isIntRange(value) ? (Object) (int) value : (Object) value;
+        }
+    }
+
     // sum(iterable[, start])
     @Builtin(name = J_SUM, minNumOfPositionalArgs = 1, parameterNames = {"iterable", "start"})
     @GenerateNodeFactory
@@ -2184,6 +2535,27 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Child private LookupAndCallUnaryNode next = LookupAndCallUnaryNode.create(SpecialMethodSlot.Next);
 
+        @Specialization(guards = "hasPrimitiveItems(arg1)")
+        Object sumPrimitives(VirtualFrame frame, Object arg1, Object start,
+                        @Bind("this") Node inliningTarget,
+                        @Cached SumPrimitivesNode sumPrimitivesNode,
+                        @Shared @Cached PyNumberAddNode addNode,
+                        @Shared @Cached IsBuiltinObjectProfile errorProfile,
+                        @Shared("getIter") @Cached PyObjectGetIter getIter,
+                        @Shared @Cached InlinedConditionProfile hasStart,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            Object items = arg1 instanceof PSequence sequence ? sequence.getSequenceStorage() : arg1;
+            Object result = sumPrimitivesNode.execute(inliningTarget, items, hasStart.profile(inliningTarget, start != NO_VALUE) ? start : 0);
+            if (result != null) {
+                return result;
+            }
+            return sum(frame, arg1, start, inliningTarget, addNode, errorProfile, getIter, hasStart, raiseNode);
+        }
+
+        static boolean hasPrimitiveItems(Object arg) {
+            return arg instanceof PIntRange || arg instanceof PSequence sequence && PGuards.isBuiltinSequence(sequence) || arg instanceof PArray array && PGuards.isBuiltinArray(array);
+        }
+
         @Specialization(guards = "isNoValue(start)", rewriteOn = UnexpectedResultException.class)
         int sumIntNone(VirtualFrame frame, Object arg1, @SuppressWarnings("unused") PNone start,
                         @Bind("this") Node inliningTarget,
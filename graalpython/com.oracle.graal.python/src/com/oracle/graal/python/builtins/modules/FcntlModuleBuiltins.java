@@ -125,16 +125,21 @@ public final class FcntlModuleBuiltins extends PythonBuiltins {
         }
 
         @Specialization
-        synchronized PNone flock(VirtualFrame frame, int fd, int operation,
+        PNone flock(VirtualFrame frame, int fd, int operation,
                         @Bind("this") Node inliningTarget,
                         @Cached SysModuleBuiltins.AuditNode auditNode,
                         @CachedLibrary("getPosixSupport()") PosixSupportLibrary posix,
+                        @Cached GilNode gil,
                         @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
             auditNode.audit(inliningTarget, "fcntl.flock", fd, operation);
+            gil.release(true);
             try {
                 posix.flock(getPosixSupport(), fd, operation);
             } catch (PosixException e) {
+                gil.acquire();
                 throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                gil.acquire();
             }
             return PNone.NONE;
         }
@@ -153,6 +158,7 @@ public final class FcntlModuleBuiltins extends PythonBuiltins {
                         @CachedLibrary("getPosixSupport()") PosixSupportLibrary posix,
                         @Cached PyLongAsLongNode asLongNode,
                         @Cached PRaiseNode.Lazy raiseNode,
+                        @Cached GilNode gil,
                         @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
             auditNode.audit(inliningTarget, "fcntl.lockf", fd, code, lenObj != PNone.NO_VALUE ? lenObj : PNone.NONE, startObj != PNone.NO_VALUE ? startObj : PNone.NONE, whence);
             int lockType;
@@ -173,10 +179,14 @@ public final class FcntlModuleBuiltins extends PythonBuiltins {
             if (lenObj != PNone.NO_VALUE) {
                 len = asLongNode.execute(frame, inliningTarget, lenObj);
             }
+            gil.release(true);
             try {
                 posix.fcntlLock(getPosixSupport(), fd, (code & LOCK_NB.value) == 0, lockType, whence, start, len);
             } catch (PosixException e) {
+                gil.acquire();
                 throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                gil.acquire();
             }
             return PNone.NONE;
         }
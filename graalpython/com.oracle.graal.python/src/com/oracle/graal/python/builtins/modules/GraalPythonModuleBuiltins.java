@@ -64,9 +64,11 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
@@ -105,7 +107,9 @@ import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.EmptyStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.IntMapStorage;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.StrMapStorage;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.ErrorAndMessagePair;
@@ -139,6 +143,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
@@ -148,6 +153,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonImageBuildOptions;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.SamplingProfiler;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonExitException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -813,6 +819,10 @@ public final class GraalPythonModuleBuiltins extends PythonBuiltins {
                     return new DynamicObjectStorage(lang);
                 case "economicmap":
                     return EconomicMapStorage.create();
+                case "intmap":
+                    return IntMapStorage.create();
+                case "strmap":
+                    return StrMapStorage.create();
                 default:
                     throw PRaiseNode.raiseUncached(this, PythonBuiltinClassType.ValueError, ErrorMessages.UNKNOWN_STORAGE_STRATEGY);
             }
@@ -1079,6 +1089,165 @@ public final class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "tregex_cache_stats", minNumOfPositionalArgs = 0, doc = "Returns the statistics of the engine-wide cache of compiled regexes.")
+    @GenerateNodeFactory
+    abstract static class TRegexCacheStats extends PythonBuiltinNode {
+        private static final TruffleString T_HITS = tsLiteral("hits");
+        private static final TruffleString T_MISSES = tsLiteral("misses");
+        private static final TruffleString T_SIZE = tsLiteral("size");
+        private static final TruffleString T_BACKGROUND_COMPILATIONS = tsLiteral("background_compilations");
+
+        @Specialization
+        PDict get(@Cached PythonObjectFactory factory) {
+            return factory.createDict(getStats(getLanguage().getTRegexEngineCache()));
+        }
+
+        @TruffleBoundary
+        private static PKeyword[] getStats(SREModuleBuiltins.TRegexEngineCache cache) {
+            return new PKeyword[]{
+                            new PKeyword(T_HITS, cache.getHits()),
+                            new PKeyword(T_MISSES, cache.getMisses()),
+                            new PKeyword(T_SIZE, cache.size()),
+                            new PKeyword(T_BACKGROUND_COMPILATIONS, cache.getBackgroundCompilations())
+            };
+        }
+    }
+
+    @TruffleBoundary
+    static SamplingProfiler getSamplingProfiler(Node node) {
+        SamplingProfiler profiler = PythonContext.get(node).getSamplingProfiler();
+        if (profiler == null) {
+            throw PRaiseNode.raiseUncached(node, PythonBuiltinClassType.RuntimeError, ErrorMessages.SAMPLING_PROFILER_NOT_AVAILABLE);
+        }
+        return profiler;
+    }
+
+    @Builtin(name = "sampling_profiler_start", minNumOfPositionalArgs = 0, parameterNames = {"interval"}, doc = "sampling_profiler_start(interval=None)\n\n" +
+                    "Starts the sampling profiler, or changes its interval if it is already running. " +
+                    "The interval is given in milliseconds and defaults to the SamplingProfilerInterval option.")
+    @ArgumentClinic(name = "interval", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class SamplingProfilerStartNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object start(int interval) {
+            int actualInterval = interval;
+            if (interval == -1) {
+                actualInterval = getContext().getOption(PythonOptions.SamplingProfilerInterval);
+            } else if (interval <= 0) {
+                throw PRaiseNode.raiseUncached(this, PythonBuiltinClassType.ValueError, ErrorMessages.SAMPLING_INTERVAL_MUST_BE_POSITIVE);
+            }
+            getSamplingProfiler(this).start(actualInterval);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return GraalPythonModuleBuiltinsClinicProviders.SamplingProfilerStartNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "sampling_profiler_stop", minNumOfPositionalArgs = 0, doc = "Stops the sampling profiler, the samples taken so far are kept.")
+    @GenerateNodeFactory
+    abstract static class SamplingProfilerStopNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object stop() {
+            getSamplingProfiler(this).stop();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "sampling_profiler_clear", minNumOfPositionalArgs = 0, doc = "Discards the samples taken so far.")
+    @GenerateNodeFactory
+    abstract static class SamplingProfilerClearNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object clear() {
+            getSamplingProfiler(this).clear();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "sampling_profiler_dump", minNumOfPositionalArgs = 0, parameterNames = {"file", "format"}, doc = "sampling_profiler_dump(file=None, format='collapsed')\n\n" +
+                    "Writes the samples to the given file, either as collapsed stacks for flame graph tools or as a JFR recording. " +
+                    "Without a file, the collapsed stacks are returned as a string and the recording as bytes. " +
+                    "This function can be registered as a signal handler to dump the profile on demand.")
+    @ArgumentClinic(name = "file", conversion = ArgumentClinic.ClinicConversion.TString, defaultValue = "PNone.NONE", useDefaultForNone = true)
+    @ArgumentClinic(name = "format", conversion = ArgumentClinic.ClinicConversion.TString, defaultValue = "PNone.NONE", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class SamplingProfilerDumpNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        Object dump(VirtualFrame frame, Object file, Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached TruffleString.EqualNode eqNode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            try {
+                return doDump(file, format);
+            } catch (IOException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, e, eqNode);
+            }
+        }
+
+        @TruffleBoundary
+        private Object doDump(Object file, Object format) throws IOException {
+            String jFormat = format instanceof TruffleString tsFormat ? tsFormat.toJavaStringUncached() : SamplingProfiler.FORMAT_COLLAPSED;
+            if (!SamplingProfiler.FORMAT_COLLAPSED.equals(jFormat) && !SamplingProfiler.FORMAT_JFR.equals(jFormat)) {
+                throw PRaiseNode.raiseUncached(this, PythonBuiltinClassType.ValueError, ErrorMessages.UNKNOWN_SAMPLING_PROFILE_FORMAT, jFormat);
+            }
+            SamplingProfiler profiler = getSamplingProfiler(this);
+            if (file instanceof TruffleString tsFile) {
+                PythonContext context = getContext();
+                try (OutputStream out = context.getEnv().getPublicTruffleFile(tsFile.toJavaStringUncached()).newOutputStream()) {
+                    profiler.dump(out, jFormat);
+                }
+                return PNone.NONE;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            profiler.dump(out, jFormat);
+            if (SamplingProfiler.FORMAT_JFR.equals(jFormat)) {
+                return getContext().factory().createBytes(out.toByteArray());
+            }
+            return toTruffleStringUncached(out.toString(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return GraalPythonModuleBuiltinsClinicProviders.SamplingProfilerDumpNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "sampling_profiler_stats", minNumOfPositionalArgs = 0, doc = "Returns the state and the sample counts of the sampling profiler.")
+    @GenerateNodeFactory
+    abstract static class SamplingProfilerStatsNode extends PythonBuiltinNode {
+        private static final TruffleString T_RUNNING = tsLiteral("running");
+        private static final TruffleString T_INTERVAL = tsLiteral("interval");
+        private static final TruffleString T_SAMPLES = tsLiteral("samples");
+        private static final TruffleString T_RETAINED = tsLiteral("retained");
+        private static final TruffleString T_COMPILED = tsLiteral("compiled");
+        private static final TruffleString T_GIL_WAIT = tsLiteral("gil_wait");
+        private static final TruffleString T_MISSED = tsLiteral("missed");
+
+        @Specialization
+        PDict get(@Cached PythonObjectFactory factory) {
+            return factory.createDict(getStats(getSamplingProfiler(this)));
+        }
+
+        @TruffleBoundary
+        private static PKeyword[] getStats(SamplingProfiler profiler) {
+            long[] counts = profiler.getCounts();
+            return new PKeyword[]{
+                            new PKeyword(T_RUNNING, profiler.isRunning()),
+                            new PKeyword(T_INTERVAL, profiler.getInterval()),
+                            new PKeyword(T_SAMPLES, counts[0]),
+                            new PKeyword(T_RETAINED, counts[1]),
+                            new PKeyword(T_COMPILED, counts[2]),
+                            new PKeyword(T_GIL_WAIT, counts[3]),
+                            new PKeyword(T_MISSED, counts[4])
+            };
+        }
+    }
+
     @Builtin(name = "get_python_home_paths", minNumOfPositionalArgs = 0)
     @GenerateNodeFactory
     abstract static class GetPythonHomePaths extends PythonBuiltinNode {
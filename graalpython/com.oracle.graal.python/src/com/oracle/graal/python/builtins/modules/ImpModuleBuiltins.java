@@ -718,6 +718,9 @@ public final class ImpModuleBuiltins extends PythonBuiltins {
             return new FrozenResult(FROZEN_DISABLED);
         }
         PythonFrozenModule module = FrozenModules.lookup(name.toJavaStringUncached());
+        if (module == null) {
+            module = context.lookupApplicationFrozenModule(name.toJavaStringUncached());
+        }
 
         if (module == null) {
             return new FrozenResult(FROZEN_NOT_FOUND);
@@ -83,6 +83,11 @@ import com.oracle.graal.python.nodes.util.CastToJavaLongLossyNode;
 import com.oracle.graal.python.nodes.util.NarrowBigIntegerNode;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -862,6 +867,34 @@ public final class MathModuleBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class FsumNode extends PythonUnaryBuiltinNode {
 
+        @Specialization(guards = {"isBuiltinSequence(iterable)", "isDoubleStorage(iterable.getSequenceStorage())"})
+        static double doDoubles(PSequence iterable,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) iterable.getSequenceStorage();
+            double[] items = storage.getInternalDoubleArray();
+            int length = storage.length();
+            Partials partials = new Partials();
+            for (int i = 0; i < length; i++) {
+                partials.add(inliningTarget, items[i], raiseNode);
+            }
+            return partials.sum(inliningTarget, raiseNode);
+        }
+
+        @Specialization(guards = {"isBuiltinSequence(iterable)", "isIntStorage(iterable.getSequenceStorage())"})
+        static double doInts(PSequence iterable,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            IntSequenceStorage storage = (IntSequenceStorage) iterable.getSequenceStorage();
+            int[] items = storage.getInternalIntArray();
+            int length = storage.length();
+            Partials partials = new Partials();
+            for (int i = 0; i < length; i++) {
+                partials.add(inliningTarget, items[i], raiseNode);
+            }
+            return partials.sum(inliningTarget, raiseNode);
+        }
+
         @Specialization
         static double doIt(VirtualFrame frame, Object iterable,
                         @Bind("this") Node inliningTarget,
@@ -869,9 +902,28 @@ public final class MathModuleBuiltins extends PythonBuiltins {
                         @Cached("create(Next)") LookupAndCallUnaryNode callNextNode,
                         @Cached PyFloatAsDoubleNode asDoubleNode,
                         @Cached IsBuiltinObjectProfile stopProfile,
-                        @Cached PRaiseNode.Lazy raiseNode) {
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
             Object iterator = getIter.execute(frame, inliningTarget, iterable);
-            return fsum(frame, iterator, callNextNode, asDoubleNode, inliningTarget, stopProfile, raiseNode);
+            Partials partials = new Partials();
+            while (true) {
+                double x;
+                try {
+                    x = asDoubleNode.execute(frame, inliningTarget, callNextNode.executeObject(frame, iterator));
+                } catch (PException e) {
+                    e.expectStopIteration(inliningTarget, stopProfile);
+                    break;
+                }
+                partials.add(inliningTarget, x, raiseNode);
+            }
+            return partials.sum(inliningTarget, raiseNode);
+        }
+
+        static boolean isDoubleStorage(SequenceStorage storage) {
+            return storage instanceof DoubleSequenceStorage;
+        }
+
+        static boolean isIntStorage(SequenceStorage storage) {
+            return storage instanceof IntSequenceStorage;
         }
 
         /*
@@ -884,20 +936,15 @@ public final class MathModuleBuiltins extends PythonBuiltins {
          * is little bit faster. The testFSum in test_math.py takes in different implementations:
          * CPython ~0.6s CurrentImpl: ~14.3s Using BigDecimal: ~15.1
          */
-        private static double fsum(VirtualFrame frame, Object iterator, LookupAndCallUnaryNode next,
-                        PyFloatAsDoubleNode asDoubleNode, Node inliningTarget, IsBuiltinObjectProfile stopProfile, PRaiseNode.Lazy raiseNode) {
-            double x, y, t, hi, lo = 0, yr, inf_sum = 0, special_sum = 0, sum;
-            double xsave;
-            int i, j, n = 0, arayLength = 32;
-            double[] p = new double[arayLength];
-            while (true) {
-                try {
-                    x = asDoubleNode.execute(frame, inliningTarget, next.executeObject(frame, iterator));
-                } catch (PException e) {
-                    e.expectStopIteration(inliningTarget, stopProfile);
-                    break;
-                }
-                xsave = x;
+        private static final class Partials {
+            private double[] p = new double[32];
+            private int n;
+            private double infSum;
+            private double specialSum;
+
+            void add(Node inliningTarget, double xsave, PRaiseNode.Lazy raiseNode) {
+                double x = xsave, y, t, hi, lo, yr;
+                int i, j;
                 for (i = j = 0; j < n; j++) { /* for y in partials */
                     y = p[j];
                     if (Math.abs(x) < Math.abs(y)) {
@@ -925,63 +972,65 @@ public final class MathModuleBuiltins extends PythonBuiltins {
                             throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.INTERMEDIATE_OVERFLOW_IN, "fsum");
                         }
                         if (Double.isInfinite(xsave)) {
-                            inf_sum += xsave;
+                            infSum += xsave;
                         }
-                        special_sum += xsave;
+                        specialSum += xsave;
                         /* reset partials */
                         n = 0;
-                    } else if (n >= arayLength) {
-                        arayLength += arayLength;
-                        p = Arrays.copyOf(p, arayLength);
                     } else {
+                        if (n >= p.length) {
+                            p = Arrays.copyOf(p, p.length * 2);
+                        }
                         p[n++] = x;
                     }
                 }
             }
 
-            if (special_sum != 0.0) {
-                if (Double.isNaN(inf_sum)) {
-                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.NEG_INF_PLUS_INF_IN);
-                } else {
-                    sum = special_sum;
-                    return sum;
+            double sum(Node inliningTarget, PRaiseNode.Lazy raiseNode) {
+                double x, y, hi, lo = 0, yr;
+                if (specialSum != 0.0) {
+                    if (Double.isNaN(infSum)) {
+                        throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.NEG_INF_PLUS_INF_IN);
+                    } else {
+                        return specialSum;
+                    }
                 }
-            }
 
-            hi = 0.0;
-            if (n > 0) {
-                hi = p[--n];
-                /*
-                 * sum_exact(ps, hi) from the top, stop when the sum becomes inexact.
-                 */
-                while (n > 0) {
-                    x = hi;
-                    y = p[--n];
-                    assert (Math.abs(y) < Math.abs(x));
-                    hi = x + y;
-                    yr = hi - x;
-                    lo = y - yr;
-                    if (lo != 0.0) {
-                        break;
+                hi = 0.0;
+                if (n > 0) {
+                    hi = p[--n];
+                    /*
+                     * sum_exact(ps, hi) from the top, stop when the sum becomes inexact.
+                     */
+                    while (n > 0) {
+                        x = hi;
+                        y = p[--n];
+                        assert (Math.abs(y) < Math.abs(x));
+                        hi = x + y;
+                        yr = hi - x;
+                        lo = y - yr;
+                        if (lo != 0.0) {
+                            break;
+                        }
                     }
-                }
-                /*
-                 * Make half-even rounding work across multiple partials. Needed so that sum([1e-16,
-                 * 1, 1e16]) will round-up the last digit to two instead of down to zero (the 1e-16
-                 * makes the 1 slightly closer to two). With a potential 1 ULP rounding error
-                 * fixed-up, math.fsum() can guarantee commutativity.
-                 */
-                if (n > 0 && ((lo < 0.0 && p[n - 1] < 0.0) ||
-                                (lo > 0.0 && p[n - 1] > 0.0))) {
-                    y = lo * 2.0;
-                    x = hi + y;
-                    yr = x - hi;
-                    if (compareAsBigDecimal(y, yr) == 0) {
-                        hi = x;
+                    /*
+                     * Make half-even rounding work across multiple partials. Needed so that
+                     * sum([1e-16, 1, 1e16]) will round-up the last digit to two instead of down to
+                     * zero (the 1e-16 makes the 1 slightly closer to two). With a potential 1 ULP
+                     * rounding error fixed-up, math.fsum() can guarantee commutativity.
+                     */
+                    if (n > 0 && ((lo < 0.0 && p[n - 1] < 0.0) ||
+                                    (lo > 0.0 && p[n - 1] > 0.0))) {
+                        y = lo * 2.0;
+                        x = hi + y;
+                        yr = x - hi;
+                        if (compareAsBigDecimal(y, yr) == 0) {
+                            hi = x;
+                        }
                     }
                 }
+                return hi;
             }
-            return hi;
         }
 
         @TruffleBoundary
@@ -2468,12 +2517,68 @@ public final class MathModuleBuiltins extends PythonBuiltins {
         @Child private LookupAndCallUnaryNode callNextNode = LookupAndCallUnaryNode.create(SpecialMethodSlot.Next);
         @Child private BinaryOpNode mul = BinaryArithmetic.Mul.create();
 
+        @Specialization(guards = {"isBuiltinSequence(iterable)", "isNoValue(startIn)"})
+        Object doSequence(VirtualFrame frame, PSequence iterable, PNone startIn,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached IsBuiltinObjectProfile errorProfile,
+                        @Shared @Cached InlinedConditionProfile startIsNoValueProfile,
+                        @Shared @Cached PyObjectGetIter getIter) {
+            SequenceStorage storage = iterable.getSequenceStorage();
+            if (storage instanceof IntSequenceStorage intStorage) {
+                int[] items = intStorage.getInternalIntArray();
+                int length = intStorage.length();
+                long result = 1;
+                for (int i = 0; i < length; i++) {
+                    try {
+                        result = Math.multiplyExact(result, items[i]);
+                    } catch (ArithmeticException e) {
+                        Object value = result;
+                        for (int j = i; j < length; j++) {
+                            value = mul.executeObject(frame, value, items[j]);
+                        }
+                        return value;
+                    }
+                }
+                return narrow(result);
+            } else if (storage instanceof LongSequenceStorage longStorage) {
+                long[] items = longStorage.getInternalLongArray();
+                int length = longStorage.length();
+                long result = 1;
+                for (int i = 0; i < length; i++) {
+                    try {
+                        result = Math.multiplyExact(result, items[i]);
+                    } catch (ArithmeticException e) {
+                        Object value = result;
+                        for (int j = i; j < length; j++) {
+                            value = mul.executeObject(frame, value, items[j]);
+                        }
+                        return value;
+                    }
+                }
+                return narrow(result);
+            } else if (storage instanceof DoubleSequenceStorage doubleStorage && doubleStorage.length() > 0) {
+                // like int.__mul__(float), the first multiplication converts the start 1 to a float
+                double[] items = doubleStorage.getInternalDoubleArray();
+                int length = doubleStorage.length();
+                double result = 1.0;
+                for (int i = 0; i < length; i++) {
+                    result *= items[i];
+                }
+                return result;
+            }
+            return doGeneric(frame, iterable, startIn, inliningTarget, errorProfile, startIsNoValueProfile, getIter);
+        }
+
+        private static Object narrow(long value) {
+            return PInt.isIntRange(value) ? (Object) (int) value : (Object) value;
+        }
+
         @Specialization
         public Object doGeneric(VirtualFrame frame, Object iterable, Object startIn,
                         @Bind("this") Node inliningTarget,
-                        @Cached IsBuiltinObjectProfile errorProfile,
-                        @Cached InlinedConditionProfile startIsNoValueProfile,
-                        @Cached PyObjectGetIter getIter) {
+                        @Shared @Cached IsBuiltinObjectProfile errorProfile,
+                        @Shared @Cached InlinedConditionProfile startIsNoValueProfile,
+                        @Shared @Cached PyObjectGetIter getIter) {
             Object start = startIsNoValueProfile.profile(inliningTarget, PGuards.isNoValue(startIn)) ? 1 : startIn;
             Object iterator = getIter.execute(frame, inliningTarget, iterable);
             Object value = start;
@@ -1283,19 +1283,26 @@ public final class PosixModuleBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
                         @Cached InlinedBranchProfile errorProfile,
+                        @Cached GilNode gil,
                         @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
-            while (true) {
-                try {
-                    posixLib.fsync(getPosixSupport(), fd);
-                    return PNone.NONE;
-                } catch (PosixException e) {
-                    errorProfile.enter(inliningTarget);
-                    if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
-                        PythonContext.triggerAsyncActions(this);
-                    } else {
-                        throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            gil.release(true);
+            try {
+                while (true) {
+                    try {
+                        posixLib.fsync(getPosixSupport(), fd);
+                        return PNone.NONE;
+                    } catch (PosixException e) {
+                        errorProfile.enter(inliningTarget);
+                        if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                            PythonContext.triggerAsyncActions(this);
+                        } else {
+                            gil.acquire();
+                            throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+                        }
                     }
                 }
+            } finally {
+                gil.acquire();
             }
         }
     }
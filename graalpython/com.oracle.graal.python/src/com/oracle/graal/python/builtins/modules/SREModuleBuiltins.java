@@ -48,9 +48,13 @@ import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.graalvm.collections.EconomicMap;
 
+import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
@@ -91,6 +95,8 @@ import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleLogger;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
@@ -380,22 +386,32 @@ public final class SREModuleBuiltins extends PythonBuiltins {
             return sb.toString();
         }
 
+        private String getTRegexSource(PythonMethod method, boolean mustAdvance, TruffleString locale) {
+            String encoding = isBinary() ? ENCODING_LATIN_1 : ENCODING_UTF_32;
+            return getTRegexOptions(encoding, method, mustAdvance, locale) + '/' + pattern + '/' + flags;
+        }
+
+        private static Object compileTRegex(PythonContext context, String source) {
+            Source regexSource = Source.newBuilder("regex", source, "re").mimeType("application/tregex").internal(true).build();
+            Object compiledRegex = context.getEnv().parseInternal(regexSource).call();
+            if (InteropLibrary.getUncached().isNull(compiledRegex)) {
+                return PNone.NONE;
+            }
+            return compiledRegex;
+        }
+
         @TruffleBoundary
         public Object compile(PythonContext context, PythonMethod method, boolean mustAdvance, TruffleString locale) {
-            String encoding = isBinary() ? ENCODING_LATIN_1 : ENCODING_UTF_32;
-            String options = getTRegexOptions(encoding, method, mustAdvance, locale);
-            InteropLibrary lib = InteropLibrary.getUncached();
-            Object regexp;
-            try {
-                Source regexSource = Source.newBuilder("regex", options + '/' + pattern + '/' + flags, "re").mimeType("application/tregex").internal(true).build();
-                Object compiledRegex = context.getEnv().parseInternal(regexSource).call();
-                if (lib.isNull(compiledRegex)) {
-                    regexp = PNone.NONE;
-                } else {
-                    regexp = compiledRegex;
+            String source = getTRegexSource(method, mustAdvance, locale);
+            TRegexEngineCache engineCache = context.getLanguage().getTRegexEngineCache();
+            Object regexp = engineCache.get(source);
+            if (regexp == null) {
+                try {
+                    regexp = compileTRegex(context, source);
+                } catch (RuntimeException e) {
+                    throw handleCompilationError(e, InteropLibrary.getUncached(), context);
                 }
-            } catch (RuntimeException e) {
-                throw handleCompilationError(e, lib, context);
+                engineCache.put(context, source, regexp);
             }
             if (isLocaleSensitive()) {
                 setLocaleSensitiveRegexp(method, mustAdvance, locale, regexp);
@@ -432,6 +448,25 @@ public final class SREModuleBuiltins extends PythonBuiltins {
             return e;
         }
 
+        /**
+         * Schedules the compilation of the regexes that are not needed by the constructor of the
+         * pattern on the background compiler thread of the context. The compiled regexes only end
+         * up in the {@link TRegexEngineCache}, from where {@link #compile} picks them up on first
+         * use.
+         */
+        @TruffleBoundary
+        public void compileInBackground(PythonContext context) {
+            if (isLocaleSensitive()) {
+                return;
+            }
+            TRegexBackgroundCompiler compiler = context.getTRegexBackgroundCompiler();
+            if (compiler != null) {
+                compiler.submit(getTRegexSource(PythonMethod.Match, false, null));
+                compiler.submit(getTRegexSource(PythonMethod.FullMatch, false, null));
+                compiler.submit(getTRegexSource(PythonMethod.Search, true, null));
+            }
+        }
+
         private static final class RegexKey {
             private final PythonMethod pythonMethod;
             private final boolean mustAdvance;
@@ -459,6 +494,128 @@ public final class SREModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Compiled TRegex regexes shared by all contexts of an engine, keyed by the full TRegex source,
+     * i.e., the options (encoding, Python method, locale, ...), the pattern and the flags. Regexes
+     * that failed to compile are not cached, so that the error is raised in each context.
+     */
+    public static final class TRegexEngineCache {
+        private final ConcurrentHashMap<String, Object> regexps = new ConcurrentHashMap<>();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong backgroundCompilations = new AtomicLong();
+
+        @TruffleBoundary
+        Object get(String source) {
+            Object regexp = regexps.get(source);
+            if (regexp != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+            return regexp;
+        }
+
+        @TruffleBoundary
+        boolean contains(String source) {
+            return regexps.containsKey(source);
+        }
+
+        @TruffleBoundary
+        void put(PythonContext context, String source, Object regexp) {
+            if (regexps.size() < context.getLanguage().getEngineOption(PythonOptions.TRegexEngineCacheSize)) {
+                regexps.putIfAbsent(source, regexp);
+            }
+        }
+
+        public int size() {
+            return regexps.size();
+        }
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getMisses() {
+            return misses.get();
+        }
+
+        public long getBackgroundCompilations() {
+            return backgroundCompilations.get();
+        }
+    }
+
+    /**
+     * A daemon thread compiling the regexes scheduled by {@link TRegexCache#compileInBackground}.
+     * Errors are ignored here, they are raised when the regex is compiled again on first use.
+     */
+    public static final class TRegexBackgroundCompiler implements Runnable {
+        private static final TruffleLogger LOGGER = PythonLanguage.getLogger(TRegexBackgroundCompiler.class);
+
+        private final PythonContext context;
+        private final LinkedBlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        private Thread thread;
+
+        private TRegexBackgroundCompiler(PythonContext context) {
+            this.context = context;
+        }
+
+        @TruffleBoundary
+        public static TRegexBackgroundCompiler create(PythonContext context) {
+            TruffleLanguage.Env env = context.getEnv();
+            if (!env.isCreateThreadAllowed()) {
+                return null;
+            }
+            TRegexBackgroundCompiler compiler = new TRegexBackgroundCompiler(context);
+            compiler.thread = env.newTruffleThreadBuilder(compiler).build();
+            compiler.thread.setDaemon(true);
+            compiler.thread.start();
+            return compiler;
+        }
+
+        void submit(String source) {
+            queue.add(source);
+        }
+
+        @Override
+        public void run() {
+            TRegexEngineCache engineCache = context.getLanguage().getTRegexEngineCache();
+            while (true) {
+                String source;
+                try {
+                    source = queue.take();
+                } catch (InterruptedException e) {
+                    LOGGER.fine("TRegex background compiler thread was interrupted and is exiting");
+                    return;
+                }
+                if (engineCache.contains(source)) {
+                    continue;
+                }
+                try {
+                    engineCache.put(context, source, TRegexCache.compileTRegex(context, source));
+                    engineCache.backgroundCompilations.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (context.getEnv().getContext().isCancelling() || Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    LOGGER.fine(() -> "Background compilation of a regex failed: " + e.getMessage());
+                }
+            }
+        }
+
+        @TruffleBoundary
+        public void shutdown() {
+            if (thread.isAlive() && !thread.isInterrupted()) {
+                thread.interrupt();
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }
+    }
+
     @Builtin(name = "tregex_init_cache", minNumOfPositionalArgs = 3)
     @TypeSystemReference(PythonArithmeticTypes.class)
     @GenerateNodeFactory
@@ -472,6 +629,10 @@ public final class SREModuleBuiltins extends PythonBuiltins {
             int flagsStr = flagsToIntNode.execute(frame, inliningTarget, flags);
             TRegexCache tRegexCache = new TRegexCache(pattern, flagsStr);
             writeCacheNode.execute(inliningTarget, patternObject, HiddenAttr.TREGEX_CACHE, tRegexCache);
+            PythonContext context = getContext();
+            if (context.getOption(PythonOptions.TRegexBackgroundCompilation)) {
+                tRegexCache.compileInBackground(context);
+            }
             return PNone.NONE;
         }
     }
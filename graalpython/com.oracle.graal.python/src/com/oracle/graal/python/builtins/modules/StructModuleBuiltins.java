@@ -550,6 +550,26 @@ public class StructModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "unpack_columns", minNumOfPositionalArgs = 3, parameterNames = {"$self", "format", "buffer"}, declaresExplicitSelf = true, forceSplitDirectCalls = true)
+    @ArgumentClinic(name = "buffer", conversion = ArgumentClinic.ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class UnpackColumnsNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackColumnsNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static Object unpackColumns(VirtualFrame frame, PythonModule self, Object format, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ConstructStructNode constructStructNode,
+                        @Cached GetStructNode getStructNode,
+                        @Cached StructBuiltins.StructUnpackColumnsNode unpackColumnsNode) {
+            PStruct struct = getStructNode.execute(inliningTarget, self, format, constructStructNode);
+            return unpackColumnsNode.execute(frame, struct, buffer);
+        }
+    }
+
     @Builtin(name = "unpack_from", minNumOfPositionalArgs = 3, parameterNames = {"$self", "format", "buffer", "offset"}, declaresExplicitSelf = true, forceSplitDirectCalls = true)
     @ArgumentClinic(name = "buffer", conversion = ArgumentClinic.ClinicConversion.ReadableBuffer)
     @ArgumentClinic(name = "offset", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0")
@@ -82,8 +82,6 @@ import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonThreadKillException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.TruffleLanguage;
-import com.oracle.truffle.api.TruffleThreadBuilder;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
@@ -218,7 +216,6 @@ public final class ThreadModuleBuiltins extends PythonBuiltins {
                         @Cached ExpandKeywordStarargsNode getKwArgsNode,
                         @Cached PythonObjectFactory factory) {
             PythonContext context = getContext();
-            TruffleLanguage.Env env = context.getEnv();
             PythonModule threadModule = context.lookupBuiltinModule(T__THREAD);
 
             // if args is an arbitrary iterable, converting it to an Object[] may run Python code
@@ -227,7 +224,7 @@ public final class ThreadModuleBuiltins extends PythonBuiltins {
 
             // TODO: python thread stack size != java thread stack size
             // ignore setting the stack size for the moment
-            TruffleThreadBuilder threadBuilder = env.newTruffleThreadBuilder(() -> {
+            Thread thread = context.createPythonThread(() -> {
                 try (GilNode.UncachedAcquire gil = GilNode.uncachedAcquire()) {
                     // the increment is protected by the gil
                     int curCount = threadModule.getModuleState(Integer.class);
@@ -250,9 +247,9 @@ public final class ThreadModuleBuiltins extends PythonBuiltins {
                         threadModule.setModuleState(curCount - 1);
                     }
                 }
-            }).context(env.getContext()).threadGroup(context.getThreadGroup());
+            });
 
-            PThread pThread = factory.createPythonThread(cls, threadBuilder.build());
+            PThread pThread = factory.createPythonThread(cls, thread);
             pThread.start();
             return pThread.getId();
         }
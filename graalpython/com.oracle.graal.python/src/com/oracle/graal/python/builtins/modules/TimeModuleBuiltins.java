@@ -194,6 +194,13 @@ public final class TimeModuleBuiltins extends PythonBuiltins {
         timeModule.setAttribute(T_ALTZONE, rawOffsetSeconds - 3600);
     }
 
+    /**
+     * The zone used by {@code localtime} and friends, as last set by {@code tzset}.
+     */
+    public static ZoneId getCurrentZoneId(PythonModule timeModule) {
+        return timeModule.getModuleState(ModuleState.class).currentZoneId;
+    }
+
     @TruffleBoundary
     public static double timeSeconds() {
         return System.currentTimeMillis() / 1000.0;
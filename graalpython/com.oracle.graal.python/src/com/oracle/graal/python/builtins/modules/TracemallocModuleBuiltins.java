@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -44,18 +44,32 @@ import static com.oracle.graal.python.nodes.BuiltinNames.J__TRACEMALLOC;
 
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.Tracemalloc;
+import com.oracle.graal.python.runtime.Tracemalloc.Trace;
+import com.oracle.graal.python.runtime.Tracemalloc.Traceback;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 
 @CoreFunctions(defineModule = J__TRACEMALLOC)
 public final class TracemallocModuleBuiltins extends PythonBuiltins {
@@ -70,13 +84,39 @@ public final class TracemallocModuleBuiltins extends PythonBuiltins {
         super.initialize(core);
     }
 
+    @TruffleBoundary
+    private static Object tracebackToTuple(PythonContext context, Traceback traceback) {
+        Object tuple = traceback.getPythonTuple();
+        if (tuple == null) {
+            PythonObjectFactory factory = context.factory();
+            Object[] frames = new Object[traceback.getFrameCount()];
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = factory.createTuple(new Object[]{traceback.getFilename(i), traceback.getLine(i)});
+            }
+            tuple = factory.createTuple(frames);
+            traceback.setPythonTuple(tuple);
+        }
+        return tuple;
+    }
+
     @Builtin(name = "_get_object_traceback", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
-    abstract static class GetObjectTracebackNode extends PythonBuiltinNode {
+    abstract static class GetObjectTracebackNode extends PythonUnaryBuiltinNode {
         @Specialization
-        static Object getObjectTraceback(Object obj,
-                        @Cached PRaiseNode raiseNode) {
-            throw raiseNode.raise(PythonBuiltinClassType.NotImplementedError);
+        @TruffleBoundary
+        Object getObjectTraceback(Object obj) {
+            PythonContext context = getContext();
+            Tracemalloc tracemalloc = context.getTracemalloc();
+            Traceback traceback = tracemalloc.getObjectTraceback(obj);
+            if (traceback == null) {
+                return PNone.NONE;
+            }
+            tracemalloc.suspend();
+            try {
+                return tracebackToTuple(context, traceback);
+            } finally {
+                tracemalloc.resume();
+            }
         }
     }
 
@@ -84,9 +124,112 @@ public final class TracemallocModuleBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class GetTracesNode extends PythonBuiltinNode {
         @Specialization
-        static Object getTraces(
-                        @Cached PRaiseNode raiseNode) {
-            throw raiseNode.raise(PythonBuiltinClassType.NotImplementedError);
+        @TruffleBoundary
+        Object getTraces() {
+            PythonContext context = getContext();
+            Tracemalloc tracemalloc = context.getTracemalloc();
+            Trace[] traces = tracemalloc.getTraces();
+            PythonObjectFactory factory = context.factory();
+            tracemalloc.suspend();
+            try {
+                Object[] result = new Object[traces.length];
+                for (int i = 0; i < traces.length; i++) {
+                    Trace trace = traces[i];
+                    result[i] = factory.createTuple(new Object[]{trace.domain, trace.size, tracebackToTuple(context, trace.traceback), trace.traceback.getTotalFrames()});
+                }
+                return factory.createList(result);
+            } finally {
+                tracemalloc.resume();
+            }
+        }
+    }
+
+    @Builtin(name = "start", minNumOfPositionalArgs = 0, parameterNames = {"nframe"})
+    @ArgumentClinic(name = "nframe", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "1")
+    @GenerateNodeFactory
+    abstract static class StartNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        Object start(int nframe,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (nframe < 1 || nframe > Tracemalloc.MAX_NFRAME) {
+                throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.ValueError, ErrorMessages.NUMBER_OF_FRAMES_MUST_BE_IN_RANGE, Tracemalloc.MAX_NFRAME);
+            }
+            getContext().getTracemalloc().start(nframe);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return TracemallocModuleBuiltinsClinicProviders.StartNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "stop")
+    @GenerateNodeFactory
+    abstract static class StopNode extends PythonBuiltinNode {
+        @Specialization
+        Object stop() {
+            getContext().getTracemalloc().stop();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "is_tracing")
+    @GenerateNodeFactory
+    abstract static class IsTracingNode extends PythonBuiltinNode {
+        @Specialization
+        boolean isTracing() {
+            return getContext().getTracemalloc().isTracing();
+        }
+    }
+
+    @Builtin(name = "clear_traces")
+    @GenerateNodeFactory
+    abstract static class ClearTracesNode extends PythonBuiltinNode {
+        @Specialization
+        Object clearTraces() {
+            getContext().getTracemalloc().clearTraces();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_traceback_limit")
+    @GenerateNodeFactory
+    abstract static class GetTracebackLimitNode extends PythonBuiltinNode {
+        @Specialization
+        int getTracebackLimit() {
+            return getContext().getTracemalloc().getTracebackLimit();
+        }
+    }
+
+    @Builtin(name = "get_traced_memory")
+    @GenerateNodeFactory
+    abstract static class GetTracedMemoryNode extends PythonBuiltinNode {
+        @Specialization
+        Object getTracedMemory(
+                        @Cached PythonObjectFactory factory) {
+            long[] memory = getContext().getTracemalloc().getTracedMemory();
+            return factory.createTuple(new Object[]{memory[0], memory[1]});
+        }
+    }
+
+    @Builtin(name = "reset_peak")
+    @GenerateNodeFactory
+    abstract static class ResetPeakNode extends PythonBuiltinNode {
+        @Specialization
+        Object resetPeak() {
+            getContext().getTracemalloc().resetPeak();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_tracemalloc_memory")
+    @GenerateNodeFactory
+    abstract static class GetTracemallocMemoryNode extends PythonBuiltinNode {
+        @Specialization
+        long getTracemallocMemory() {
+            return getContext().getTracemalloc().getTracemallocMemory();
         }
     }
 }
@@ -179,6 +179,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.GetThreadStateNode;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.Tracemalloc;
 import com.oracle.graal.python.runtime.exception.ExceptionUtils;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
@@ -1320,7 +1321,7 @@ public final class PythonCextBuiltins {
         private static final TruffleLogger LOGGER = CApiContext.getLogger(PyTraceMalloc_Track.class);
 
         @Specialization(guards = {"isSingleContext()", "domain == cachedDomain"}, limit = "3")
-        static int doCachedDomainIdx(@SuppressWarnings("unused") int domain, Object pointerObject, long size,
+        static int doCachedDomainIdx(int domain, Object pointerObject, long size,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @Shared @Cached GetThreadStateNode getThreadStateNode,
@@ -1333,6 +1334,10 @@ public final class PythonCextBuiltins {
                 CApiContext cApiContext = getCApiContext(inliningTarget);
                 Object key = CApiContext.asPointer(pointerObject, lib);
                 cApiContext.getTraceMallocDomain(cachedDomainIdx).track(key, size);
+                Tracemalloc tracemalloc = PythonContext.get(inliningTarget).getTracemalloc();
+                if (tracemalloc.isTracing()) {
+                    tracemalloc.trackNative(domain, key, size);
+                }
                 cApiContext.increaseMemoryPressure(null, inliningTarget, getThreadStateNode, indirectCallData, size);
                 if (LOGGER.isLoggable(Level.FINE)) {
                     LOGGER.fine(() -> PythonUtils.formatJString("Tracking memory (size: %d): %s", size, CApiContext.asHex(key)));
@@ -1361,7 +1366,7 @@ public final class PythonCextBuiltins {
         private static final TruffleLogger LOGGER = CApiContext.getLogger(PyTraceMalloc_Untrack.class);
 
         @Specialization(guards = {"isSingleContext()", "domain == cachedDomain"}, limit = "3")
-        int doCachedDomainIdx(@SuppressWarnings("unused") int domain, Object pointerObject,
+        int doCachedDomainIdx(int domain, Object pointerObject,
                         @Cached("domain") @SuppressWarnings("unused") long cachedDomain,
                         @Cached("lookupDomain(domain)") int cachedDomainIdx,
                         @CachedLibrary("pointerObject") InteropLibrary lib) {
@@ -1369,6 +1374,10 @@ public final class PythonCextBuiltins {
             CApiContext cApiContext = getCApiContext();
             Object key = CApiContext.asPointer(pointerObject, lib);
             long trackedMemorySize = cApiContext.getTraceMallocDomain(cachedDomainIdx).untrack(key);
+            Tracemalloc tracemalloc = getContext().getTracemalloc();
+            if (tracemalloc.isTracing()) {
+                tracemalloc.untrackNative(domain, key);
+            }
             cApiContext.reduceMemoryPressure(trackedMemorySize);
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine(() -> PythonUtils.formatJString("Untracking memory (size: %d): %s", trackedMemorySize, CApiContext.asHex(key)));
@@ -0,0 +1,747 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.csv;
+
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.AFTER_ESCAPED_CRNL;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.EAT_CRNL;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.ESCAPED_CHAR;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.ESCAPE_IN_QUOTED_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.IN_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.IN_QUOTED_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.QUOTE_IN_QUOTED_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.START_FIELD;
+import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.START_RECORD;
+import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONE;
+import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONNUMERIC;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.CharsetMapping;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Tokenizer used by {@code _csv.block_reader} and {@code _csv.read_columns}. Instead of pulling
+ * one line at a time through the iterator protocol, it is fed whole blocks of bytes read from a
+ * binary file and runs the state machine of {@link CSVReaderBuiltins} directly on them. Lines are
+ * split the way a text file opened with {@code newline=''} would split them, so the results are the
+ * same as those of {@code csv.reader}.
+ *
+ * Only UTF-8, ASCII and Latin-1 input is supported and the delimiter, quote and escape characters
+ * of the dialect must be ASCII. In all three encodings an ASCII byte always stands for the ASCII
+ * character, so field boundaries can be found without decoding and each field is decoded only
+ * once, when it is complete.
+ */
+public abstract class CSVBlockParser {
+
+    static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    private static final int EOL = -2;
+
+    final CSVDialect dialect;
+    final TruffleString.Encoding encoding;
+    final int blockSize;
+    long fieldLimit;
+    int lineNum;
+
+    private ReaderState state = START_RECORD;
+    private byte[] field = new byte[64];
+    private int fieldLength;
+    private int fieldCodePoints;
+    private boolean numericField;
+    private boolean quotedField;
+    private boolean lineStarted;
+    private boolean pendingCR;
+    private boolean finished;
+
+    CSVBlockParser(CSVDialect dialect, TruffleString.Encoding encoding, int blockSize, long fieldLimit) {
+        this.dialect = dialect;
+        this.encoding = encoding;
+        this.blockSize = blockSize;
+        this.fieldLimit = fieldLimit;
+    }
+
+    /**
+     * Maps a normalized encoding name to the encoding the parser can handle, or {@code null}.
+     */
+    @TruffleBoundary
+    static TruffleString.Encoding getSupportedEncoding(TruffleString normalizedEncoding) {
+        Charset charset = CharsetMapping.getCharsetNormalized(normalizedEncoding);
+        if (charset == StandardCharsets.UTF_8) {
+            return TruffleString.Encoding.UTF_8;
+        } else if (charset == StandardCharsets.US_ASCII) {
+            return TruffleString.Encoding.US_ASCII;
+        } else if (charset == StandardCharsets.ISO_8859_1) {
+            return TruffleString.Encoding.ISO_8859_1;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the first dialect character that cannot be matched on bytes, or
+     * {@code null} if the dialect can be used with the parser.
+     */
+    static String getNonAsciiDialectChar(CSVDialect dialect) {
+        if (dialect.delimiterCodePoint > 0x7F) {
+            return CSVModuleBuiltins.J_ATTR_DELIMITER;
+        } else if (dialect.quoteCharCodePoint > 0x7F) {
+            return CSVModuleBuiltins.J_ATTR_QUOTECHAR;
+        } else if (dialect.escapeCharCodePoint > 0x7F) {
+            return CSVModuleBuiltins.J_ATTR_ESCAPECHAR;
+        }
+        return null;
+    }
+
+    final boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Called with each complete field. {@code numeric} is set for unquoted fields in
+     * {@link QuoteStyle#QUOTE_NONNUMERIC} mode.
+     */
+    protected abstract void saveField(Node raisingNode, byte[] bytes, int length, boolean quoted, boolean numeric);
+
+    /**
+     * Called after the last field of a record. A record without fields is a blank line.
+     */
+    protected abstract void endRecord(Node raisingNode);
+
+    /**
+     * Called at the end of input when an incomplete record has to be dropped.
+     */
+    protected abstract void discardRecord();
+
+    /**
+     * Tokenizes the first {@code length} bytes of {@code block}. A trailing carriage return is held
+     * back until the next block shows whether it is followed by a line feed.
+     */
+    @TruffleBoundary
+    final void feed(Node raisingNode, byte[] block, int length) {
+        assert !finished;
+        int i = 0;
+        if (pendingCR && length > 0) {
+            pendingCR = false;
+            processByte(raisingNode, '\r');
+            if (block[0] == '\n') {
+                processByte(raisingNode, '\n');
+                i = 1;
+            }
+            endLine(raisingNode);
+        }
+        for (; i < length; i++) {
+            int b = block[i] & 0xFF;
+            if (b == '\n') {
+                processByte(raisingNode, b);
+                endLine(raisingNode);
+            } else if (b == '\r') {
+                if (i + 1 == length) {
+                    pendingCR = true;
+                    lineStarted = true;
+                    break;
+                }
+                processByte(raisingNode, b);
+                if (block[i + 1] == '\n') {
+                    processByte(raisingNode, '\n');
+                    i++;
+                }
+                endLine(raisingNode);
+            } else {
+                lineStarted = true;
+                processByte(raisingNode, b);
+            }
+        }
+    }
+
+    /**
+     * Processes the end of input, mirroring what {@code csv.reader} does when the iterator is
+     * exhausted.
+     */
+    @TruffleBoundary
+    final void finish(Node raisingNode) {
+        if (pendingCR) {
+            pendingCR = false;
+            processByte(raisingNode, '\r');
+            endLine(raisingNode);
+        } else if (lineStarted) {
+            endLine(raisingNode);
+        }
+        finished = true;
+        if (state != START_RECORD) {
+            if (fieldLength != 0 || state == IN_QUOTED_FIELD) {
+                if (dialect.strict) {
+                    throw PRaiseNode.raiseUncached(raisingNode, PythonBuiltinClassType.CSVError, ErrorMessages.UNEXPECTED_END_OF_DATA);
+                }
+                saveField(raisingNode);
+                endRecord(raisingNode);
+            } else {
+                discardRecord();
+            }
+            state = START_RECORD;
+        }
+    }
+
+    private void endLine(Node raisingNode) {
+        lineNum++;
+        lineStarted = false;
+        processByte(raisingNode, EOL);
+        if (state == START_RECORD) {
+            endRecord(raisingNode);
+        }
+    }
+
+    /*
+     * Same state machine as CSVReaderBuiltins.NextReaderNode#parseProcessCodePoint, on bytes.
+     */
+    @SuppressWarnings("fallthrough")
+    private void processByte(Node raisingNode, int b) {
+        CSVDialect d = dialect;
+        int c = b;
+        switch (state) {
+            case START_RECORD:
+                if (c == EOL) {
+                    break;
+                } else if (c == '\n' || c == '\r') {
+                    state = EAT_CRNL;
+                    break;
+                }
+                state = START_FIELD;
+                /* fallthru */
+
+            case START_FIELD:
+                if (c == '\n' || c == '\r' || c == EOL) {
+                    saveField(raisingNode);
+                    state = (c == EOL) ? START_RECORD : EAT_CRNL;
+                } else if (c == d.quoteCharCodePoint && d.quoting != QUOTE_NONE) {
+                    quotedField = true;
+                    state = IN_QUOTED_FIELD;
+                } else if (c == d.escapeCharCodePoint) {
+                    state = ESCAPED_CHAR;
+                } else if (c == ' ' && d.skipInitialSpace) {
+                    /* ignore space at start of field */
+                } else if (c == d.delimiterCodePoint) {
+                    saveField(raisingNode);
+                } else {
+                    if (d.quoting == QUOTE_NONNUMERIC) {
+                        numericField = true;
+                    }
+                    addByte(raisingNode, c);
+                    state = IN_FIELD;
+                }
+                break;
+
+            case ESCAPED_CHAR:
+                if (c == '\n' || c == '\r') {
+                    addByte(raisingNode, c);
+                    state = AFTER_ESCAPED_CRNL;
+                    break;
+                }
+                if (c == EOL) {
+                    c = '\n';
+                }
+                addByte(raisingNode, c);
+                state = IN_FIELD;
+                break;
+
+            case AFTER_ESCAPED_CRNL:
+                if (c == EOL) {
+                    break;
+                }
+                /* fallthru */
+
+            case IN_FIELD:
+                if (c == '\n' || c == '\r' || c == EOL) {
+                    saveField(raisingNode);
+                    state = (c == EOL) ? START_RECORD : EAT_CRNL;
+                } else if (c == d.escapeCharCodePoint) {
+                    state = ESCAPED_CHAR;
+                } else if (c == d.delimiterCodePoint) {
+                    saveField(raisingNode);
+                    state = START_FIELD;
+                } else {
+                    addByte(raisingNode, c);
+                }
+                break;
+
+            case IN_QUOTED_FIELD:
+                if (c == EOL) {
+                    /* ignore */
+                } else if (c == d.escapeCharCodePoint) {
+                    state = ESCAPE_IN_QUOTED_FIELD;
+                } else if (c == d.quoteCharCodePoint && d.quoting != QUOTE_NONE) {
+                    state = d.doubleQuote ? QUOTE_IN_QUOTED_FIELD : IN_FIELD;
+                } else {
+                    addByte(raisingNode, c);
+                }
+                break;
+
+            case ESCAPE_IN_QUOTED_FIELD:
+                if (c == EOL) {
+                    c = '\n';
+                }
+                addByte(raisingNode, c);
+                state = IN_QUOTED_FIELD;
+                break;
+
+            case QUOTE_IN_QUOTED_FIELD:
+                if (d.quoting != QUOTE_NONE && c == d.quoteCharCodePoint) {
+                    addByte(raisingNode, c);
+                    state = IN_QUOTED_FIELD;
+                } else if (c == d.delimiterCodePoint) {
+                    saveField(raisingNode);
+                    state = START_FIELD;
+                } else if (c == '\n' || c == '\r' || c == EOL) {
+                    saveField(raisingNode);
+                    state = (c == EOL) ? START_RECORD : EAT_CRNL;
+                } else if (!d.strict) {
+                    addByte(raisingNode, c);
+                    state = IN_FIELD;
+                } else {
+                    throw PRaiseNode.raiseUncached(raisingNode, PythonBuiltinClassType.CSVError, ErrorMessages.S_EXPECTED_AFTER_S, d.delimiter, d.quoteChar);
+                }
+                break;
+
+            case EAT_CRNL:
+                if (c == '\n' || c == '\r') {
+                    /* ignore */
+                } else if (c == EOL) {
+                    state = START_RECORD;
+                } else {
+                    throw PRaiseNode.raiseUncached(raisingNode, PythonBuiltinClassType.CSVError, ErrorMessages.NEWLINE_IN_UNQOUTED_FIELD);
+                }
+                break;
+        }
+    }
+
+    private void addByte(Node raisingNode, int b) {
+        // continuation bytes do not start a new code point
+        if (encoding != TruffleString.Encoding.UTF_8 || (b & 0xC0) != 0x80) {
+            if (fieldCodePoints + 1 > fieldLimit) {
+                throw PRaiseNode.raiseUncached(raisingNode, PythonBuiltinClassType.CSVError, ErrorMessages.LARGER_THAN_FIELD_SIZE_LIMIT, fieldLimit);
+            }
+            fieldCodePoints++;
+        }
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = (byte) b;
+    }
+
+    private void saveField(Node raisingNode) {
+        saveField(raisingNode, field, fieldLength, quotedField, numericField);
+        fieldLength = 0;
+        fieldCodePoints = 0;
+        quotedField = false;
+        numericField = false;
+    }
+
+    final TruffleString decode(byte[] bytes, int offset, int length) {
+        TruffleString str = TruffleString.fromByteArrayUncached(bytes, offset, length, encoding, true);
+        if (encoding != TruffleString.Encoding.ISO_8859_1 && !str.isValidUncached(encoding)) {
+            throw raiseDecodeError(bytes, offset, length);
+        }
+        return str.switchEncodingUncached(TS_ENCODING);
+    }
+
+    private PException raiseDecodeError(byte[] bytes, int offset, int length) {
+        byte[] input = Arrays.copyOfRange(bytes, offset, offset + length);
+        Object inputObj = PythonObjectFactory.getUncached().createBytes(input);
+        if (encoding == TruffleString.Encoding.US_ASCII) {
+            int start = 0;
+            while (input[start] >= 0) {
+                start++;
+            }
+            return PConstructAndRaiseNode.raiseUncachedUnicodeDecodeError("ascii", inputObj, start, start + 1, "ordinal not in range(128)");
+        }
+        ByteBuffer in = ByteBuffer.wrap(input);
+        CoderResult result = StandardCharsets.UTF_8.newDecoder().decode(in, CharBuffer.allocate(length), true);
+        int start = in.position();
+        if (result.isUnderflow()) {
+            // truncated sequence at the end of the field
+            return PConstructAndRaiseNode.raiseUncachedUnicodeDecodeError("utf-8", inputObj, start, length, "unexpected end of data");
+        }
+        int lead = input[start] & 0xFF;
+        String reason = lead < 0xC2 || lead > 0xF4 ? "invalid start byte" : "invalid continuation byte";
+        return PConstructAndRaiseNode.raiseUncachedUnicodeDecodeError("utf-8", inputObj, start, start + result.length(), reason);
+    }
+
+    private String toJavaString(byte[] bytes, int offset, int length) {
+        Charset charset;
+        if (encoding == TruffleString.Encoding.UTF_8) {
+            charset = StandardCharsets.UTF_8;
+        } else if (encoding == TruffleString.Encoding.US_ASCII) {
+            charset = StandardCharsets.US_ASCII;
+        } else {
+            charset = StandardCharsets.ISO_8859_1;
+        }
+        return new String(bytes, offset, length, charset);
+    }
+
+    /**
+     * Parses a field the way {@code float()} parses a string, returns {@code null} if it is not a
+     * float literal.
+     */
+    private FloatUtils.StringToDoubleResult parseFloatLiteral(byte[] bytes, int offset, int length) {
+        String str = FloatUtils.removeUnicodeAndUnderscores(toJavaString(bytes, offset, length));
+        if (str == null) {
+            return null;
+        }
+        int len = str.length();
+        FloatUtils.StringToDoubleResult res = FloatUtils.stringToDouble(str, FloatUtils.skipAsciiWhitespace(str, 0, len), len);
+        if (res == null || FloatUtils.skipAsciiWhitespace(str, res.position, len) != len) {
+            return null;
+        }
+        return res;
+    }
+
+    final double parseFloat(Node raisingNode, byte[] bytes, int offset, int length) {
+        FloatUtils.StringToDoubleResult res = parseFloatLiteral(bytes, offset, length);
+        if (res == null) {
+            TruffleString repr = PyObjectReprAsTruffleStringNode.executeUncached(decode(bytes, offset, length));
+            throw PRaiseNode.raiseUncached(raisingNode, PythonBuiltinClassType.ValueError, ErrorMessages.COULD_NOT_CONVERT_STRING_TO_FLOAT, repr);
+        }
+        return res.value;
+    }
+
+    /**
+     * Parser for {@code _csv.block_reader}, collects the rows of each block so that the reader
+     * can hand them out one by one.
+     */
+    public static final class Rows extends CSVBlockParser {
+        private final ArrayDeque<Object[]> rows = new ArrayDeque<>();
+        private final ArrayList<Object> row = new ArrayList<>();
+
+        Rows(CSVDialect dialect, TruffleString.Encoding encoding, int blockSize, long fieldLimit) {
+            super(dialect, encoding, blockSize, fieldLimit);
+        }
+
+        @Override
+        protected void saveField(Node raisingNode, byte[] bytes, int length, boolean quoted, boolean numeric) {
+            if (numeric) {
+                row.add(parseFloat(raisingNode, bytes, 0, length));
+            } else {
+                row.add(decode(bytes, 0, length));
+            }
+        }
+
+        @Override
+        protected void endRecord(Node raisingNode) {
+            rows.add(row.toArray());
+            row.clear();
+        }
+
+        @Override
+        protected void discardRecord() {
+            row.clear();
+        }
+
+        /**
+         * Returns the next complete row, or {@code null} if another block has to be read first.
+         */
+        @TruffleBoundary
+        Object[] pollRow() {
+            return rows.poll();
+        }
+    }
+
+    /**
+     * Parser for {@code _csv.read_columns}. Fields are kept as raw bytes per column until the end
+     * of input, so that the type of each column can be chosen by looking at all of its values.
+     */
+    static final class Columns extends CSVBlockParser {
+        private final boolean inferTypes;
+        private final ArrayList<TruffleString> names;
+        private final ArrayList<Column> columns = new ArrayList<>();
+        private boolean headerPending;
+        private int numColumns = -1;
+        private int numRows;
+        private int fieldIndex;
+
+        Columns(CSVDialect dialect, TruffleString.Encoding encoding, int blockSize, long fieldLimit, boolean header, boolean inferTypes) {
+            super(dialect, encoding, blockSize, fieldLimit);
+            this.inferTypes = inferTypes;
+            this.names = header ? new ArrayList<>() : null;
+            this.headerPending = header;
+        }
+
+        @Override
+        protected void saveField(Node raisingNode, byte[] bytes, int length, boolean quoted, boolean numeric) {
+            if (headerPending) {
+                names.add(decode(bytes, 0, length));
+            } else if (numColumns < 0 || fieldIndex < numColumns) {
+                if (fieldIndex == columns.size()) {
+                    columns.add(new Column(dialect.quoting == QUOTE_NONNUMERIC));
+                }
+                columns.get(fieldIndex).add(bytes, length, numeric);
+            }
+            // surplus fields are only counted, the record is rejected in endRecord
+            fieldIndex++;
+        }
+
+        @Override
+        protected void endRecord(Node raisingNode) {
+            int n = fieldIndex;
+            fieldIndex = 0;
+            if (n == 0) {
+                // blank line
+                return;
+            }
+            if (headerPending) {
+                headerPending = false;
+                numColumns = n;
+                for (int i = 0; i < n; i++) {
+                    columns.add(new Column(dialect.quoting == QUOTE_NONNUMERIC));
+                }
+                return;
+            }
+            if (numColumns < 0) {
+                numColumns = n;
+            } else if (n != numColumns) {
+                throw PRaiseNode.raiseUncached(raisingNode, PythonBuiltinClassType.CSVError, ErrorMessages.EXPECTED_D_FIELDS_IN_LINE_D_SAW_D, numColumns, lineNum, n);
+            }
+            numRows++;
+        }
+
+        @Override
+        protected void discardRecord() {
+            fieldIndex = 0;
+            if (headerPending) {
+                names.clear();
+            }
+            for (Column column : columns) {
+                column.truncate(numRows);
+            }
+        }
+
+        /**
+         * Builds the result: a list of columns, or a dict mapping the header names to the columns.
+         * Each column is a list backed by {@code long}s or {@code double}s if type inference is
+         * enabled and all of its values are ints or floats, otherwise a list of str.
+         */
+        @TruffleBoundary
+        Object buildResult(Node raisingNode) {
+            assert isFinished();
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object[] lists = new Object[columns.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = factory.createList(toStorage(raisingNode, factory, columns.get(i)));
+            }
+            if (names == null) {
+                return factory.createList(lists);
+            }
+            PDict dict = factory.createDict();
+            for (int i = 0; i < names.size(); i++) {
+                dict.setItem(names.get(i), lists[i]);
+            }
+            return dict;
+        }
+
+        private SequenceStorage toStorage(Node raisingNode, PythonObjectFactory factory, Column column) {
+            int n = column.count;
+            if (column.numeric != null && column.numeric.cardinality() == n && n > 0) {
+                double[] values = new double[n];
+                for (int i = 0; i < n; i++) {
+                    values[i] = parseFloat(raisingNode, column.data, column.start(i), column.length(i));
+                }
+                return new DoubleSequenceStorage(values);
+            } else if (column.numeric == null && inferTypes && n > 0) {
+                SequenceStorage storage = tryIntegers(factory, column);
+                if (storage == null) {
+                    storage = tryFloats(column);
+                }
+                if (storage != null) {
+                    return storage;
+                }
+            }
+            Object[] values = new Object[n];
+            for (int i = 0; i < n; i++) {
+                if (column.numeric != null && column.numeric.get(i)) {
+                    values[i] = parseFloat(raisingNode, column.data, column.start(i), column.length(i));
+                } else {
+                    values[i] = decode(column.data, column.start(i), column.length(i));
+                }
+            }
+            return new ObjectSequenceStorage(values);
+        }
+
+        /*
+         * Accepts what int() accepts for plain decimal literals: optional surrounding whitespace, a
+         * sign and at least one digit. Values that do not fit into a long become Python ints.
+         */
+        private static SequenceStorage tryIntegers(PythonObjectFactory factory, Column column) {
+            int n = column.count;
+            long[] values = new long[n];
+            Object[] boxed = null;
+            byte[] data = column.data;
+            for (int i = 0; i < n; i++) {
+                int start = column.start(i);
+                int end = start + column.length(i);
+                while (start < end && isAsciiSpace(data[start])) {
+                    start++;
+                }
+                while (end > start && isAsciiSpace(data[end - 1])) {
+                    end--;
+                }
+                int digitsStart = start < end && (data[start] == '-' || data[start] == '+') ? start + 1 : start;
+                if (digitsStart == end) {
+                    return null;
+                }
+                long value = 0;
+                for (int j = digitsStart; j < end; j++) {
+                    int digit = data[j] - '0';
+                    if (digit < 0 || digit > 9) {
+                        return null;
+                    }
+                    value = value * 10 + digit;
+                }
+                if (end - digitsStart <= 18) {
+                    if (data[start] == '-') {
+                        value = -value;
+                    }
+                    if (boxed != null) {
+                        boxed[i] = value;
+                    } else {
+                        values[i] = value;
+                    }
+                } else {
+                    BigInteger big = new BigInteger(new String(data, start, end - start, StandardCharsets.ISO_8859_1));
+                    if (boxed == null) {
+                        boxed = new Object[n];
+                        for (int j = 0; j < i; j++) {
+                            boxed[j] = values[j];
+                        }
+                    }
+                    boxed[i] = big.bitLength() < 64 ? (Object) big.longValue() : factory.createInt(big);
+                }
+            }
+            return boxed != null ? new ObjectSequenceStorage(boxed) : new LongSequenceStorage(values);
+        }
+
+        private SequenceStorage tryFloats(Column column) {
+            int n = column.count;
+            double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                FloatUtils.StringToDoubleResult res = parseFloatLiteral(column.data, column.start(i), column.length(i));
+                if (res == null) {
+                    return null;
+                }
+                values[i] = res.value;
+            }
+            return new DoubleSequenceStorage(values);
+        }
+
+        private static boolean isAsciiSpace(byte b) {
+            return b == ' ' || (b >= '\t' && b <= '\r');
+        }
+    }
+
+    /**
+     * Raw field bytes of one column, stored back to back.
+     */
+    private static final class Column {
+        private byte[] data = new byte[256];
+        private int dataLength;
+        private int[] ends = new int[16];
+        private int count;
+        /* fields to convert to float, only tracked in QUOTE_NONNUMERIC mode */
+        private final BitSet numeric;
+
+        Column(boolean trackNumeric) {
+            this.numeric = trackNumeric ? new BitSet() : null;
+        }
+
+        void add(byte[] bytes, int length, boolean isNumeric) {
+            if (dataLength + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+            }
+            System.arraycopy(bytes, 0, data, dataLength, length);
+            dataLength += length;
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+            if (isNumeric) {
+                numeric.set(count);
+            }
+            ends[count++] = dataLength;
+        }
+
+        void truncate(int newCount) {
+            count = newCount;
+            dataLength = newCount == 0 ? 0 : ends[newCount - 1];
+            if (numeric != null) {
+                numeric.clear(newCount, Math.max(newCount, numeric.length()));
+            }
+        }
+
+        int start(int i) {
+            return i == 0 ? 0 : ends[i - 1];
+        }
+
+        int length(int i) {
+            return ends[i] - start(i);
+        }
+    }
+}
@@ -92,10 +92,13 @@ import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.CharsetMapping.NormalizeEncodingNameNode;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NeverDefault;
 import com.oracle.truffle.api.dsl.NodeFactory;
@@ -269,6 +272,111 @@ public final class CSVModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "block_reader", doc = BLOCK_READER_DOC, parameterNames = {"csvfile", "dialect"}, keywordOnlyNames = {"encoding", "block_size"}, minNumOfPositionalArgs = 1, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class CSVBlockReaderNode extends PythonBuiltinNode {
+        private static final String FUNCTION_NAME = "block_reader";
+
+        @Specialization
+        static Object createReader(VirtualFrame frame, Object csvfile, Object dialectObj, Object encodingObj, Object blockSizeObj, PKeyword[] kwargs,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CallNode callNode,
+                        @Cached GetBlockEncodingNode getEncodingNode,
+                        @Cached GetBlockSizeNode getBlockSizeNode,
+                        @Cached PythonObjectFactory factory) {
+            CSVDialect dialect = (CSVDialect) callNode.execute(frame, PythonBuiltinClassType.CSVDialect, new Object[]{dialectObj}, kwargs);
+            TruffleString.Encoding encoding = getEncodingNode.execute(inliningTarget, FUNCTION_NAME, dialect, encodingObj);
+            int blockSize = getBlockSizeNode.execute(frame, inliningTarget, blockSizeObj);
+            long fieldLimit = ((CSVModuleBuiltins) PythonContext.get(inliningTarget).lookupBuiltinModule(T__CSV).getBuiltins()).fieldLimit;
+            CSVBlockParser.Rows parser = new CSVBlockParser.Rows(dialect, encoding, blockSize, fieldLimit);
+            return factory.createCSVReader(PythonBuiltinClassType.CSVReader, csvfile, dialect, parser);
+        }
+    }
+
+    @Builtin(name = "read_columns", doc = READ_COLUMNS_DOC, parameterNames = {"csvfile", "dialect"}, keywordOnlyNames = {"encoding", "block_size", "header", "infer_types"}, minNumOfPositionalArgs = 1, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class CSVReadColumnsNode extends PythonBuiltinNode {
+        private static final String FUNCTION_NAME = "read_columns";
+
+        @Specialization
+        static Object readColumns(VirtualFrame frame, Object csvfile, Object dialectObj, Object encodingObj, Object blockSizeObj, Object headerObj, Object inferTypesObj, PKeyword[] kwargs,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CallNode callNode,
+                        @Cached GetBlockEncodingNode getEncodingNode,
+                        @Cached GetBlockSizeNode getBlockSizeNode,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached CSVReaderBuiltins.ReadBlockNode readBlockNode) {
+            CSVDialect dialect = (CSVDialect) callNode.execute(frame, PythonBuiltinClassType.CSVDialect, new Object[]{dialectObj}, kwargs);
+            TruffleString.Encoding encoding = getEncodingNode.execute(inliningTarget, FUNCTION_NAME, dialect, encodingObj);
+            int blockSize = getBlockSizeNode.execute(frame, inliningTarget, blockSizeObj);
+            boolean header = headerObj != PNone.NO_VALUE && isTrueNode.execute(frame, inliningTarget, headerObj);
+            boolean inferTypes = inferTypesObj == PNone.NO_VALUE || isTrueNode.execute(frame, inliningTarget, inferTypesObj);
+            long fieldLimit = ((CSVModuleBuiltins) PythonContext.get(inliningTarget).lookupBuiltinModule(T__CSV).getBuiltins()).fieldLimit;
+            CSVBlockParser.Columns parser = new CSVBlockParser.Columns(dialect, encoding, blockSize, fieldLimit, header, inferTypes);
+            while (!parser.isFinished()) {
+                readBlockNode.execute(frame, inliningTarget, parser, csvfile);
+            }
+            return parser.buildResult(inliningTarget);
+        }
+    }
+
+    /**
+     * Checks that the dialect can be matched on bytes and maps the {@code encoding} argument of the
+     * block parsing functions to one of the encodings supported by {@link CSVBlockParser}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class GetBlockEncodingNode extends Node {
+
+        abstract TruffleString.Encoding execute(Node inliningTarget, String functionName, CSVDialect dialect, Object encoding);
+
+        @Specialization
+        static TruffleString.Encoding get(Node inliningTarget, String functionName, CSVDialect dialect, Object encodingObj,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached NormalizeEncodingNameNode normalizeEncodingNameNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            String nonAsciiChar = CSVBlockParser.getNonAsciiDialectChar(dialect);
+            if (nonAsciiChar != null) {
+                throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.ValueError, ErrorMessages.S_MUST_BE_ASCII_FOR_BLOCK_PARSING, nonAsciiChar);
+            }
+            if (encodingObj == PNone.NO_VALUE) {
+                return TruffleString.Encoding.UTF_8;
+            }
+            TruffleString encodingName;
+            try {
+                encodingName = castToStringNode.execute(inliningTarget, encodingObj);
+            } catch (CannotCastException e) {
+                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.S_BRACKETS_ARG_S_MUST_BE_S_NOT_P, functionName, "'encoding'", "str", encodingObj);
+            }
+            TruffleString.Encoding encoding = CSVBlockParser.getSupportedEncoding(normalizeEncodingNameNode.execute(inliningTarget, encodingName));
+            if (encoding == null) {
+                throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.ValueError, ErrorMessages.BLOCK_READER_ENCODING_NOT_SUPPORTED, encodingName);
+            }
+            return encoding;
+        }
+    }
+
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class GetBlockSizeNode extends Node {
+
+        abstract int execute(VirtualFrame frame, Node inliningTarget, Object blockSize);
+
+        @Specialization
+        static int get(VirtualFrame frame, Node inliningTarget, Object blockSizeObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (blockSizeObj == PNone.NO_VALUE) {
+                return CSVBlockParser.DEFAULT_BLOCK_SIZE;
+            }
+            int blockSize = asIntNode.execute(frame, inliningTarget, blockSizeObj);
+            if (blockSize <= 0) {
+                throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.ValueError, ErrorMessages.BUF_SIZE_POS);
+            }
+            return blockSize;
+        }
+    }
+
     @Builtin(name = "writer", doc = WRITER_DOC, parameterNames = {"outputfile", "dialect"}, minNumOfPositionalArgs = 1, takesVarKeywordArgs = true)
     @GenerateNodeFactory
     public abstract static class CSVWriterNode extends PythonBuiltinNode {
@@ -697,6 +805,34 @@ public final class CSVModuleBuiltins extends PythonBuiltins {
                     "The returned object is an iterator.  Each iteration returns a row\n" +
                     "of the CSV file (which can span multiple input lines)";
 
+    private static final String BLOCK_READER_DOC = "\n" +
+                    "csv_reader = block_reader(binaryfile [, dialect='excel']\n" +
+                    "                          [, encoding='utf-8'] [, block_size]\n" +
+                    "                          [optional keyword args])\n" +
+                    "for row in csv_reader:\n" +
+                    "process(row)\n" +
+                    "\n" +
+                    "Like reader(), but reads blocks of bytes from a file opened in binary\n" +
+                    "mode and tokenizes them as a whole.  Lines are split as if the file\n" +
+                    "were opened in text mode with newline=''.  The encoding must be one of\n" +
+                    "'utf-8', 'ascii' or 'latin-1' and the delimiter, quotechar and\n" +
+                    "escapechar must be ASCII characters.";
+
+    private static final String READ_COLUMNS_DOC = "\n" +
+                    "columns = read_columns(binaryfile [, dialect='excel']\n" +
+                    "                       [, encoding='utf-8'] [, block_size]\n" +
+                    "                       [, header=False] [, infer_types=True]\n" +
+                    "                       [optional keyword args])\n" +
+                    "\n" +
+                    "Parses a whole file like block_reader() and returns a list with one\n" +
+                    "list per column.  If \"header\" is true, the first record holds the\n" +
+                    "column names and a dict mapping the names to the columns is returned.\n" +
+                    "All records must have the same number of fields, blank lines are\n" +
+                    "skipped.  If \"infer_types\" is true, a column whose values are all\n" +
+                    "int or all float literals holds ints or floats, otherwise the values\n" +
+                    "are strings.  With QUOTE_NONNUMERIC, unquoted fields are converted to\n" +
+                    "floats as reader() does.";
+
     private static final String WRITER_DOC = "    csv_writer = csv.writer(fileobj [, dialect='excel']\n" +
                     "                            [optional keyword args])\n" +
                     "    for row in sequence:\n" +
@@ -61,7 +61,8 @@ public final class CSVReader extends PythonBuiltinObject {
         AFTER_ESCAPED_CRNL
     }
 
-    final Object inputIter; /* iterate over this for input lines */
+    final Object inputIter; /* iterate over this for input lines, or the binary file in block mode */
+    final CSVBlockParser.Rows blockParser; /* tokenizer of the block mode, or null */
     final CSVDialect dialect; /* parsing dialect */
     ReaderState state; /* current CSV parse state */
     TruffleStringBuilder field; /* temporary buffer */
@@ -73,9 +74,25 @@ public final class CSVReader extends PythonBuiltinObject {
         super(cls, instanceShape);
         this.inputIter = inputIter;
         this.dialect = dialect;
+        this.blockParser = null;
         lineNum = 0;
     }
 
+    public CSVReader(Object cls, Shape instanceShape, Object file, CSVDialect dialect, CSVBlockParser.Rows blockParser) {
+        super(cls, instanceShape);
+        this.inputIter = file;
+        this.dialect = dialect;
+        this.blockParser = blockParser;
+    }
+
+    boolean isBlockMode() {
+        return blockParser != null;
+    }
+
+    int getLineNum() {
+        return blockParser != null ? blockParser.lineNum : lineNum;
+    }
+
     void parseReset() {
         this.field = TruffleStringBuilder.create(TS_ENCODING);
         this.state = START_RECORD;
@@ -51,6 +51,7 @@ import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState
 import static com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState.START_RECORD;
 import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONE;
 import static com.oracle.graal.python.builtins.modules.csv.QuoteStyle.QUOTE_NONNUMERIC;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READ;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ITER__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEXT__;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
@@ -62,9 +63,12 @@ import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.csv.CSVReader.ReaderState;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.lib.GetNextNode;
 import com.oracle.graal.python.lib.PyNumberFloatNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes.AppendNode;
@@ -74,16 +78,20 @@ import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObject
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.IndirectCallData;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
@@ -117,7 +125,7 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
         private static final int CARRIAGE_RETURN_CODEPOINT = '\r';
         private static final int SPACE_CODEPOINT = ' ';
 
-        @Specialization
+        @Specialization(guards = "!self.isBlockMode()")
         static Object nextPos(VirtualFrame frame, CSVReader self,
                         @Bind("this") Node inliningTarget,
                         @Cached TruffleString.ByteIndexOfCodePointNode byteIndexOfCodePointNode,
@@ -178,6 +186,23 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
             return fields;
         }
 
+        @Specialization(guards = "self.isBlockMode()")
+        static Object nextBlock(VirtualFrame frame, CSVReader self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ReadBlockNode readBlockNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            CSVBlockParser.Rows parser = self.blockParser;
+            Object[] row;
+            while ((row = parser.pollRow()) == null) {
+                if (parser.isFinished()) {
+                    throw raiseNode.get(inliningTarget).raiseStopIteration();
+                }
+                readBlockNode.execute(frame, inliningTarget, parser, self.inputIter);
+            }
+            return factory.createList(row);
+        }
+
         @SuppressWarnings("fallthrough")
         private static void parseProcessCodePoint(Node inliningTarget, CSVReader self, PList fields, int codePoint, AppendCodePointNode appendCodePointNode, ToStringNode toStringNode,
                         PyNumberFloatNode pyNumberFloatNode, AppendNode appendNode, PRaiseNode.Lazy raiseNode) {
@@ -352,6 +377,45 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Reads the next block from a binary file and feeds it to the parser, or finishes the parser at
+     * the end of the file.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class ReadBlockNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, CSVBlockParser parser, Object file);
+
+        @Specialization
+        static void read(VirtualFrame frame, Node inliningTarget, CSVBlockParser parser, Object file,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @Cached PyObjectCallMethodObjArgs callMethodRead,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            CSVModuleBuiltins csvModuleBuiltins = (CSVModuleBuiltins) PythonContext.get(inliningTarget).lookupBuiltinModule(T__CSV).getBuiltins();
+            parser.fieldLimit = csvModuleBuiltins.fieldLimit;
+            Object data = callMethodRead.execute(frame, inliningTarget, file, T_READ, parser.blockSize);
+            Object buffer;
+            try {
+                buffer = bufferAcquireLib.acquireReadonly(data, frame, indirectCallData);
+            } catch (PException e) {
+                throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.TypeError, ErrorMessages.S_SHOULD_HAVE_RETURNED_A_BYTES_LIKE_OBJECT_NOT_P, T_READ, data);
+            }
+            try {
+                int length = bufferLib.getBufferLength(buffer);
+                if (length == 0) {
+                    parser.finish(inliningTarget);
+                } else {
+                    parser.feed(inliningTarget, bufferLib.getInternalOrCopiedByteArray(buffer), length);
+                }
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+    }
+
     @Builtin(name = "dialect", minNumOfPositionalArgs = 1, isGetter = true)
     @GenerateNodeFactory
     abstract static class GetDialectNode extends PythonUnaryBuiltinNode {
@@ -366,7 +430,7 @@ public final class CSVReaderBuiltins extends PythonBuiltins {
     abstract static class GetLineNumNode extends PythonUnaryBuiltinNode {
         @Specialization
         static int doIt(CSVReader self) {
-            return self.lineNum;
+            return self.getLineNum();
         }
     }
 }
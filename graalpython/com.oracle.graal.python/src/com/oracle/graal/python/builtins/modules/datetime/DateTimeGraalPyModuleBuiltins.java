@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.StringLiterals.T_TIME;
+
+import java.time.ZoneId;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyLongCheckExactNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Fast paths for the pure Python {@code datetime} module, which remains the implementation of the
+ * types, so that the {@code datetime_CAPI} capsule and pickling keep working unchanged. This module
+ * only provides helper functions that {@code datetime.py} calls from its methods; there are no
+ * builtin {@code date}, {@code time}, {@code datetime} or {@code timedelta} types. The parsing and
+ * conversion functions return {@code None} whenever the general implementation is needed, see
+ * {@link DateTimeSupport}.
+ */
+@CoreFunctions(defineModule = DateTimeGraalPyModuleBuiltins.J__DATETIME_GRAALPY)
+public final class DateTimeGraalPyModuleBuiltins extends PythonBuiltins {
+    static final String J__DATETIME_GRAALPY = "_datetime_graalpy";
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateTimeGraalPyModuleBuiltinsFactory.getFactories();
+    }
+
+    private static final long NOT_A_LONG = Long.MIN_VALUE;
+
+    private static long asExactLong(Object value) {
+        if (!PyLongCheckExactNode.executeUncached(value)) {
+            return NOT_A_LONG;
+        } else if (value instanceof Integer i) {
+            return i;
+        } else if (value instanceof Long l) {
+            return l;
+        } else if (value instanceof PInt pint) {
+            try {
+                return pint.longValueExact();
+            } catch (OverflowException e) {
+                return NOT_A_LONG;
+            }
+        }
+        return NOT_A_LONG;
+    }
+
+    private static String asJavaString(Object value) {
+        try {
+            return CastToTruffleStringNode.executeUncached(value).toJavaStringUncached();
+        } catch (CannotCastException e) {
+            return null;
+        }
+    }
+
+    private static Object[] toObjects(long[] values, int length) {
+        Object[] objects = new Object[length];
+        for (int i = 0; i < length; i++) {
+            objects[i] = values[i];
+        }
+        return objects;
+    }
+
+    @Builtin(name = "ymd2ord", minNumOfPositionalArgs = 3, parameterNames = {"year", "month", "day"}, doc = "ymd2ord(year, month, day)\n\n" +
+                    "year, month, day -> ordinal, considering 01-Jan-0001 as day 1.")
+    @ArgumentClinic(name = "year", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "month", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "day", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class Ymd2OrdNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        static long ymd2ord(long year, long month, long day,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (month < 1 || month > 12) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.MONTH_OUT_OF_RANGE);
+            }
+            try {
+                return DateTimeSupport.ymd2ord(year, month, day);
+            } catch (ArithmeticException e) {
+                throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DateTimeGraalPyModuleBuiltinsClinicProviders.Ymd2OrdNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "ord2ymd", minNumOfPositionalArgs = 1, parameterNames = {"n"}, doc = "ord2ymd(n)\n\n" +
+                    "ordinal -> (year, month, day), considering 01-Jan-0001 as day 1.")
+    @ArgumentClinic(name = "n", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class Ord2YmdNode extends PythonUnaryClinicBuiltinNode {
+        @Specialization
+        static Object ord2ymd(long n,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            long[] ymd;
+            try {
+                ymd = DateTimeSupport.ord2ymd(n);
+            } catch (ArithmeticException e) {
+                throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+            }
+            return factory.createTuple(new Object[]{ymd[0], ymd[1], ymd[2]});
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DateTimeGraalPyModuleBuiltinsClinicProviders.Ord2YmdNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "normalize_timedelta", minNumOfPositionalArgs = 7, doc = "normalize_timedelta(days, seconds, microseconds, milliseconds, minutes, hours, weeks)\n\n" +
+                    "Normalizes int arguments of timedelta to a (days, seconds, microseconds) tuple, or returns None.")
+    @GenerateNodeFactory
+    abstract static class NormalizeTimedeltaNode extends PythonBuiltinNode {
+        @Specialization
+        static Object normalize(Object days, Object seconds, Object microseconds, Object milliseconds, Object minutes, Object hours, Object weeks,
+                        @Cached PythonObjectFactory factory) {
+            long[] result = normalizeBoundary(days, seconds, microseconds, milliseconds, minutes, hours, weeks);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            return factory.createTuple(toObjects(result, 3));
+        }
+
+        @TruffleBoundary
+        private static long[] normalizeBoundary(Object... args) {
+            long[] values = new long[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = asExactLong(args[i]);
+                if (values[i] == NOT_A_LONG) {
+                    return null;
+                }
+            }
+            return DateTimeSupport.normalizeTimedelta(values[0], values[1], values[2], values[3], values[4], values[5], values[6]);
+        }
+    }
+
+    @Builtin(name = "parse_isoformat_date", minNumOfPositionalArgs = 1, doc = "parse_isoformat_date(string)\n\n" +
+                    "Parses a YYYY-MM-DD date into a (year, month, day) tuple, or returns None.")
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatDateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parse(Object string,
+                        @Cached PythonObjectFactory factory) {
+            long[] result = parseBoundary(string);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            return factory.createTuple(toObjects(result, 3));
+        }
+
+        @TruffleBoundary
+        private static long[] parseBoundary(Object string) {
+            String s = asJavaString(string);
+            return s == null ? null : DateTimeSupport.parseDate(s);
+        }
+    }
+
+    @Builtin(name = "parse_isoformat_datetime", minNumOfPositionalArgs = 1, doc = "parse_isoformat_datetime(string)\n\n" +
+                    "Parses the common ISO 8601 forms into a (year, month, day, hour, minute, second, microsecond, offset) tuple, or returns None.\n" +
+                    "The offset is None or the UTC offset in microseconds.")
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatDateTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parse(Object string,
+                        @Cached PythonObjectFactory factory) {
+            long[] result = parseBoundary(string);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            Object[] items = toObjects(result, DateTimeSupport.OFFSET);
+            items[DateTimeSupport.HAS_OFFSET] = result[DateTimeSupport.HAS_OFFSET] != 0 ? result[DateTimeSupport.OFFSET] : PNone.NONE;
+            return factory.createTuple(items);
+        }
+
+        @TruffleBoundary
+        private static long[] parseBoundary(Object string) {
+            String s = asJavaString(string);
+            return s == null ? null : DateTimeSupport.parseDateTime(s);
+        }
+    }
+
+    @Builtin(name = "parse_isoformat_time", minNumOfPositionalArgs = 1, doc = "parse_isoformat_time(string)\n\n" +
+                    "Parses the common ISO 8601 forms into a (hour, minute, second, microsecond, offset) tuple, or returns None.\n" +
+                    "The offset is None or the UTC offset in microseconds.")
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parse(Object string,
+                        @Cached PythonObjectFactory factory) {
+            long[] result = parseBoundary(string);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            Object offset = result[DateTimeSupport.HAS_OFFSET] != 0 ? result[DateTimeSupport.OFFSET] : PNone.NONE;
+            return factory.createTuple(new Object[]{result[DateTimeSupport.HOUR], result[DateTimeSupport.MINUTE], result[DateTimeSupport.SECOND], result[DateTimeSupport.MICROSECOND], offset});
+        }
+
+        @TruffleBoundary
+        private static long[] parseBoundary(Object string) {
+            String s = asJavaString(string);
+            return s == null ? null : DateTimeSupport.parseTime(s);
+        }
+    }
+
+    @Builtin(name = "format_time", minNumOfPositionalArgs = 5, parameterNames = {"hh", "mm", "ss", "us", "timespec"}, doc = "format_time(hh, mm, ss, us, timespec)\n\n" +
+                    "Formats the time according to ISO like datetime._format_time.")
+    @ArgumentClinic(name = "hh", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "mm", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "ss", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "us", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class FormatTimeNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static TruffleString format(long hour, long minute, long second, long microsecond, Object timespec,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            TruffleString result = formatBoundary(hour, minute, second, microsecond, timespec);
+            if (result == null) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+            }
+            return result;
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatBoundary(long hour, long minute, long second, long microsecond, Object timespecObj) {
+            String timespec = asJavaString(timespecObj);
+            String result = timespec == null ? null : DateTimeSupport.formatTime(hour, minute, second, microsecond, timespec);
+            return result == null ? null : PythonUtils.toTruffleStringUncached(result);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DateTimeGraalPyModuleBuiltinsClinicProviders.FormatTimeNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "format_datetime", minNumOfPositionalArgs = 9, parameterNames = {"year", "month", "day", "sep", "hh", "mm", "ss", "us", "timespec"}, doc = "format_datetime(year, month, day, sep, hh, mm, ss, us, timespec)\n\n" +
+                    "Formats the date and time according to ISO without the UTC offset, or returns None if sep is not a single character.")
+    @ArgumentClinic(name = "year", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "month", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "day", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "hh", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "mm", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "ss", conversion = ClinicConversion.Long)
+    @ArgumentClinic(name = "us", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class FormatDateTimeNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static Object format(long year, long month, long day, Object sep, long hour, long minute, long second, long microsecond, Object timespec,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            String sepString = asJavaStringBoundary(sep);
+            if (sepString == null || sepString.codePointCount(0, sepString.length()) != 1) {
+                return PNone.NONE;
+            }
+            TruffleString result = formatBoundary(year, month, day, sepString.codePointAt(0), hour, minute, second, microsecond, timespec);
+            if (result == null) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+            }
+            return result;
+        }
+
+        @TruffleBoundary
+        private static String asJavaStringBoundary(Object value) {
+            return asJavaString(value);
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatBoundary(long year, long month, long day, int sep, long hour, long minute, long second, long microsecond, Object timespecObj) {
+            String timespec = asJavaString(timespecObj);
+            String result = timespec == null ? null : DateTimeSupport.formatDateTime(year, month, day, sep, hour, minute, second, microsecond, timespec);
+            return result == null ? null : PythonUtils.toTruffleStringUncached(result);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DateTimeGraalPyModuleBuiltinsClinicProviders.FormatDateTimeNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, doc = "fromtimestamp(t, utc)\n\n" +
+                    "Converts a POSIX timestamp to a (year, month, day, hour, minute, second, microsecond, fold) tuple\n" +
+                    "in UTC or in the zone of time.localtime, or returns None.")
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromTimestamp(Object timestamp, boolean utc,
+                        @Cached PythonObjectFactory factory) {
+            ZoneId zone = utc ? null : TimeModuleBuiltins.getCurrentZoneId(PythonContext.get(this).lookupBuiltinModule(T_TIME));
+            long[] result = convertBoundary(timestamp, zone);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            return factory.createTuple(toObjects(result, 8));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object generic(Object timestamp, Object utc) {
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private static long[] convertBoundary(Object timestamp, ZoneId zone) {
+            double t;
+            if (timestamp instanceof Double d) {
+                t = d;
+            } else if (timestamp instanceof Integer || timestamp instanceof Long) {
+                t = ((Number) timestamp).longValue();
+            } else {
+                return null;
+            }
+            return DateTimeSupport.fromTimestamp(t, zone);
+        }
+    }
+}
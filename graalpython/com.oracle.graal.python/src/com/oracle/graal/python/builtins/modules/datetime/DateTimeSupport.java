@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * The calendar arithmetic, ISO 8601 parsing and formatting of the pure Python {@code datetime}
+ * module in plain Java. The functions accept only the common cases and return {@code null} when
+ * {@code datetime} has to take the general path, which then also produces the appropriate error.
+ */
+final class DateTimeSupport {
+    static final int MIN_YEAR = 1;
+    static final int MAX_YEAR = 9999;
+    static final long MAX_DELTA_DAYS = 999999999;
+
+    static final long US_PER_SECOND = 1000000;
+    static final long SECONDS_PER_DAY = 24 * 3600;
+
+    private static final int[] DAYS_IN_MONTH = {-1, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int[] DAYS_BEFORE_MONTH = {-1, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private static final long DI400Y = daysBeforeYear(401);
+    private static final long DI100Y = daysBeforeYear(101);
+    private static final long DI4Y = daysBeforeYear(5);
+
+    /** Indices into the array returned by {@link #parseDateTime}. */
+    static final int YEAR = 0;
+    static final int MONTH = 1;
+    static final int DAY = 2;
+    static final int HOUR = 3;
+    static final int MINUTE = 4;
+    static final int SECOND = 5;
+    static final int MICROSECOND = 6;
+    /** 1 if the string has a UTC offset, 0 otherwise. */
+    static final int HAS_OFFSET = 7;
+    /** The signed UTC offset in microseconds. */
+    static final int OFFSET = 8;
+    /** 1 if the local time is the second of two ambiguous ones, see {@link #fromTimestamp}. */
+    static final int FOLD = 7;
+
+    private DateTimeSupport() {
+    }
+
+    static boolean isLeap(long year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static long daysBeforeYear(long year) {
+        long y = Math.subtractExact(year, 1);
+        return Math.addExact(Math.multiplyExact(y, 365), Math.floorDiv(y, 4) - Math.floorDiv(y, 100) + Math.floorDiv(y, 400));
+    }
+
+    private static int daysInMonth(long year, int month) {
+        return month == 2 && isLeap(year) ? 29 : DAYS_IN_MONTH[month];
+    }
+
+    /**
+     * Like {@code datetime._ymd2ord}.
+     *
+     * @throws IllegalArgumentException if the month is out of range
+     * @throws ArithmeticException if the ordinal does not fit into a long
+     */
+    static long ymd2ord(long year, long month, long day) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("month must be in 1..12");
+        }
+        int m = (int) month;
+        long daysBeforeMonth = DAYS_BEFORE_MONTH[m] + (m > 2 && isLeap(year) ? 1 : 0);
+        return Math.addExact(daysBeforeYear(year), daysBeforeMonth + day);
+    }
+
+    /**
+     * Like {@code datetime._ord2ymd}.
+     *
+     * @throws ArithmeticException if the ordinal is too large to compute the year without overflow
+     */
+    static long[] ord2ymd(long ordinal) {
+        long n = Math.subtractExact(ordinal, 1);
+        long n400 = Math.floorDiv(n, DI400Y);
+        n = Math.floorMod(n, DI400Y);
+        long year = Math.addExact(Math.multiplyExact(n400, 400), 1);
+
+        long n100 = n / DI100Y;
+        n %= DI100Y;
+        long n4 = n / DI4Y;
+        n %= DI4Y;
+        long n1 = n / 365;
+        n %= 365;
+
+        year += n100 * 100 + n4 * 4 + n1;
+        if (n1 == 4 || n100 == 4) {
+            return new long[]{year - 1, 12, 31};
+        }
+
+        boolean leapYear = n1 == 3 && (n4 != 24 || n100 == 3);
+        int month = (int) ((n + 50) >> 5);
+        long preceding = DAYS_BEFORE_MONTH[month] + (month > 2 && leapYear ? 1 : 0);
+        if (preceding > n) {
+            month--;
+            preceding -= DAYS_IN_MONTH[month] + (month == 2 && leapYear ? 1 : 0);
+        }
+        return new long[]{year, month, n - preceding + 1};
+    }
+
+    /**
+     * Normalizes integer {@code timedelta} arguments to {@code (days, seconds, microseconds)} like
+     * {@code timedelta.__new__}. Returns {@code null} if the result is out of range or any
+     * intermediate result overflows a long.
+     */
+    static long[] normalizeTimedelta(long days, long seconds, long microseconds, long milliseconds, long minutes, long hours, long weeks) {
+        try {
+            long d = Math.addExact(days, Math.multiplyExact(weeks, 7));
+            long s = Math.addExact(seconds, Math.addExact(Math.multiplyExact(minutes, 60), Math.multiplyExact(hours, 3600)));
+            long us = Math.addExact(microseconds, Math.multiplyExact(milliseconds, 1000));
+
+            s = Math.addExact(s, Math.floorDiv(us, US_PER_SECOND));
+            us = Math.floorMod(us, US_PER_SECOND);
+            d = Math.addExact(d, Math.floorDiv(s, SECONDS_PER_DAY));
+            s = Math.floorMod(s, SECONDS_PER_DAY);
+            if (Math.abs(d) > MAX_DELTA_DAYS) {
+                return null;
+            }
+            return new long[]{d, s, us};
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the common {@code YYYY-MM-DD} form accepted by {@code date.fromisoformat}.
+     */
+    static long[] parseDate(String s) {
+        if (s.length() != 10 || !isDate(s)) {
+            return null;
+        }
+        return new long[]{digits(s, 0, 4), digits(s, 5, 2), digits(s, 8, 2)};
+    }
+
+    /**
+     * Parses the common forms accepted by {@code datetime.fromisoformat}, i.e., a
+     * {@code YYYY-MM-DD} date optionally followed by any separator and the time as accepted by
+     * {@link #parseTime}. The fields are not validated, that is left to the constructor.
+     */
+    static long[] parseDateTime(String s) {
+        if (s.length() < 10 || !isDate(s)) {
+            return null;
+        }
+        long[] result = new long[9];
+        if (s.length() > 11 && !parseTime(s, 11, result)) {
+            return null;
+        }
+        result[YEAR] = digits(s, 0, 4);
+        result[MONTH] = digits(s, 5, 2);
+        result[DAY] = digits(s, 8, 2);
+        return result;
+    }
+
+    /**
+     * Parses the extended forms {@code HH[:MM[:SS[{.,}f+]]]} followed by {@code Z} or
+     * {@code {+-}HH[:MM[:SS[{.,}f+]]]} that {@code time.fromisoformat} accepts. The basic forms
+     * without colons are left to the general implementation.
+     */
+    static long[] parseTime(String s) {
+        long[] result = new long[9];
+        if (s.isEmpty() || !parseTime(s, 0, result)) {
+            return null;
+        }
+        return result;
+    }
+
+    private static boolean parseTime(String s, int start, long[] result) {
+        long[] comps = new long[4];
+        int pos = parseHHMMSSFF(s, start, comps);
+        if (pos < 0) {
+            return false;
+        }
+        result[HOUR] = comps[0];
+        result[MINUTE] = comps[1];
+        result[SECOND] = comps[2];
+        result[MICROSECOND] = comps[3];
+        if (pos == s.length()) {
+            return true;
+        }
+        char c = s.charAt(pos);
+        if (c == 'Z') {
+            if (pos + 1 != s.length()) {
+                return false;
+            }
+            result[HAS_OFFSET] = 1;
+            return true;
+        }
+        if (c != '+' && c != '-') {
+            return false;
+        }
+        if (parseHHMMSSFF(s, pos + 1, comps) != s.length()) {
+            return false;
+        }
+        long offset = ((comps[0] * 60 + comps[1]) * 60 + comps[2]) * US_PER_SECOND + comps[3];
+        if (offset >= SECONDS_PER_DAY * US_PER_SECOND) {
+            return false;
+        }
+        result[HAS_OFFSET] = 1;
+        result[OFFSET] = c == '-' ? -offset : offset;
+        return true;
+    }
+
+    /**
+     * Like {@code datetime._parse_hh_mm_ss_ff}, but only for the extended format and stopping at
+     * the first character that cannot continue the time. Returns the end position, or -1.
+     */
+    private static int parseHHMMSSFF(String s, int start, long[] comps) {
+        comps[0] = comps[1] = comps[2] = comps[3] = 0;
+        int pos = start;
+        int comp = 0;
+        while (true) {
+            if (!isDigits(s, pos, 2)) {
+                return -1;
+            }
+            comps[comp++] = digits(s, pos, 2);
+            pos += 2;
+            if (comp == 3 || pos == s.length() || s.charAt(pos) != ':') {
+                break;
+            }
+            pos++;
+        }
+        if (pos < s.length() && (s.charAt(pos) == '.' || s.charAt(pos) == ',')) {
+            if (comp < 3) {
+                // a fraction is only allowed after the seconds
+                return -1;
+            }
+            pos++;
+            int fractionStart = pos;
+            long us = 0;
+            while (pos < s.length() && isDigit(s.charAt(pos))) {
+                if (pos - fractionStart < 6) {
+                    us = us * 10 + (s.charAt(pos) - '0');
+                }
+                pos++;
+            }
+            int count = pos - fractionStart;
+            if (count == 0) {
+                return -1;
+            }
+            for (int i = count; i < 6; i++) {
+                us *= 10;
+            }
+            comps[3] = us;
+        }
+        return pos;
+    }
+
+    private static boolean isDate(String s) {
+        return isDigits(s, 0, 4) && s.charAt(4) == '-' && isDigits(s, 5, 2) && s.charAt(7) == '-' && isDigits(s, 8, 2);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(String s, int start, int count) {
+        if (start + count > s.length()) {
+            return false;
+        }
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long digits(String s, int start, int count) {
+        long value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Formats the time like {@code datetime._format_time}. Returns {@code null} for an unknown
+     * {@code timespec}.
+     */
+    static String formatTime(long hour, long minute, long second, long microsecond, String timespec) {
+        StringBuilder sb = new StringBuilder(15);
+        return appendTime(sb, hour, minute, second, microsecond, timespec) ? sb.toString() : null;
+    }
+
+    /**
+     * Formats the date and time like {@code datetime.isoformat} without the UTC offset.
+     */
+    static String formatDateTime(long year, long month, long day, int sep, long hour, long minute, long second, long microsecond, String timespec) {
+        StringBuilder sb = new StringBuilder(26);
+        appendPadded(sb, year, 4);
+        sb.append('-');
+        appendPadded(sb, month, 2);
+        sb.append('-');
+        appendPadded(sb, day, 2);
+        sb.appendCodePoint(sep);
+        return appendTime(sb, hour, minute, second, microsecond, timespec) ? sb.toString() : null;
+    }
+
+    private static boolean appendTime(StringBuilder sb, long hour, long minute, long second, long microsecond, String timespec) {
+        int fields;
+        long fraction = microsecond;
+        int fractionDigits = 6;
+        switch (timespec) {
+            case "auto":
+                fields = 3;
+                fractionDigits = microsecond != 0 ? 6 : 0;
+                break;
+            case "hours":
+                fields = 1;
+                break;
+            case "minutes":
+                fields = 2;
+                break;
+            case "seconds":
+                fields = 3;
+                fractionDigits = 0;
+                break;
+            case "milliseconds":
+                fields = 3;
+                fraction = microsecond / 1000;
+                fractionDigits = 3;
+                break;
+            case "microseconds":
+                fields = 3;
+                break;
+            default:
+                return false;
+        }
+        appendPadded(sb, hour, 2);
+        if (fields > 1) {
+            sb.append(':');
+            appendPadded(sb, minute, 2);
+        }
+        if (fields > 2) {
+            sb.append(':');
+            appendPadded(sb, second, 2);
+            if (fractionDigits > 0) {
+                sb.append('.');
+                appendPadded(sb, fraction, fractionDigits);
+            }
+        }
+        return true;
+    }
+
+    private static void appendPadded(StringBuilder sb, long value, int width) {
+        // like '%0{width}d', the sign counts towards the width
+        String digits = Long.toString(Math.abs(value));
+        if (value < 0) {
+            sb.append('-');
+            width--;
+        }
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        sb.append(digits);
+    }
+
+    /**
+     * Converts a POSIX timestamp to the fields of a naive datetime like
+     * {@code datetime._fromtimestamp}, in UTC if {@code zone} is {@code null}. For local times,
+     * the result also says whether the local time is the second of two ambiguous ones, which the
+     * Python implementation detects by probing the time 24 hours earlier. Returns {@code null} if
+     * the year is out of range.
+     */
+    static long[] fromTimestamp(double timestamp, ZoneId zone) {
+        if (!Double.isFinite(timestamp)) {
+            return null;
+        }
+        double whole = timestamp < 0 ? Math.ceil(timestamp) : Math.floor(timestamp);
+        long us = (long) Math.rint((timestamp - whole) * 1e6);
+        if (Math.abs(whole) > 1e15) {
+            return null;
+        }
+        long seconds = (long) whole;
+        if (us >= US_PER_SECOND) {
+            seconds++;
+            us -= US_PER_SECOND;
+        } else if (us < 0) {
+            seconds--;
+            us += US_PER_SECOND;
+        }
+        LocalDateTime dateTime;
+        long fold = 0;
+        if (zone == null) {
+            dateTime = LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+        } else {
+            Instant instant = Instant.ofEpochSecond(seconds);
+            ZoneRules rules = zone.getRules();
+            ZoneOffset offset = rules.getOffset(instant);
+            dateTime = LocalDateTime.ofEpochSecond(seconds, 0, offset);
+            ZoneOffsetTransition transition = rules.getTransition(dateTime);
+            if (transition != null && transition.isOverlap() && offset.equals(transition.getOffsetAfter())) {
+                fold = 1;
+            }
+        }
+        if (dateTime.getYear() < MIN_YEAR || dateTime.getYear() > MAX_YEAR) {
+            return null;
+        }
+        return new long[]{dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), us, fold};
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic on finite, non-zero decimals given as sign, coefficient and exponent, like the
+ * {@code _sign}, {@code _int} and {@code _exp} slots of {@code _pydecimal.Decimal}. The results
+ * are rounded like {@code Decimal._fix} does, but only as long as that does not involve the
+ * exponent limits of the context. In every case that needs more than rounding to the precision
+ * (overflow, subnormal results, clamping, zero results, the {@code ROUND_05UP} rounding), the
+ * operations return {@code null} and the caller falls back to the general implementation.
+ *
+ * The coefficients are passed as integers, which {@code _pydecimal} caches in the {@code _coeff}
+ * slot next to the digit string, so that the operands are not parsed again for every operation.
+ * Coefficients and exponents that fit into a {@code long} are computed without allocating big
+ * integers.
+ */
+public final class DecimalArithmetic {
+    public static final int FLAG_INEXACT = 1;
+    public static final int FLAG_ROUNDED = 2;
+
+    /*
+     * Exponents are limited so that exponent arithmetic cannot overflow and shifts stay within
+     * what BigDecimal supports. Larger shifts between the operands of an addition are handled by
+     * the general implementation, which avoids computing the huge exact sum.
+     */
+    private static final long MAX_ABS_EXPONENT = Integer.MAX_VALUE / 4;
+    private static final long MAX_ADD_SHIFT = 1000;
+    private static final long MAX_PRECISION = 10000;
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+    static {
+        long p = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = p;
+            p *= 10;
+        }
+    }
+
+    public static final class Context {
+        final long prec;
+        final RoundingMode rounding;
+        final long emin;
+        final long emax;
+        final boolean clamp;
+
+        private Context(long prec, RoundingMode rounding, long emin, long emax, boolean clamp) {
+            this.prec = prec;
+            this.rounding = rounding;
+            this.emin = emin;
+            this.emax = emax;
+            this.clamp = clamp;
+        }
+
+        /**
+         * Returns {@code null} if the context is not supported by the fast paths.
+         */
+        public static Context create(long prec, String rounding, long emin, long emax, long clamp) {
+            RoundingMode mode = toRoundingMode(rounding);
+            if (mode == null || prec <= 0 || prec > MAX_PRECISION || emin < -MAX_ABS_EXPONENT || emax > MAX_ABS_EXPONENT) {
+                return null;
+            }
+            return new Context(prec, mode, emin, emax, clamp != 0);
+        }
+
+        long etiny() {
+            return emin - prec + 1;
+        }
+
+        long etop() {
+            return emax - prec + 1;
+        }
+    }
+
+    /**
+     * A finite, non-zero operand. The coefficient is kept in {@code small} if it fits into a
+     * {@code long}, {@code big} is {@code null} in that case.
+     */
+    public static final class Operand {
+        final int sign;
+        final long small;
+        final BigInteger big;
+        final long exponent;
+
+        private Operand(int sign, long small, BigInteger big, long exponent) {
+            this.sign = sign;
+            this.small = small;
+            this.big = big;
+            this.exponent = exponent;
+        }
+
+        /**
+         * Returns {@code null} if the operand is zero or its exponent is not within the supported
+         * range.
+         */
+        public static Operand create(int sign, long coefficient, long exponent) {
+            if (coefficient <= 0 || Math.abs(exponent) > MAX_ABS_EXPONENT) {
+                return null;
+            }
+            return new Operand(sign, coefficient, null, exponent);
+        }
+
+        /**
+         * Like {@link #create(int, long, long)}, for coefficients that may not fit into a
+         * {@code long}.
+         */
+        public static Operand create(int sign, BigInteger coefficient, long exponent) {
+            if (coefficient.bitLength() < Long.SIZE) {
+                return create(sign, coefficient.longValue(), exponent);
+            }
+            if (coefficient.signum() <= 0 || Math.abs(exponent) > MAX_ABS_EXPONENT) {
+                return null;
+            }
+            return new Operand(sign, 0, coefficient, exponent);
+        }
+
+        BigInteger bigCoefficient() {
+            return big != null ? big : BigInteger.valueOf(small);
+        }
+
+        int digits() {
+            return big != null ? digitCount(big) : digitCount(small);
+        }
+    }
+
+    public static final class Result {
+        public final int sign;
+        /** The digits of the coefficient, like the {@code _int} slot. */
+        public final String coefficient;
+        /** The coefficient as a {@link Long} or a {@link BigInteger}. */
+        public final Number coefficientValue;
+        public final long exponent;
+        public final int flags;
+
+        Result(int sign, String coefficient, Number coefficientValue, long exponent, int flags) {
+            this.sign = sign;
+            this.coefficient = coefficient;
+            this.coefficientValue = coefficientValue;
+            this.exponent = exponent;
+            this.flags = flags;
+        }
+    }
+
+    private DecimalArithmetic() {
+    }
+
+    static RoundingMode toRoundingMode(String rounding) {
+        switch (rounding) {
+            case "ROUND_HALF_EVEN":
+                return RoundingMode.HALF_EVEN;
+            case "ROUND_HALF_UP":
+                return RoundingMode.HALF_UP;
+            case "ROUND_HALF_DOWN":
+                return RoundingMode.HALF_DOWN;
+            case "ROUND_DOWN":
+                return RoundingMode.DOWN;
+            case "ROUND_UP":
+                return RoundingMode.UP;
+            case "ROUND_CEILING":
+                return RoundingMode.CEILING;
+            case "ROUND_FLOOR":
+                return RoundingMode.FLOOR;
+            default:
+                // ROUND_05UP has no counterpart in RoundingMode
+                return null;
+        }
+    }
+
+    public static Result add(Operand op1, Operand op2, Context ctx) {
+        long exp = Math.min(op1.exponent, op2.exponent);
+        long shift1 = op1.exponent - exp;
+        long shift2 = op2.exponent - exp;
+        if (shift1 > MAX_ADD_SHIFT || shift2 > MAX_ADD_SHIFT) {
+            return null;
+        }
+        if (op1.big == null && op2.big == null && shift1 <= MAX_LONG_DIGITS && shift2 <= MAX_LONG_DIGITS) {
+            try {
+                long a = Math.multiplyExact(op1.small, POWERS_OF_TEN[(int) shift1]);
+                long b = Math.multiplyExact(op2.small, POWERS_OF_TEN[(int) shift2]);
+                long sum = Math.addExact(op1.sign == 0 ? a : -a, op2.sign == 0 ? b : -b);
+                if (sum == 0) {
+                    // the sign of an exact zero depends on the rounding
+                    return null;
+                }
+                return fix(sum < 0 ? 1 : 0, Math.abs(sum), exp, ctx);
+            } catch (ArithmeticException e) {
+                // fall through to the BigInteger computation
+            }
+        }
+        BigInteger a = op1.bigCoefficient().multiply(BigInteger.TEN.pow((int) shift1));
+        BigInteger b = op2.bigCoefficient().multiply(BigInteger.TEN.pow((int) shift2));
+        BigInteger sum = (op1.sign == 0 ? a : a.negate()).add(op2.sign == 0 ? b : b.negate());
+        if (sum.signum() == 0) {
+            return null;
+        }
+        return fix(sum.signum() < 0 ? 1 : 0, sum.abs(), exp, ctx);
+    }
+
+    public static Result multiply(Operand op1, Operand op2, Context ctx) {
+        int sign = op1.sign ^ op2.sign;
+        long exp = op1.exponent + op2.exponent;
+        if (op1.big == null && op2.big == null) {
+            long hi = Math.multiplyHigh(op1.small, op2.small);
+            long lo = op1.small * op2.small;
+            if (hi == 0 && lo >= 0) {
+                return fix(sign, lo, exp, ctx);
+            }
+        }
+        return fix(sign, op1.bigCoefficient().multiply(op2.bigCoefficient()), exp, ctx);
+    }
+
+    /**
+     * Mirrors the computation of {@code Decimal.__truediv__} for non-zero operands: the quotient is
+     * computed to one digit more than the precision, with a sticky digit for inexact results, and
+     * exact results are brought as close to the ideal exponent as possible.
+     */
+    public static Result divide(Operand op1, Operand op2, Context ctx) {
+        long shift = op2.digits() - op1.digits() + ctx.prec + 1;
+        long exp = op1.exponent - op2.exponent - shift;
+        long idealExp = op1.exponent - op2.exponent;
+        BigInteger dividend = op1.bigCoefficient();
+        BigInteger divisor = op2.bigCoefficient();
+        if (shift >= 0) {
+            dividend = dividend.multiply(BigInteger.TEN.pow((int) shift));
+        } else {
+            divisor = divisor.multiply(BigInteger.TEN.pow((int) -shift));
+        }
+        BigInteger[] qr = dividend.divideAndRemainder(divisor);
+        BigInteger coeff = qr[0];
+        if (qr[1].signum() != 0) {
+            if (coeff.mod(BigInteger.valueOf(5)).signum() == 0) {
+                coeff = coeff.add(BigInteger.ONE);
+            }
+        } else {
+            while (exp < idealExp) {
+                BigInteger[] dr = coeff.divideAndRemainder(BigInteger.TEN);
+                if (dr[1].signum() != 0) {
+                    break;
+                }
+                coeff = dr[0];
+                exp++;
+            }
+        }
+        return fix(op1.sign ^ op2.sign, coeff, exp, ctx);
+    }
+
+    private static Result fix(int sign, long coeff, long exp, Context ctx) {
+        assert coeff > 0;
+        int digits = digitCount(coeff);
+        long expMin = digits + exp - ctx.prec;
+        if (exp >= expMin) {
+            return fixUnrounded(sign, Long.toString(coeff), coeff, digits, exp, ctx);
+        }
+        return fix(sign, BigInteger.valueOf(coeff), exp, ctx);
+    }
+
+    /**
+     * Like {@code Decimal._fix} for a positive coefficient, but returns {@code null} instead of
+     * handling overflow, subnormal results and clamping.
+     */
+    private static Result fix(int sign, BigInteger coeff, long exp, Context ctx) {
+        assert coeff.signum() > 0;
+        String digitString = coeff.toString();
+        int digits = digitString.length();
+        long expMin = digits + exp - ctx.prec;
+        if (exp >= expMin) {
+            return fixUnrounded(sign, digitString, narrow(coeff), digits, exp, ctx);
+        }
+        if (expMin > ctx.etop() || expMin < ctx.etiny()) {
+            return null;
+        }
+        int drop = (int) (expMin - exp);
+        BigDecimal exact = new BigDecimal(sign == 0 ? coeff : coeff.negate(), drop);
+        BigDecimal rounded = exact.setScale(0, ctx.rounding);
+        boolean inexact = exact.compareTo(rounded) != 0;
+        BigInteger roundedValue = rounded.unscaledValue().abs();
+        String roundedString = roundedValue.toString();
+        if (roundedString.length() > ctx.prec) {
+            // rounding carried into a new digit, the last digit is a zero
+            roundedString = roundedString.substring(0, roundedString.length() - 1);
+            roundedValue = roundedValue.divide(BigInteger.TEN);
+            expMin++;
+            if (expMin > ctx.etop()) {
+                return null;
+            }
+        }
+        return new Result(sign, roundedString, narrow(roundedValue), expMin, inexact ? FLAG_INEXACT | FLAG_ROUNDED : FLAG_ROUNDED);
+    }
+
+    private static Result fixUnrounded(int sign, String coeff, Number coeffValue, int digits, long exp, Context ctx) {
+        long adjusted = exp + digits - 1;
+        if (adjusted > ctx.emax || adjusted < ctx.emin || (ctx.clamp && exp > ctx.etop())) {
+            return null;
+        }
+        return new Result(sign, coeff, coeffValue, exp, 0);
+    }
+
+    private static Number narrow(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits <= MAX_LONG_DIGITS && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static final double LOG10_2 = Math.log10(2);
+
+    /**
+     * The number of decimal digits of a positive number, without converting it to a string. A
+     * number of {@code n} bits has either {@code floor(n * log10(2))} or one more digits.
+     */
+    private static int digitCount(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return digitCount(value.longValue());
+        }
+        int digits = (int) (value.bitLength() * LOG10_2);
+        return value.compareTo(BigInteger.TEN.pow(digits)) >= 0 ? digits + 1 : digits;
+    }
+
+    /**
+     * Parses plain finite decimal literals: an optional sign, digits with an optional decimal point
+     * and an optional exponent. Returns {@code null} for anything else (whitespace, underscores,
+     * non-ASCII digits, infinities and NaNs, invalid literals) and for exponents beyond the
+     * supported range, which are left to the general parser.
+     */
+    public static Result parse(String s) {
+        int len = s.length();
+        int i = 0;
+        int sign = 0;
+        if (i < len && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            sign = s.charAt(i) == '-' ? 1 : 0;
+            i++;
+        }
+        StringBuilder digits = new StringBuilder(len);
+        int intDigits = 0;
+        while (i < len && isAsciiDigit(s.charAt(i))) {
+            digits.append(s.charAt(i++));
+            intDigits++;
+        }
+        int fracDigits = 0;
+        if (i < len && s.charAt(i) == '.') {
+            i++;
+            while (i < len && isAsciiDigit(s.charAt(i))) {
+                digits.append(s.charAt(i++));
+                fracDigits++;
+            }
+        }
+        if (intDigits + fracDigits == 0) {
+            return null;
+        }
+        long exp = 0;
+        if (i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            boolean negative = false;
+            if (i < len && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+                negative = s.charAt(i) == '-';
+                i++;
+            }
+            int start = i;
+            while (i < len && isAsciiDigit(s.charAt(i))) {
+                if (i - start >= MAX_LONG_DIGITS) {
+                    return null;
+                }
+                exp = exp * 10 + (s.charAt(i++) - '0');
+            }
+            if (i == start) {
+                return null;
+            }
+            if (negative) {
+                exp = -exp;
+            }
+        }
+        if (i != len) {
+            return null;
+        }
+        exp -= fracDigits;
+        if (Math.abs(exp) > MAX_ABS_EXPONENT) {
+            return null;
+        }
+        int firstNonZero = 0;
+        while (firstNonZero < digits.length() - 1 && digits.charAt(firstNonZero) == '0') {
+            firstNonZero++;
+        }
+        String coefficient = digits.substring(firstNonZero);
+        Number coefficientValue = coefficient.length() <= MAX_LONG_DIGITS ? (Number) Long.parseLong(coefficient) : new BigInteger(coefficient);
+        return new Result(sign, coefficient, coefficientValue, exp, 0);
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
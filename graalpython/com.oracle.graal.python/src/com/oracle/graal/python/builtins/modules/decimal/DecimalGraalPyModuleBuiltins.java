@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.Context;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.Operand;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.Result;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+/**
+ * Fast paths for the arithmetic of {@code _pydecimal}, which remains the implementation of the
+ * {@code decimal} module; the {@code Decimal} objects themselves stay Python objects. The functions
+ * take finite operands as the {@code _sign} and {@code _exp} slots of a {@code Decimal} and its
+ * coefficient as an int, which {@code _pydecimal} caches in the {@code _coeff} slot, and the
+ * relevant attributes of the context. They return a
+ * {@code (sign, digits, coefficient, exponent, flags)} tuple, with the coefficient both as the
+ * digit string for {@code _int} and as an int for {@code _coeff}, or {@code None} whenever the
+ * general implementation is needed, see {@link DecimalArithmetic}.
+ */
+@CoreFunctions(defineModule = DecimalGraalPyModuleBuiltins.J__DECIMAL_GRAALPY)
+public final class DecimalGraalPyModuleBuiltins extends PythonBuiltins {
+    static final String J__DECIMAL_GRAALPY = "_decimal_graalpy";
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalGraalPyModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        addBuiltinConstant("FLAG_INEXACT", DecimalArithmetic.FLAG_INEXACT);
+        addBuiltinConstant("FLAG_ROUNDED", DecimalArithmetic.FLAG_ROUNDED);
+    }
+
+    private static final long NOT_A_LONG = Long.MIN_VALUE;
+
+    private static long asLong(Object value) {
+        if (value instanceof Integer i) {
+            return i;
+        } else if (value instanceof Long l) {
+            return l;
+        } else if (value instanceof Boolean b) {
+            return b ? 1 : 0;
+        } else if (value instanceof PInt pint) {
+            try {
+                return pint.longValueExact();
+            } catch (OverflowException e) {
+                return NOT_A_LONG;
+            }
+        }
+        return NOT_A_LONG;
+    }
+
+    private static Operand asOperand(Object signObj, Object coeffObj, Object expObj) {
+        long sign = asLong(signObj);
+        long exp = asLong(expObj);
+        if ((sign != 0 && sign != 1) || exp == NOT_A_LONG) {
+            return null;
+        }
+        if (coeffObj instanceof Integer || coeffObj instanceof Long) {
+            return Operand.create((int) sign, ((Number) coeffObj).longValue(), exp);
+        } else if (coeffObj instanceof PInt pint) {
+            return Operand.create((int) sign, pint.getValue(), exp);
+        }
+        return null;
+    }
+
+    private static String asJavaString(Object value) {
+        try {
+            return CastToTruffleStringNode.executeUncached(value).toJavaStringUncached();
+        } catch (CannotCastException e) {
+            return null;
+        }
+    }
+
+    private static Object toTuple(PythonObjectFactory factory, Result result) {
+        if (result == null) {
+            return PNone.NONE;
+        }
+        return factory.createTuple(new Object[]{result.sign, PythonUtils.toTruffleStringUncached(result.coefficient), toInt(factory, result.coefficientValue), result.exponent, result.flags});
+    }
+
+    private static Object toInt(PythonObjectFactory factory, Number value) {
+        if (value instanceof BigInteger big) {
+            return factory.createInt(big);
+        }
+        return value;
+    }
+
+    abstract static class BinaryArithmeticNode extends PythonBuiltinNode {
+
+        abstract Result compute(Operand op1, Operand op2, Context ctx);
+
+        @Specialization
+        Object doIt(Object sign1, Object coeff1, Object exp1, Object sign2, Object coeff2, Object exp2, Object prec, Object rounding, Object emin, Object emax, Object clamp,
+                        @Cached PythonObjectFactory factory) {
+            return toTuple(factory, computeBoundary(sign1, coeff1, exp1, sign2, coeff2, exp2, prec, rounding, emin, emax, clamp));
+        }
+
+        @TruffleBoundary
+        private Result computeBoundary(Object sign1Obj, Object coeff1Obj, Object exp1Obj, Object sign2Obj, Object coeff2Obj, Object exp2Obj, Object precObj, Object roundingObj, Object eminObj,
+                        Object emaxObj, Object clampObj) {
+            Operand op1 = asOperand(sign1Obj, coeff1Obj, exp1Obj);
+            Operand op2 = asOperand(sign2Obj, coeff2Obj, exp2Obj);
+            if (op1 == null || op2 == null) {
+                return null;
+            }
+            long prec = asLong(precObj);
+            long emin = asLong(eminObj);
+            long emax = asLong(emaxObj);
+            long clamp = asLong(clampObj);
+            String rounding = asJavaString(roundingObj);
+            if (prec == NOT_A_LONG || emin == NOT_A_LONG || emax == NOT_A_LONG || clamp == NOT_A_LONG || rounding == null) {
+                return null;
+            }
+            Context ctx = Context.create(prec, rounding, emin, emax, clamp);
+            if (ctx == null) {
+                return null;
+            }
+            return compute(op1, op2, ctx);
+        }
+    }
+
+    @Builtin(name = "add", minNumOfPositionalArgs = 11, doc = "add(sign1, coeff1, exp1, sign2, coeff2, exp2, prec, rounding, Emin, Emax, clamp)\n\n" +
+                    "Adds two finite non-zero decimals and rounds the sum like Decimal._fix, or returns None.")
+    @GenerateNodeFactory
+    abstract static class AddNode extends BinaryArithmeticNode {
+        @Override
+        Result compute(Operand op1, Operand op2, Context ctx) {
+            return DecimalArithmetic.add(op1, op2, ctx);
+        }
+    }
+
+    @Builtin(name = "multiply", minNumOfPositionalArgs = 11, doc = "multiply(sign1, coeff1, exp1, sign2, coeff2, exp2, prec, rounding, Emin, Emax, clamp)\n\n" +
+                    "Multiplies two finite non-zero decimals and rounds the product like Decimal._fix, or returns None.")
+    @GenerateNodeFactory
+    abstract static class MultiplyNode extends BinaryArithmeticNode {
+        @Override
+        Result compute(Operand op1, Operand op2, Context ctx) {
+            return DecimalArithmetic.multiply(op1, op2, ctx);
+        }
+    }
+
+    @Builtin(name = "divide", minNumOfPositionalArgs = 11, doc = "divide(sign1, coeff1, exp1, sign2, coeff2, exp2, prec, rounding, Emin, Emax, clamp)\n\n" +
+                    "Divides two finite non-zero decimals like Decimal.__truediv__, or returns None.")
+    @GenerateNodeFactory
+    abstract static class DivideNode extends BinaryArithmeticNode {
+        @Override
+        Result compute(Operand op1, Operand op2, Context ctx) {
+            return DecimalArithmetic.divide(op1, op2, ctx);
+        }
+    }
+
+    @Builtin(name = "parse", minNumOfPositionalArgs = 1, doc = "parse(string)\n\n" +
+                    "Parses a plain finite decimal literal into a (sign, digits, coefficient, exponent) tuple, or returns None.")
+    @GenerateNodeFactory
+    abstract static class ParseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parse(Object string,
+                        @Cached PythonObjectFactory factory) {
+            Result result = parseBoundary(string);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            return factory.createTuple(new Object[]{result.sign, PythonUtils.toTruffleStringUncached(result.coefficient), toInt(factory, result.coefficientValue), result.exponent});
+        }
+
+        @TruffleBoundary
+        private static Result parseBoundary(Object string) {
+            String s = asJavaString(string);
+            return s == null ? null : DecimalArithmetic.parse(s);
+        }
+    }
+}
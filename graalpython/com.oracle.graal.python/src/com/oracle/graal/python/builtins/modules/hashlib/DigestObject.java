@@ -183,21 +183,22 @@ public abstract class DigestObject extends PythonBuiltinObject {
      * we calculate the digest normally, but we must prevent any further updates.
      *
      * @see #wasReset()
-     * @see #update(byte[], int)
+     * @see #update(byte[], int, int)
      */
     abstract byte[] digest();
 
     /**
      * @return true if the digest has already been calculated and the underlying implementation does
      *         not support cloning, in which case this object can no longer be
-     *         {@linkplain #update(byte[], int) updated}
+     *         {@linkplain #update(byte[], int, int) updated}
      */
     abstract boolean wasReset();
 
     /**
-     * Must not be called if {@link #wasReset()} returns true.
+     * Must not be called if {@link #wasReset()} returns true. May be called without holding the
+     * GIL, concurrent calls to {@link #update} and {@link #digest} are serialized on this object.
      */
-    abstract void update(byte[] data, int length);
+    abstract void update(byte[] data, int offset, int length);
 
     abstract DigestObject copy(PythonObjectFactory factory) throws CloneNotSupportedException;
 
@@ -208,8 +209,8 @@ public abstract class DigestObject extends PythonBuiltinObject {
     }
 
     /**
-     * Ensures that {@link #update(byte[], int)} is not called after {@link #digest()} if cloning is
-     * not supported. Also caches the digest and ensures that the cache is cleared on update.
+     * Ensures that {@link #update(byte[], int, int)} is not called after {@link #digest()} if
+     * cloning is not supported. Also caches the digest and ensures that the cache is cleared on update.
      */
     private abstract static class DigestObjectBase extends DigestObject {
         private byte[] cachedDigest = null;
@@ -225,7 +226,8 @@ public abstract class DigestObject extends PythonBuiltinObject {
         }
 
         @Override
-        final byte[] digest() {
+        @TruffleBoundary
+        final synchronized byte[] digest() {
             if (cachedDigest == null) {
                 try {
                     cachedDigest = calculateDigestOnClone();
@@ -238,19 +240,20 @@ public abstract class DigestObject extends PythonBuiltinObject {
         }
 
         @Override
-        final void update(byte[] data, int length) {
+        @TruffleBoundary
+        final synchronized void update(byte[] data, int offset, int length) {
             if (wasReset) {
                 throw CompilerDirectives.shouldNotReachHere("update() called after digest() on an implementation the does not support clone()");
             }
             cachedDigest = null;
-            doUpdate(data, length);
+            doUpdate(data, offset, length);
         }
 
         abstract byte[] calculateDigestOnClone() throws CloneNotSupportedException;
 
         abstract byte[] calculateDigest();
 
-        abstract void doUpdate(byte[] data, int length);
+        abstract void doUpdate(byte[] data, int offset, int length);
     }
 
     private static final class MessageDigestObject extends DigestObjectBase {
@@ -263,7 +266,7 @@ public abstract class DigestObject extends PythonBuiltinObject {
 
         @Override
         @TruffleBoundary
-        DigestObject copy(PythonObjectFactory factory) throws CloneNotSupportedException {
+        synchronized DigestObject copy(PythonObjectFactory factory) throws CloneNotSupportedException {
             return factory.createDigestObject(getType(), getAlgorithm(), digest.clone());
         }
 
@@ -281,8 +284,8 @@ public abstract class DigestObject extends PythonBuiltinObject {
 
         @Override
         @TruffleBoundary
-        void doUpdate(byte[] data, int length) {
-            digest.update(data, 0, length);
+        void doUpdate(byte[] data, int offset, int length) {
+            digest.update(data, offset, length);
         }
 
         @Override
@@ -302,7 +305,7 @@ public abstract class DigestObject extends PythonBuiltinObject {
 
         @Override
         @TruffleBoundary
-        DigestObject copy(PythonObjectFactory factory) throws CloneNotSupportedException {
+        synchronized DigestObject copy(PythonObjectFactory factory) throws CloneNotSupportedException {
             return factory.createDigestObject(getType(), getAlgorithm(), mac.clone());
         }
 
@@ -320,8 +323,8 @@ public abstract class DigestObject extends PythonBuiltinObject {
 
         @Override
         @TruffleBoundary
-        void doUpdate(byte[] data, int length) {
-            mac.update(data, 0, length);
+        void doUpdate(byte[] data, int offset, int length) {
+            mac.update(data, offset, length);
         }
 
         @Override
@@ -58,6 +58,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.IndirectCallData;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.util.PythonUtils;
@@ -70,6 +71,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(extendClasses = {PythonBuiltinClassType.MD5Type, PythonBuiltinClassType.SHA1Type, PythonBuiltinClassType.SHA224Type, PythonBuiltinClassType.SHA256Type,
@@ -135,12 +137,25 @@ public final class DigestObjectBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached InlinedConditionProfile internalArrayProfile,
+                        @Cached GilNode gil,
                         @Cached PRaiseNode.Lazy raiseNode) {
             if (self.wasReset()) {
                 throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.ValueError, ErrorMessages.UPDATING_FINALIZED_DIGEST_IS_NOT_SUPPORTED);
             }
             try {
-                self.update(bufferLib.getInternalOrCopiedByteArray(buffer), bufferLib.getBufferLength(buffer));
+                int length = bufferLib.getBufferLength(buffer);
+                if (internalArrayProfile.profile(inliningTarget, bufferLib.hasInternalByteArray(buffer))) {
+                    updateFromArray(self, bufferLib.getInternalByteArray(buffer), 0, length, gil);
+                } else {
+                    // native and mmap-backed buffers are copied chunk-wise into a reused array
+                    byte[] chunk = new byte[Math.min(length, UPDATE_CHUNK_SIZE)];
+                    for (int offset = 0; offset < length; offset += chunk.length) {
+                        int chunkLength = Math.min(chunk.length, length - offset);
+                        bufferLib.readIntoByteArray(buffer, offset, chunk, 0, chunkLength);
+                        updateFromArray(self, chunk, 0, chunkLength, gil);
+                    }
+                }
             } finally {
                 bufferLib.release(buffer, frame, indirectCallData);
             }
@@ -148,6 +163,26 @@ public final class DigestObjectBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Like CPython, we release the GIL while hashing inputs of at least this many bytes.
+     */
+    static final int GIL_MINSIZE = 2048;
+
+    static final int UPDATE_CHUNK_SIZE = 64 * 1024;
+
+    static void updateFromArray(DigestObject self, byte[] data, int offset, int length, GilNode gil) {
+        if (length >= GIL_MINSIZE) {
+            gil.release(true);
+            try {
+                self.update(data, offset, length);
+            } finally {
+                gil.acquire();
+            }
+        } else {
+            self.update(data, offset, length);
+        }
+    }
+
     @Builtin(name = "block_size", minNumOfPositionalArgs = 1, isGetter = true)
     @GenerateNodeFactory
     abstract static class BlockSizeNode extends PythonUnaryBuiltinNode {
@@ -213,7 +213,7 @@ public final class BytesIOBuiltins extends PythonBuiltins {
         PByteArray buffer = self.getBuf();
         if (self.getPos() == 0 && bufferLib.hasInternalByteArray(buffer) && self.getExports() == 0 && size > bufferLib.getBufferLength(buffer) / 2) {
             self.incPos(size);
-            self.markEscaped();
+            self.markEscaped(size);
             return factory.createBytes(bufferLib.getInternalByteArray(buffer), size);
         }
 
@@ -405,7 +405,7 @@ public final class BytesIOBuiltins extends PythonBuiltins {
                 throw raiseNode.get(inliningTarget).raise(ValueError, NEGATIVE_SIZE_VALUE_D, size);
             }
             if (size < self.getStringSize()) {
-                self.unshareAndResize(bufferLib, factory, size, true);
+                self.unshareAndResize(bufferLib, factory, size, size, true);
                 self.setStringSize(size);
             }
             return size;
@@ -452,7 +452,7 @@ public final class BytesIOBuiltins extends PythonBuiltins {
                 }
                 int pos = self.getPos();
                 int endpos = pos + len;
-                self.unshareAndResize(bufferLib, factory, endpos, false);
+                self.unshareAndResize(bufferLib, factory, endpos, pos, false);
                 bufferLib.readIntoBuffer(buffer, 0, self.getBuf(), pos, len, bufferLib);
                 self.setPos(endpos);
                 if (endpos > self.getStringSize()) {
@@ -617,9 +617,11 @@ public final class BytesIOBuiltins extends PythonBuiltins {
                         @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
                         @Cached PythonObjectFactory factory) {
             if (bufferLib.hasInternalByteArray(self.getBuf()) && self.getExports() == 0) {
-                self.markEscaped();
+                self.markEscaped(self.getStringSize());
+                return factory.createBytes(bufferLib.getInternalByteArray(self.getBuf()), self.getStringSize());
             }
-            return factory.createBytes(bufferLib.getInternalOrCopiedByteArray(self.getBuf()), self.getStringSize());
+            // the buffer may still be modified through an exported memoryview
+            return factory.createBytes(bufferLib.getCopyOfRange(self.getBuf(), 0, self.getStringSize()));
         }
     }
 
@@ -56,7 +56,8 @@ public final class PBytesIO extends PythonBuiltinObject {
     private PByteArray buf;
     private int pos;
     private int stringSize;
-    private boolean escaped;
+    /** The length of the prefix of the buffer that is shared with bytes objects. */
+    private int escapedSize;
     private final BufferLifecycleManager exports;
 
     public PBytesIO(Object cls, Shape instanceShape) {
@@ -107,27 +108,41 @@ public final class PBytesIO extends PythonBuiltinObject {
     }
 
     /**
+     * Remembers that the first {@code size} bytes of the current buffer are shared with a bytes
+     * object.
+     *
      * @see #unshareIfNecessary
      */
-    public void markEscaped() {
-        escaped = true;
+    public void markEscaped(int size) {
+        escapedSize = Math.max(escapedSize, size);
     }
 
     /**
      * CPython has an optimization that it mutates the internal bytes object if its refcount is 1
      * (so the mutation cannot be observed by others). We don't have refcounts, so we at least try
-     * to remember if the current buffer has never been escaped this object. Then we can can return
-     * it without copying the first time the program asks for the whole contents. So that a sequence
+     * to remember which prefix of the current buffer has escaped this object. Then we can can
+     * return it without copying when the program asks for the whole contents. So that a sequence
      * of writes followed by one getvalue call doesn't have to copy the whole buffer at the end.
+     * Since the bytes objects only see the escaped prefix, writes after it can still go to the
+     * shared buffer, which makes the buffer copy-on-write: calling getvalue between appending
+     * writes does not copy either.
      */
     public void unshareIfNecessary(PythonBufferAccessLibrary bufferLib, PythonObjectFactory factory) {
-        if (escaped || getExports() != 0) {
+        unshareIfNecessary(bufferLib, factory, 0);
+    }
+
+    private void unshareIfNecessary(PythonBufferAccessLibrary bufferLib, PythonObjectFactory factory, int writePos) {
+        if (writePos < escapedSize || getExports() != 0) {
             buf = factory.createByteArray(bufferLib.getCopiedByteArray(buf));
-            escaped = false;
+            escapedSize = 0;
         }
     }
 
-    public void unshareAndResize(PythonBufferAccessLibrary bufferLib, PythonObjectFactory factory, int size, boolean truncate) {
+    /**
+     * Makes sure the buffer can hold {@code size} bytes and that the bytes from {@code writePos}
+     * on can be modified.
+     */
+    public void unshareAndResize(PythonBufferAccessLibrary bufferLib, PythonObjectFactory factory, int size, int writePos, boolean truncate) {
         int origLength = bufferLib.getBufferLength(getBuf());
         int alloc;
         if (truncate && size < origLength / 2) {
@@ -135,7 +150,7 @@ public final class PBytesIO extends PythonBuiltinObject {
             alloc = size;
         } else if (size < origLength) {
             /* Within allocated size; quick exit */
-            unshareIfNecessary(bufferLib, factory);
+            unshareIfNecessary(bufferLib, factory, writePos);
             return;
         } else if (size <= origLength * 1.125) {
             /* Moderate upsize; overallocate similar to list_resize() */
@@ -151,6 +166,6 @@ public final class PBytesIO extends PythonBuiltinObject {
         byte[] newBuf = new byte[alloc];
         bufferLib.readIntoByteArray(getBuf(), 0, newBuf, 0, Math.min(stringSize, size));
         setBuf(factory.createByteArray(newBuf));
-        escaped = false;
+        escapedSize = 0;
     }
 }
@@ -53,6 +53,7 @@ import com.oracle.graal.python.builtins.objects.ints.IntBuiltins;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.memory.ByteArraySupport;
 import com.oracle.truffle.api.nodes.Node;
@@ -107,6 +108,16 @@ public final class PTextIO extends PTextIOBase {
      */
     private double b2cratio;
 
+    /*
+     * Built-in decoding of UTF-8, ASCII and Latin-1 with strict error handling. When set, chunks
+     * are decoded directly from the underlying bytes and the decoder object is bypassed. Its only
+     * state we hold on to are the bytes of an incomplete UTF-8 sequence at the end of the last
+     * chunk. When builtinDecoderPending is null, the state has been handed over to the decoder
+     * object and the built-in decoding is suspended until the decoder is reset.
+     */
+    private TruffleString.Encoding builtinDecoding;
+    private byte[] builtinDecoderPending;
+
     /* Cache raw object if it's a FileIO object */
     private PFileIO raw;
 
@@ -129,6 +140,8 @@ public final class PTextIO extends PTextIOBase {
         clearSnapshot();
         encodefunc = null;
         b2cratio = 0.0;
+        builtinDecoding = null;
+        builtinDecoderPending = null;
     }
 
     public boolean isDetached() {
@@ -378,6 +391,40 @@ public final class PTextIO extends PTextIOBase {
         this.b2cratio = b2cratio;
     }
 
+    public boolean hasBuiltinDecoding() {
+        return builtinDecoding != null && builtinDecoderPending != null;
+    }
+
+    public TruffleString.Encoding getBuiltinDecoding() {
+        return builtinDecoding;
+    }
+
+    public void setBuiltinDecoding(TruffleString.Encoding builtinDecoding) {
+        this.builtinDecoding = builtinDecoding;
+        this.builtinDecoderPending = PythonUtils.EMPTY_BYTE_ARRAY;
+    }
+
+    public byte[] getBuiltinDecoderPending() {
+        return builtinDecoderPending;
+    }
+
+    public void setBuiltinDecoderPending(byte[] builtinDecoderPending) {
+        assert builtinDecoderPending != null;
+        this.builtinDecoderPending = builtinDecoderPending;
+    }
+
+    /**
+     * Called whenever the decoder object is reset. Resumes the built-in decoding if it was
+     * suspended.
+     */
+    public void resetBuiltinDecoder() {
+        this.builtinDecoderPending = PythonUtils.EMPTY_BYTE_ARRAY;
+    }
+
+    public void suspendBuiltinDecoding() {
+        this.builtinDecoderPending = null;
+    }
+
     public PFileIO getFileIO() {
         return raw;
     }
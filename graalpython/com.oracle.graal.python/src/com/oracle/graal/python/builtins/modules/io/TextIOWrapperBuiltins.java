@@ -465,10 +465,12 @@ public final class TextIOWrapperBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached TextIOWrapperNodes.DecodeNode decodeNode,
                         @Exclusive @Cached TextIOWrapperNodes.WriteFlushNode writeFlushNode,
+                        @Cached TextIOWrapperNodes.MaterializeDecoderStateNode materializeDecoderStateNode,
                         @Cached PyObjectCallMethodObjArgs callMethod,
                         @Shared @Cached TruffleString.SubstringNode substringNode,
                         @Cached TruffleString.ConcatNode concatNode) {
             writeFlushNode.execute(frame, inliningTarget, self);
+            materializeDecoderStateNode.execute(frame, inliningTarget, self);
 
             /* Read everything */
             Object bytes = callMethod.execute(frame, inliningTarget, self.getBuffer(), T_READ);
@@ -759,6 +761,7 @@ public final class TextIOWrapperBuiltins extends PythonBuiltins {
 
             /* Restore the decoder to its state from the safe start point. */
             decoderSetStateNode.execute(frame, inliningTarget, self, cookie, factory);
+            self.resetBuiltinDecoder();
 
             if (cookie.charsToSkip != 0) {
                 /* Just like _read_chunk, feed the decoder and save a snapshot. */
@@ -773,6 +776,10 @@ public final class TextIOWrapperBuiltins extends PythonBuiltins {
                 self.setSnapshotNextInput(bufferLib.getCopiedByteArray(inputChunk));
 
                 TruffleString decoded = decodeNode.execute(frame, self.getDecoder(), inputChunk, cookie.needEOF != 0);
+                if (self.getBuiltinDecoding() == TruffleString.Encoding.UTF_8) {
+                    /* The decoder object may now hold an incomplete sequence. */
+                    self.suspendBuiltinDecoding();
+                }
                 int decodedLen = self.setDecodedChars(decoded, codePointLengthNode);
 
                 /* Skip chars_to_skip of the decoded characters. */
@@ -894,6 +901,7 @@ public final class TextIOWrapperBuiltins extends PythonBuiltins {
         static Object tell(VirtualFrame frame, PTextIO self,
                         @Bind("this") Node inliningTarget,
                         @Exclusive @Cached TextIOWrapperNodes.WriteFlushNode writeFlushNode,
+                        @Cached TextIOWrapperNodes.MaterializeDecoderStateNode materializeDecoderStateNode,
                         @Cached TextIOWrapperNodes.DecoderSetStateNode decoderSetStateNode,
                         @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
                         @Cached IONodes.ToTruffleStringNode toString,
@@ -910,6 +918,10 @@ public final class TextIOWrapperBuiltins extends PythonBuiltins {
                         @Shared @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode.Lazy raiseNode) {
             PTextIO.CookieType cookie = getCookie(frame, inliningTarget, self, writeFlushNode, callMethodFlush, callMethodTell, asLongNode);
+            if (self.hasBuiltinDecoding() && self.getBuiltinDecoderPending().length > 0) {
+                /* The decoder object is used below, it needs to know the bytes we hold on to. */
+                materializeDecoderStateNode.execute(frame, inliningTarget, self);
+            }
             byte[] snapshotNextInput = self.getSnapshotNextInput();
             int nextInputLength = self.getSnapshotNextInput().length;
             int decodedCharsUsed = self.getDecodedCharsUsed();
@@ -45,6 +45,7 @@ import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IOUnsuppor
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.PIncrementalNewlineDecoder;
 import static com.oracle.graal.python.builtins.modules.CodecsTruffleModuleBuiltins.T_INCREMENTALDECODER;
 import static com.oracle.graal.python.builtins.modules.CodecsTruffleModuleBuiltins.T_INCREMENTALENCODER;
+import static com.oracle.graal.python.builtins.modules.io.BufferedIOUtil.safeDowncast;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_CLOSED;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_GETSTATE;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READ;
@@ -56,6 +57,10 @@ import static com.oracle.graal.python.builtins.modules.io.IONodes.T_SETSTATE;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_TELL;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITABLE;
 import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
+import static com.oracle.graal.python.builtins.modules.io.IncrementalNewlineDecoderBuiltins.SEEN_ALL;
+import static com.oracle.graal.python.builtins.modules.io.IncrementalNewlineDecoderBuiltins.SEEN_CR;
+import static com.oracle.graal.python.builtins.modules.io.IncrementalNewlineDecoderBuiltins.SEEN_CRLF;
+import static com.oracle.graal.python.builtins.modules.io.IncrementalNewlineDecoderBuiltins.SEEN_LF;
 import static com.oracle.graal.python.nodes.BuiltinNames.T_ASCII;
 import static com.oracle.graal.python.nodes.BuiltinNames.T_LOCALE;
 import static com.oracle.graal.python.nodes.ErrorMessages.COULD_NOT_DETERMINE_DEFAULT_ENCODING;
@@ -74,12 +79,18 @@ import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.OSError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.EMPTY_BYTE_ARRAY;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 import com.oracle.graal.python.builtins.modules.CodecsTruffleModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.CodecsTruffleModuleBuiltins.MakeIncrementalcodecNode;
 import com.oracle.graal.python.builtins.modules.WarningsModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.io.BufferedIONodes.EnterBufferedNode;
+import com.oracle.graal.python.builtins.modules.io.BufferedReaderMixinBuiltins.FillBufferNode;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
@@ -101,6 +112,9 @@ import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.CharsetMapping;
+import com.oracle.graal.python.util.CharsetMapping.NormalizeEncodingNameNode;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
@@ -249,7 +263,7 @@ public abstract class TextIOWrapperNodes {
 
             // Create new encoder & decoder
             Object codecInfo = lookupTextEncoding.execute(frame, encoding, T_CODECS_OPEN);
-            setDecoderNode.execute(frame, inliningTarget, self, codecInfo, errors);
+            setDecoderNode.execute(frame, inliningTarget, self, codecInfo, encoding, errors);
             setEncoderNode.execute(frame, inliningTarget, self, codecInfo, errors);
             self.setEncoding(encoding);
             self.setErrors(errors);
@@ -493,7 +507,7 @@ public abstract class TextIOWrapperNodes {
 
         public abstract boolean execute(VirtualFrame frame, Node inliningTarget, PTextIO self, int size_hint);
 
-        @Specialization(guards = "self.hasDecoder()")
+        @Specialization(guards = {"self.hasDecoder()", "!self.hasBuiltinDecoding()"})
         static boolean readChunk(VirtualFrame frame, Node inliningTarget, PTextIO self, int hint,
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @Cached SequenceNodes.GetObjectArrayNode getArray,
@@ -596,6 +610,142 @@ public abstract class TextIOWrapperNodes {
             }
         }
 
+        /*
+         * Same as readChunk, but decodes the input without calling the decoder object. If the text
+         * wrapper sits directly on top of a builtin buffered reader, the input is also taken
+         * straight from the reader's buffer instead of calling read1().
+         */
+        @Specialization(guards = {"self.hasDecoder()", "self.hasBuiltinDecoding()"})
+        static boolean readChunkBuiltin(VirtualFrame frame, Node inliningTarget, PTextIO self, int hint,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @Cached BuiltinDecodeNode builtinDecodeNode,
+                        @Cached MaterializeDecoderStateNode materializeDecoderStateNode,
+                        @Cached(inline = false) DecodeNode decodeNode,
+                        @Cached PyObjectCallMethodObjArgs callMethodRead,
+                        @Cached EnterBufferedNode lock,
+                        @Cached FillBufferNode fillBufferNode,
+                        @Cached InlinedConditionProfile directReadProfile,
+                        @Cached(inline = false) TruffleString.CodePointLengthNode codePointLengthNode,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached(inline = false) PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            /*
+             * The decoder state at the snapshot point is known without asking the decoder: the
+             * pending bytes of an incomplete sequence and the pending \r of the newline decoder.
+             */
+            byte[] decBuffer = null;
+            int decFlags = 0;
+            if (self.isTelling()) {
+                decBuffer = self.getBuiltinDecoderPending();
+                if (self.getDecoder() instanceof PNLDecoder nlDecoder && nlDecoder.isPendingCR()) {
+                    decFlags = 1;
+                }
+            }
+
+            int sizeHint = hint;
+            if (sizeHint > 0) {
+                sizeHint = (int) (Math.max(self.getB2cratio(), 1.0) * sizeHint);
+            }
+            int chunkSize = Math.max(self.getChunkSize(), sizeHint);
+
+            byte[] input;
+            int nbytes;
+            if (directReadProfile.profile(inliningTarget, canReadFromBuffered(self))) {
+                input = readFromBuffered(frame, inliningTarget, (PBuffered) self.getBuffer(), chunkSize, lock, fillBufferNode);
+                nbytes = input.length;
+            } else {
+                Object inputChunk;
+                if (self.isHasRead1()) {
+                    inputChunk = callMethodRead.execute(frame, inliningTarget, self.getBuffer(), T_READ1, chunkSize);
+                } else {
+                    inputChunk = callMethodRead.execute(frame, inliningTarget, self.getBuffer(), T_READ, chunkSize);
+                }
+                Object inputChunkBuf;
+                try {
+                    inputChunkBuf = bufferAcquireLib.acquireReadonly(inputChunk, frame, indirectCallData);
+                } catch (PException e) {
+                    throw raiseNode.get(inliningTarget).raise(TypeError, S_SHOULD_HAVE_RETURNED_A_BYTES_LIKE_OBJECT_NOT_P, (self.isHasRead1() ? T_READ1 : T_READ), inputChunk);
+                }
+                try {
+                    input = bufferLib.getInternalOrCopiedByteArray(inputChunkBuf);
+                    nbytes = bufferLib.getBufferLength(inputChunkBuf);
+                } finally {
+                    bufferLib.release(inputChunkBuf, frame, indirectCallData);
+                }
+            }
+            boolean eof = nbytes == 0;
+
+            TruffleString decodedChars = builtinDecodeNode.execute(inliningTarget, self, input, nbytes, eof);
+            if (decodedChars == null) {
+                /*
+                 * Invalid input, let the decoder object deal with it from now on so that we
+                 * produce the very same errors.
+                 */
+                materializeDecoderStateNode.execute(frame, inliningTarget, self);
+                decodedChars = decodeNode.execute(frame, self.getDecoder(), factory.createBytes(input, nbytes), eof);
+            }
+
+            self.clearDecodedChars();
+            int nchars = self.setDecodedChars(decodedChars, codePointLengthNode);
+            if (nchars > 0) {
+                self.setB2cratio(((double) nbytes) / nchars);
+            } else {
+                self.setB2cratio(0.0);
+            }
+            if (nchars > 0) {
+                eof = false;
+            }
+
+            if (self.isTelling()) {
+                byte[] nextInput = new byte[decBuffer.length + nbytes];
+                PythonUtils.arraycopy(decBuffer, 0, nextInput, 0, decBuffer.length);
+                PythonUtils.arraycopy(input, 0, nextInput, decBuffer.length, nbytes);
+                self.setSnapshotNextInput(nextInput);
+                self.setSnapshotDecFlags(decFlags);
+            }
+
+            return !eof;
+        }
+
+        /*
+         * Only an exact BufferedReader on top of a FileIO can be read without calling read1(), any
+         * subclass could override it. BufferedRandom would need to flush pending writes first.
+         */
+        protected static boolean canReadFromBuffered(PTextIO self) {
+            if (self.isFileIO() && self.getBuffer() instanceof PBuffered buffered) {
+                return buffered.isOK() && !buffered.isDetached() && buffered.isReadable() && !buffered.isWritable();
+            }
+            return false;
+        }
+
+        /*
+         * Equivalent of buffered.read1(size): returns up to size bytes that are already buffered or
+         * otherwise does a single raw read to refill the buffer.
+         */
+        private static byte[] readFromBuffered(VirtualFrame frame, Node inliningTarget, PBuffered buffered, int size,
+                        EnterBufferedNode lock, FillBufferNode fillBufferNode) {
+            try {
+                lock.enter(inliningTarget, buffered);
+                int have = safeDowncast(buffered);
+                if (have == 0) {
+                    buffered.resetRead(); // _bufferedreader_reset_buf
+                    have = fillBufferNode.execute(frame, inliningTarget, buffered);
+                    if (have == -2) {
+                        /* Non-blocking stream would have blocked. */
+                        have = 0;
+                    }
+                    buffered.setPos(0);
+                }
+                int n = Math.min(have, size);
+                byte[] result = PythonUtils.arrayCopyOfRange(buffered.getBuffer(), buffered.getPos(), buffered.getPos() + n);
+                buffered.incPos(n);
+                return result;
+            } finally {
+                EnterBufferedNode.leave(buffered);
+            }
+        }
+
         @Specialization(guards = "!self.hasDecoder()")
         static boolean error(@SuppressWarnings("unused") PTextIO self, @SuppressWarnings("unused") int size_hint,
                         @Cached(inline = false) PRaiseNode raiseNode) {
@@ -627,6 +777,189 @@ public abstract class TextIOWrapperNodes {
         }
     }
 
+    /**
+     * Decodes the first {@code len} bytes of {@code input} using the built-in decoding of
+     * {@code self}, including the universal newlines handling otherwise done by the
+     * {@link PNLDecoder}. Since {@code \r} and {@code \n} are single bytes that cannot be part of
+     * a multibyte sequence in any of the supported encodings, newlines are searched and translated
+     * on the bytes before the string is created. Returns {@code null} without changing any state if
+     * the input is not valid in the encoding.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    protected abstract static class BuiltinDecodeNode extends Node {
+
+        public abstract TruffleString execute(Node inliningTarget, PTextIO self, byte[] input, int len, boolean isFinal);
+
+        @Specialization
+        static TruffleString decode(PTextIO self, byte[] input, int len, boolean isFinal,
+                        @Cached(inline = false) TruffleString.FromByteArrayNode fromByteArrayNode,
+                        @Cached(inline = false) TruffleString.GetCodeRangeNode getCodeRangeNode,
+                        @Cached(inline = false) TruffleString.SwitchEncodingNode switchEncodingNode) {
+            TruffleString.Encoding encoding = self.getBuiltinDecoding();
+            byte[] pending = self.getBuiltinDecoderPending();
+            byte[] data = input;
+            if (pending.length > 0) {
+                data = new byte[pending.length + len];
+                PythonUtils.arraycopy(pending, 0, data, 0, pending.length);
+                PythonUtils.arraycopy(input, 0, data, pending.length, len);
+            }
+            int end = pending.length + len;
+            int start = 0;
+            if (!isFinal && encoding == TruffleString.Encoding.UTF_8) {
+                /* Keep an incomplete sequence at the end for the next chunk. */
+                end -= incompleteUTF8Suffix(data, end);
+            }
+            int total = pending.length + len;
+            byte[] newPending = end == total ? EMPTY_BYTE_ARRAY : PythonUtils.arrayCopyOfRange(data, end, total);
+
+            PNLDecoder nlDecoder = self.getDecoder() instanceof PNLDecoder d ? d : null;
+            boolean pendingCR = false;
+            int seenNewline = 0;
+            if (nlDecoder != null) {
+                pendingCR = nlDecoder.isPendingCR();
+                seenNewline = nlDecoder.getSeenNewline();
+                if (pendingCR && (isFinal || end > start)) {
+                    /* Prefix output with CR */
+                    byte[] prefixed = new byte[end - start + 1];
+                    prefixed[0] = '\r';
+                    PythonUtils.arraycopy(data, start, prefixed, 1, end - start);
+                    data = prefixed;
+                    start = 0;
+                    end = prefixed.length;
+                    pendingCR = false;
+                }
+                /*
+                 * retain last \r even when not translating data: then readline() is sure to get
+                 * \r\n in one pass
+                 */
+                if (!isFinal && end > start && data[end - 1] == '\r') {
+                    end--;
+                    pendingCR = true;
+                }
+                if (end > start) {
+                    if ((seenNewline == SEEN_LF || seenNewline == 0) && indexOf(data, start, end, (byte) '\r') < 0) {
+                        if (seenNewline == 0 && indexOf(data, start, end, (byte) '\n') >= 0) {
+                            seenNewline |= SEEN_LF;
+                        }
+                    } else if (!nlDecoder.isTranslate()) {
+                        seenNewline = scanNewlines(data, start, end, seenNewline);
+                    } else {
+                        byte[] translated = new byte[end - start];
+                        int out = 0;
+                        for (int i = start; i < end; i++) {
+                            byte c = data[i];
+                            if (c == '\r') {
+                                if (i + 1 < end && data[i + 1] == '\n') {
+                                    i++;
+                                    seenNewline |= SEEN_CRLF;
+                                } else {
+                                    seenNewline |= SEEN_CR;
+                                }
+                                c = '\n';
+                            } else if (c == '\n') {
+                                seenNewline |= SEEN_LF;
+                            }
+                            translated[out++] = c;
+                        }
+                        data = translated;
+                        start = 0;
+                        end = out;
+                    }
+                }
+            }
+
+            TruffleString decoded = fromByteArrayNode.execute(data, start, end - start, encoding, data == input);
+            if (getCodeRangeNode.execute(decoded, encoding) == TruffleString.CodeRange.BROKEN) {
+                return null;
+            }
+            if (nlDecoder != null) {
+                nlDecoder.setPendingCR(pendingCR);
+                nlDecoder.setSeenNewline(nlDecoder.getSeenNewline() | seenNewline);
+            }
+            self.setBuiltinDecoderPending(newPending);
+            return switchEncodingNode.execute(decoded, TS_ENCODING);
+        }
+
+        /*
+         * Returns the number of bytes at the end of data[0:end] that form the beginning of a UTF-8
+         * sequence that is not complete yet.
+         */
+        private static int incompleteUTF8Suffix(byte[] data, int end) {
+            for (int i = end - 1; i >= 0 && i >= end - 3; i--) {
+                int b = data[i] & 0xFF;
+                if (b < 0x80) {
+                    return 0;
+                }
+                if (b >= 0xC0) {
+                    int seqLen = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : 2;
+                    return end - i < seqLen ? end - i : 0;
+                }
+            }
+            return 0;
+        }
+
+        private static int indexOf(byte[] data, int start, int end, byte value) {
+            for (int i = start; i < end; i++) {
+                if (data[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static int scanNewlines(byte[] data, int start, int end, int seen) {
+            int seenNewline = seen;
+            for (int i = start; i < end && seenNewline != SEEN_ALL; i++) {
+                if (data[i] == '\n') {
+                    seenNewline |= SEEN_LF;
+                } else if (data[i] == '\r') {
+                    if (i + 1 < end && data[i + 1] == '\n') {
+                        seenNewline |= SEEN_CRLF;
+                        i++;
+                    } else {
+                        seenNewline |= SEEN_CR;
+                    }
+                }
+            }
+            return seenNewline;
+        }
+    }
+
+    /**
+     * Hands the state of the built-in decoding over to the decoder object and suspends the
+     * built-in decoding until the decoder is reset. Needed before the decoder object is used
+     * directly, e.g. by {@code tell()}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    protected abstract static class MaterializeDecoderStateNode extends Node {
+
+        public abstract void execute(VirtualFrame frame, Node inliningTarget, PTextIO self);
+
+        @Specialization(guards = "!self.hasBuiltinDecoding()")
+        static void nothing(@SuppressWarnings("unused") PTextIO self) {
+            // nothing to do.
+        }
+
+        @Specialization(guards = "self.hasBuiltinDecoding()")
+        static void materialize(VirtualFrame frame, Node inliningTarget, PTextIO self,
+                        @Cached(inline = false) PythonObjectFactory factory,
+                        @Cached PyObjectCallMethodObjArgs callMethodSetState) {
+            byte[] pending = self.getBuiltinDecoderPending();
+            self.suspendBuiltinDecoding();
+            if (pending.length > 0) {
+                /* The newline decoder keeps its own state, only the wrapped decoder is behind. */
+                Object decoder = self.getDecoder();
+                if (decoder instanceof PNLDecoder nlDecoder) {
+                    decoder = nlDecoder.getDecoder();
+                }
+                PTuple state = factory.createTuple(new Object[]{factory.createBytes(pending), 0});
+                callMethodSetState.execute(frame, inliningTarget, decoder, T_SETSTATE, state);
+            }
+        }
+    }
+
     @GenerateInline
     @GenerateCached(false)
     protected abstract static class DecoderSetStateNode extends Node {
@@ -660,7 +993,6 @@ public abstract class TextIOWrapperNodes {
                         @Exclusive @Cached PyObjectCallMethodObjArgs callMethodSetState) {
             PTuple tuple = factory.createTuple(new Object[]{factory.createEmptyBytes(), cookie.decFlags});
             callMethodSetState.execute(frame, inliningTarget, self.getDecoder(), T_SETSTATE, tuple);
-
         }
     }
 
@@ -679,6 +1011,7 @@ public abstract class TextIOWrapperNodes {
         static void reset(VirtualFrame frame, Node inliningTarget, PTextIO self,
                         @Cached PyObjectCallMethodObjArgs callMethod) {
             callMethod.execute(frame, inliningTarget, self.getDecoder(), T_RESET);
+            self.resetBuiltinDecoder();
         }
     }
 
@@ -740,15 +1073,18 @@ public abstract class TextIOWrapperNodes {
     @GenerateCached(false)
     @GenerateInline
     protected abstract static class SetDecoderNode extends PNodeWithContext {
-        public abstract void execute(Frame frame, Node inliningTarget, PTextIO self, Object codecInfo, TruffleString errors);
+        public abstract void execute(Frame frame, Node inliningTarget, PTextIO self, Object codecInfo, TruffleString encoding, TruffleString errors);
 
         @Specialization
-        static void setDecoder(VirtualFrame frame, Node inliningTarget, PTextIO self, Object codecInfo, TruffleString errors,
+        static void setDecoder(VirtualFrame frame, Node inliningTarget, PTextIO self, Object codecInfo, TruffleString encoding, TruffleString errors,
                         @Cached(inline = false) MakeIncrementalcodecNode makeIncrementalcodecNode,
                         @Cached InlinedConditionProfile isTrueProfile,
                         @Cached PyObjectCallMethodObjArgs callMethodReadable,
                         @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached NormalizeEncodingNameNode normalizeEncodingNameNode,
+                        @Cached(inline = false) TruffleString.EqualNode equalNode,
                         @Cached(inline = false) PythonObjectFactory factory) {
+            self.setBuiltinDecoding(null);
             Object res = callMethodReadable.execute(frame, inliningTarget, self.getBuffer(), T_READABLE);
             if (isTrueProfile.profile(inliningTarget, !isTrueNode.execute(frame, inliningTarget, res))) {
                 return;
@@ -761,6 +1097,21 @@ public abstract class TextIOWrapperNodes {
             } else {
                 self.setDecoder(decoder);
             }
+            if (equalNode.execute(T_STRICT, errors, TS_ENCODING)) {
+                self.setBuiltinDecoding(getBuiltinDecoding(normalizeEncodingNameNode.execute(inliningTarget, encoding)));
+            }
+        }
+
+        private static TruffleString.Encoding getBuiltinDecoding(TruffleString normalizedEncoding) {
+            Charset charset = CharsetMapping.getCharsetNormalized(normalizedEncoding);
+            if (charset == StandardCharsets.UTF_8) {
+                return TruffleString.Encoding.UTF_8;
+            } else if (charset == StandardCharsets.US_ASCII) {
+                return TruffleString.Encoding.US_ASCII;
+            } else if (charset == StandardCharsets.ISO_8859_1) {
+                return TruffleString.Encoding.ISO_8859_1;
+            }
+            return null;
         }
     }
 
@@ -871,7 +1222,7 @@ public abstract class TextIOWrapperNodes {
             self.setBuffer(buffer);
 
             /* Build the decoder object */
-            setDecoderNode.execute(frame, inliningTarget, self, codecInfo, errors);
+            setDecoderNode.execute(frame, inliningTarget, self, codecInfo, encoding, errors);
 
             /* Build the encoder object */
             setEncoderNode.execute(frame, inliningTarget, self, codecInfo, errors);
@@ -18,6 +18,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyFloatCheckExactNode;
 import com.oracle.graal.python.lib.PyLongCheckExactNode;
@@ -352,7 +353,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
                         return rval;
                     }
                     String numStr = string.substring(start, idx);
-                    BigInteger bi = new BigInteger(numStr);
+                    BigInteger bi = PInt.parseBigInteger(numStr, 10);
                     try {
                         return bi.intValueExact();
                     } catch (ArithmeticException e) {
@@ -1277,7 +1277,17 @@ public final class ArrayBuiltins extends PythonBuiltins {
     abstract static class ToListNode extends PythonUnaryBuiltinNode {
         @Specialization
         static Object tolist(VirtualFrame frame, PArray self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ArrayNodes.ToListStorageNode toListStorageNode,
+                        @Cached InlinedConditionProfile primitiveProfile,
+                        @Cached PythonObjectFactory factory,
                         @Cached ListNodes.ConstructListNode constructListNode) {
+            if (self.getLength() > 0) {
+                SequenceStorage storage = toListStorageNode.execute(inliningTarget, self);
+                if (primitiveProfile.profile(inliningTarget, storage != null)) {
+                    return factory.createList(storage);
+                }
+            }
             return constructListNode.execute(frame, self);
         }
     }
@@ -41,22 +41,32 @@
 package com.oracle.graal.python.builtins.objects.array;
 
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.common.BufferStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.BufferStorageNodes.UnpackValueNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.slice.PSlice.SliceInfo;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.NativeByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.BufferFormat;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateCached;
 import com.oracle.truffle.api.dsl.GenerateInline;
 import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
 
 public abstract class ArrayNodes {
@@ -99,6 +109,184 @@ public abstract class ArrayNodes {
         }
     }
 
+    /**
+     * Reads all items of an array into the narrowest primitive storage that a list can use, in a
+     * single pass over the buffer and without boxing the items. Returns {@code null} if there is
+     * no such storage for the array's format, i.e., for unicode arrays and for unsigned 64-bit
+     * arrays with items that do not fit into a {@code long}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic(BufferFormat.class)
+    public abstract static class ToListStorageNode extends Node {
+        public abstract SequenceStorage execute(Node inliningTarget, PArray array);
+
+        @Specialization(guards = "array.getFormat() == INT_8")
+        static SequenceStorage doSignedByte(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            int[] items = new int[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readByte(buffer, i);
+            }
+            return new IntSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == UINT_8")
+        static SequenceStorage doUnsignedByte(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            int[] items = new int[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readByte(buffer, i) & 0xFF;
+            }
+            return new IntSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == INT_16")
+        static SequenceStorage doSignedShort(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            int[] items = new int[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readShort(buffer, i << 1);
+            }
+            return new IntSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == UINT_16")
+        static SequenceStorage doUnsignedShort(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            int[] items = new int[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readShort(buffer, i << 1) & 0xFFFF;
+            }
+            return new IntSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == INT_32")
+        static SequenceStorage doSignedInt(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            int[] items = new int[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readInt(buffer, i << 2);
+            }
+            return new IntSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == UINT_32")
+        static SequenceStorage doUnsignedInt(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            long[] items = new long[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readInt(buffer, i << 2) & 0xFFFFFFFFL;
+            }
+            return new LongSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == INT_64")
+        static SequenceStorage doSignedLong(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            long[] items = new long[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readLong(buffer, i << 3);
+            }
+            return new LongSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == UINT_64")
+        static SequenceStorage doUnsignedLong(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            long[] items = new long[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                long item = bufferLib.readLong(buffer, i << 3);
+                if (item < 0) {
+                    return null;
+                }
+                items[i] = item;
+            }
+            return new LongSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == FLOAT")
+        static SequenceStorage doFloat(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            double[] items = new double[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readFloat(buffer, i << 2);
+            }
+            return new DoubleSequenceStorage(items);
+        }
+
+        @Specialization(guards = "array.getFormat() == DOUBLE")
+        static SequenceStorage doDouble(PArray array,
+                        @Shared @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
+            Object buffer = array.getBuffer();
+            double[] items = new double[array.getLength()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = bufferLib.readDouble(buffer, i << 3);
+            }
+            return new DoubleSequenceStorage(items);
+        }
+
+        @Fallback
+        static SequenceStorage doOther(@SuppressWarnings("unused") PArray array) {
+            return null;
+        }
+    }
+
+    public static boolean isIntegerFormat(BufferFormat format) {
+        return format == BufferFormat.INT_8 || format == BufferFormat.UINT_8 || format == BufferFormat.INT_16 || format == BufferFormat.UINT_16 ||
+                        format == BufferFormat.INT_32 || format == BufferFormat.UINT_32 || format == BufferFormat.INT_64 || format == BufferFormat.UINT_64;
+    }
+
+    public static boolean isFloatFormat(BufferFormat format) {
+        return format == BufferFormat.FLOAT || format == BufferFormat.DOUBLE;
+    }
+
+    /**
+     * Reads an item of an array with an {@link #isIntegerFormat integer format} without boxing it.
+     * Items of {@link BufferFormat#UINT_64} arrays that do not fit into a {@code long} are returned
+     * as negative numbers. The format should be a compilation constant, so that the checks fold
+     * away.
+     */
+    public static long readIntegerItem(PythonBufferAccessLibrary bufferLib, Object buffer, BufferFormat format, int index) {
+        if (format == BufferFormat.INT_8) {
+            return bufferLib.readByte(buffer, index);
+        } else if (format == BufferFormat.UINT_8) {
+            return bufferLib.readByte(buffer, index) & 0xFF;
+        } else if (format == BufferFormat.INT_16) {
+            return bufferLib.readShort(buffer, index << 1);
+        } else if (format == BufferFormat.UINT_16) {
+            return bufferLib.readShort(buffer, index << 1) & 0xFFFF;
+        } else if (format == BufferFormat.INT_32) {
+            return bufferLib.readInt(buffer, index << 2);
+        } else if (format == BufferFormat.UINT_32) {
+            return bufferLib.readInt(buffer, index << 2) & 0xFFFFFFFFL;
+        } else {
+            assert format == BufferFormat.INT_64 || format == BufferFormat.UINT_64;
+            return bufferLib.readLong(buffer, index << 3);
+        }
+    }
+
+    /**
+     * Reads an item of an array with a {@link #isFloatFormat float format} without boxing it.
+     */
+    public static double readFloatItem(PythonBufferAccessLibrary bufferLib, Object buffer, BufferFormat format, int index) {
+        if (format == BufferFormat.FLOAT) {
+            return bufferLib.readFloat(buffer, index << 2);
+        } else {
+            assert format == BufferFormat.DOUBLE;
+            return bufferLib.readDouble(buffer, index << 3);
+        }
+    }
+
     @GenerateInline
     @GenerateCached(false)
     public abstract static class EnsureCapacityNode extends Node {
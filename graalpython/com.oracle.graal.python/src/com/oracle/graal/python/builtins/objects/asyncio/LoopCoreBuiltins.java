@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupport;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedBranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The Java core of the event loop in {@code graalpy_asyncio}. It replaces the {@code _ready} deque,
+ * the {@code _scheduled} heap and the selector of {@code BaseSelectorEventLoop}, {@code run_once}
+ * corresponds to {@code BaseEventLoop._run_once}. Only the handles themselves run as Python code.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PAsyncioLoopCore)
+public final class LoopCoreBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T__CANCELLED = tsLiteral("_cancelled");
+    private static final TruffleString T__RUN = tsLiteral("_run");
+    private static final TruffleString T__SCHEDULED = tsLiteral("_scheduled");
+
+    // the same constants as in asyncio.base_events
+    private static final int MIN_SCHEDULED_TIMER_HANDLES = 100;
+    private static final double MIN_CANCELLED_TIMER_HANDLES_FRACTION = 0.5;
+    private static final double MAXIMUM_SELECT_TIMEOUT = 24 * 3600;
+    // resolution of time.monotonic()
+    private static final double CLOCK_RESOLUTION = 1e-9;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return LoopCoreBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Same clock as {@code time.monotonic()}, which is what {@code loop.time()} uses.
+     */
+    private static double monotonic() {
+        return System.nanoTime() / 1000_000_000D;
+    }
+
+    private static boolean isCancelled(VirtualFrame frame, Node inliningTarget, Object handle, PyObjectGetAttr getAttr, PyObjectIsTrueNode isTrueNode) {
+        return isTrueNode.execute(frame, inliningTarget, getAttr.execute(frame, inliningTarget, handle, T__CANCELLED));
+    }
+
+    private static void checkNotClosed(Node inliningTarget, PLoopCore self, PRaiseNode.Lazy raiseNode) {
+        if (self.isClosed()) {
+            throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.EVENT_LOOP_IS_CLOSED);
+        }
+    }
+
+    @Builtin(name = "call_soon", minNumOfPositionalArgs = 2, parameterNames = {"$self", "handle"})
+    @GenerateNodeFactory
+    public abstract static class CallSoonNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object callSoon(PLoopCore self, Object handle,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkNotClosed(inliningTarget, self, raiseNode);
+            self.addReady(handle);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "call_at", minNumOfPositionalArgs = 3, parameterNames = {"$self", "when", "handle"})
+    @GenerateNodeFactory
+    public abstract static class CallAtNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object callAt(VirtualFrame frame, PLoopCore self, Object when, Object handle,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkNotClosed(inliningTarget, self, raiseNode);
+            self.addTimer(asDoubleNode.execute(frame, inliningTarget, when), handle);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "timer_cancelled", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TimerCancelledNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object timerCancelled(PLoopCore self) {
+            self.timerCancelled();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "add_reader", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "handle"}, doc = "Registers the reader handle for the file descriptor and returns the previous one or None.")
+    @GenerateNodeFactory
+    public abstract static class AddReaderNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object addReader(VirtualFrame frame, PLoopCore self, Object fd, Object handle,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkNotClosed(inliningTarget, self, raiseNode);
+            Object previous = self.setReader(asFileDescriptor.execute(frame, inliningTarget, fd), handle);
+            return previous != null ? previous : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "add_writer", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "handle"}, doc = "Registers the writer handle for the file descriptor and returns the previous one or None.")
+    @GenerateNodeFactory
+    public abstract static class AddWriterNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object addWriter(VirtualFrame frame, PLoopCore self, Object fd, Object handle,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkNotClosed(inliningTarget, self, raiseNode);
+            Object previous = self.setWriter(asFileDescriptor.execute(frame, inliningTarget, fd), handle);
+            return previous != null ? previous : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "remove_reader", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"}, doc = "Unregisters the reader of the file descriptor and returns its handle or None.")
+    @GenerateNodeFactory
+    public abstract static class RemoveReaderNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object removeReader(VirtualFrame frame, PLoopCore self, Object fd,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor) {
+            Object previous = self.removeReader(asFileDescriptor.execute(frame, inliningTarget, fd));
+            return previous != null ? previous : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "remove_writer", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"}, doc = "Unregisters the writer of the file descriptor and returns its handle or None.")
+    @GenerateNodeFactory
+    public abstract static class RemoveWriterNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object removeWriter(VirtualFrame frame, PLoopCore self, Object fd,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor) {
+            Object previous = self.removeWriter(asFileDescriptor.execute(frame, inliningTarget, fd));
+            return previous != null ? previous : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_handles", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"}, doc = "Returns the (reader, writer) tuple of the file descriptor or None if it is not registered.")
+    @GenerateNodeFactory
+    public abstract static class GetHandlesNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object getHandles(VirtualFrame frame, PLoopCore self, Object fd,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PythonObjectFactory factory) {
+            int fdInt = asFileDescriptor.execute(frame, inliningTarget, fd);
+            if (!self.hasIOHandles(fdInt)) {
+                return PNone.NONE;
+            }
+            Object reader = self.getReader(fdInt);
+            Object writer = self.getWriter(fdInt);
+            return factory.createTuple(new Object[]{reader != null ? reader : PNone.NONE, writer != null ? writer : PNone.NONE});
+        }
+    }
+
+    @Builtin(name = "run_once", minNumOfPositionalArgs = 3, parameterNames = {"$self", "stopping", "runner"}, doc = "Runs one iteration of the event loop.\n\n" +
+                    "Polls for I/O, moves the expired timers to the ready queue and runs the handles that were ready at that point. " +
+                    "If runner is not None, it is called with each handle instead of the handle's _run method.")
+    @GenerateNodeFactory
+    public abstract static class RunOnceNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object runOnce(VirtualFrame frame, PLoopCore self, Object stopping, Object runner,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectIsTrueNode isStoppingNode,
+                        @Cached PyObjectGetAttr getCancelledNode,
+                        @Cached PyObjectIsTrueNode isCancelledNode,
+                        @Cached PyObjectSetAttr setScheduledNode,
+                        @Cached PyObjectCallMethodObjArgs callRunNode,
+                        @Cached CallNode callRunnerNode,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached GilNode gil,
+                        @Cached InlinedBranchProfile cleanupBranch,
+                        @Cached InlinedBranchProfile notSelectableBranch,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkNotClosed(inliningTarget, self, raiseNode);
+            removeCancelledTimers(frame, inliningTarget, self, getCancelledNode, isCancelledNode, setScheduledNode, cleanupBranch);
+
+            Timeval timeout;
+            if (self.getReadyCount() > 0 || isStoppingNode.execute(frame, inliningTarget, stopping)) {
+                timeout = Timeval.SELECT_TIMEOUT_NOW;
+            } else if (self.getTimerCount() > 0) {
+                double seconds = Math.min(Math.max(0, self.peekTimerWhen() - monotonic()), MAXIMUM_SELECT_TIMEOUT);
+                // round up to milliseconds, so that we do not spin until the timer expires
+                long millis = (long) Math.ceil(seconds * 1000);
+                timeout = new Timeval(millis / 1000, (millis % 1000) * 1000);
+            } else {
+                timeout = null;
+            }
+
+            PosixSupport posixSupport = PosixSupport.get(inliningTarget);
+            int[] readFds = self.getReadFds();
+            int[] writeFds = self.getWriteFds();
+            SelectResult result;
+            try {
+                Object selector = self.getSelector();
+                if (selector == null) {
+                    selector = posixLib.selectorOpen(posixSupport);
+                    self.setSelector(selector);
+                }
+                gil.release(true);
+                try {
+                    result = posixLib.selectorSelect(posixSupport, selector, readFds, writeFds, timeout);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            } catch (ChannelNotSelectableException e) {
+                // like in select.select, we report all channels as ready if one of them is not
+                // selectable (can happen only in the emulated mode)
+                notSelectableBranch.enter(inliningTarget);
+                result = allSelected(readFds, writeFds);
+            }
+            processEvents(frame, inliningTarget, self, readFds, result.getReadFds(), true, getCancelledNode, isCancelledNode);
+            processEvents(frame, inliningTarget, self, writeFds, result.getWriteFds(), false, getCancelledNode, isCancelledNode);
+
+            double endTime = monotonic() + CLOCK_RESOLUTION;
+            while (self.getTimerCount() > 0 && self.peekTimerWhen() < endTime) {
+                Object timer = self.pollTimer();
+                setScheduledNode.execute(frame, inliningTarget, timer, T__SCHEDULED, false);
+                self.addReady(timer);
+            }
+
+            // Only the handles that are ready now are run, the ones added by them wait for the
+            // next iteration
+            int ntodo = self.getReadyCount();
+            for (int i = 0; i < ntodo; i++) {
+                Object handle = self.pollReady();
+                if (handle == null) {
+                    // the loop was closed by one of the handles
+                    break;
+                }
+                if (isCancelled(frame, inliningTarget, handle, getCancelledNode, isCancelledNode)) {
+                    continue;
+                }
+                if (runner == PNone.NONE) {
+                    callRunNode.execute(frame, inliningTarget, handle, T__RUN);
+                } else {
+                    callRunnerNode.execute(frame, runner, handle);
+                }
+            }
+            return PNone.NONE;
+        }
+
+        /**
+         * Like in {@code BaseEventLoop}, timers that leave the heap are marked as no longer
+         * scheduled, so that cancelling them later does not count them as cancelled timers in the
+         * heap.
+         */
+        private static void removeCancelledTimers(VirtualFrame frame, Node inliningTarget, PLoopCore self, PyObjectGetAttr getCancelledNode, PyObjectIsTrueNode isCancelledNode,
+                        PyObjectSetAttr setScheduledNode, InlinedBranchProfile cleanupBranch) {
+            int count = self.getTimerCount();
+            if (count > MIN_SCHEDULED_TIMER_HANDLES && (double) self.getCancelledTimers() / count > MIN_CANCELLED_TIMER_HANDLES_FRACTION) {
+                // rebuild the heap if there are too many cancelled timers
+                cleanupBranch.enter(inliningTarget);
+                double[] whens = new double[count];
+                Object[] handles = self.takeTimers(whens);
+                for (int i = 0; i < handles.length; i++) {
+                    if (!isCancelled(frame, inliningTarget, handles[i], getCancelledNode, isCancelledNode)) {
+                        self.addTimer(whens[i], handles[i]);
+                    } else {
+                        setScheduledNode.execute(frame, inliningTarget, handles[i], T__SCHEDULED, false);
+                    }
+                }
+            } else {
+                while (self.getTimerCount() > 0 && isCancelled(frame, inliningTarget, self.peekTimer(), getCancelledNode, isCancelledNode)) {
+                    setScheduledNode.execute(frame, inliningTarget, self.pollTimer(), T__SCHEDULED, false);
+                    self.cancelledTimerRemoved();
+                }
+            }
+        }
+
+        private static void processEvents(VirtualFrame frame, Node inliningTarget, PLoopCore self, int[] fds, boolean[] selected, boolean readers, PyObjectGetAttr getCancelledNode,
+                        PyObjectIsTrueNode isCancelledNode) {
+            for (int i = 0; i < fds.length; i++) {
+                if (!selected[i]) {
+                    continue;
+                }
+                Object handle = readers ? self.getReader(fds[i]) : self.getWriter(fds[i]);
+                if (handle == null) {
+                    continue;
+                }
+                if (isCancelled(frame, inliningTarget, handle, getCancelledNode, isCancelledNode)) {
+                    if (readers) {
+                        self.removeReader(fds[i]);
+                    } else {
+                        self.removeWriter(fds[i]);
+                    }
+                } else {
+                    self.addReady(handle);
+                }
+            }
+        }
+
+        @TruffleBoundary
+        private static SelectResult allSelected(int[] readFds, int[] writeFds) {
+            boolean[] readSelected = new boolean[readFds.length];
+            boolean[] writeSelected = new boolean[writeFds.length];
+            Arrays.fill(readSelected, true);
+            Arrays.fill(writeSelected, true);
+            return new SelectResult(readSelected, writeSelected, new boolean[0]);
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object close(PLoopCore self,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib) {
+            Object selector = self.close();
+            if (selector != null) {
+                posixLib.selectorClose(PosixSupport.get(inliningTarget), selector);
+            }
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.asyncio;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The builtin {@code _asyncio._LoopCore}, which keeps the ready queue, the timer heap and the
+ * registered readers and writers of an event loop, so that one iteration of the loop can run in
+ * Java. The queued objects are {@code asyncio.Handle} and {@code asyncio.TimerHandle} instances
+ * created by the Python part of the loop.
+ */
+public final class PLoopCore extends PythonBuiltinObject {
+
+    private static final class Timer implements Comparable<Timer> {
+        final double when;
+        final long sequence;
+        final Object handle;
+
+        Timer(double when, long sequence, Object handle) {
+            this.when = when;
+            this.sequence = sequence;
+            this.handle = handle;
+        }
+
+        @Override
+        public int compareTo(Timer o) {
+            int result = Double.compare(when, o.when);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    private static final class IOHandles {
+        Object reader;
+        Object writer;
+    }
+
+    private final ArrayDeque<Object> ready = new ArrayDeque<>();
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private long timerSequence;
+    private int cancelledTimers;
+
+    private final LinkedHashMap<Integer, IOHandles> ioHandles = new LinkedHashMap<>();
+    private int[] readFds = PythonUtils.EMPTY_INT_ARRAY;
+    private int[] writeFds = PythonUtils.EMPTY_INT_ARRAY;
+    private boolean fdsChanged;
+
+    /** The selector object of the {@code PosixSupportLibrary}, opened on first use. */
+    private Object selector;
+    private boolean closed;
+
+    public PLoopCore(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public Object getSelector() {
+        return selector;
+    }
+
+    public void setSelector(Object selector) {
+        this.selector = selector;
+    }
+
+    @TruffleBoundary
+    public void addReady(Object handle) {
+        ready.addLast(handle);
+    }
+
+    @TruffleBoundary
+    public Object pollReady() {
+        return ready.pollFirst();
+    }
+
+    @TruffleBoundary
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    @TruffleBoundary
+    public void addTimer(double when, Object handle) {
+        timers.add(new Timer(when, timerSequence++, handle));
+    }
+
+    @TruffleBoundary
+    public int getTimerCount() {
+        return timers.size();
+    }
+
+    /**
+     * Returns the time of the earliest timer. Must only be called if there are timers.
+     */
+    @TruffleBoundary
+    public double peekTimerWhen() {
+        return timers.peek().when;
+    }
+
+    @TruffleBoundary
+    public Object peekTimer() {
+        return timers.peek().handle;
+    }
+
+    @TruffleBoundary
+    public Object pollTimer() {
+        return timers.poll().handle;
+    }
+
+    /**
+     * Removes all timers from the heap and returns their handles in heap order together with the
+     * times they are scheduled for.
+     */
+    @TruffleBoundary
+    public Object[] takeTimers(double[] whens) {
+        Object[] handles = new Object[timers.size()];
+        int i = 0;
+        for (Timer timer : timers) {
+            whens[i] = timer.when;
+            handles[i++] = timer.handle;
+        }
+        timers.clear();
+        cancelledTimers = 0;
+        return handles;
+    }
+
+    public int getCancelledTimers() {
+        return cancelledTimers;
+    }
+
+    public void timerCancelled() {
+        cancelledTimers++;
+    }
+
+    public void cancelledTimerRemoved() {
+        if (cancelledTimers > 0) {
+            cancelledTimers--;
+        }
+    }
+
+    /**
+     * Registers the reader handle for the file descriptor and returns the previous one or
+     * {@code null}.
+     */
+    @TruffleBoundary
+    public Object setReader(int fd, Object handle) {
+        IOHandles handles = ioHandles.computeIfAbsent(fd, k -> new IOHandles());
+        Object previous = handles.reader;
+        fdsChanged |= previous == null;
+        handles.reader = handle;
+        return previous;
+    }
+
+    @TruffleBoundary
+    public Object setWriter(int fd, Object handle) {
+        IOHandles handles = ioHandles.computeIfAbsent(fd, k -> new IOHandles());
+        Object previous = handles.writer;
+        fdsChanged |= previous == null;
+        handles.writer = handle;
+        return previous;
+    }
+
+    /**
+     * Unregisters the reader of the file descriptor and returns it or {@code null} if there was
+     * none.
+     */
+    @TruffleBoundary
+    public Object removeReader(int fd) {
+        IOHandles handles = ioHandles.get(fd);
+        if (handles == null || handles.reader == null) {
+            return null;
+        }
+        Object previous = handles.reader;
+        handles.reader = null;
+        if (handles.writer == null) {
+            ioHandles.remove(fd);
+        }
+        fdsChanged = true;
+        return previous;
+    }
+
+    @TruffleBoundary
+    public Object removeWriter(int fd) {
+        IOHandles handles = ioHandles.get(fd);
+        if (handles == null || handles.writer == null) {
+            return null;
+        }
+        Object previous = handles.writer;
+        handles.writer = null;
+        if (handles.reader == null) {
+            ioHandles.remove(fd);
+        }
+        fdsChanged = true;
+        return previous;
+    }
+
+    @TruffleBoundary
+    public Object getReader(int fd) {
+        IOHandles handles = ioHandles.get(fd);
+        return handles != null ? handles.reader : null;
+    }
+
+    @TruffleBoundary
+    public Object getWriter(int fd) {
+        IOHandles handles = ioHandles.get(fd);
+        return handles != null ? handles.writer : null;
+    }
+
+    @TruffleBoundary
+    public boolean hasIOHandles(int fd) {
+        return ioHandles.containsKey(fd);
+    }
+
+    public int[] getReadFds() {
+        updateFds();
+        return readFds;
+    }
+
+    public int[] getWriteFds() {
+        updateFds();
+        return writeFds;
+    }
+
+    private void updateFds() {
+        if (fdsChanged) {
+            rebuildFds();
+        }
+    }
+
+    @TruffleBoundary
+    private void rebuildFds() {
+        int[] newReadFds = new int[ioHandles.size()];
+        int[] newWriteFds = new int[ioHandles.size()];
+        int readCount = 0;
+        int writeCount = 0;
+        for (Map.Entry<Integer, IOHandles> entry : ioHandles.entrySet()) {
+            if (entry.getValue().reader != null) {
+                newReadFds[readCount++] = entry.getKey();
+            }
+            if (entry.getValue().writer != null) {
+                newWriteFds[writeCount++] = entry.getKey();
+            }
+        }
+        readFds = PythonUtils.arrayCopyOf(newReadFds, readCount);
+        writeFds = PythonUtils.arrayCopyOf(newWriteFds, writeCount);
+        fdsChanged = false;
+    }
+
+    /**
+     * Forgets all handles and returns the selector, which the caller must close, or {@code null}.
+     */
+    @TruffleBoundary
+    public Object close() {
+        closed = true;
+        ready.clear();
+        timers.clear();
+        cancelledTimers = 0;
+        ioHandles.clear();
+        fdsChanged = true;
+        Object result = selector;
+        selector = null;
+        return result;
+    }
+}
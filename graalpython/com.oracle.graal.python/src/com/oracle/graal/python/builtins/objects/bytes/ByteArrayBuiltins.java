@@ -73,7 +73,6 @@ import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetInternalByteArrayNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.SequenceStorageMpSubscriptNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.SequenceStorageSqItemNode;
-import com.oracle.graal.python.builtins.objects.iterator.IteratorNodes;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.slice.PSlice;
 import com.oracle.graal.python.builtins.objects.slice.PSlice.SliceInfo;
@@ -416,11 +415,10 @@ public final class ByteArrayBuiltins extends PythonBuiltins {
         @Specialization
         static PByteArray add(PByteArray self, PBytesLike other,
                         @Bind("this") Node inliningTarget,
-                        @Cached @Shared SequenceStorageNodes.ConcatNode concatNode,
+                        @Shared @Cached BytesNodes.AppendToByteArrayNode appendNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             self.checkCanResize(inliningTarget, raiseNode);
-            SequenceStorage res = concatNode.execute(self.getSequenceStorage(), other.getSequenceStorage());
-            updateSequenceStorage(self, res);
+            appendNode.execute(inliningTarget, self, other);
             return self;
         }
 
@@ -430,8 +428,7 @@ public final class ByteArrayBuiltins extends PythonBuiltins {
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @CachedLibrary("other") PythonBufferAcquireLibrary bufferAcquireLib,
                         @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
-                        @Cached @Shared SequenceStorageNodes.ConcatNode concatNode,
-                        @Cached PythonObjectFactory factory,
+                        @Shared @Cached BytesNodes.AppendToByteArrayNode appendNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             Object buffer;
             try {
@@ -441,21 +438,12 @@ public final class ByteArrayBuiltins extends PythonBuiltins {
             }
             try {
                 self.checkCanResize(inliningTarget, raiseNode);
-                // TODO avoid copying
-                PBytes bytes = factory.createBytes(bufferLib.getCopiedByteArray(buffer));
-                SequenceStorage res = concatNode.execute(self.getSequenceStorage(), bytes.getSequenceStorage());
-                updateSequenceStorage(self, res);
+                appendNode.execute(inliningTarget, self, buffer);
                 return self;
             } finally {
                 bufferLib.release(buffer, frame, indirectCallData);
             }
         }
-
-        private static void updateSequenceStorage(PByteArray array, SequenceStorage s) {
-            if (array.getSequenceStorage() != s) {
-                array.setSequenceStorage(s);
-            }
-        }
     }
 
     @Builtin(name = J___IMUL__, minNumOfPositionalArgs = 2)
@@ -630,14 +618,12 @@ public final class ByteArrayBuiltins extends PythonBuiltins {
     public abstract static class ExtendNode extends PythonBinaryBuiltinNode {
 
         @Specialization
-        static PNone doBytes(VirtualFrame frame, PByteArray self, PBytesLike source,
+        static PNone doBytes(PByteArray self, PBytesLike source,
                         @Bind("this") Node inliningTarget,
-                        @Cached IteratorNodes.GetLength lenNode,
-                        @Cached("createExtend()") @Shared SequenceStorageNodes.ExtendNode extendNode,
+                        @Shared @Cached BytesNodes.AppendToByteArrayNode appendNode,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
             self.checkCanResize(inliningTarget, raiseNode);
-            int len = lenNode.execute(frame, inliningTarget, source);
-            extend(frame, self, source, len, extendNode);
+            appendNode.execute(inliningTarget, self, source);
             return PNone.NONE;
         }
 
@@ -650,42 +636,28 @@ public final class ByteArrayBuiltins extends PythonBuiltins {
                         @Cached InlinedConditionProfile bufferProfile,
                         @Cached BytesNodes.IterableToByteNode iterableToByteNode,
                         @Cached IsBuiltinObjectProfile errorProfile,
-                        @Cached("createExtend()") @Shared SequenceStorageNodes.ExtendNode extendNode,
-                        @Cached PythonObjectFactory factory,
+                        @Shared @Cached BytesNodes.AppendToByteArrayNode appendNode,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
             self.checkCanResize(inliningTarget, raiseNode);
-            byte[] b;
             if (bufferProfile.profile(inliningTarget, bufferAcquireLib.hasBuffer(source))) {
                 Object buffer = bufferAcquireLib.acquireReadonly(source, frame, indirectCallData);
                 try {
-                    // TODO avoid copying
-                    b = bufferLib.getCopiedByteArray(buffer);
+                    appendNode.execute(inliningTarget, self, buffer);
                 } finally {
                     bufferLib.release(buffer, frame, indirectCallData);
                 }
             } else {
+                byte[] b;
                 try {
                     b = iterableToByteNode.execute(frame, source);
                 } catch (PException e) {
                     e.expect(inliningTarget, TypeError, errorProfile);
                     throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.CANT_EXTEND_BYTEARRAY_WITH_P, source);
                 }
+                appendNode.execute(inliningTarget, self, new ByteSequenceStorage(b));
             }
-            PByteArray bytes = factory.createByteArray(b);
-            extend(frame, self, bytes, b.length, extendNode);
             return PNone.NONE;
         }
-
-        private static void extend(VirtualFrame frame, PByteArray self, Object source,
-                        int len, SequenceStorageNodes.ExtendNode extendNode) {
-            SequenceStorage execute = extendNode.execute(frame, self.getSequenceStorage(), source, len);
-            assert self.getSequenceStorage() == execute : "Unexpected storage generalization!";
-        }
-
-        @NeverDefault
-        protected static SequenceStorageNodes.ExtendNode createExtend() {
-            return SequenceStorageNodes.ExtendNode.create(BytesNodes.BytesLikeNoGeneralizationNode.SUPPLIER);
-        }
     }
 
     // bytearray.copy()
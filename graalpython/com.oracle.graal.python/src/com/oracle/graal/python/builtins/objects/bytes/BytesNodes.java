@@ -49,13 +49,14 @@ import static com.oracle.graal.python.nodes.ErrorMessages.NON_HEX_NUMBER_IN_FROM
 import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
 import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.MemoryError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.arrayCopyOf;
 import static com.oracle.truffle.api.CompilerDirectives.shouldNotReachHere;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 
 import com.oracle.graal.python.annotations.ClinicConverterFactory;
@@ -99,10 +100,12 @@ import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.NativeByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.ComparisonOp;
+import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -164,58 +167,137 @@ public abstract class BytesNodes {
         }
     }
 
+    /**
+     * Joins the byte parts of an iterable. All parts are collected first, so that the result can
+     * be allocated with its exact size and every part is copied only once. The contents of
+     * {@code bytes} parts are used directly, since they cannot change while joining.
+     */
     @GenerateInline
     @GenerateCached(false)
-    @ImportStatic(PythonOptions.class)
+    @ImportStatic({PythonOptions.class, PGuards.class})
     public abstract static class BytesJoinNode extends PNodeWithContext {
 
         public abstract byte[] execute(VirtualFrame frame, Node inliningTarget, byte[] sep, Object iterable);
 
-        @Specialization
+        @Specialization(guards = "isBuiltinList(iterable) || isBuiltinTuple(iterable)")
+        static byte[] joinSequence(VirtualFrame frame, Node inliningTarget, byte[] sep, PSequence iterable,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Shared @Cached(inline = false) ToBytesNode toBytesNode,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            SequenceStorage storage = iterable.getSequenceStorage();
+            int count = storage.length();
+            ByteSequenceStorage[] parts = new ByteSequenceStorage[count];
+            long totalSize = 0;
+            for (int i = 0; i < count; i++) {
+                ByteSequenceStorage part = toJoinPart(frame, getItemNode.execute(inliningTarget, storage, i), toBytesNode);
+                if (iterable.getSequenceStorage() != storage || storage.length() != count) {
+                    // converting a part to bytes may have run arbitrary code
+                    throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "sequence");
+                }
+                parts[i] = part;
+                totalSize += part.length();
+            }
+            return joinParts(inliningTarget, sep, parts, count, totalSize, raiseNode);
+        }
+
+        @Fallback
         static byte[] join(VirtualFrame frame, Node inliningTarget, byte[] sep, Object iterable,
                         @Cached PyObjectGetIter getIter,
                         @Cached(inline = false) GetNextNode getNextNode,
-                        @Cached(inline = false) ToBytesNode toBytesNode,
-                        @Cached IsBuiltinObjectProfile errorProfile) {
-            ArrayList<byte[]> parts = new ArrayList<>();
-            int partsTotalSize = 0;
+                        @Shared @Cached(inline = false) ToBytesNode toBytesNode,
+                        @Cached IsBuiltinObjectProfile errorProfile,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            ByteSequenceStorage[] parts = new ByteSequenceStorage[8];
+            int count = 0;
+            long totalSize = 0;
             Object iterator = getIter.execute(frame, inliningTarget, iterable);
             while (true) {
+                Object item;
                 try {
-                    partsTotalSize += append(parts, toBytesNode.execute(frame, getNextNode.execute(frame, iterator)));
+                    item = getNextNode.execute(frame, iterator);
                 } catch (PException e) {
                     e.expectStopIteration(inliningTarget, errorProfile);
-                    return joinArrays(sep, parts, partsTotalSize);
+                    return joinParts(inliningTarget, sep, parts, count, totalSize, raiseNode);
                 }
+                ByteSequenceStorage part = toJoinPart(frame, item, toBytesNode);
+                if (count == parts.length) {
+                    parts = arrayCopyOf(parts, parts.length * 2);
+                }
+                parts[count++] = part;
+                totalSize += part.length();
             }
         }
 
-        @TruffleBoundary(allowInlining = true)
-        private static int append(ArrayList<byte[]> parts, byte[] barr) {
-            parts.add(barr);
-            return barr.length;
+        private static ByteSequenceStorage toJoinPart(VirtualFrame frame, Object item, ToBytesNode toBytesNode) {
+            if (item instanceof PBytes bytes && bytes.getSequenceStorage() instanceof ByteSequenceStorage storage) {
+                return storage;
+            }
+            return new ByteSequenceStorage(toBytesNode.execute(frame, item));
+        }
+
+        private static byte[] joinParts(Node inliningTarget, byte[] sep, ByteSequenceStorage[] parts, int count, long partsTotalSize, PRaiseNode.Lazy raiseNode) {
+            if (count == 0) {
+                return PythonUtils.EMPTY_BYTE_ARRAY;
+            }
+            long totalSize = partsTotalSize + (long) (count - 1) * sep.length;
+            if (totalSize > Integer.MAX_VALUE) {
+                throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.JOIN_RESULT_TOO_LONG);
+            }
+            return joinArrays(sep, parts, count, (int) totalSize);
         }
 
         @TruffleBoundary(allowInlining = true)
-        private static byte[] joinArrays(byte[] sep, ArrayList<byte[]> parts, int partsTotalSize) {
-            byte[] joinedBytes = new byte[Math.max(0, partsTotalSize + (parts.size() - 1) * sep.length)];
-            if (parts.size() > 0) {
-                int offset = 0;
-                byte[] array = parts.get(0);
-                PythonUtils.arraycopy(array, 0, joinedBytes, offset, array.length);
-                offset += array.length;
-                for (int i = 1; i < parts.size(); i++) {
-                    array = parts.get(i);
+        private static byte[] joinArrays(byte[] sep, ByteSequenceStorage[] parts, int count, int totalSize) {
+            byte[] joinedBytes = new byte[totalSize];
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                if (i > 0 && sep.length > 0) {
                     PythonUtils.arraycopy(sep, 0, joinedBytes, offset, sep.length);
                     offset += sep.length;
-                    PythonUtils.arraycopy(array, 0, joinedBytes, offset, array.length);
-                    offset += array.length;
                 }
+                int length = parts[i].length();
+                PythonUtils.arraycopy(parts[i].getInternalByteArray(), 0, joinedBytes, offset, length);
+                offset += length;
             }
             return joinedBytes;
         }
     }
 
+    /**
+     * Appends the contents of a buffer to a {@code bytearray} in place. The storage grows
+     * geometrically, so building a {@code bytearray} with repeated {@code +=} or {@code extend}
+     * calls takes linear time. The buffer may also be the {@code bytearray} itself.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    public abstract static class AppendToByteArrayNode extends PNodeWithContext {
+
+        public abstract void execute(Node inliningTarget, PByteArray self, Object buffer);
+
+        @Specialization(limit = "3")
+        static void append(Node inliningTarget, PByteArray self, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @CachedLibrary(limit = "2") PythonBufferAccessLibrary storageLib,
+                        @Cached SequenceStorageNodes.EnsureCapacityNode ensureCapacityNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int len = bufferLib.getBufferLength(buffer);
+            if (len == 0) {
+                return;
+            }
+            SequenceStorage storage = self.getSequenceStorage();
+            int oldLength = storage.length();
+            int newLength;
+            try {
+                newLength = PythonUtils.addExact(oldLength, len);
+            } catch (OverflowException e) {
+                throw raiseNode.get(inliningTarget).raise(MemoryError);
+            }
+            ensureCapacityNode.execute(inliningTarget, storage, newLength);
+            storage.setNewLength(newLength);
+            bufferLib.readIntoBuffer(buffer, 0, storage, oldLength, len, storageLib);
+        }
+    }
+
     @ImportStatic({PGuards.class, SpecialMethodNames.class})
     public abstract static class ToBytesNode extends Node {
 
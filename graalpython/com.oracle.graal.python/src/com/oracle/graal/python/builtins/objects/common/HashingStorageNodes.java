@@ -134,6 +134,18 @@ public class HashingStorageNodes {
             return getNode.execute(frame, inliningTarget, self, key, keyHash);
         }
 
+        @Specialization
+        static Object intMap(Frame frame, Node inliningTarget, IntMapStorage self, Object key, long keyHash,
+                        @Cached IntMapStorage.GetItemNode getNode) {
+            return getNode.execute(frame, inliningTarget, self, key, keyHash);
+        }
+
+        @Specialization
+        static Object strMap(Frame frame, Node inliningTarget, StrMapStorage self, Object key, long keyHash,
+                        @Cached StrMapStorage.GetItemNode getNode) {
+            return getNode.execute(frame, inliningTarget, self, key, keyHash);
+        }
+
         @Specialization
         @SuppressWarnings("unused")
         static Object empty(Frame frame, EmptyStorage self, Object key, long keyHash) {
@@ -198,6 +210,18 @@ public class HashingStorageNodes {
             return getNode.execute(frame, inliningTarget, self, key, -1);
         }
 
+        @Specialization
+        static Object intMap(Frame frame, Node inliningTarget, IntMapStorage self, Object key,
+                        @Cached IntMapStorage.GetItemNode getNode) {
+            return getNode.execute(frame, inliningTarget, self, key, -1);
+        }
+
+        @Specialization
+        static Object strMap(Frame frame, Node inliningTarget, StrMapStorage self, Object key,
+                        @Cached StrMapStorage.GetItemNode getNode) {
+            return getNode.execute(frame, inliningTarget, self, key, -1);
+        }
+
         @Specialization
         @InliningCutoff
         static Object keywords(Frame frame, Node inliningTarget, KeywordsStorage self, Object key,
@@ -243,9 +267,132 @@ public class HashingStorageNodes {
         return result;
     }
 
+    static EconomicMapStorage intMapStorageToEconomicMap(Frame frame, Node inliningTarget, IntMapStorage s, PutNode putNode) {
+        EconomicMapStorage result = EconomicMapStorage.create(s.length());
+        ObjectHashMap resultMap = result.map;
+        for (int i = 0; i < s.usedEntries; i++) {
+            Object v = s.values[i];
+            if (v != null) {
+                long k = s.keys[i];
+                putNode.execute(frame, inliningTarget, resultMap, IntMapStorage.boxKey(k), PyObjectHashNode.hash(k), v);
+            }
+        }
+        return result;
+    }
+
+    static EconomicMapStorage strMapStorageToEconomicMap(Frame frame, Node inliningTarget, StrMapStorage s, PutNode putNode) {
+        EconomicMapStorage result = EconomicMapStorage.create(s.length());
+        ObjectHashMap resultMap = result.map;
+        for (int i = 0; i < s.usedEntries; i++) {
+            Object v = s.values[i];
+            if (v != null) {
+                putNode.execute(frame, inliningTarget, resultMap, s.keys[i], s.hashes[i], v);
+            }
+        }
+        return result;
+    }
+
+    static StrMapStorage dynamicObjectStorageToStrMap(DynamicObjectStorage s, DynamicObjectLibrary dylib, TruffleString.HashCodeNode hashCodeNode) {
+        DynamicObject store = s.store;
+        // leave space for the key that triggered the transition
+        StrMapStorage result = StrMapStorage.create(dylib.getShape(store).getPropertyCount() + 1);
+        Object[] keys = dylib.getKeyArray(store);
+        for (Object k : keys) {
+            if (k instanceof TruffleString key) {
+                Object v = dylib.getOrDefault(store, k, PNone.NO_VALUE);
+                if (v != PNone.NO_VALUE) {
+                    // the properties of a dynamic object are unique
+                    result.insertNewKey(key, PyObjectHashNode.hash(key, hashCodeNode), v);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Puts an int key into the {@link IntMapStorage} or generalizes it to
+     * {@link EconomicMapStorage} for any other key. If the {@code keyHash} is equal to {@code -1}
+     * it will be computed for keys that are not ints.
+     */
+    @GenerateUncached
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class IntMapStorageSetItem extends Node {
+        abstract HashingStorage execute(Frame frame, Node inliningTarget, IntMapStorage self, Object key, long keyHash, Object value);
+
+        @Specialization
+        static HashingStorage doInt(IntMapStorage self, int key, @SuppressWarnings("unused") long keyHash, Object value) {
+            self.put(key, value);
+            return self;
+        }
+
+        @Specialization
+        static HashingStorage doLong(IntMapStorage self, long key, @SuppressWarnings("unused") long keyHash, Object value) {
+            self.put(key, value);
+            return self;
+        }
+
+        @Fallback
+        @InliningCutoff
+        static HashingStorage generalize(Frame frame, Node inliningTarget, IntMapStorage self, Object key, long keyHash, Object value,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached PyUnicodeCheckExactNode isBuiltinString,
+                        @Cached ObjectHashMap.PutNode putNode) {
+            long hash = keyHash == -1 ? hashNode.execute(frame, inliningTarget, key) : keyHash;
+            EconomicMapStorage result = intMapStorageToEconomicMap(frame, inliningTarget, self, putNode);
+            putNode.execute(frame, inliningTarget, result.map, key, hash, value);
+            if (!isBuiltinString.execute(inliningTarget, key)) {
+                result.map.setSideEffectingKeysFlag();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Puts a builtin string key into the {@link StrMapStorage} or generalizes it to
+     * {@link EconomicMapStorage} for any other key. If the {@code keyHash} is equal to {@code -1}
+     * it will be computed for keys that are not strings.
+     */
+    @GenerateUncached
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class StrMapStorageSetItem extends Node {
+        abstract HashingStorage execute(Frame frame, Node inliningTarget, StrMapStorage self, Object key, long keyHash, Object value);
+
+        @Specialization
+        static HashingStorage doString(StrMapStorage self, TruffleString key, @SuppressWarnings("unused") long keyHash, Object value,
+                        @Shared @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode,
+                        @Shared @Cached(inline = false) TruffleString.EqualNode equalNode) {
+            self.put(key, PyObjectHashNode.hash(key, hashCodeNode), value, equalNode);
+            return self;
+        }
+
+        @Specialization(guards = "isBuiltinString.execute(inliningTarget, key)", limit = "1")
+        static HashingStorage doBuiltinString(Node inliningTarget, StrMapStorage self, Object key, long keyHash, Object value,
+                        @SuppressWarnings("unused") @Cached PyUnicodeCheckExactNode isBuiltinString,
+                        @Cached CastBuiltinStringToTruffleStringNode castStr,
+                        @Shared @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode,
+                        @Shared @Cached(inline = false) TruffleString.EqualNode equalNode) {
+            return doString(self, castStr.execute(inliningTarget, key), keyHash, value, hashCodeNode, equalNode);
+        }
+
+        @Fallback
+        @InliningCutoff
+        static HashingStorage generalize(Frame frame, Node inliningTarget, StrMapStorage self, Object key, long keyHash, Object value,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached ObjectHashMap.PutNode putNode) {
+            long hash = keyHash == -1 ? hashNode.execute(frame, inliningTarget, key) : keyHash;
+            EconomicMapStorage result = strMapStorageToEconomicMap(frame, inliningTarget, self, putNode);
+            putNode.execute(frame, inliningTarget, result.map, key, hash, value);
+            // we only get here for keys that are not builtin strings
+            result.map.setSideEffectingKeysFlag();
+            return result;
+        }
+    }
+
     @GenerateUncached
     @GenerateInline(inlineByDefault = true)
-    @ImportStatic(PGuards.class)
+    @ImportStatic({PGuards.class, IntMapStorage.class, StrMapStorage.class})
     public abstract static class HashingStorageSetItemWithHash extends Node {
 
         @NeverDefault
@@ -271,14 +418,40 @@ public class HashingStorageNodes {
         }
 
         @Specialization
+        static HashingStorage intMap(Frame frame, Node inliningTarget, IntMapStorage self, Object key, long keyHash, Object value,
+                        @Exclusive @Cached IntMapStorageSetItem setItemNode) {
+            return setItemNode.execute(frame, inliningTarget, self, key, keyHash, value);
+        }
+
+        @Specialization
+        static HashingStorage strMap(Frame frame, Node inliningTarget, StrMapStorage self, Object key, long keyHash, Object value,
+                        @Exclusive @Cached StrMapStorageSetItem setItemNode) {
+            return setItemNode.execute(frame, inliningTarget, self, key, keyHash, value);
+        }
+
+        @Specialization(guards = "isIntKey(key)")
+        static HashingStorage emptyIntKey(@SuppressWarnings("unused") EmptyStorage self, Object key, @SuppressWarnings("unused") long keyHash, Object value) {
+            IntMapStorage storage = IntMapStorage.create();
+            storage.put(IntMapStorage.asLongKey(key), value);
+            return storage;
+        }
+
+        @Specialization(guards = "isBuiltinString.execute(inliningTarget, key)", limit = "1")
+        static HashingStorage emptyStrKey(Node inliningTarget, @SuppressWarnings("unused") EmptyStorage self, Object key, long keyHash, Object value,
+                        @SuppressWarnings("unused") @Exclusive @Cached PyUnicodeCheckExactNode isBuiltinString,
+                        @Exclusive @Cached CastBuiltinStringToTruffleStringNode castStr) {
+            StrMapStorage storage = StrMapStorage.create();
+            storage.insertNewKey(castStr.execute(inliningTarget, key), keyHash, value);
+            return storage;
+        }
+
+        @Specialization(guards = {"!isIntKey(key)", "!isBuiltinString.execute(inliningTarget, key)"}, limit = "1")
         static HashingStorage empty(Frame frame, Node inliningTarget, @SuppressWarnings("unused") EmptyStorage self, Object key, long keyHash, Object value,
-                        @Exclusive @Cached PyUnicodeCheckExactNode isBuiltinString,
+                        @SuppressWarnings("unused") @Exclusive @Cached PyUnicodeCheckExactNode isBuiltinString,
                         @Exclusive @Cached ObjectHashMap.PutNode putNode) {
             EconomicMapStorage storage = EconomicMapStorage.create(1);
             putNode.execute(frame, inliningTarget, storage.map, key, keyHash, value);
-            if (!isBuiltinString.execute(inliningTarget, key)) {
-                storage.map.setSideEffectingKeysFlag();
-            }
+            storage.map.setSideEffectingKeysFlag();
             return storage;
         }
 
@@ -329,13 +502,27 @@ public class HashingStorageNodes {
             @Specialization(guards = {"!transition", "isBuiltinString.execute(inliningTarget, key)"}, limit = "1")
             static HashingStorage domStringKey(Node inliningTarget, DynamicObjectStorage self, Object key, @SuppressWarnings("unused") long keyHash, Object value,
                             @SuppressWarnings("unused") boolean transition, DynamicObjectLibrary dylib,
-                            @SuppressWarnings("unused") @Cached PyUnicodeCheckExactNode isBuiltinString,
-                            @Cached CastBuiltinStringToTruffleStringNode castStr,
+                            @SuppressWarnings("unused") @Shared @Cached PyUnicodeCheckExactNode isBuiltinString,
+                            @Shared @Cached CastBuiltinStringToTruffleStringNode castStr,
                             @Cached InlinedBranchProfile invalidateMroProfile) {
                 self.setStringKey(castStr.execute(inliningTarget, key), value, dylib, inliningTarget, invalidateMroProfile);
                 return self;
             }
 
+            // The dict has too many string keys for a dynamic object
+            @Specialization(guards = {"transition", "isBuiltinString.execute(inliningTarget, key)"}, limit = "1")
+            static HashingStorage domToStrMap(Node inliningTarget, DynamicObjectStorage self, Object key, @SuppressWarnings("unused") long keyHash, Object value,
+                            @SuppressWarnings("unused") boolean transition, DynamicObjectLibrary dylib,
+                            @SuppressWarnings("unused") @Shared @Cached PyUnicodeCheckExactNode isBuiltinString,
+                            @Shared @Cached CastBuiltinStringToTruffleStringNode castStr,
+                            @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode,
+                            @Cached(inline = false) TruffleString.EqualNode equalNode) {
+                StrMapStorage result = dynamicObjectStorageToStrMap(self, dylib, hashCodeNode);
+                TruffleString str = castStr.execute(inliningTarget, key);
+                result.put(str, PyObjectHashNode.hash(str, hashCodeNode), value, equalNode);
+                return result;
+            }
+
             @Fallback
             static HashingStorage domTransition(Frame frame, Node inliningTarget, DynamicObjectStorage self, Object key, @SuppressWarnings("unused") long keyHash, Object value,
                             @SuppressWarnings("unused") boolean transition, DynamicObjectLibrary dylib,
@@ -355,7 +542,7 @@ public class HashingStorageNodes {
      */
     @GenerateUncached
     @GenerateInline(inlineByDefault = true)
-    @ImportStatic(PGuards.class)
+    @ImportStatic({PGuards.class, IntMapStorage.class, StrMapStorage.class})
     public abstract static class HashingStorageSetItem extends Node {
 
         @NeverDefault
@@ -393,6 +580,36 @@ public class HashingStorageNodes {
         }
 
         @Specialization
+        static HashingStorage intMap(Frame frame, Node inliningTarget, IntMapStorage self, Object key, Object value,
+                        @Exclusive @Cached IntMapStorageSetItem setItemNode) {
+            return setItemNode.execute(frame, inliningTarget, self, key, -1, value);
+        }
+
+        @Specialization
+        static HashingStorage strMap(Frame frame, Node inliningTarget, StrMapStorage self, Object key, Object value,
+                        @Exclusive @Cached StrMapStorageSetItem setItemNode) {
+            return setItemNode.execute(frame, inliningTarget, self, key, -1, value);
+        }
+
+        @Specialization(guards = "isIntKey(key)")
+        static HashingStorage emptyIntKey(@SuppressWarnings("unused") EmptyStorage self, Object key, Object value) {
+            IntMapStorage storage = IntMapStorage.create();
+            storage.put(IntMapStorage.asLongKey(key), value);
+            return storage;
+        }
+
+        @Specialization(guards = "isBuiltinString.execute(inliningTarget, key)", limit = "1")
+        static HashingStorage emptyStrKey(Node inliningTarget, @SuppressWarnings("unused") EmptyStorage self, Object key, Object value,
+                        @SuppressWarnings("unused") @Exclusive @Cached PyUnicodeCheckExactNode isBuiltinString,
+                        @Exclusive @Cached CastBuiltinStringToTruffleStringNode castStr,
+                        @Exclusive @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode) {
+            StrMapStorage storage = StrMapStorage.create();
+            TruffleString str = castStr.execute(inliningTarget, key);
+            storage.insertNewKey(str, PyObjectHashNode.hash(str, hashCodeNode), value);
+            return storage;
+        }
+
+        @Specialization(guards = {"!isIntKey(key)", "!isBuiltinString.execute(inliningTarget, key)"}, limit = "1")
         static HashingStorage empty(Frame frame, Node inliningTarget, @SuppressWarnings("unused") EmptyStorage self, Object key, Object value,
                         @Exclusive @Cached PyUnicodeCheckExactNode isBuiltinString,
                         @Exclusive @Cached PyObjectHashNode hashNode,
@@ -401,7 +618,6 @@ public class HashingStorageNodes {
             // allocated map can be quite different to profiles in the other situations when we are
             // putting into a map that already has or will have some more items in it
             // It is also @Cached(inline = false) because inlining it triggers GR-44836
-            // TODO: do we want to try DynamicObjectStorage if the key is a string?
             return economicMap(frame, inliningTarget, EconomicMapStorage.create(1), key, value, isBuiltinString, hashNode, putNode);
         }
 
@@ -453,13 +669,27 @@ public class HashingStorageNodes {
             @Specialization(guards = {"!transition", "isBuiltinString.execute(inliningTarget, key)"}, limit = "1")
             static HashingStorage domStringKey(Node inliningTarget, DynamicObjectStorage self, Object key, Object value,
                             @SuppressWarnings("unused") boolean transition, DynamicObjectLibrary dylib,
-                            @SuppressWarnings("unused") @Cached PyUnicodeCheckExactNode isBuiltinString,
-                            @Cached CastBuiltinStringToTruffleStringNode castStr,
+                            @SuppressWarnings("unused") @Shared @Cached PyUnicodeCheckExactNode isBuiltinString,
+                            @Shared @Cached CastBuiltinStringToTruffleStringNode castStr,
                             @Cached InlinedBranchProfile invalidateMroProfile) {
                 self.setStringKey(castStr.execute(inliningTarget, key), value, dylib, inliningTarget, invalidateMroProfile);
                 return self;
             }
 
+            // The dict has too many string keys for a dynamic object
+            @Specialization(guards = {"transition", "isBuiltinString.execute(inliningTarget, key)"}, limit = "1")
+            static HashingStorage domToStrMap(Node inliningTarget, DynamicObjectStorage self, Object key, Object value,
+                            @SuppressWarnings("unused") boolean transition, DynamicObjectLibrary dylib,
+                            @SuppressWarnings("unused") @Shared @Cached PyUnicodeCheckExactNode isBuiltinString,
+                            @Shared @Cached CastBuiltinStringToTruffleStringNode castStr,
+                            @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode,
+                            @Cached(inline = false) TruffleString.EqualNode equalNode) {
+                StrMapStorage result = dynamicObjectStorageToStrMap(self, dylib, hashCodeNode);
+                TruffleString str = castStr.execute(inliningTarget, key);
+                result.put(str, PyObjectHashNode.hash(str, hashCodeNode), value, equalNode);
+                return result;
+            }
+
             @Fallback
             static HashingStorage domTransition(Frame frame, Node inliningTarget, DynamicObjectStorage self, Object key, Object value,
                             @SuppressWarnings("unused") boolean transition, DynamicObjectLibrary dylib,
@@ -527,6 +757,20 @@ public class HashingStorageNodes {
             return null;
         }
 
+        @Specialization
+        static Object intMap(Frame frame, Node inliningTarget, IntMapStorage self, Object key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate,
+                        @Cached IntMapStorage.RemoveNode removeNode) {
+            Object result = removeNode.execute(frame, inliningTarget, self, key);
+            return isPop ? result : null;
+        }
+
+        @Specialization
+        static Object strMap(Frame frame, Node inliningTarget, StrMapStorage self, Object key, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate,
+                        @Cached StrMapStorage.RemoveNode removeNode) {
+            Object result = removeNode.execute(frame, inliningTarget, self, key);
+            return isPop ? result : null;
+        }
+
         @Specialization
         @InliningCutoff
         static Object domStringKey(Frame frame, Node inliningTarget, DynamicObjectStorage self, Object keyObj, boolean isPop, @SuppressWarnings("unused") PHashingCollection toUpdate,
@@ -596,6 +840,16 @@ public class HashingStorageNodes {
             return self.length();
         }
 
+        @Specialization
+        static int intMap(IntMapStorage self) {
+            return self.length();
+        }
+
+        @Specialization
+        static int strMap(StrMapStorage self) {
+            return self.length();
+        }
+
         @Specialization
         @InliningCutoff
         static int dom(Node inliningTarget, DynamicObjectStorage self,
@@ -627,6 +881,18 @@ public class HashingStorageNodes {
             return self;
         }
 
+        @Specialization
+        static HashingStorage intMap(IntMapStorage self) {
+            self.clear();
+            return self;
+        }
+
+        @Specialization
+        static HashingStorage strMap(StrMapStorage self) {
+            self.clear();
+            return self;
+        }
+
         @Specialization
         @InliningCutoff
         static HashingStorage dom(Node inliningTarget, DynamicObjectStorage self,
@@ -665,6 +931,16 @@ public class HashingStorageNodes {
             return map.copy();
         }
 
+        @Specialization
+        static HashingStorage intMap(IntMapStorage map) {
+            return map.copy();
+        }
+
+        @Specialization
+        static HashingStorage strMap(StrMapStorage map) {
+            return map.copy();
+        }
+
         @Specialization
         static EmptyStorage empty(@SuppressWarnings("unused") EmptyStorage map) {
             return EmptyStorage.INSTANCE;
@@ -752,6 +1028,16 @@ public class HashingStorageNodes {
             return new HashingStorageIterator();
         }
 
+        @Specialization
+        static HashingStorageIterator intMap(@SuppressWarnings("unused") IntMapStorage self) {
+            return new HashingStorageIterator();
+        }
+
+        @Specialization
+        static HashingStorageIterator strMap(@SuppressWarnings("unused") StrMapStorage self) {
+            return new HashingStorageIterator();
+        }
+
         @Specialization
         static HashingStorageIterator dom(DynamicObjectStorage self,
                         @CachedLibrary(limit = "3") DynamicObjectLibrary dylib) {
@@ -793,6 +1079,20 @@ public class HashingStorageNodes {
             return it;
         }
 
+        @Specialization
+        static HashingStorageIterator intMap(IntMapStorage self) {
+            HashingStorageIterator it = new HashingStorageIterator(true);
+            it.index = self.usedEntries;
+            return it;
+        }
+
+        @Specialization
+        static HashingStorageIterator strMap(StrMapStorage self) {
+            HashingStorageIterator it = new HashingStorageIterator(true);
+            it.index = self.usedEntries;
+            return it;
+        }
+
         @Specialization
         static HashingStorageIterator dom(DynamicObjectStorage self,
                         @CachedLibrary(limit = "3") DynamicObjectLibrary dylib) {
@@ -869,6 +1169,68 @@ public class HashingStorageNodes {
             return false;
         }
 
+        @Specialization(guards = "!it.isReverse")
+        static boolean intMap(IntMapStorage self, HashingStorageIterator it) {
+            it.index++;
+            while (it.index < self.usedEntries) {
+                Object val = self.values[it.index];
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index++;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
+        @Specialization(guards = "it.isReverse")
+        static boolean intMapReverse(IntMapStorage self, HashingStorageIterator it) {
+            it.index--;
+            while (it.index >= 0) {
+                // the map may have shrunk since the last step
+                Object val = it.index < self.usedEntries ? self.values[it.index] : null;
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index--;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
+        @Specialization(guards = "!it.isReverse")
+        static boolean strMap(StrMapStorage self, HashingStorageIterator it) {
+            it.index++;
+            while (it.index < self.usedEntries) {
+                Object val = self.values[it.index];
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index++;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
+        @Specialization(guards = "it.isReverse")
+        static boolean strMapReverse(StrMapStorage self, HashingStorageIterator it) {
+            it.index--;
+            while (it.index >= 0) {
+                // the map may have shrunk since the last step
+                Object val = it.index < self.usedEntries ? self.values[it.index] : null;
+                if (val != null) {
+                    it.currentValue = val;
+                    return true;
+                }
+                it.index--;
+            }
+            assert (it.currentValue = null) == null;
+            return false;
+        }
+
         @Specialization(guards = "!it.isReverse")
         static boolean dom(DynamicObjectStorage self, HashingStorageIterator it) {
             it.index++;
@@ -944,6 +1306,16 @@ public class HashingStorageNodes {
             return it.currentValue;
         }
 
+        @Specialization
+        static Object intMap(@SuppressWarnings("unused") IntMapStorage self, HashingStorageIterator it) {
+            return it.currentValue;
+        }
+
+        @Specialization
+        static Object strMap(@SuppressWarnings("unused") StrMapStorage self, HashingStorageIterator it) {
+            return it.currentValue;
+        }
+
         @Specialization
         static Object dom(@SuppressWarnings("unused") DynamicObjectStorage self, HashingStorageIterator it) {
             return it.currentValue;
@@ -985,6 +1357,16 @@ public class HashingStorageNodes {
             return self.map.getKey(it.index);
         }
 
+        @Specialization
+        static Object intMap(IntMapStorage self, HashingStorageIterator it) {
+            return IntMapStorage.boxKey(self.keys[it.index]);
+        }
+
+        @Specialization
+        static Object strMap(StrMapStorage self, HashingStorageIterator it) {
+            return self.keys[it.index];
+        }
+
         @Specialization
         static TruffleString dom(@SuppressWarnings("unused") DynamicObjectStorage self, HashingStorageIterator it) {
             return (TruffleString) it.domKeys[it.index];
@@ -1019,6 +1401,16 @@ public class HashingStorageNodes {
             return self.map.hashes[it.index];
         }
 
+        @Specialization
+        static long intMap(IntMapStorage self, HashingStorageIterator it) {
+            return PyObjectHashNode.hash(self.keys[it.index]);
+        }
+
+        @Specialization
+        static long strMap(StrMapStorage self, HashingStorageIterator it) {
+            return self.hashes[it.index];
+        }
+
         @Specialization
         static long dom(@SuppressWarnings("unused") DynamicObjectStorage self, HashingStorageIterator it,
                         @Shared("hash") @Cached(inline = false) TruffleString.HashCodeNode hashNode) {
@@ -1052,6 +1444,16 @@ public class HashingStorageNodes {
             return popNode.execute(inliningTarget, self.map);
         }
 
+        @Specialization
+        static Object[] intMap(IntMapStorage self, @SuppressWarnings("unused") PHashingCollection toUpdate) {
+            return self.popItem();
+        }
+
+        @Specialization
+        static Object[] strMap(StrMapStorage self, @SuppressWarnings("unused") PHashingCollection toUpdate) {
+            return self.popItem();
+        }
+
         // Other storages should not have any side effects, it's OK if they call __eq__
         @Fallback
         static Object[] others(Node inliningTarget, HashingStorage storage, PHashingCollection toUpdate,
@@ -1484,6 +1886,12 @@ public class HashingStorageNodes {
             return setItemWithHash.execute(frame, inliningTarget, destStorage, srcMap.getKey(it.index), srcMap.hashes[it.index], srcMap.getValue(it.index));
         }
 
+        @Specialization
+        static IntMapStorage intMap2IntMap(IntMapStorage src, HashingStorageIterator it, IntMapStorage destStorage) {
+            destStorage.put(src.keys[it.index], src.values[it.index]);
+            return destStorage;
+        }
+
         @Fallback
         @InliningCutoff
         static HashingStorage generic2Generic(Frame frame, Node inliningTarget, HashingStorage src, HashingStorageIterator it, HashingStorage destStorage,
@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.common;
+
+import static com.oracle.graal.python.builtins.modules.SysModuleBuiltins.HASH_MODULUS;
+import static com.oracle.truffle.api.CompilerDirectives.SLOWPATH_PROBABILITY;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Storage for dicts and sets whose keys are all Python ints that fit into a Java {@code long}. The
+ * keys are stored unboxed and their Python hash is not stored at all, because it is cheap to
+ * compute from the key. The layout follows {@link ObjectHashMap}: a sparse array of indices that is
+ * the actual hash table and compact arrays with the keys and values in insertion order. Unlike in
+ * {@link ObjectHashMap}, comparing the keys never has side effects, so the lookups do not need to
+ * be restarted.
+ *
+ * Only {@code int} and {@code long} keys are ever inserted. Lookups and removals of keys that are
+ * not ints, but may still be equal to some of the keys (e.g., {@code 1.0} or subclasses of
+ * {@code int}), compare the few ints with the same hash using the Python equality. Inserting such a
+ * key generalizes the storage to {@link EconomicMapStorage}.
+ */
+public final class IntMapStorage extends HashingStorage {
+    private static final int INITIAL_INDICES_SIZE = 8;
+    private static final int MAX_INDICES_SIZE = 1 << 30;
+
+    private static final int EMPTY_INDEX = -1;
+    private static final int DUMMY_INDEX = -2;
+
+    private static final long PERTURB_SHIFT = 5;
+
+    // Sparse array with indices pointing to keys and values
+    private int[] indices;
+
+    // Compact arrays with the actual items, removed items have null value
+    long[] keys;
+    Object[] values;
+
+    // How many real items are in the map
+    int size;
+    // How many slots in the keys/values arrays are occupied by real or removed items. The last one
+    // is always a real item, so that popitem does not need to search for it.
+    int usedEntries;
+    // How many buckets in the indices array are not empty
+    private int usedIndices;
+
+    private IntMapStorage(int indicesSize) {
+        allocateData(indicesSize);
+    }
+
+    private IntMapStorage(IntMapStorage original) {
+        indices = PythonUtils.arrayCopyOf(original.indices, original.indices.length);
+        keys = PythonUtils.arrayCopyOf(original.keys, original.keys.length);
+        values = PythonUtils.arrayCopyOf(original.values, original.values.length);
+        size = original.size;
+        usedEntries = original.usedEntries;
+        usedIndices = original.usedIndices;
+    }
+
+    public static IntMapStorage create() {
+        return new IntMapStorage(INITIAL_INDICES_SIZE);
+    }
+
+    public static boolean isIntKey(Object key) {
+        return key instanceof Integer || key instanceof Long;
+    }
+
+    static long asLongKey(Object key) {
+        assert isIntKey(key);
+        return key instanceof Integer i ? i : (long) key;
+    }
+
+    static Object boxKey(long key) {
+        if (PInt.isIntRange(key)) {
+            return (int) key;
+        }
+        return key;
+    }
+
+    private void allocateData(int indicesSize) {
+        indices = new int[indicesSize];
+        Arrays.fill(indices, EMPTY_INDEX);
+        // we fill the hash table only up to 3/4
+        int usableSize = (indicesSize >> 2) * 3;
+        keys = new long[usableSize];
+        values = new Object[usableSize];
+    }
+
+    public int length() {
+        return size;
+    }
+
+    public IntMapStorage copy() {
+        return new IntMapStorage(this);
+    }
+
+    void clear() {
+        size = 0;
+        usedEntries = 0;
+        usedIndices = 0;
+        allocateData(INITIAL_INDICES_SIZE);
+    }
+
+    private static int getIndex(int[] localIndices, long hash) {
+        // since buckets count is power of 2, the & works as modulo
+        return (int) (hash & (localIndices.length - 1));
+    }
+
+    private static int nextIndex(int[] localIndices, int i, long perturb) {
+        return getIndex(localIndices, i * 5L + perturb + 1L);
+    }
+
+    private static int initialIndex(int[] localIndices, long key) {
+        return getIndex(localIndices, key ^ (key >>> 32));
+    }
+
+    /**
+     * Returns the position of the bucket pointing to the entry with given key or {@code -1}.
+     */
+    private int findBucket(long key) {
+        int[] localIndices = indices;
+        long perturb = key;
+        int compactIndex = initialIndex(localIndices, key);
+        while (true) {
+            int index = localIndices[compactIndex];
+            if (index == EMPTY_INDEX) {
+                return -1;
+            }
+            if (index != DUMMY_INDEX && keys[index] == key) {
+                return compactIndex;
+            }
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+    }
+
+    /**
+     * Returns the position of the entry with given key in the compact arrays or {@code -1}.
+     */
+    int findEntry(long key) {
+        int bucket = findBucket(key);
+        return bucket < 0 ? -1 : indices[bucket];
+    }
+
+    Object get(long key) {
+        int index = findEntry(key);
+        return index < 0 ? null : values[index];
+    }
+
+    void put(long key, Object value) {
+        assert value != null;
+        int[] localIndices = indices;
+        long perturb = key;
+        int compactIndex = initialIndex(localIndices, key);
+        int freeBucket = -1;
+        while (true) {
+            int index = localIndices[compactIndex];
+            if (index == EMPTY_INDEX) {
+                break;
+            }
+            if (index == DUMMY_INDEX) {
+                if (freeBucket < 0) {
+                    freeBucket = compactIndex;
+                }
+            } else if (keys[index] == key) {
+                // Python does not override the key, but ints have no identity
+                values[index] = value;
+                return;
+            }
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+        // we keep at least a quarter of the buckets empty
+        if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, usedEntries == keys.length || (freeBucket < 0 && usedIndices >= keys.length))) {
+            rehashAndPut(key, value);
+            return;
+        }
+        if (freeBucket < 0) {
+            freeBucket = compactIndex;
+            usedIndices++;
+        }
+        putInNewEntry(localIndices, freeBucket, key, value);
+    }
+
+    private void putInNewEntry(int[] localIndices, int bucket, long key, Object value) {
+        int newIndex = usedEntries++;
+        keys[newIndex] = key;
+        values[newIndex] = value;
+        localIndices[bucket] = newIndex;
+        size++;
+    }
+
+    /**
+     * Grows (or shrinks, if there are many removed items) the arrays, removes the removed items and
+     * adds a new key that is known not to be in the map.
+     */
+    @TruffleBoundary
+    private void rehashAndPut(long newKey, Object newValue) {
+        long required = (size + 1L) * 2;
+        int newIndicesSize = INITIAL_INDICES_SIZE;
+        while ((newIndicesSize >> 2) * 3L < required && newIndicesSize < MAX_INDICES_SIZE) {
+            newIndicesSize <<= 1;
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsedEntries = usedEntries;
+        allocateData(newIndicesSize);
+        size = 0;
+        usedEntries = 0;
+        usedIndices = 0;
+        for (int i = 0; i < oldUsedEntries; i++) {
+            if (oldValues[i] != null) {
+                insertNewKey(oldKeys[i], oldValues[i]);
+            }
+        }
+        insertNewKey(newKey, newValue);
+    }
+
+    private void insertNewKey(long key, Object value) {
+        int[] localIndices = indices;
+        long perturb = key;
+        int compactIndex = initialIndex(localIndices, key);
+        while (localIndices[compactIndex] != EMPTY_INDEX) {
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+        usedIndices++;
+        putInNewEntry(localIndices, compactIndex, key, value);
+    }
+
+    /**
+     * Removes the key and returns its value or {@code null} if the key was not in the map.
+     */
+    Object remove(long key) {
+        int bucket = findBucket(key);
+        if (bucket < 0) {
+            return null;
+        }
+        int index = indices[bucket];
+        Object result = values[index];
+        indices[bucket] = DUMMY_INDEX;
+        values[index] = null;
+        size--;
+        if (index == usedEntries - 1) {
+            // No bucket points to removed entries, so we can drop them from the end
+            do {
+                usedEntries--;
+            } while (usedEntries > 0 && values[usedEntries - 1] == null);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code null} if the map is empty, otherwise removes the last item and returns it as
+     * [key, value].
+     */
+    Object[] popItem() {
+        if (size == 0) {
+            return null;
+        }
+        long key = keys[usedEntries - 1];
+        Object value = remove(key);
+        assert value != null;
+        return new Object[]{boxKey(key), value};
+    }
+
+    /**
+     * Finds the entry with a key equal to the given key that is not an {@code int}. Only ints with
+     * the same hash can be equal to it. The hash of an int is its value modulo
+     * {@link com.oracle.graal.python.builtins.modules.SysModuleBuiltins#HASH_MODULUS} with the sign
+     * of the value, and {@code -1} is replaced by {@code -2}, so there are just a few such ints in
+     * the {@code long} range. Returns the position of the entry or {@code -1}.
+     */
+    int findEqualEntry(Frame frame, Node inliningTarget, Object key, long keyHash, PyObjectRichCompareBool.EqNode eqNode) {
+        if (keyHash >= 0) {
+            // overflows to a negative number after the last candidate
+            for (long candidate = keyHash; candidate >= 0; candidate += HASH_MODULUS) {
+                int index = findEqualCandidate(frame, inliningTarget, candidate, key, eqNode);
+                if (index >= 0) {
+                    return index;
+                }
+            }
+        }
+        if (keyHash <= 0) {
+            if (keyHash == -2) {
+                int index = findEqualNegativeCandidates(frame, inliningTarget, -1, key, eqNode);
+                if (index >= 0) {
+                    return index;
+                }
+            }
+            return findEqualNegativeCandidates(frame, inliningTarget, keyHash == 0 ? -HASH_MODULUS : keyHash, key, eqNode);
+        }
+        return -1;
+    }
+
+    private int findEqualNegativeCandidates(Frame frame, Node inliningTarget, long first, Object key, PyObjectRichCompareBool.EqNode eqNode) {
+        // overflows to a positive number after the last candidate
+        for (long candidate = first; candidate < 0; candidate -= HASH_MODULUS) {
+            int index = findEqualCandidate(frame, inliningTarget, candidate, key, eqNode);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int findEqualCandidate(Frame frame, Node inliningTarget, long candidate, Object key, PyObjectRichCompareBool.EqNode eqNode) {
+        if (findEntry(candidate) >= 0 && eqNode.compare(frame, inliningTarget, boxKey(candidate), key)) {
+            // __eq__ may have changed the map
+            return findEntry(candidate);
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        StringBuilder builder = new StringBuilder();
+        builder.append("intmap(size=").append(size).append(", {");
+        String sep = "";
+        for (int i = 0, printed = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                if (++printed >= 100) {
+                    builder.append("...");
+                    break;
+                }
+                builder.append(sep).append("(").append(keys[i]).append(",").append(values[i]).append(")");
+                sep = ",";
+            }
+        }
+        builder.append("})");
+        return builder.toString();
+    }
+
+    @GenerateUncached
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class GetItemNode extends Node {
+        /**
+         * If the {@code keyHash} is equal to {@code -1} it will be computed for keys that are not
+         * ints.
+         */
+        public abstract Object execute(Frame frame, Node inliningTarget, IntMapStorage self, Object key, long keyHash);
+
+        @Specialization
+        static Object doInt(IntMapStorage self, int key, @SuppressWarnings("unused") long keyHash) {
+            return self.get(key);
+        }
+
+        @Specialization
+        static Object doLong(IntMapStorage self, long key, @SuppressWarnings("unused") long keyHash) {
+            return self.get(key);
+        }
+
+        @Specialization
+        static Object doBoolean(IntMapStorage self, boolean key, @SuppressWarnings("unused") long keyHash) {
+            return self.get(key ? 1 : 0);
+        }
+
+        @Fallback
+        @InliningCutoff
+        static Object doOther(Frame frame, Node inliningTarget, IntMapStorage self, Object key, long keyHash,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            long hash = keyHash == -1 ? hashNode.execute(frame, inliningTarget, key) : keyHash;
+            int index = self.findEqualEntry(frame, inliningTarget, key, hash, eqNode);
+            return index < 0 ? null : self.values[index];
+        }
+    }
+
+    @GenerateUncached
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class RemoveNode extends Node {
+        /**
+         * Returns the removed value or {@code null} if the key was not in the map.
+         */
+        public abstract Object execute(Frame frame, Node inliningTarget, IntMapStorage self, Object key);
+
+        @Specialization
+        static Object doInt(IntMapStorage self, int key) {
+            return self.remove(key);
+        }
+
+        @Specialization
+        static Object doLong(IntMapStorage self, long key) {
+            return self.remove(key);
+        }
+
+        @Specialization
+        static Object doBoolean(IntMapStorage self, boolean key) {
+            return self.remove(key ? 1 : 0);
+        }
+
+        @Fallback
+        @InliningCutoff
+        static Object doOther(Frame frame, Node inliningTarget, IntMapStorage self, Object key,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            long hash = hashNode.execute(frame, inliningTarget, key);
+            int index = self.findEqualEntry(frame, inliningTarget, key, hash, eqNode);
+            return index < 0 ? null : self.remove(self.keys[index]);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.common;
+
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.truffle.api.CompilerDirectives.SLOWPATH_PROBABILITY;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Storage for dicts whose keys are all builtin strings, for example dicts with many attribute-like
+ * keys that outgrew the {@link DynamicObjectStorage}. The layout follows {@link ObjectHashMap}: a
+ * sparse array of indices that is the actual hash table and compact arrays with the keys, their
+ * hashes and values in insertion order. The keys are stored as {@link TruffleString}s, so a lookup
+ * with a string key only compares the stored hashes, the identity (which succeeds for interned
+ * strings such as identifiers) and finally the contents of the strings. Such comparisons have no
+ * side effects, so the lookups do not need to be restarted.
+ *
+ * Lookups and removals of keys that are not strings, but may still be equal to some of the keys
+ * (e.g., subclasses of {@code str}), use the Python equality. Inserting such a key generalizes the
+ * storage to {@link EconomicMapStorage}.
+ */
+public final class StrMapStorage extends HashingStorage {
+    private static final int INITIAL_INDICES_SIZE = 8;
+    private static final int MAX_INDICES_SIZE = 1 << 30;
+
+    private static final int EMPTY_INDEX = -1;
+    private static final int DUMMY_INDEX = -2;
+
+    private static final int RESTART_LOOKUP = -2;
+
+    private static final long PERTURB_SHIFT = 5;
+
+    // Sparse array with indices pointing to keys and values
+    private int[] indices;
+
+    // Compact arrays with the actual items, removed items have null key and value
+    TruffleString[] keys;
+    long[] hashes;
+    Object[] values;
+
+    // How many real items are in the map
+    int size;
+    // How many slots in the compact arrays are occupied by real or removed items. The last one is
+    // always a real item, so that popitem does not need to search for it.
+    int usedEntries;
+    // How many buckets in the indices array are not empty
+    private int usedIndices;
+
+    private StrMapStorage(int indicesSize) {
+        allocateData(indicesSize);
+    }
+
+    private StrMapStorage(StrMapStorage original) {
+        indices = PythonUtils.arrayCopyOf(original.indices, original.indices.length);
+        keys = PythonUtils.arrayCopyOf(original.keys, original.keys.length);
+        hashes = PythonUtils.arrayCopyOf(original.hashes, original.hashes.length);
+        values = PythonUtils.arrayCopyOf(original.values, original.values.length);
+        size = original.size;
+        usedEntries = original.usedEntries;
+        usedIndices = original.usedIndices;
+    }
+
+    public static StrMapStorage create() {
+        return new StrMapStorage(INITIAL_INDICES_SIZE);
+    }
+
+    public static StrMapStorage create(int capacity) {
+        int indicesSize = INITIAL_INDICES_SIZE;
+        while ((indicesSize >> 2) * 3L < capacity && indicesSize < MAX_INDICES_SIZE) {
+            indicesSize <<= 1;
+        }
+        return new StrMapStorage(indicesSize);
+    }
+
+    public static boolean isStrKey(Object key) {
+        return key instanceof TruffleString;
+    }
+
+    private void allocateData(int indicesSize) {
+        indices = new int[indicesSize];
+        Arrays.fill(indices, EMPTY_INDEX);
+        // we fill the hash table only up to 3/4
+        int usableSize = (indicesSize >> 2) * 3;
+        keys = new TruffleString[usableSize];
+        hashes = new long[usableSize];
+        values = new Object[usableSize];
+    }
+
+    public int length() {
+        return size;
+    }
+
+    public StrMapStorage copy() {
+        return new StrMapStorage(this);
+    }
+
+    void clear() {
+        size = 0;
+        usedEntries = 0;
+        usedIndices = 0;
+        allocateData(INITIAL_INDICES_SIZE);
+    }
+
+    private static int getIndex(int[] localIndices, long hash) {
+        // since buckets count is power of 2, the & works as modulo
+        return (int) (hash & (localIndices.length - 1));
+    }
+
+    private static int nextIndex(int[] localIndices, int i, long perturb) {
+        return getIndex(localIndices, i * 5L + perturb + 1L);
+    }
+
+    private boolean keysEqual(int index, TruffleString key, long hash, TruffleString.EqualNode equalNode) {
+        if (hashes[index] != hash) {
+            return false;
+        }
+        TruffleString original = keys[index];
+        return original == key || equalNode.execute(original, key, TS_ENCODING);
+    }
+
+    /**
+     * Returns the position of the bucket pointing to the entry with given key or {@code -1}.
+     */
+    private int findBucket(TruffleString key, long hash, TruffleString.EqualNode equalNode) {
+        int[] localIndices = indices;
+        long perturb = hash;
+        int compactIndex = getIndex(localIndices, hash);
+        while (true) {
+            int index = localIndices[compactIndex];
+            if (index == EMPTY_INDEX) {
+                return -1;
+            }
+            if (index != DUMMY_INDEX && keysEqual(index, key, hash, equalNode)) {
+                return compactIndex;
+            }
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+    }
+
+    /**
+     * Returns the position of the entry with given key in the compact arrays or {@code -1}.
+     */
+    int findEntry(TruffleString key, long hash, TruffleString.EqualNode equalNode) {
+        int bucket = findBucket(key, hash, equalNode);
+        return bucket < 0 ? -1 : indices[bucket];
+    }
+
+    void put(TruffleString key, long hash, Object value, TruffleString.EqualNode equalNode) {
+        assert value != null;
+        int[] localIndices = indices;
+        long perturb = hash;
+        int compactIndex = getIndex(localIndices, hash);
+        int freeBucket = -1;
+        while (true) {
+            int index = localIndices[compactIndex];
+            if (index == EMPTY_INDEX) {
+                break;
+            }
+            if (index == DUMMY_INDEX) {
+                if (freeBucket < 0) {
+                    freeBucket = compactIndex;
+                }
+            } else if (keysEqual(index, key, hash, equalNode)) {
+                // Python keeps the original key object
+                values[index] = value;
+                return;
+            }
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+        // we keep at least a quarter of the buckets empty
+        if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, usedEntries == keys.length || (freeBucket < 0 && usedIndices >= keys.length))) {
+            rehashAndPut(key, hash, value);
+            return;
+        }
+        if (freeBucket < 0) {
+            freeBucket = compactIndex;
+            usedIndices++;
+        }
+        putInNewEntry(localIndices, freeBucket, key, hash, value);
+    }
+
+    private void putInNewEntry(int[] localIndices, int bucket, TruffleString key, long hash, Object value) {
+        int newIndex = usedEntries++;
+        keys[newIndex] = key;
+        hashes[newIndex] = hash;
+        values[newIndex] = value;
+        localIndices[bucket] = newIndex;
+        size++;
+    }
+
+    /**
+     * Grows (or shrinks, if there are many removed items) the arrays, removes the removed items and
+     * adds a new key that is known not to be in the map.
+     */
+    @TruffleBoundary
+    private void rehashAndPut(TruffleString newKey, long newHash, Object newValue) {
+        long required = (size + 1L) * 2;
+        int newIndicesSize = INITIAL_INDICES_SIZE;
+        while ((newIndicesSize >> 2) * 3L < required && newIndicesSize < MAX_INDICES_SIZE) {
+            newIndicesSize <<= 1;
+        }
+        TruffleString[] oldKeys = keys;
+        long[] oldHashes = hashes;
+        Object[] oldValues = values;
+        int oldUsedEntries = usedEntries;
+        allocateData(newIndicesSize);
+        size = 0;
+        usedEntries = 0;
+        usedIndices = 0;
+        for (int i = 0; i < oldUsedEntries; i++) {
+            if (oldValues[i] != null) {
+                insertNewKey(oldKeys[i], oldHashes[i], oldValues[i]);
+            }
+        }
+        insertNewKey(newKey, newHash, newValue);
+    }
+
+    /**
+     * Adds a key that is known not to be in the map into a map that is known to have enough space.
+     */
+    void insertNewKey(TruffleString key, long hash, Object value) {
+        assert usedEntries < keys.length && usedIndices < keys.length;
+        int[] localIndices = indices;
+        long perturb = hash;
+        int compactIndex = getIndex(localIndices, hash);
+        while (localIndices[compactIndex] != EMPTY_INDEX) {
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+        usedIndices++;
+        putInNewEntry(localIndices, compactIndex, key, hash, value);
+    }
+
+    /**
+     * Removes the key and returns its value or {@code null} if the key was not in the map.
+     */
+    Object remove(TruffleString key, long hash, TruffleString.EqualNode equalNode) {
+        int bucket = findBucket(key, hash, equalNode);
+        return bucket < 0 ? null : removeBucket(bucket);
+    }
+
+    /**
+     * Removes the entry at given position in the compact arrays and returns its value.
+     */
+    Object removeEntry(int entryIndex) {
+        int[] localIndices = indices;
+        long perturb = hashes[entryIndex];
+        int compactIndex = getIndex(localIndices, perturb);
+        while (localIndices[compactIndex] != entryIndex) {
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+        return removeBucket(compactIndex);
+    }
+
+    private Object removeBucket(int bucket) {
+        int index = indices[bucket];
+        Object result = values[index];
+        indices[bucket] = DUMMY_INDEX;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        if (index == usedEntries - 1) {
+            // No bucket points to removed entries, so we can drop them from the end
+            do {
+                usedEntries--;
+            } while (usedEntries > 0 && values[usedEntries - 1] == null);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code null} if the map is empty, otherwise removes the last item and returns it as
+     * [key, value].
+     */
+    Object[] popItem() {
+        if (size == 0) {
+            return null;
+        }
+        TruffleString key = keys[usedEntries - 1];
+        Object value = removeEntry(usedEntries - 1);
+        assert value != null;
+        return new Object[]{key, value};
+    }
+
+    /**
+     * Finds the entry with a key equal to the given key that is not a {@link TruffleString}, such
+     * as an instance of a {@code str} subclass. The Python {@code __eq__} may modify the map, in
+     * which case the lookup starts again. Returns the position of the entry or {@code -1}.
+     */
+    int findEqualEntry(Frame frame, Node inliningTarget, Object key, long keyHash, PyObjectRichCompareBool.EqNode eqNode) {
+        while (true) {
+            int index = findEqualEntryOnce(frame, inliningTarget, key, keyHash, eqNode);
+            if (index != RESTART_LOOKUP) {
+                return index;
+            }
+        }
+    }
+
+    private int findEqualEntryOnce(Frame frame, Node inliningTarget, Object key, long keyHash, PyObjectRichCompareBool.EqNode eqNode) {
+        int[] localIndices = indices;
+        long perturb = keyHash;
+        int compactIndex = getIndex(localIndices, keyHash);
+        while (true) {
+            int index = localIndices[compactIndex];
+            if (index == EMPTY_INDEX) {
+                return -1;
+            }
+            if (index != DUMMY_INDEX && hashes[index] == keyHash) {
+                TruffleString original = keys[index];
+                boolean equal = eqNode.compare(frame, inliningTarget, original, key);
+                if (indices != localIndices || keys[index] != original) {
+                    return RESTART_LOOKUP;
+                }
+                if (equal) {
+                    return index;
+                }
+            }
+            perturb >>>= PERTURB_SHIFT;
+            compactIndex = nextIndex(localIndices, compactIndex, perturb);
+        }
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        StringBuilder builder = new StringBuilder();
+        builder.append("strmap(size=").append(size).append(", {");
+        String sep = "";
+        for (int i = 0, printed = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                if (++printed >= 100) {
+                    builder.append("...");
+                    break;
+                }
+                builder.append(sep).append("(").append(keys[i]).append(",").append(values[i]).append(")");
+                sep = ",";
+            }
+        }
+        builder.append("})");
+        return builder.toString();
+    }
+
+    @GenerateUncached
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class GetItemNode extends Node {
+        /**
+         * If the {@code keyHash} is equal to {@code -1} it will be computed for keys that are not
+         * strings.
+         */
+        public abstract Object execute(Frame frame, Node inliningTarget, StrMapStorage self, Object key, long keyHash);
+
+        @Specialization
+        static Object doString(StrMapStorage self, TruffleString key, long keyHash,
+                        @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode,
+                        @Cached(inline = false) TruffleString.EqualNode equalNode) {
+            long hash = keyHash == -1 ? PyObjectHashNode.hash(key, hashCodeNode) : keyHash;
+            int index = self.findEntry(key, hash, equalNode);
+            return index < 0 ? null : self.values[index];
+        }
+
+        @Fallback
+        @InliningCutoff
+        static Object doOther(Frame frame, Node inliningTarget, StrMapStorage self, Object key, long keyHash,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            long hash = keyHash == -1 ? hashNode.execute(frame, inliningTarget, key) : keyHash;
+            int index = self.findEqualEntry(frame, inliningTarget, key, hash, eqNode);
+            return index < 0 ? null : self.values[index];
+        }
+    }
+
+    @GenerateUncached
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class RemoveNode extends Node {
+        /**
+         * Returns the removed value or {@code null} if the key was not in the map.
+         */
+        public abstract Object execute(Frame frame, Node inliningTarget, StrMapStorage self, Object key);
+
+        @Specialization
+        static Object doString(StrMapStorage self, TruffleString key,
+                        @Cached(inline = false) TruffleString.HashCodeNode hashCodeNode,
+                        @Cached(inline = false) TruffleString.EqualNode equalNode) {
+            return self.remove(key, PyObjectHashNode.hash(key, hashCodeNode), equalNode);
+        }
+
+        @Fallback
+        @InliningCutoff
+        static Object doOther(Frame frame, Node inliningTarget, StrMapStorage self, Object key,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            long hash = hashNode.execute(frame, inliningTarget, key);
+            int index = self.findEqualEntry(frame, inliningTarget, key, hash, eqNode);
+            return index < 0 ? null : self.removeEntry(index);
+        }
+    }
+}
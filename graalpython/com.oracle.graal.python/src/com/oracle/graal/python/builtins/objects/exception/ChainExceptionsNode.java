@@ -45,15 +45,21 @@ import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.NeverDefault;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.InlinedLoopConditionProfile;
 
 @GenerateInline(false) // Used in BCI
+@GenerateUncached
 public abstract class ChainExceptionsNode extends Node {
     public abstract void execute(PException currentException, PException contextException);
 
+    public static void executeUncached(PException currentException, PException contextException) {
+        ChainExceptionsNodeGen.getUncached().execute(currentException, contextException);
+    }
+
     @Specialization
     public static void chainExceptions(PException currentException, PException contextException,
                     @Bind("this") Node inliningTarget,
@@ -64,6 +70,8 @@ public abstract class ChainExceptionsNode extends Node {
         Object current = currentException.getUnreifiedException();
         Object context = contextException.getUnreifiedException();
         if (current != context) {
+            // resolve a pending context first, the cycle checks below need to see it
+            contextException.markEscaped();
             Object e = current;
             while (p1.profile(inliningTarget, e != PNone.NONE)) {
                 Object eContext = getContextNode.execute(inliningTarget, e);
@@ -81,7 +89,6 @@ public abstract class ChainExceptionsNode extends Node {
                 }
                 e = eContext;
             }
-            contextException.markEscaped();
             setContextNode.execute(inliningTarget, current, context);
         }
     }
@@ -93,6 +93,8 @@ import static com.oracle.graal.python.nodes.StringLiterals.T_LITTLE;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.runtime.formatting.FormattingUtils.isDoubleSpec;
+import static com.oracle.graal.python.runtime.formatting.FormattingUtils.validateForInt;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
 import java.math.BigDecimal;
@@ -143,6 +145,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode.GetPythonObjectClassNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.NarrowBigIntegerNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.formatting.FloatFormatter;
@@ -406,7 +409,7 @@ public final class IntBuiltins extends PythonBuiltins {
 
         @Specialization
         static Object addLongWithOverflow(long x, long y,
-                        @Shared @Cached PythonObjectFactory factory) {
+                        @Cached PythonObjectFactory factory) {
             /* Inlined version of Math.addExact(x, y) with BigInteger fallback. */
             long r = x + y;
             // HD 2-12 Overflow iff both arguments have the opposite sign of the result
@@ -423,8 +426,9 @@ public final class IntBuiltins extends PythonBuiltins {
 
         @Specialization(replaces = "addPIntLongAndNarrow")
         static Object addPIntLong(PInt left, long right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(left.getValue(), PInt.longToBigInteger(right)));
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -434,8 +438,9 @@ public final class IntBuiltins extends PythonBuiltins {
 
         @Specialization(replaces = "addLongPIntAndNarrow")
         static Object addLongPInt(long left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(PInt.longToBigInteger(left), right.getValue()));
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(PInt.longToBigInteger(left), right.getValue()));
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -445,8 +450,9 @@ public final class IntBuiltins extends PythonBuiltins {
 
         @Specialization(replaces = "addPIntPIntAndNarrow")
         static Object addPIntPInt(PInt left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(left.getValue(), right.getValue()));
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(left.getValue(), right.getValue()));
         }
 
         @TruffleBoundary
@@ -496,7 +502,7 @@ public final class IntBuiltins extends PythonBuiltins {
 
         @Specialization
         static Object doLongWithOverflow(long x, long y,
-                        @Shared @Cached PythonObjectFactory factory) {
+                        @Cached PythonObjectFactory factory) {
             /* Inlined version of Math.subtractExact(x, y) with BigInteger fallback. */
             long r = x - y;
             // HD 2-12 Overflow iff the arguments have different signs and
@@ -513,9 +519,10 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doPIntLongAndNarrow")
-        static PInt doPIntLong(PInt left, long right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(left.getValue(), PInt.longToBigInteger(right)));
+        static Object doPIntLong(PInt left, long right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -524,9 +531,10 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doLongPIntAndNarrow")
-        static PInt doLongPInt(long left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(PInt.longToBigInteger(left), right.getValue()));
+        static Object doLongPInt(long left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(PInt.longToBigInteger(left), right.getValue()));
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -535,9 +543,10 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doPIntPIntAndNarrow")
-        static PInt doPIntPInt(PInt left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(left.getValue(), right.getValue()));
+        static Object doPIntPInt(PInt left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(left.getValue(), right.getValue()));
         }
 
         @TruffleBoundary
@@ -698,12 +707,17 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doLL")
-        static PInt doLLOverflow(long left, long right,
+        static Object doLLOverflow(long left, long right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Cached PythonObjectFactory factory,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            return doPiPi(factory.createInt(left), factory.createInt(right), inliningTarget, divisionByZeroProfile, factory, raiseNode);
+            raiseDivisionByZero(inliningTarget, right == 0, divisionByZeroProfile, raiseNode);
+            if (left == Long.MIN_VALUE && right == -1) {
+                // the only quotient that does not fit into a long
+                return factory.createInt(op(PInt.longToBigInteger(left), PInt.longToBigInteger(right)));
+            }
+            return Math.floorDiv(left, right);
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -760,13 +774,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doPiIAndNarrow")
-        static PInt doPiI(PInt left, int right,
+        static Object doPiI(PInt left, int right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right == 0, divisionByZeroProfile, raiseNode);
-            return factory.createInt(op(left.getValue(), PInt.longToBigInteger(right)));
+            return narrow.execute(inliningTarget, op(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -779,13 +793,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doPiLAndNarrow")
-        static PInt doPiL(PInt left, long right,
+        static Object doPiL(PInt left, long right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right == 0, divisionByZeroProfile, raiseNode);
-            return factory.createInt(op(left.getValue(), PInt.longToBigInteger(right)));
+            return narrow.execute(inliningTarget, op(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(rewriteOn = OverflowException.class)
@@ -798,13 +812,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(replaces = "doPiPiAndNarrow")
-        static PInt doPiPi(PInt left, PInt right,
+        static Object doPiPi(PInt left, PInt right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right.isZero(), divisionByZeroProfile, raiseNode);
-            return factory.createInt(op(left.getValue(), right.getValue()));
+            return narrow.execute(inliningTarget, op(left.getValue(), right.getValue()));
         }
 
         @TruffleBoundary
@@ -911,13 +925,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "right.isZeroOrPositive()", replaces = "doLPiAndNarrow")
-        static PInt doLPi(long left, PInt right,
+        static Object doLPi(long left, PInt right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right.isZero(), divisionByZeroProfile, raiseNode);
-            return factory.createInt(op(PInt.longToBigInteger(left), right.getValue()));
+            return narrow.execute(inliningTarget, op(PInt.longToBigInteger(left), right.getValue()));
         }
 
         @Specialization(guards = "!right.isZeroOrPositive()", rewriteOn = OverflowException.class)
@@ -930,13 +944,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "!right.isZeroOrPositive()", replaces = "doLPiNegativeAndNarrow")
-        static PInt doLPiNegative(long left, PInt right,
+        static Object doLPiNegative(long left, PInt right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right.isZero(), divisionByZeroProfile, raiseNode);
-            return factory.createInt(opNeg(PInt.longToBigInteger(left), right.getValue()));
+            return narrow.execute(inliningTarget, opNeg(PInt.longToBigInteger(left), right.getValue()));
         }
 
         @Specialization(guards = "right >= 0", rewriteOn = OverflowException.class)
@@ -949,13 +963,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "right >= 0", replaces = "doPiLAndNarrow")
-        static PInt doPiL(PInt left, long right,
+        static Object doPiL(PInt left, long right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right == 0, divisionByZeroProfile, raiseNode);
-            return factory.createInt(op(left.getValue(), PInt.longToBigInteger(right)));
+            return narrow.execute(inliningTarget, op(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(guards = "right < 0", rewriteOn = OverflowException.class)
@@ -968,13 +982,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "right < 0", replaces = "doPiLNegAndNarrow")
-        static PInt doPiLNeg(PInt left, long right,
+        static Object doPiLNeg(PInt left, long right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right == 0, divisionByZeroProfile, raiseNode);
-            return factory.createInt(opNeg(left.getValue(), PInt.longToBigInteger(right)));
+            return narrow.execute(inliningTarget, opNeg(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(guards = "right.isZeroOrPositive()", rewriteOn = OverflowException.class)
@@ -987,13 +1001,13 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "right.isZeroOrPositive()", replaces = "doPiPiAndNarrow")
-        static PInt doPiPi(PInt left, PInt right,
+        static Object doPiPi(PInt left, PInt right,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedBranchProfile divisionByZeroProfile,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseDivisionByZero(inliningTarget, right.isZero(), divisionByZeroProfile, raiseNode);
-            return factory.createInt(op(left.getValue(), right.getValue()));
+            return narrow.execute(inliningTarget, op(left.getValue(), right.getValue()));
         }
 
         @Specialization(guards = "!right.isZeroOrPositive()", rewriteOn = OverflowException.class)
@@ -1002,9 +1016,10 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "!right.isZeroOrPositive()", replaces = "doPiPiNegAndNarrow")
-        static PInt doPiPiNeg(PInt left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(opNeg(left.getValue(), right.getValue()));
+        static Object doPiPiNeg(PInt left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, opNeg(left.getValue(), right.getValue()));
         }
 
         @TruffleBoundary
@@ -1061,18 +1076,12 @@ public final class IntBuiltins extends PythonBuiltins {
         @Specialization
         static Object doLongWithOverflow(long x, long y,
                         @Shared @Cached PythonObjectFactory factory) {
-            /* Inlined version of Math.multiplyExact(x, y) with BigInteger fallback. */
+            /* Math.multiplyExact(x, y) with BigInteger fallback, but without the division. */
             long r = x * y;
-            long ax = Math.abs(x);
-            long ay = Math.abs(y);
-            if (((ax | ay) >>> 31 != 0)) {
-                // Some bits greater than 2^31 that might cause overflow
-                // Check the result using the divide operator
-                // and check for the special case of Long.MIN_VALUE * -1
-                if (((y != 0) && (r / y != x)) ||
-                                (x == Long.MIN_VALUE && y == -1)) {
-                    return factory.createInt(mul(PInt.longToBigInteger(x), PInt.longToBigInteger(y)));
-                }
+            long high = Math.multiplyHigh(x, y);
+            // the product fits into a long iff the high word is just the sign extension of r
+            if (high != (r >> 63)) {
+                return factory.createInt(PInt.int128ToBigInteger(high, r));
             }
             return r;
         }
@@ -1101,21 +1110,24 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = {"right != 0", "right != 1"})
-        static PInt doPIntLong(PInt left, long right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(mul(left.getValue(), PInt.longToBigInteger(right)));
+        static Object doPIntLong(PInt left, long right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, mul(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization(guards = {"left != 0", "left != 1"})
-        PInt doPIntLong(long left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(mul(PInt.longToBigInteger(left), right.getValue()));
+        static Object doPIntLong(long left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, mul(PInt.longToBigInteger(left), right.getValue()));
         }
 
         @Specialization
-        static PInt doPIntPInt(PInt left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(mul(left.getValue(), right.getValue()));
+        static Object doPIntPInt(PInt left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, mul(left.getValue(), right.getValue()));
         }
 
         @TruffleBoundary
@@ -1914,37 +1926,37 @@ public final class IntBuiltins extends PythonBuiltins {
         @Specialization
         static Object doIPi(int left, PInt right,
                         @Bind("this") Node inliningTarget,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            return doHugeShift(inliningTarget, PInt.longToBigInteger(left), right, factory, raiseNode);
+            return doHugeShift(inliningTarget, PInt.longToBigInteger(left), right, narrow, raiseNode);
         }
 
         @Specialization
         static Object doLPi(long left, PInt right,
                         @Bind("this") Node inliningTarget,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            return doHugeShift(inliningTarget, PInt.longToBigInteger(left), right, factory, raiseNode);
+            return doHugeShift(inliningTarget, PInt.longToBigInteger(left), right, narrow, raiseNode);
         }
 
         @Specialization
-        static PInt doPiI(PInt left, int right,
+        static Object doPiI(PInt left, int right,
                         @Bind("this") Node inliningTarget,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseNegativeShiftCount(inliningTarget, right < 0, raiseNode);
-            return factory.createInt(op(left.getValue(), right));
+            return narrow.execute(inliningTarget, op(left.getValue(), right));
         }
 
         @Specialization
         static Object doPiL(PInt left, long right,
                         @Bind("this") Node inliningTarget,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
             raiseNegativeShiftCount(inliningTarget, right < 0, raiseNode);
             int rightI = (int) right;
             if (rightI == right) {
-                return factory.createInt(op(left.getValue(), rightI));
+                return narrow.execute(inliningTarget, op(left.getValue(), rightI));
             }
             // right is >= 2**31, BigInteger's bitLength is at most 2**31-1
             // therefore the result of shifting right is just the sign bit
@@ -1954,9 +1966,9 @@ public final class IntBuiltins extends PythonBuiltins {
         @Specialization
         static Object doPInt(PInt left, PInt right,
                         @Bind("this") Node inliningTarget,
-                        @Shared @Cached PythonObjectFactory factory,
+                        @Shared @Cached NarrowBigIntegerNode narrow,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            return doHugeShift(inliningTarget, left.getValue(), right, factory, raiseNode);
+            return doHugeShift(inliningTarget, left.getValue(), right, narrow, raiseNode);
         }
 
         private static void raiseNegativeShiftCount(Node inliningTarget, boolean cond, PRaiseNode.Lazy raiseNode) {
@@ -1971,10 +1983,10 @@ public final class IntBuiltins extends PythonBuiltins {
             return PNotImplemented.NOT_IMPLEMENTED;
         }
 
-        private static Object doHugeShift(Node inliningTarget, BigInteger left, PInt right, PythonObjectFactory factory, PRaiseNode.Lazy raiseNode) {
+        private static Object doHugeShift(Node inliningTarget, BigInteger left, PInt right, NarrowBigIntegerNode narrow, PRaiseNode.Lazy raiseNode) {
             raiseNegativeShiftCount(inliningTarget, !right.isZeroOrPositive(), raiseNode);
             try {
-                return factory.createInt(op(left, right.intValueExact()));
+                return narrow.execute(inliningTarget, op(left, right.intValueExact()));
             } catch (OverflowException e) {
                 // right is >= 2**31, BigInteger's bitLength is at most 2**31-1
                 // therefore the result of shifting right is just the sign bit
@@ -2068,21 +2080,24 @@ public final class IntBuiltins extends PythonBuiltins {
         }
 
         @Specialization
-        PInt doPInt(long left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(PInt.longToBigInteger(left), right.getValue()));
+        Object doPInt(long left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(PInt.longToBigInteger(left), right.getValue()));
         }
 
         @Specialization
-        PInt doPInt(PInt left, long right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(left.getValue(), PInt.longToBigInteger(right)));
+        Object doPInt(PInt left, long right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(left.getValue(), PInt.longToBigInteger(right)));
         }
 
         @Specialization
-        PInt doPInt(PInt left, PInt right,
-                        @Shared @Cached PythonObjectFactory factory) {
-            return factory.createInt(op(left.getValue(), right.getValue()));
+        Object doPInt(PInt left, PInt right,
+                        @Bind("this") Node inliningTarget,
+                        @Shared @Cached NarrowBigIntegerNode narrow) {
+            return narrow.execute(inliningTarget, op(left.getValue(), right.getValue()));
         }
 
         @SuppressWarnings("unused")
@@ -3031,45 +3046,39 @@ public final class IntBuiltins extends PythonBuiltins {
         // boolean's __str__ and not int's __str__ (that specialization is inherited)
         @Specialization(guards = "!formatString.isEmpty()")
         static TruffleString formatB(boolean self, TruffleString formatString,
-                        @Bind("this") Node inliningTarget,
-                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            return formatI(self ? 1 : 0, formatString, inliningTarget, raiseNode);
+                        @Bind("this") Node inliningTarget) {
+            return formatI(self ? 1 : 0, formatString, inliningTarget);
         }
 
         @Specialization(guards = "!formatString.isEmpty()")
         static TruffleString formatI(int self, TruffleString formatString,
-                        @Bind("this") Node inliningTarget,
-                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+                        @Bind("this") Node inliningTarget) {
             Spec spec = getSpec(formatString, inliningTarget);
             if (isDoubleSpec(spec)) {
                 return formatDouble(spec, self, inliningTarget);
             }
-            validateIntegerSpec(inliningTarget, raiseNode, spec);
-            return formatInt(self, spec, inliningTarget);
+            return formatInt(self, validateForInt(spec, inliningTarget), inliningTarget);
         }
 
         @Specialization(guards = "!formatString.isEmpty()")
         static TruffleString formatL(VirtualFrame frame, long self, TruffleString formatString,
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached PyNumberFloatNode floatNode,
-                        @Cached PythonObjectFactory factory,
-                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            return formatPI(frame, factory.createInt(self), formatString, inliningTarget, floatNode, raiseNode);
+                        @Cached PythonObjectFactory factory) {
+            return formatPI(frame, factory.createInt(self), formatString, inliningTarget, floatNode);
         }
 
         @Specialization(guards = "!formatString.isEmpty()")
         static TruffleString formatPI(VirtualFrame frame, PInt self, TruffleString formatString,
                         @Bind("this") Node inliningTarget,
-                        @Shared @Cached PyNumberFloatNode floatNode,
-                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+                        @Shared @Cached PyNumberFloatNode floatNode) {
             Spec spec = getSpec(formatString, inliningTarget);
             if (isDoubleSpec(spec)) {
                 // lazy init of floatNode serves as branch profile
                 double doubleVal = asDouble(frame, inliningTarget, floatNode, self);
                 return formatDouble(spec, doubleVal, inliningTarget);
             }
-            validateIntegerSpec(inliningTarget, raiseNode, spec);
-            return formatPInt(self, spec, inliningTarget);
+            return formatPInt(self, validateForInt(spec, inliningTarget), inliningTarget);
         }
 
         private static double asDouble(VirtualFrame frame, Node inliningTarget, PyNumberFloatNode floatNode, Object self) {
@@ -3081,12 +3090,6 @@ public final class IntBuiltins extends PythonBuiltins {
             return InternalFormat.fromText(formatString, 'd', '>', raisingNode);
         }
 
-        private static boolean isDoubleSpec(Spec spec) {
-            return spec.type == 'e' || spec.type == 'E' || spec.type == 'f' || //
-                            spec.type == 'F' || spec.type == 'g' || //
-                            spec.type == 'G' || spec.type == '%';
-        }
-
         @TruffleBoundary
         private static TruffleString formatDouble(Spec spec, double value, Node raisingNode) {
             FloatFormatter formatter = new FloatFormatter(spec, raisingNode);
@@ -3107,19 +3110,6 @@ public final class IntBuiltins extends PythonBuiltins {
             formatter.format(self.getValue());
             return formatter.pad().getResult();
         }
-
-        private static void validateIntegerSpec(Node inliningTarget, PRaiseNode.Lazy raiseNode, Spec spec) {
-            if (Spec.specified(spec.precision)) {
-                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.PRECISION_NOT_ALLOWED_FOR_INT);
-            }
-            if (spec.type == 'c') {
-                if (Spec.specified(spec.sign)) {
-                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.SIGN_NOT_ALLOWED_WITH_C_FOR_INT);
-                } else if (spec.alternate) {
-                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.ALTERNATE_NOT_ALLOWED_WITH_C_FOR_INT);
-                }
-            }
-        }
     }
 
     @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
@@ -384,6 +384,81 @@ public final class PInt extends PythonBuiltinObject {
         return BigInteger.valueOf(n).add(BigInteger.ONE.shiftLeft(Long.SIZE));
     }
 
+    /**
+     * Creates the {@link BigInteger} for the 128-bit two's complement value {@code high:low}, e.g.,
+     * the full product computed by {@link Math#multiplyHigh} and a plain multiplication.
+     */
+    @TruffleBoundary
+    public static BigInteger int128ToBigInteger(long high, long low) {
+        byte[] bytes = new byte[2 * Long.BYTES];
+        for (int i = 0; i < Long.BYTES; i++) {
+            bytes[i] = (byte) (high >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+            bytes[Long.BYTES + i] = (byte) (low >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Number of digits below which {@link #parseBigInteger} uses the {@link BigInteger}
+     * constructor directly.
+     */
+    private static final int PARSE_RECURSION_THRESHOLD = 1000;
+
+    /**
+     * Parses a string of digits in the given radix, with an optional leading sign. The
+     * {@link BigInteger#BigInteger(String, int)} constructor takes quadratic time in the number of
+     * digits, which makes parsing strings with millions of digits impractical. Longer strings are
+     * therefore split into a high and a low part that are parsed recursively and combined with one
+     * multiplication by a power of the radix. The low parts always have
+     * {@code PARSE_RECURSION_THRESHOLD * 2^k} digits, so the powers are computed once by repeated
+     * squaring, and the whole conversion profits from the subquadratic multiplication of
+     * {@link BigInteger}.
+     *
+     * @throws NumberFormatException if the string is not a valid number in the given radix
+     */
+    @TruffleBoundary
+    public static BigInteger parseBigInteger(String digits, int radix) {
+        int length = digits.length();
+        if (length <= PARSE_RECURSION_THRESHOLD) {
+            return new BigInteger(digits, radix);
+        }
+        char first = digits.charAt(0);
+        int start = first == '-' || first == '+' ? 1 : 0;
+        BigInteger[] powers = new BigInteger[32 - Integer.numberOfLeadingZeros((length - start) / PARSE_RECURSION_THRESHOLD)];
+        BigInteger result = parseBigInteger(digits, start, length, radix, powers);
+        return first == '-' ? result.negate() : result;
+    }
+
+    private static BigInteger parseBigInteger(String digits, int start, int end, int radix, BigInteger[] powers) {
+        int length = end - start;
+        if (length <= PARSE_RECURSION_THRESHOLD) {
+            if (length > 0 && (digits.charAt(start) == '-' || digits.charAt(start) == '+')) {
+                // the constructor would accept a sign in the middle of the digits
+                throw new NumberFormatException("Illegal embedded sign character");
+            }
+            return new BigInteger(digits.substring(start, end), radix);
+        }
+        // the largest k such that PARSE_RECURSION_THRESHOLD * 2^k < length
+        int k = 31 - Integer.numberOfLeadingZeros((length - 1) / PARSE_RECURSION_THRESHOLD);
+        int lowLength = PARSE_RECURSION_THRESHOLD << k;
+        BigInteger high = parseBigInteger(digits, start, end - lowLength, radix, powers);
+        BigInteger low = parseBigInteger(digits, end - lowLength, end, radix, powers);
+        if (Integer.bitCount(radix) == 1) {
+            return high.shiftLeft(lowLength * Integer.numberOfTrailingZeros(radix)).or(low);
+        }
+        return high.multiply(radixPower(radix, k, powers)).add(low);
+    }
+
+    /**
+     * Returns {@code radix^(PARSE_RECURSION_THRESHOLD * 2^k)}.
+     */
+    private static BigInteger radixPower(int radix, int k, BigInteger[] powers) {
+        if (powers[k] == null) {
+            powers[k] = k == 0 ? BigInteger.valueOf(radix).pow(PARSE_RECURSION_THRESHOLD) : radixPower(radix, k - 1, powers).pow(2);
+        }
+        return powers[k];
+    }
+
     public double doubleValue() {
         return doubleValue(value);
     }
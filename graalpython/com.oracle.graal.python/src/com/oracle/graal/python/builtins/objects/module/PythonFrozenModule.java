@@ -76,6 +76,14 @@ public final class PythonFrozenModule {
         this.isPackage = isPackage;
     }
 
+    /**
+     * Creates a frozen module of the application. Like in CPython, only stdlib modules have an
+     * original name, so that the frozen importer does not look for their sources in the stdlib.
+     */
+    public static PythonFrozenModule createApplicationModule(byte[] code, boolean isPackage) {
+        return new PythonFrozenModule(null, code, isPackage);
+    }
+
     public PythonFrozenModule asPackage(boolean flag) {
         if (flag == isPackage) {
             return this;
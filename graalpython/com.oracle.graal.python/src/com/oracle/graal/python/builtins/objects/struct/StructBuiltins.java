@@ -41,6 +41,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.runtime.IndirectCallData;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
@@ -54,34 +55,6 @@ import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.PStruct)
 public class StructBuiltins extends PythonBuiltins {
-    static void packInternal(VirtualFrame frame, PStruct self, StructNodes.PackValueNode packValueNode, Object[] args, byte[] buffer, int offset) {
-        assert self.getSize() <= buffer.length - offset;
-        FormatCode[] codes = self.getCodes();
-        int pos = 0;
-        for (FormatCode code : codes) {
-            int buffer_offset = offset + code.offset;
-            for (int j = 0; j < code.repeat; j++, pos++) {
-                packValueNode.execute(frame, code, self.formatAlignment, args[pos], buffer, buffer_offset);
-                buffer_offset += code.size;
-            }
-        }
-    }
-
-    public static Object[] unpackInternal(PStruct self, StructNodes.UnpackValueNode unpackValueNode, byte[] bytes, int offset) {
-        Object[] values = new Object[self.getLen()];
-        FormatCode[] codes = self.getCodes();
-        int pos = 0;
-        for (FormatCode code : codes) {
-            int buffer_offset = offset + code.offset;
-            for (int j = 0; j < code.repeat; j++, pos++) {
-                Object value = unpackValueNode.execute(code, self.formatAlignment, bytes, buffer_offset);
-                values[pos] = value;
-                buffer_offset += code.size;
-            }
-        }
-        return values;
-    }
-
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return StructBuiltinsFactory.getFactories();
@@ -101,7 +74,7 @@ public class StructBuiltins extends PythonBuiltins {
 
         @Specialization
         Object pack(VirtualFrame frame, PStruct self, Object[] args, PKeyword[] keywords,
-                        @Cached StructNodes.PackValueNode packValueNode,
+                        @Cached StructNodes.PackStructNode packStructNode,
                         @Cached PythonObjectFactory factory) {
             if (keywords.length != 0) {
                 throw raise(TypeError, S_TAKES_NO_KEYWORD_ARGS, "pack()");
@@ -110,7 +83,7 @@ public class StructBuiltins extends PythonBuiltins {
                 throw raise(StructError, STRUCT_PACK_EXPECTED_N_ITEMS_GOT_K, self.getLen(), args.length);
             }
             byte[] bytes = new byte[self.getSize()];
-            packInternal(frame, self, packValueNode, args, bytes, 0);
+            packStructNode.execute(frame, self, args, bytes, 0);
             return factory.createBytes(bytes);
         }
     }
@@ -132,7 +105,7 @@ public class StructBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
-                        @Cached StructNodes.PackValueNode packValueNode,
+                        @Cached StructNodes.PackStructNode packStructNode,
                         @Cached PRaiseNode.Lazy raiseNode) {
             try {
                 final long size = self.getUnsignedSize();
@@ -173,7 +146,7 @@ public class StructBuiltins extends PythonBuiltins {
                 }
 
                 // TODO: GR-54860 use buffer API in the packing process
-                packInternal(frame, self, packValueNode, args, bytes, directWrite ? bufferOffset : 0);
+                packStructNode.execute(frame, self, args, bytes, directWrite ? bufferOffset : 0);
                 if (!directWrite) {
                     bufferLib.writeFromByteArray(buffer, bufferOffset, bytes, 0, bytes.length);
                 }
@@ -205,7 +178,7 @@ public class StructBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
-                        @Cached StructNodes.UnpackValueNode unpackValueNode,
+                        @Cached StructNodes.UnpackStructNode unpackStructNode,
                         @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode.Lazy raiseNode) {
             try {
@@ -214,7 +187,7 @@ public class StructBuiltins extends PythonBuiltins {
                 if (bytesLen != self.getSize()) {
                     throw raiseNode.get(inliningTarget).raise(StructError, UNPACK_REQ_A_BUFFER_OF_N_BYTES, self.getSize());
                 }
-                return factory.createTuple(unpackInternal(self, unpackValueNode, bytes, 0));
+                return factory.createTuple(unpackStructNode.execute(self, bytes, 0));
             } finally {
                 bufferLib.release(buffer, frame, indirectCallData);
             }
@@ -259,6 +232,45 @@ public class StructBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "unpack_columns", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"}, forceSplitDirectCalls = true)
+    @ArgumentClinic(name = "buffer", conversion = ArgumentClinic.ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    public abstract static class StructUnpackColumnsNode extends PythonBinaryClinicBuiltinNode {
+        public abstract Object execute(VirtualFrame frame, PStruct self, Object buffer);
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructBuiltinsClinicProviders.StructUnpackColumnsNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        static Object unpackColumns(VirtualFrame frame, PStruct self, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            try {
+                if (self.getSize() == 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, STRUCT_ITER_CANNOT_UNPACK_FROM_STRUCT_OF_SIZE_0);
+                }
+                int bufferLen = bufferLib.getBufferLength(buffer);
+                if (bufferLen % self.getSize() != 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, STRUCT_ITER_UNPACK_REQ_A_BUFFER_OF_A_MUL_OF_BYTES, self.getSize());
+                }
+                byte[] bytes = bufferLib.getInternalOrCopiedByteArray(buffer);
+                SequenceStorage[] storages = StructNodes.unpackColumns(self, bytes, 0, bufferLen / self.getSize());
+                Object[] columns = new Object[storages.length];
+                for (int i = 0; i < storages.length; i++) {
+                    columns[i] = factory.createList(storages[i]);
+                }
+                return factory.createTuple(columns);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+    }
+
     @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer", "offset"}, forceSplitDirectCalls = true)
     @ArgumentClinic(name = "buffer", conversion = ArgumentClinic.ClinicConversion.ReadableBuffer)
     @ArgumentClinic(name = "offset", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0")
@@ -276,7 +288,7 @@ public class StructBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
                         @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
-                        @Cached StructNodes.UnpackValueNode unpackValueNode,
+                        @Cached StructNodes.UnpackStructNode unpackStructNode,
                         @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode.Lazy raiseNode) {
             try {
@@ -300,7 +312,7 @@ public class StructBuiltins extends PythonBuiltins {
                     throw raiseNode.get(inliningTarget).raise(StructError, STRUCT_UNPACK_FROM_REQ_AT_LEAST_N_BYTES, size + bufferOffset, size, bufferOffset, bytesLen);
                 }
 
-                return factory.createTuple(unpackInternal(self, unpackValueNode, bytes, bufferOffset));
+                return factory.createTuple(unpackStructNode.execute(self, bytes, bufferOffset));
             } finally {
                 bufferLib.release(buffer, frame, indirectCallData);
             }
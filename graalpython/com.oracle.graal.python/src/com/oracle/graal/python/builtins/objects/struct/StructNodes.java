@@ -45,6 +45,12 @@ import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObject
 import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.NumericSupport;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
@@ -54,9 +60,11 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateInline;
 import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NeverDefault;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.InlinedConditionProfile;
 import com.oracle.truffle.api.profiles.PrimitiveValueProfile;
@@ -461,8 +469,12 @@ public final class StructNodes {
                         @Bind("this") Node inliningTarget,
                         @Cached(value = "createIdentityProfile()", inline = false) ValueProfile formatProfile,
                         @Shared @Cached PythonObjectFactory.Lazy factory) {
+            return factory.get(inliningTarget).createBytes(getBytes(formatProfile.profile(formatCode.formatDef.format), formatCode, buffer, offset));
+        }
+
+        static byte[] getBytes(char format, FormatCode formatCode, byte[] buffer, int offset) {
             byte[] bytes;
-            switch (formatProfile.profile(formatCode.formatDef.format)) {
+            switch (format) {
                 case FMT_CHAR:
                     bytes = new byte[]{buffer[offset]};
                     break;
@@ -479,7 +491,7 @@ public final class StructNodes {
                     bytes = new byte[n];
                     PythonUtils.arraycopy(buffer, offset + 1, bytes, 0, n);
             }
-            return factory.get(inliningTarget).createBytes(bytes);
+            return bytes;
         }
 
         @Specialization(guards = "!isSupportedFormat(formatCode)")
@@ -490,4 +502,191 @@ public final class StructNodes {
         }
     }
 
+
+    // ------------------------------------------------------------------------------------------------------------
+    //
+    // whole struct nodes
+    //
+    // ------------------------------------------------------------------------------------------------------------
+    /**
+     * Packs all values of a struct. For the formats seen at a call site, the format codes are
+     * cached and the loop over them is unrolled, so that every code gets its own
+     * {@link PackValueNode} that only ever sees one format character.
+     */
+    @GenerateInline(false)
+    public abstract static class PackStructNode extends PNodeWithContext {
+        static final int MAX_UNROLLED_CODES = 32;
+
+        public abstract void execute(VirtualFrame frame, PStruct struct, Object[] args, byte[] buffer, int offset);
+
+        @Specialization(guards = {"struct.getCodes() == cachedCodes", "cachedCodes.length <= MAX_UNROLLED_CODES"}, limit = "3")
+        @ExplodeLoop
+        static void packCached(VirtualFrame frame, @SuppressWarnings("unused") PStruct struct, Object[] args, byte[] buffer, int offset,
+                        @Cached(value = "struct.getCodes()", dimensions = 1) FormatCode[] cachedCodes,
+                        @Cached("struct.formatAlignment") FormatAlignment cachedAlignment,
+                        @Cached("createPackNodes(cachedCodes)") PackValueNode[] packNodes) {
+            int pos = 0;
+            for (int i = 0; i < cachedCodes.length; i++) {
+                pos = packCode(frame, cachedCodes[i], cachedAlignment, packNodes[i], args, pos, buffer, offset);
+            }
+        }
+
+        @Specialization(replaces = "packCached")
+        static void packGeneric(VirtualFrame frame, PStruct struct, Object[] args, byte[] buffer, int offset,
+                        @Cached PackValueNode packValueNode) {
+            int pos = 0;
+            for (FormatCode code : struct.getCodes()) {
+                pos = packCode(frame, code, struct.formatAlignment, packValueNode, args, pos, buffer, offset);
+            }
+        }
+
+        @NeverDefault
+        static PackValueNode[] createPackNodes(FormatCode[] codes) {
+            PackValueNode[] nodes = new PackValueNode[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                nodes[i] = StructNodesFactory.PackValueNodeGen.create();
+            }
+            return nodes;
+        }
+
+        private static int packCode(VirtualFrame frame, FormatCode code, FormatAlignment formatAlignment, PackValueNode packValueNode, Object[] args, int pos, byte[] buffer, int offset) {
+            int bufferOffset = offset + code.offset;
+            int argIndex = pos;
+            for (int j = 0; j < code.repeat; j++, argIndex++) {
+                packValueNode.execute(frame, code, formatAlignment, args[argIndex], buffer, bufferOffset);
+                bufferOffset += code.size;
+            }
+            return argIndex;
+        }
+    }
+
+    /**
+     * Unpacks all values of a struct, with the format codes cached like in {@link PackStructNode}.
+     */
+    @GenerateInline(false)
+    public abstract static class UnpackStructNode extends PNodeWithContext {
+        static final int MAX_UNROLLED_CODES = PackStructNode.MAX_UNROLLED_CODES;
+
+        public abstract Object[] execute(PStruct struct, byte[] buffer, int offset);
+
+        @Specialization(guards = {"struct.getCodes() == cachedCodes", "cachedCodes.length <= MAX_UNROLLED_CODES"}, limit = "3")
+        @ExplodeLoop
+        static Object[] unpackCached(@SuppressWarnings("unused") PStruct struct, byte[] buffer, int offset,
+                        @Cached(value = "struct.getCodes()", dimensions = 1) FormatCode[] cachedCodes,
+                        @Cached("struct.formatAlignment") FormatAlignment cachedAlignment,
+                        @Cached("struct.getLen()") int cachedLen,
+                        @Cached("createUnpackNodes(cachedCodes)") UnpackValueNode[] unpackNodes) {
+            Object[] values = new Object[cachedLen];
+            int pos = 0;
+            for (int i = 0; i < cachedCodes.length; i++) {
+                pos = unpackCode(cachedCodes[i], cachedAlignment, unpackNodes[i], buffer, offset, values, pos);
+            }
+            return values;
+        }
+
+        @Specialization(replaces = "unpackCached")
+        static Object[] unpackGeneric(PStruct struct, byte[] buffer, int offset,
+                        @Cached UnpackValueNode unpackValueNode) {
+            Object[] values = new Object[struct.getLen()];
+            int pos = 0;
+            for (FormatCode code : struct.getCodes()) {
+                pos = unpackCode(code, struct.formatAlignment, unpackValueNode, buffer, offset, values, pos);
+            }
+            return values;
+        }
+
+        @NeverDefault
+        static UnpackValueNode[] createUnpackNodes(FormatCode[] codes) {
+            UnpackValueNode[] nodes = new UnpackValueNode[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                nodes[i] = StructNodesFactory.UnpackValueNodeGen.create();
+            }
+            return nodes;
+        }
+
+        private static int unpackCode(FormatCode code, FormatAlignment formatAlignment, UnpackValueNode unpackValueNode, byte[] buffer, int offset, Object[] values, int pos) {
+            int bufferOffset = offset + code.offset;
+            int valueIndex = pos;
+            for (int j = 0; j < code.repeat; j++, valueIndex++) {
+                values[valueIndex] = unpackValueNode.execute(code, formatAlignment, buffer, bufferOffset);
+                bufferOffset += code.size;
+            }
+            return valueIndex;
+        }
+    }
+
+    /**
+     * Unpacks {@code count} consecutive structs into one sequence storage per value. Integers are
+     * stored as {@code int}s or {@code long}s, floats as {@code double}s and booleans as
+     * {@code boolean}s. Only unsigned 64-bit values that do not fit into a {@code long} force a
+     * column to hold objects.
+     */
+    @TruffleBoundary
+    public static SequenceStorage[] unpackColumns(PStruct struct, byte[] buffer, int offset, int count) {
+        SequenceStorage[] columns = new SequenceStorage[struct.getLen()];
+        NumericSupport numericSupport = StructBaseNode.getNumericSupport(struct.formatAlignment);
+        int pos = 0;
+        for (FormatCode code : struct.getCodes()) {
+            for (int j = 0; j < code.repeat; j++, pos++) {
+                columns[pos] = unpackColumn(code, numericSupport, buffer, offset + code.offset + j * code.size, struct.getSize(), count);
+            }
+        }
+        return columns;
+    }
+
+    private static SequenceStorage unpackColumn(FormatCode code, NumericSupport numericSupport, byte[] buffer, int start, int stride, int count) {
+        int numBytes = code.numBytes();
+        if (StructBaseNode.isFmtInteger(code) || StructBaseNode.isFmtVoidPtr(code)) {
+            boolean unsigned = code.isUnsigned() || StructBaseNode.isFmtVoidPtr(code);
+            if (numBytes < Integer.BYTES || (numBytes == Integer.BYTES && !unsigned)) {
+                int[] values = new int[count];
+                for (int i = 0, offset = start; i < count; i++, offset += stride) {
+                    long value = unsigned ? numericSupport.getLongUnsigned(buffer, offset, numBytes) : StructBaseNode.handleSign(code, numericSupport.getLong(buffer, offset, numBytes));
+                    values[i] = (int) value;
+                }
+                return new IntSequenceStorage(values);
+            }
+            long[] values = new long[count];
+            boolean overflow = false;
+            for (int i = 0, offset = start; i < count; i++, offset += stride) {
+                long value;
+                if (unsigned) {
+                    value = numericSupport.getLongUnsigned(buffer, offset, numBytes);
+                    overflow |= value < 0;
+                } else {
+                    value = StructBaseNode.handleSign(code, numericSupport.getLong(buffer, offset, numBytes));
+                }
+                values[i] = value;
+            }
+            if (overflow) {
+                PythonObjectFactory factory = PythonObjectFactory.getUncached();
+                Object[] objects = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    objects[i] = values[i] < 0 ? factory.createInt(StructBaseNode.getAsUnsignedBigInt(values[i])) : values[i];
+                }
+                return new ObjectSequenceStorage(objects);
+            }
+            return new LongSequenceStorage(values);
+        } else if (StructBaseNode.isFmtFloat(code)) {
+            double[] values = new double[count];
+            for (int i = 0, offset = start; i < count; i++, offset += stride) {
+                values[i] = numericSupport.getDouble(buffer, offset, numBytes);
+            }
+            return new DoubleSequenceStorage(values);
+        } else if (StructBaseNode.isFmtBoolean(code)) {
+            boolean[] values = new boolean[count];
+            for (int i = 0, offset = start; i < count; i++, offset += stride) {
+                values[i] = buffer[offset] != 0;
+            }
+            return new BoolSequenceStorage(values);
+        } else {
+            assert StructBaseNode.isFmtBytes(code);
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object[] values = new Object[count];
+            for (int i = 0, offset = start; i < count; i++, offset += stride) {
+                values[i] = factory.createBytes(UnpackValueNode.getBytes(code.formatDef.format, code, buffer, offset));
+            }
+            return new ObjectSequenceStorage(values);
+        }
+    }
 }
@@ -6,7 +6,6 @@
 package com.oracle.graal.python.builtins.objects.struct;
 
 import static com.oracle.graal.python.nodes.ErrorMessages.CANNOT_CREATE_P_OBJECTS;
-import static com.oracle.graal.python.builtins.objects.struct.StructBuiltins.unpackInternal;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ITER__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LENGTH_HINT__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEW__;
@@ -89,7 +88,7 @@ public class StructUnpackIteratorBuiltins extends PythonBuiltins {
         static Object next(VirtualFrame frame, PStructUnpackIterator self,
                         @Bind("this") Node inliningTarget,
                         @Cached("createFor(this)") IndirectCallData indirectCallData,
-                        @Cached StructNodes.UnpackValueNode unpackValueNode,
+                        @Cached StructNodes.UnpackStructNode unpackStructNode,
                         @CachedLibrary("self.getBuffer()") PythonBufferAccessLibrary bufferLib,
                         @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode.Lazy raiseNode) {
@@ -117,7 +116,7 @@ public class StructUnpackIteratorBuiltins extends PythonBuiltins {
             }
 
             // TODO: GR-54860 handle buffers directly in unpack
-            Object result = factory.createTuple(unpackInternal(struct, unpackValueNode, bytes, offset));
+            Object result = factory.createTuple(unpackStructNode.execute(struct, bytes, offset));
             self.index += struct.getSize();
             return result;
         }
@@ -392,6 +392,11 @@ public final class CodeUnit {
                         }
                         break;
                     }
+                    case BUILD_FORMATTED_STRING: {
+                        line[4] = String.format("% 2d", Byte.toUnsignedInt(followingArgs[0]));
+                        line[5] = formattedStringToString((TruffleString[]) constants[oparg]);
+                        break;
+                    }
                     case CALL_METHOD: {
                         line[4] = String.format("% 2d", oparg);
                         break;
@@ -500,6 +505,17 @@ public final class CodeUnit {
         return sb.toString();
     }
 
+    private static String formattedStringToString(TruffleString[] literals) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < literals.length; i++) {
+            if (i > 0) {
+                sb.append("{}");
+            }
+            sb.append(literals[i].toJavaStringUncached().replace("{", "{{").replace("}", "}}"));
+        }
+        return sb.toString();
+    }
+
     private static String collectionKindToString(int oparg) {
         switch (CollectionBits.collectionKind(oparg)) {
             case CollectionBits.KIND_LIST:
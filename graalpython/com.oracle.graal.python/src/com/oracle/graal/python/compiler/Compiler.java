@@ -44,6 +44,7 @@ import static com.oracle.graal.python.compiler.OpCodes.ADD_TO_COLLECTION;
 import static com.oracle.graal.python.compiler.OpCodes.ASYNCGEN_WRAP;
 import static com.oracle.graal.python.compiler.OpCodes.BINARY_OP;
 import static com.oracle.graal.python.compiler.OpCodes.BINARY_SUBSCR;
+import static com.oracle.graal.python.compiler.OpCodes.BUILD_FORMATTED_STRING;
 import static com.oracle.graal.python.compiler.OpCodes.BUILD_SLICE;
 import static com.oracle.graal.python.compiler.OpCodes.CALL_COMPREHENSION;
 import static com.oracle.graal.python.compiler.OpCodes.CALL_FUNCTION;
@@ -148,6 +149,7 @@ import static com.oracle.graal.python.compiler.OpCodes.UNPACK_SEQUENCE;
 import static com.oracle.graal.python.compiler.OpCodes.UNWRAP_EXC;
 import static com.oracle.graal.python.compiler.OpCodes.YIELD_VALUE;
 import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.truffle.api.CompilerDirectives.shouldNotReachHere;
 
@@ -206,7 +208,7 @@ import com.oracle.truffle.api.strings.TruffleString;
  * Compiler for bytecode interpreter.
  */
 public class Compiler implements SSTreeVisitor<Void> {
-    public static final int BYTECODE_VERSION = 29;
+    public static final int BYTECODE_VERSION = 31;
 
     private final ErrorCallback errorCallback;
 
@@ -1474,17 +1476,61 @@ public class Compiler implements SSTreeVisitor<Void> {
     public Void visit(ExprTy.JoinedStr node) {
         SourceRange savedLocation = setLocation(node);
         try {
-            // TODO add optimized op for small chains
-            addOp(LOAD_STRING, addObject(unit.constants, T_EMPTY_STRING));
-            addOpName(LOAD_METHOD, unit.names, "join");
-            collectIntoArray(node.values, CollectionBits.KIND_LIST);
-            addOp(CALL_METHOD, 1);
+            if (!tryBuildFormattedString(node)) {
+                addOp(LOAD_STRING, addObject(unit.constants, T_EMPTY_STRING));
+                addOpName(LOAD_METHOD, unit.names, "join");
+                collectIntoArray(node.values, CollectionBits.KIND_LIST);
+                addOp(CALL_METHOD, 1);
+            }
             return null;
         } finally {
             setLocation(savedLocation);
         }
     }
 
+    /**
+     * Emits {@link OpCodes#BUILD_FORMATTED_STRING} for the concatenation of the parts of the
+     * f-string. Each value is formatted by its own {@link OpCodes#FORMAT_VALUE} right after it is
+     * evaluated, as in CPython. Only the concatenation is fused and the literal parts become a single
+     * constant. An f-string without any values is just loaded as a constant string.
+     */
+    private boolean tryBuildFormattedString(ExprTy.JoinedStr node) {
+        List<TruffleString> literals = new ArrayList<>();
+        List<ExprTy.FormattedValue> values = new ArrayList<>();
+        TruffleString literal = T_EMPTY_STRING;
+        for (ExprTy part : node.values) {
+            if (part instanceof ExprTy.Constant constant && constant.value.kind == ConstantValue.Kind.RAW) {
+                literal = concatStrings(literal, constant.value.getRaw(TruffleString.class));
+            } else if (part instanceof ExprTy.FormattedValue formattedValue) {
+                literals.add(literal);
+                values.add(formattedValue);
+                literal = T_EMPTY_STRING;
+            } else {
+                return false;
+            }
+        }
+        if (values.isEmpty()) {
+            addOp(LOAD_STRING, addObject(unit.constants, literal));
+            return true;
+        }
+        if (values.size() > 0xFF) {
+            return false;
+        }
+        literals.add(literal);
+        for (ExprTy.FormattedValue value : values) {
+            value.accept(this);
+        }
+        addOp(BUILD_FORMATTED_STRING, addObject(unit.constants, literals.toArray(new TruffleString[0])), new byte[]{(byte) values.size()});
+        return true;
+    }
+
+    private static TruffleString concatStrings(TruffleString left, TruffleString right) {
+        if (left.isEmpty()) {
+            return right;
+        }
+        return TruffleString.ConcatNode.getUncached().execute(left, right, TS_ENCODING, false);
+    }
+
     @Override
     public Void visit(ExprTy.Lambda node) {
         SourceRange savedLocation = setLocation(node);
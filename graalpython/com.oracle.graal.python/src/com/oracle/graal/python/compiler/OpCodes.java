@@ -46,6 +46,7 @@ import com.oracle.graal.python.annotations.GenerateEnumConstants;
 import com.oracle.graal.python.builtins.objects.asyncio.PAsyncGenWrappedValue;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.nodes.bytecode.BuildFormattedStringNode;
 import com.oracle.graal.python.runtime.exception.PException;
 
 /**
@@ -305,6 +306,17 @@ public enum OpCodes {
      * Pushes: the formatted value
      */
     FORMAT_VALUE(1, (oparg, followingArgs, withJump) -> (oparg & FormatOptions.FVS_MASK) == FormatOptions.FVS_HAVE_SPEC ? 2 : 1, 1),
+    /**
+     * Builds the string of an f-string in one step. The first immediate operand is an index to the
+     * constants array that contains the literal parts as a {@code TruffleString[]} (see
+     * {@link BuildFormattedStringNode}), one more than there are values. The second immediate
+     * operand is the number of values.
+     *
+     * Pops: the values already formatted by {@link #FORMAT_VALUE}, the last one first
+     *
+     * Pushes: the built string
+     */
+    BUILD_FORMATTED_STRING(2, (oparg, followingArgs, withJump) -> Byte.toUnsignedInt(followingArgs[0]), 1),
 
     /**
      * Extends the immediate operand of the following instruction by its own operand shifted left by
@@ -164,6 +164,7 @@ public abstract class ErrorMessages {
     public static final TruffleString CAN_ONLY_ASSIGN_NON_EMPTY_TUPLE_TO_P = tsLiteral("can only assign non-empty tuple to %p.__bases__, not ()");
     public static final TruffleString CAN_ONLY_CONCAT_S_NOT_P_TO_S = tsLiteral("can only concatenate %s (not \"%p\") to %s");
     public static final TruffleString CAN_ONLY_JOIN_ITERABLE = tsLiteral("can only join an iterable");
+    public static final TruffleString JOIN_RESULT_TOO_LONG = tsLiteral("join() result is too long for a Python bytes object");
     public static final TruffleString S_CANNOT_BE_NEGATIVE_INTEGER_D = tsLiteral("%s cannot be negative integer (%d)");
     public static final TruffleString S_CANNOT_HAVE_S = tsLiteral("%s cannot have %s");
 
@@ -755,6 +756,7 @@ public abstract class ErrorMessages {
     public static final TruffleString UNKNOWN_OPCODE = tsLiteral("unknown opcode");
     public static final TruffleString UNKNOWN_S_TYPE = tsLiteral("unknown %s type");
     public static final TruffleString UNKNOWN_STORAGE_STRATEGY = tsLiteral("Unknown storage strategy name");
+    public static final TruffleString UNKNOWN_TIMESPEC_VALUE = tsLiteral("Unknown timespec value");
     public static final TruffleString EXPECTED_RBRACE_BEFORE_END_OF_STRING = tsLiteral("expected '}' before end of string");
     public static final TruffleString UNRECOGNIZED_FLAGS = tsLiteral("compile(): unrecognised flags");
     public static final TruffleString UNRECOGNIZED_FORMAT_CHAR = tsLiteral("unrecognized format char in arguments parsing: %c");
@@ -1034,6 +1036,11 @@ public abstract class ErrorMessages {
     public static final TruffleString TOO_MANY_REMAINING_BYTES_TO_BE_STORED = tsLiteral("There are too many remaining bytes to be stored in a bytes object.");
     public static final TruffleString MMAP_CANNOT_MODIFY_READONLY_MEMORY = tsLiteral("mmap can't modify a readonly memory map.");
     public static final TruffleString DATA_OUT_OF_RANGE = tsLiteral("data out of range");
+    public static final TruffleString DATE_VALUE_OUT_OF_RANGE = tsLiteral("date value out of range");
+    public static final TruffleString SAMPLING_PROFILER_NOT_AVAILABLE = tsLiteral("the sampling profiler is not available, because creating threads is not allowed");
+    public static final TruffleString SAMPLING_INTERVAL_MUST_BE_POSITIVE = tsLiteral("sampling interval must be strictly positive");
+    public static final TruffleString NUMBER_OF_FRAMES_MUST_BE_IN_RANGE = tsLiteral("the number of frames must be in range [1; %d]");
+    public static final TruffleString UNKNOWN_SAMPLING_PROFILE_FORMAT = tsLiteral("unknown profile format '%s', expected 'collapsed' or 'jfr'");
 
     // zlib errors
     public static final TruffleString WHILE_FLUSHING = tsLiteral("while flushing");
@@ -1316,6 +1323,9 @@ public abstract class ErrorMessages {
     public static final TruffleString EMPTY_FIELD_RECORD_MUST_BE_QUOTED = tsLiteral("single empty field record must be quoted");
     public static final TruffleString ESCAPE_WITHOUT_ESCAPECHAR = tsLiteral("need to escape, but no escapechar set");
     public static final TruffleString S_MUST_HAVE_WRITE_METHOD = tsLiteral("%s must have \"write\" method");
+    public static final TruffleString EXPECTED_D_FIELDS_IN_LINE_D_SAW_D = tsLiteral("expected %d fields in line %d, saw %d");
+    public static final TruffleString BLOCK_READER_ENCODING_NOT_SUPPORTED = tsLiteral("block parsing supports only utf-8, ascii and latin-1 input, not '%s'");
+    public static final TruffleString S_MUST_BE_ASCII_FOR_BLOCK_PARSING = tsLiteral("\"%s\" must be an ASCII character for block parsing");
 
     // frozen module errors
     public static final TruffleString NO_SUCH_FROZEN_OBJECT = tsLiteral("No such frozen object named %s");
@@ -1501,6 +1511,7 @@ public abstract class ErrorMessages {
     public static final TruffleString NO_RUNNING_EVENT_LOOP = tsLiteral("no running event loop");
     public static final TruffleString CANT_ENTER_TASK_ALREADY_RUNNING = tsLiteral("Cannot enter into task %s while another task %s is being executed.");
     public static final TruffleString TASK_NOT_ENTERED = tsLiteral("Leaving task %s does not match the current task %s.");
+    public static final TruffleString EVENT_LOOP_IS_CLOSED = tsLiteral("Event loop is closed");
     public static final TruffleString ENCODING_NAME_MUST_BE_A_STRING = tsLiteral("encoding name must be a string.");
     public static final TruffleString NO_SUCH_CODEC_IS_SUPPORTED = tsLiteral("no such codec is supported.");
     public static final TruffleString COULDN_T_CONVERT_THE_OBJECT_TO_UNICODE = tsLiteral("couldn't convert the object to unicode.");
@@ -659,6 +659,12 @@ public abstract class PGuards {
         return isBuiltinBytes(object) || isBuiltinByteArray(object);
     }
 
+    public static boolean isBuiltinArray(PArray array) {
+        // arrays keep the builtin class object they were created with, so this is not
+        // isBuiltinImmutableTypeInstance
+        return isKindOfBuiltinClass(array.getInitialPythonClass());
+    }
+
     public static boolean isBuiltinSequence(PythonObject sequence) {
         return isBuiltinList(sequence) || isBuiltinTuple(sequence) || isBuiltinBytesLike(sequence);
     }
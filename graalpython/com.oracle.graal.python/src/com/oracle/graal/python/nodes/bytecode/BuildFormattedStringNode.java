@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.bytecode;
+
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsbCapacity;
+
+import com.oracle.graal.python.compiler.OpCodes;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+
+/**
+ * Implements {@link OpCodes#BUILD_FORMATTED_STRING}. The literal parts of the f-string are the
+ * constant {@code TruffleString[]} {@code {literal_0, literal_1, ..., literal_n}}. The {@code n}
+ * values popped from the stack have already been formatted by {@link OpCodes#FORMAT_VALUE} and are
+ * appended, together with the literals, to a single {@link TruffleStringBuilder}.
+ */
+public final class BuildFormattedStringNode extends PNodeWithContext {
+    /** Rough estimate of the length of a formatted value, used to presize the builder. */
+    private static final int VALUE_LENGTH_ESTIMATE = 8;
+
+    @CompilationFinal(dimensions = 1) private final TruffleString[] literals;
+    @Child private CastToTruffleStringNode castNode = CastToTruffleStringNode.create();
+    @Child private TruffleStringBuilder.AppendStringNode appendNode = TruffleStringBuilder.AppendStringNode.create();
+    @Child private TruffleStringBuilder.ToStringNode toStringNode = TruffleStringBuilder.ToStringNode.create();
+    private final int initialCapacity;
+
+    private BuildFormattedStringNode(TruffleString[] literals) {
+        this.literals = literals;
+        int capacity = tsbCapacity((literals.length - 1) * VALUE_LENGTH_ESTIMATE);
+        for (TruffleString literal : literals) {
+            capacity += literal.byteLength(TS_ENCODING);
+        }
+        initialCapacity = capacity;
+    }
+
+    public static BuildFormattedStringNode create(TruffleString[] literals) {
+        return new BuildFormattedStringNode(literals);
+    }
+
+    @ExplodeLoop
+    public int execute(VirtualFrame frame, int initialStackTop) {
+        int count = literals.length - 1;
+        int stackTop = initialStackTop - count;
+        TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING, initialCapacity);
+        appendLiteral(sb, literals[0]);
+        for (int i = 0; i < count; i++) {
+            int slot = stackTop + 1 + i;
+            // FORMAT_VALUE checks that the result of __format__ is a string
+            appendNode.execute(sb, castNode.castKnownString(castNode, frame.getObject(slot)));
+            frame.setObject(slot, null);
+            appendLiteral(sb, literals[i + 1]);
+        }
+        frame.setObject(++stackTop, toStringNode.execute(sb));
+        return stackTop;
+    }
+
+    private void appendLiteral(TruffleStringBuilder sb, TruffleString literal) {
+        if (!literal.isEmpty()) {
+            appendNode.execute(sb, literal);
+        }
+    }
+}
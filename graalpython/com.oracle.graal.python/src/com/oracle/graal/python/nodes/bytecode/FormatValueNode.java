@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.bytecode;
+
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.modules.BuiltinFunctions.FormatNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.floats.FloatBuiltins;
+import com.oracle.graal.python.compiler.OpCodes;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.runtime.formatting.FloatFormatter;
+import com.oracle.graal.python.runtime.formatting.FormattingUtils;
+import com.oracle.graal.python.runtime.formatting.IntegerFormatter;
+import com.oracle.graal.python.runtime.formatting.InternalFormat;
+import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Formats the (already converted) value of {@link OpCodes#FORMAT_VALUE} like {@code format(value,
+ * spec)}. Builtin strings without a spec are returned as they are, and builtin ints and floats are
+ * formatted directly with the formatters of {@link InternalFormat} instead of looking up and calling
+ * {@code __format__}.
+ */
+@GenerateInline(false) // used in BCI root node
+public abstract class FormatValueNode extends PNodeWithContext {
+    public abstract Object execute(VirtualFrame frame, Object value, Object spec);
+
+    static boolean isNoSpec(Object spec) {
+        return spec == PNone.NO_VALUE || spec instanceof TruffleString ts && ts.isEmpty();
+    }
+
+    @Specialization(guards = "isNoSpec(spec)")
+    static TruffleString doString(TruffleString value, @SuppressWarnings("unused") Object spec) {
+        return value;
+    }
+
+    @Specialization(guards = "isNoSpec(spec)")
+    static TruffleString doInt(int value, @SuppressWarnings("unused") Object spec,
+                    @Shared @Cached TruffleString.FromLongNode fromLongNode) {
+        return fromLongNode.execute(value, TS_ENCODING, false);
+    }
+
+    @Specialization(guards = "isNoSpec(spec)")
+    static TruffleString doLong(long value, @SuppressWarnings("unused") Object spec,
+                    @Shared @Cached TruffleString.FromLongNode fromLongNode) {
+        return fromLongNode.execute(value, TS_ENCODING, false);
+    }
+
+    @Specialization(guards = "isNoSpec(spec)")
+    static TruffleString doDouble(double value, @SuppressWarnings("unused") Object spec,
+                    @Bind("this") Node inliningTarget) {
+        return formatDouble(value, inliningTarget);
+    }
+
+    @Specialization(guards = "!spec.isEmpty()")
+    static TruffleString doIntSpec(int value, TruffleString spec,
+                    @Bind("this") Node inliningTarget) {
+        return formatLong(value, spec, inliningTarget);
+    }
+
+    @Specialization(guards = "!spec.isEmpty()")
+    static TruffleString doLongSpec(long value, TruffleString spec,
+                    @Bind("this") Node inliningTarget) {
+        return formatLong(value, spec, inliningTarget);
+    }
+
+    @Specialization(guards = "!spec.isEmpty()")
+    static TruffleString doDoubleSpec(double value, TruffleString spec,
+                    @Bind("this") Node inliningTarget) {
+        return formatDouble(value, spec, inliningTarget);
+    }
+
+    @Fallback
+    static Object doGeneric(VirtualFrame frame, Object value, Object spec,
+                    @Cached FormatNode formatNode) {
+        return formatNode.execute(frame, value, spec);
+    }
+
+    @TruffleBoundary
+    private static TruffleString formatDouble(double value, Node raisingNode) {
+        FloatFormatter formatter = new FloatFormatter(FloatBuiltins.StrNode.spec, raisingNode);
+        formatter.setMinFracDigits(1);
+        return formatter.format(value).getResult();
+    }
+
+    @TruffleBoundary
+    private static TruffleString formatDouble(double value, TruffleString formatSpec, Node raisingNode) {
+        Spec spec = InternalFormat.fromText(formatSpec, Spec.NONE, '>', raisingNode);
+        FloatFormatter formatter = new FloatFormatter(FormattingUtils.validateForFloat(spec, "float", raisingNode), raisingNode);
+        formatter.format(value);
+        return formatter.pad().getResult();
+    }
+
+    @TruffleBoundary
+    private static TruffleString formatLong(long value, TruffleString formatSpec, Node raisingNode) {
+        Spec spec = InternalFormat.fromText(formatSpec, 'd', '>', raisingNode);
+        if (FormattingUtils.isDoubleSpec(spec)) {
+            FloatFormatter formatter = new FloatFormatter(spec, raisingNode);
+            formatter.format((double) value);
+            return formatter.pad().getResult();
+        }
+        IntegerFormatter formatter = new IntegerFormatter(FormattingUtils.validateForInt(spec, raisingNode), raisingNode);
+        if (value == (int) value) {
+            formatter.format((int) value);
+        } else {
+            formatter.format(BigInteger.valueOf(value));
+        }
+        return formatter.pad().getResult();
+    }
+
+    public static FormatValueNode create() {
+        return FormatValueNodeGen.create();
+    }
+}
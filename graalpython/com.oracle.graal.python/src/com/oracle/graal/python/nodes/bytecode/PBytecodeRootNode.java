@@ -59,8 +59,6 @@ import java.util.concurrent.locks.Lock;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
-import com.oracle.graal.python.builtins.modules.BuiltinFunctions.FormatNode;
-import com.oracle.graal.python.builtins.modules.BuiltinFunctionsFactory.FormatNodeFactory.FormatNodeGen;
 import com.oracle.graal.python.builtins.modules.MarshalModuleBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.asyncio.GetAwaitableNode;
@@ -360,7 +358,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     private static final NodeSupplier<PyObjectReprAsObjectNode> NODE_REPR = PyObjectReprAsObjectNode::create;
     private static final PyObjectAsciiNode UNCACHED_ASCII = PyObjectAsciiNode.getUncached();
     private static final NodeSupplier<PyObjectAsciiNode> NODE_ASCII = PyObjectAsciiNode::create;
-    private static final NodeSupplier<FormatNode> NODE_FORMAT = FormatNode::create;
+    private static final NodeSupplier<FormatValueNode> NODE_FORMAT_VALUE = FormatValueNode::create;
     private static final NodeSupplier<SendNode> NODE_SEND = SendNode::create;
     private static final NodeSupplier<ThrowNode> NODE_THROW = ThrowNode::create;
     private static final WriteGlobalNode UNCACHED_WRITE_GLOBAL = WriteGlobalNode.getUncached();
@@ -1426,6 +1424,14 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         stackTop = bytecodeFormatValue(virtualFrame, stackTop, beginBci, localNodes, options, useCachedNodes);
                         break;
                     }
+                    case OpCodesConstants.BUILD_FORMATTED_STRING: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        // the number of values is implied by the literals
+                        bci++;
+                        stackTop = bytecodeBuildFormattedString(virtualFrame, stackTop, beginBci, localNodes, localConsts[oparg]);
+                        break;
+                    }
                     case OpCodesConstants.COLLECTION_FROM_COLLECTION: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         int type = Byte.toUnsignedInt(localBC[++bci]);
@@ -2330,8 +2336,8 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
 
                     int targetIndex = findHandler(beginBci);
                     CompilerAsserts.partialEvaluationConstant(targetIndex);
-                    chainPythonExceptions(virtualFrame, mutableData, exception);
                     if (targetIndex == -1) {
+                        chainPythonExceptions(virtualFrame, mutableData, exception, false);
                         prepareForReraise(virtualFrame, localFrame, initialStackTop, isGeneratorOrCoroutine, mutableData, bciSlot, beginBci, tracingOrProfilingEnabled);
                         if (exception instanceof PException) {
                             ((PException) exception).notifyAddedTracebackFrame(frameIsVisibleToPython());
@@ -2343,6 +2349,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     if (exception instanceof PException) {
                         ((PException) exception).setCatchingFrameReference(virtualFrame, this, beginBci);
                     }
+                    chainPythonExceptions(virtualFrame, mutableData, exception, !isGeneratorOrCoroutine);
                     int stackSizeOnEntry = exceptionHandlerRanges[targetIndex + 1];
                     int targetStackTop = stackSizeOnEntry + stackoffset;
                     stackTop = unwindBlock(virtualFrame, stackTop, targetStackTop);
@@ -3239,11 +3246,18 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         traceOrProfileReturn(virtualFrame, mutableData, PNone.NONE, tracingOrProfilingEnabled);
     }
 
+    /**
+     * Sets the currently handled exception as the context of the given exception. If this frame is
+     * about to handle the exception, but does not know the exception state of its callers, the
+     * chaining is deferred until the exception escapes, see {@link PException#setContextPending()}.
+     */
     @InliningCutoff
-    private void chainPythonExceptions(VirtualFrame virtualFrame, MutableLoopData mutableData, AbstractTruffleException exception) {
+    private void chainPythonExceptions(VirtualFrame virtualFrame, MutableLoopData mutableData, AbstractTruffleException exception, boolean canDefer) {
         if (exception instanceof PException pe) {
             if (mutableData.localException instanceof PException pe2) {
                 chainPythonExceptions(pe, pe2);
+            } else if (canDefer && mutableData.localException == null && PArguments.getException(virtualFrame) == null) {
+                pe.setContextPending();
             } else {
                 if (getCaughtExceptionNode == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -4685,12 +4699,18 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             default:
                 assert type == FormatOptions.FVC_NONE;
         }
-        FormatNode formatNode = insertChildNode(localNodes, bci + 1, FormatNodeGen.class, NODE_FORMAT);
+        FormatValueNode formatNode = insertChildNode(localNodes, bci + 1, FormatValueNodeGen.class, NODE_FORMAT_VALUE);
         value = formatNode.execute(virtualFrame, value, spec);
         virtualFrame.setObject(stackTop, value);
         return stackTop;
     }
 
+    @InliningCutoff
+    private int bytecodeBuildFormattedString(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, Object literals) {
+        BuildFormattedStringNode node = insertChildNode(localNodes, bci, BuildFormattedStringNode.class, () -> BuildFormattedStringNode.create((TruffleString[]) literals));
+        return node.execute(virtualFrame, stackTop);
+    }
+
     private void bytecodeDeleteDeref(Frame localFrame, int bci, Node[] localNodes, int oparg, int cachedCelloffset, boolean useCachedNodes) {
         PCell cell = (PCell) localFrame.getObject(cachedCelloffset + oparg);
         Object value = cell.getRef();
@@ -40,6 +40,7 @@
  */
 package com.oracle.graal.python.nodes.util;
 
+import com.oracle.graal.python.builtins.objects.frame.PFrame;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.nodes.PRootNode;
 import com.oracle.graal.python.runtime.IndirectCallData;
@@ -141,6 +142,38 @@ public abstract class ExceptionStateNodes {
 
         }
 
+        /**
+         * Like {@link #fullStackWalk()}, but only looks at the callers of the frame with the given
+         * frame info. This is the exception state that frame would have seen if its callers had
+         * passed it.
+         */
+        @TruffleBoundary
+        public static AbstractTruffleException stackWalkFromCallerOf(PFrame.Reference frameInfo) {
+            boolean[] foundFrame = new boolean[1];
+            return Truffle.getRuntime().iterateFrames(frameInstance -> {
+                RootCallTarget target = (RootCallTarget) frameInstance.getCallTarget();
+                RootNode rootNode = target.getRootNode();
+                if (!foundFrame[0]) {
+                    if (rootNode instanceof PRootNode pRootNode) {
+                        Frame frame = frameInstance.getFrame(FrameAccess.READ_ONLY);
+                        if (PArguments.isPythonFrame(frame) && PArguments.getCurrentFrameInfo(frame) == frameInfo) {
+                            pRootNode.setNeedsExceptionState();
+                            foundFrame[0] = true;
+                        }
+                    }
+                    return null;
+                }
+                Node callNode = frameInstance.getCallNode();
+                IndirectCallData.setEncapsulatingNeedsToPassExceptionState(callNode);
+                if (rootNode instanceof PRootNode pRootNode) {
+                    pRootNode.setNeedsExceptionState();
+                    Frame frame = frameInstance.getFrame(FrameAccess.READ_ONLY);
+                    return PArguments.getException(frame);
+                }
+                return null;
+            });
+        }
+
         private AbstractTruffleException ensure(AbstractTruffleException e) {
             if (hasExceptionProfile.profile(e == PException.NO_EXCEPTION)) {
                 return null;
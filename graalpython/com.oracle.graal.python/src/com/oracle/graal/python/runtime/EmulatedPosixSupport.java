@@ -176,6 +176,7 @@ import java.nio.channels.Channel;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.channels.IllegalBlockingModeException;
 import java.nio.channels.NetworkChannel;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.ReadableByteChannel;
@@ -627,25 +628,7 @@ public final class EmulatedPosixSupport extends PosixResources {
                 channel.register(selector, writeOps);
             }
 
-            // IMPORTANT: The meaning of the timeout value is slightly different: 'timeout == 0.0'
-            // means we should not block and return immediately, for which we use selectNow().
-            // 'timeout == None' means we should wait indefinitely, i.e., we need to pass 0 to the
-            // Java API.
-            long timeoutMs;
-            boolean useSelectNow = false;
-            if (timeout == null) {
-                timeoutMs = 0;
-            } else {
-                try {
-                    timeoutMs = addExact(multiplyExact(timeout.getSeconds(), 1000L), timeout.getMicroseconds() / 1000L);
-                } catch (ArithmeticException ex) {
-                    throw posixException(OSErrorEnum.EINVAL);
-                }
-                if (timeoutMs == 0) {
-                    useSelectNow = true;
-                }
-            }
-            int selected = useSelectNow ? selector.selectNow() : selector.select(timeoutMs);
+            int selected = doSelect(selector, timeout);
 
             // remove non-selected channels from given lists
             boolean[] resReadfds = createSelectedMap(readfds, readChannels, selector, readOps);
@@ -669,9 +652,184 @@ public final class EmulatedPosixSupport extends PosixResources {
                         channel.configureBlocking(true);
                     }
                 }
-            } catch (IOException e) {
-                // We didn't manage to restore the blocking status, ignore
+            } catch (IOException | IllegalBlockingModeException e) {
+                // We didn't manage to restore the blocking status, ignore. The channel may still
+                // be registered with another selector, e.g., the persistent one of an event loop.
+            }
+        }
+    }
+
+    private int doSelect(Selector selector, Timeval timeout) throws PosixException, IOException {
+        // IMPORTANT: The meaning of the timeout value is slightly different: 'timeout == 0.0'
+        // means we should not block and return immediately, for which we use selectNow().
+        // 'timeout == None' means we should wait indefinitely, i.e., we need to pass 0 to the
+        // Java API.
+        long timeoutMs;
+        boolean useSelectNow = false;
+        if (timeout == null) {
+            timeoutMs = 0;
+        } else {
+            try {
+                timeoutMs = addExact(multiplyExact(timeout.getSeconds(), 1000L), timeout.getMicroseconds() / 1000L);
+            } catch (ArithmeticException ex) {
+                throw posixException(OSErrorEnum.EINVAL);
+            }
+            if (timeoutMs == 0) {
+                useSelectNow = true;
+            }
+        }
+        return useSelectNow ? selector.selectNow() : selector.select(timeoutMs);
+    }
+
+    /**
+     * A selector that keeps the channels registered between the calls to {@code selectorSelect}.
+     * Registered channels must be in non-blocking mode. Only channels that are already in
+     * non-blocking mode, like the sockets of asyncio transports, stay registered. Blocking channels
+     * are registered for a single call and switched back to blocking mode before it returns, so
+     * that the mode observed by Python code, and by {@code select} on the same file descriptor,
+     * does not change.
+     */
+    private static final class PersistentSelector {
+        private final Selector selector;
+        private boolean closed;
+
+        PersistentSelector(Selector selector) {
+            this.selector = selector;
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public Object selectorOpen() throws PosixException {
+        if (PythonImageBuildOptions.WITHOUT_JAVA_INET || withoutIOSocket) {
+            throw new UnsupportedPosixFeatureException("select was excluded");
+        }
+        try {
+            return new PersistentSelector(Selector.open());
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public SelectResult selectorSelect(Object selectorObj, int[] readfds, int[] writefds, Timeval timeout) throws PosixException {
+        PersistentSelector persistentSelector = (PersistentSelector) selectorObj;
+        if (persistentSelector.closed) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        SelectableChannel[] readChannels = getSelectableChannels(readfds);
+        SelectableChannel[] writeChannels = getSelectableChannels(writefds);
+        final int readOps = SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+        final int writeOps = SelectionKey.OP_WRITE;
+
+        HashMap<SelectableChannel, Integer> interestOps = new HashMap<>();
+        for (SelectableChannel channel : readChannels) {
+            interestOps.merge(channel, readOps & channel.validOps(), (a, b) -> a | b);
+        }
+        for (SelectableChannel channel : writeChannels) {
+            interestOps.merge(channel, writeOps & channel.validOps(), (a, b) -> a | b);
+        }
+
+        Selector selector = persistentSelector.selector;
+        List<SelectableChannel> madeNonBlocking = null;
+        try {
+            // Deregister the channels that are no longer of interest. A cancelled key is only
+            // removed by the next selection, until then its channel cannot be registered again.
+            boolean needsFlush = false;
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid() && !interestOps.containsKey(key.channel())) {
+                    key.cancel();
+                    needsFlush = true;
+                }
+            }
+            for (SelectableChannel channel : interestOps.keySet()) {
+                SelectionKey key = channel.keyFor(selector);
+                needsFlush |= key != null && !key.isValid();
+            }
+            if (needsFlush) {
+                selector.selectNow();
+            }
+
+            for (Map.Entry<SelectableChannel, Integer> entry : interestOps.entrySet()) {
+                SelectableChannel channel = entry.getKey();
+                int ops = entry.getValue();
+                SelectionKey key = channel.keyFor(selector);
+                if (key == null) {
+                    if (channel.isBlocking()) {
+                        channel.configureBlocking(false);
+                        if (madeNonBlocking == null) {
+                            madeNonBlocking = new ArrayList<>();
+                        }
+                        madeNonBlocking.add(channel);
+                    }
+                    channel.register(selector, ops);
+                } else if (key.interestOps() != ops) {
+                    key.interestOps(ops);
+                }
+            }
+
+            Set<SelectionKey> selectedKeys = selector.selectedKeys();
+            selectedKeys.clear();
+            doSelect(selector, timeout);
+            return new SelectResult(
+                            createPersistentSelectedMap(readChannels, selector, selectedKeys, readOps),
+                            createPersistentSelectedMap(writeChannels, selector, selectedKeys, writeOps),
+                            new boolean[0]);
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        } finally {
+            if (madeNonBlocking != null) {
+                restoreBlocking(selector, madeNonBlocking);
+            }
+        }
+    }
+
+    /**
+     * Deregisters the channels that were blocking before {@code selectorSelect} and switches them
+     * back to blocking mode, which is only possible once their keys are flushed from the selector.
+     */
+    private static void restoreBlocking(Selector selector, List<SelectableChannel> channels) {
+        try {
+            for (SelectableChannel channel : channels) {
+                SelectionKey key = channel.keyFor(selector);
+                if (key != null) {
+                    key.cancel();
+                }
             }
+            selector.selectNow();
+            for (SelectableChannel channel : channels) {
+                if (channel.isOpen()) {
+                    channel.configureBlocking(true);
+                }
+            }
+        } catch (IOException | IllegalBlockingModeException e) {
+            // We didn't manage to restore the blocking status, ignore
+        }
+    }
+
+    private static boolean[] createPersistentSelectedMap(SelectableChannel[] channels, Selector selector, Set<SelectionKey> selectedKeys, int op) {
+        boolean[] result = new boolean[channels.length];
+        for (int i = 0; i < channels.length; i++) {
+            SelectionKey key = channels[i].keyFor(selector);
+            result[i] = key != null && selectedKeys.contains(key) && (key.readyOps() & op) != 0;
+        }
+        return result;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    @SuppressWarnings("static-method")
+    public void selectorClose(Object selectorObj) {
+        PersistentSelector persistentSelector = (PersistentSelector) selectorObj;
+        if (persistentSelector.closed) {
+            return;
+        }
+        persistentSelector.closed = true;
+        try {
+            persistentSelector.selector.close();
+        } catch (IOException e) {
+            // ignore, the selector is unusable either way
         }
     }
 
@@ -253,6 +253,27 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.select(nativePosixSupport, readfds, writefds, errorfds, timeout);
     }
 
+    @ExportMessage
+    final Object selectorOpen(
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.selectorOpen(nativePosixSupport);
+    }
+
+    @ExportMessage
+    final SelectResult selectorSelect(Object selector, int[] readfds, int[] writefds, Timeval timeout,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.selectorSelect(nativePosixSupport, selector, readfds, writefds, timeout);
+    }
+
+    @ExportMessage
+    final void selectorClose(Object selector,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) {
+        checkNotInImageBuildtime();
+        nativeLib.selectorClose(nativePosixSupport, selector);
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -262,6 +262,36 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final Object selectorOpen(
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("selectorOpen", "");
+        try {
+            return logExit("selectorOpen", "%s", lib.selectorOpen(delegate));
+        } catch (PosixException e) {
+            throw logException("selectorOpen", e);
+        }
+    }
+
+    @SuppressWarnings("all")
+    @ExportMessage
+    public SelectResult selectorSelect(Object selector, int[] readfds, int[] writefds, Timeval timeout,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("selectorSelect", "%s %s %s %s", selector, readfds, writefds, timeout);
+        try {
+            return logExit("selectorSelect", "%s", lib.selectorSelect(delegate, selector, readfds, writefds, timeout));
+        } catch (PosixException e) {
+            throw logException("selectorSelect", e);
+        }
+    }
+
+    @ExportMessage
+    final void selectorClose(Object selector,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) {
+        logEnter("selectorClose", "%s", selector);
+        lib.selectorClose(delegate, selector);
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
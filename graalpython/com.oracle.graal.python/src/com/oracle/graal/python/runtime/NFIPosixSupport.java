@@ -186,6 +186,7 @@ public final class NFIPosixSupport extends PosixSupport {
         call_dup2("(sint32, sint32, sint32):sint32"),
         call_pipe2("([sint32]):sint32"),
         call_select("(sint32, [sint32], sint32, [sint32], sint32, [sint32], sint32, sint64, sint64, [sint8]):sint32"),
+        call_poll("([sint32], sint32, [sint32], sint32, sint32, [sint8]):sint32"),
         call_lseek("(sint32, sint64, sint32):sint64"),
         call_ftruncate("(sint32, sint64):sint32"),
         call_truncate("([sint8], sint64):sint32"),
@@ -651,6 +652,48 @@ public final class NFIPosixSupport extends PosixSupport {
 
     }
 
+    /**
+     * The native backend does not keep any state between the calls, the file descriptors are passed
+     * to {@code poll} every time. Unlike {@code select}, {@code poll} works with file descriptors
+     * of any value, servers with many connections easily get past {@code FD_SETSIZE}.
+     */
+    private static final class NativeSelector {
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public Object selectorOpen() {
+        return new NativeSelector();
+    }
+
+    @ExportMessage
+    public SelectResult selectorSelect(@SuppressWarnings("unused") Object selector, int[] readfds, int[] writefds, Timeval timeout,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        byte[] selected = new byte[readfds.length + writefds.length];
+        int timeoutMillis = -1;
+        if (timeout != null) {
+            // round up, so that a timer that is about to expire does not make us spin
+            long millis = timeout.getSeconds() * 1000 + (timeout.getMicroseconds() + 999) / 1000;
+            timeoutMillis = (int) Math.min(millis, Integer.MAX_VALUE);
+        }
+        int result = invokeNode.callInt(this, PosixNativeFunction.call_poll,
+                        wrap(readfds), readfds.length,
+                        wrap(writefds), writefds.length,
+                        timeoutMillis, wrap(selected));
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return new SelectResult(
+                        selectFillInResult(readfds, selected, 0),
+                        selectFillInResult(writefds, selected, readfds.length),
+                        new boolean[0]);
+    }
+
+    @ExportMessage
+    @SuppressWarnings({"static-method", "unused"})
+    public void selectorClose(Object selector) {
+    }
+
     private static boolean[] selectFillInResult(int[] fds, byte[] selected, int selectedOffset) {
         boolean[] res = new boolean[fds.length];
         for (int i = 0; i < fds.length; i++) {
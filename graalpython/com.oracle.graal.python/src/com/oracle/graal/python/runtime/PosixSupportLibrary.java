@@ -107,6 +107,29 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract SelectResult select(Object receiver, int[] readfds, int[] writefds, int[] errorfds, Timeval timeout) throws PosixException;
 
+    /**
+     * Creates a selector that can be used to repeatedly wait for the same file descriptors.
+     * Caller is responsible for calling {@link #selectorClose(Object, Object)} to free the
+     * allocated resources.
+     *
+     * @return an opaque selector object to be used in calls to {@code selectorSelect} and
+     *         {@code selectorClose}
+     */
+    public abstract Object selectorOpen(Object receiver) throws PosixException;
+
+    /**
+     * Like {@link #select(Object, int[], int[], int[], Timeval)} without the exceptional
+     * conditions, but the implementation may keep the file descriptors registered in the
+     * {@code selector} between calls, so that waiting for a mostly unchanged set of file
+     * descriptors is cheap. The error file descriptors of the result are always empty.
+     */
+    public abstract SelectResult selectorSelect(Object receiver, Object selector, int[] readfds, int[] writefds, Timeval timeout) throws PosixException;
+
+    /**
+     * Implementations must deal with this being called more than once.
+     */
+    public abstract void selectorClose(Object receiver, Object selector);
+
     public abstract long lseek(Object receiver, int fd, long offset, int how) throws PosixException;
 
     public abstract void ftruncate(Object receiver, int fd, long length) throws PosixException;
@@ -68,18 +68,22 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.LinkOption;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.text.MessageFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -87,6 +91,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -109,6 +114,7 @@ import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonOS;
 import com.oracle.graal.python.builtins.modules.ImpModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MathGuards;
+import com.oracle.graal.python.builtins.modules.SREModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ctypes.CtypesModuleBuiltins.CtypesThreadState;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeClass;
@@ -138,6 +144,7 @@ import com.oracle.graal.python.builtins.objects.frame.PFrame.Reference;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.module.PythonFrozenModule;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.str.StringNodes.StringReplaceNode;
@@ -148,6 +155,7 @@ import com.oracle.graal.python.builtins.objects.traceback.MaterializeLazyTraceba
 import com.oracle.graal.python.builtins.objects.traceback.PTraceback;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.compiler.CodeUnit;
+import com.oracle.graal.python.compiler.Compiler;
 import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.lib.PyObjectGetAttr;
 import com.oracle.graal.python.lib.PyObjectIsTrueNode;
@@ -702,6 +710,8 @@ public final class PythonContext extends Python3Core {
     private final List<Runnable> capiHooks = new ArrayList<>();
     private final HashMap<PythonNativeClass, CyclicAssumption> nativeClassStableAssumptions = new HashMap<>();
     private final ThreadGroup threadGroup = new ThreadGroup(GRAALPYTHON_THREADS);
+    /* virtual threads cannot be put into our thread group, so we track them separately */
+    private final Set<Thread> virtualThreads = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     private final IDUtils idUtils = new IDUtils();
 
     @CompilationFinal private SecureRandom secureRandom;
@@ -763,6 +773,12 @@ public final class PythonContext extends Python3Core {
     private final AsyncHandler handler;
     private final AsyncHandler.SharedFinalizer sharedFinalizer;
 
+    /** Lazily started when the first regex is scheduled for background compilation. */
+    private SREModuleBuiltins.TRegexBackgroundCompiler tregexBackgroundCompiler;
+    private SamplingProfiler samplingProfiler;
+    private final Tracemalloc tracemalloc = new Tracemalloc(this);
+    private boolean tregexBackgroundCompilerCreated;
+
     // decides if we run the async weakref callbacks and destructors
     private boolean gcEnabled = true;
 
@@ -821,6 +837,11 @@ public final class PythonContext extends Python3Core {
     // Used by CPython tests to selectively enable or disable frozen modules.
     private TriState overrideFrozenModules = TriState.UNDEFINED;
 
+    /**
+     * The modules from {@link PythonOptions#ApplicationFrozenModules}, loaded on first use.
+     */
+    private volatile Map<String, PythonFrozenModule> applicationFrozenModules;
+
     // the full module name for package imports
     private TruffleString pyPackageContext;
 
@@ -881,6 +902,67 @@ public final class PythonContext extends Python3Core {
         this.overrideFrozenModules = overrideFrozenModules;
     }
 
+    private static final byte[] APPLICATION_FROZEN_MODULES_MAGIC = {'G', 'P', 'Y', 'F', 'R', 'Z', 0, 1};
+
+    /**
+     * Looks up a module that the application froze at build time. The file is a sequence of the
+     * magic bytes, the {@link Compiler#BYTECODE_VERSION} the code was compiled with, the number of
+     * modules and, for each module, its UTF-8 encoded name prefixed with its length, a flag if it
+     * is a package and its marshalled code. A file frozen by another GraalPy version is ignored.
+     */
+    @TruffleBoundary
+    public PythonFrozenModule lookupApplicationFrozenModule(String name) {
+        Map<String, PythonFrozenModule> modules = applicationFrozenModules;
+        if (modules == null) {
+            modules = loadApplicationFrozenModules();
+            applicationFrozenModules = modules;
+        }
+        return modules.get(name);
+    }
+
+    private Map<String, PythonFrozenModule> loadApplicationFrozenModules() {
+        TruffleString path = getOption(PythonOptions.ApplicationFrozenModules);
+        if (path.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        TruffleFile file = env.getPublicTruffleFile(path.toJavaStringUncached());
+        try {
+            if (!file.isRegularFile()) {
+                LOGGER.fine(() -> "application frozen modules file " + path + " does not exist");
+                return Collections.emptyMap();
+            }
+            return readApplicationFrozenModules(file);
+        } catch (IOException | SecurityException e) {
+            LOGGER.log(Level.WARNING, e, () -> "failed to read the application frozen modules from " + path);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static Map<String, PythonFrozenModule> readApplicationFrozenModules(TruffleFile file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.newInputStream()))) {
+            byte[] magic = new byte[APPLICATION_FROZEN_MODULES_MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, APPLICATION_FROZEN_MODULES_MAGIC)) {
+                throw new IOException("not a frozen modules file of this GraalPy version");
+            }
+            int version = in.readInt();
+            if (version != Compiler.BYTECODE_VERSION) {
+                throw new IOException(String.format("the modules were frozen with bytecode version %d, expected %d", version, Compiler.BYTECODE_VERSION));
+            }
+            int count = in.readInt();
+            Map<String, PythonFrozenModule> modules = new HashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] moduleName = new byte[in.readUnsignedShort()];
+                in.readFully(moduleName);
+                boolean isPackage = in.readBoolean();
+                byte[] code = new byte[in.readInt()];
+                in.readFully(code);
+                modules.put(new String(moduleName, StandardCharsets.UTF_8), PythonFrozenModule.createApplicationModule(code, isPackage));
+            }
+            return modules;
+        }
+    }
+
     @TruffleBoundary
     private static int computeMinIntBitLengthOverLimit(int limit) {
         /*
@@ -1225,6 +1307,10 @@ public final class PythonContext extends Python3Core {
         return allocationReporter;
     }
 
+    public Tracemalloc getTracemalloc() {
+        return tracemalloc;
+    }
+
     public boolean isChildContext() {
         return childContextData != null;
     }
@@ -1324,6 +1410,35 @@ public final class PythonContext extends Python3Core {
         return threadGroup;
     }
 
+    /**
+     * Creates an unstarted thread that runs {@code runnable} entered in this context. If the
+     * {@link PythonOptions#VirtualThreads} option is set and the JVM supports it, this is a JDK
+     * virtual thread, otherwise a regular thread created through Truffle.
+     */
+    @TruffleBoundary
+    public Thread createPythonThread(Runnable runnable) {
+        if (getOption(PythonOptions.VirtualThreads) && VirtualThreadSupport.isAvailable() && env.isCreateThreadAllowed()) {
+            TruffleContext truffleContext = env.getContext();
+            Thread thread = VirtualThreadSupport.newThread(() -> {
+                Object prev = truffleContext.enter(null);
+                try {
+                    runnable.run();
+                } finally {
+                    /*
+                     * Truffle only disposes the threads it created itself when they terminate. We
+                     * need to do it here, otherwise the sentinel lock that 'Thread.join' waits for
+                     * would only be released when the context is closed.
+                     */
+                    disposeThread(Thread.currentThread());
+                    truffleContext.leave(null, prev);
+                }
+            });
+            virtualThreads.add(thread);
+            return thread;
+        }
+        return env.newTruffleThreadBuilder(runnable).context(env.getContext()).threadGroup(threadGroup).build();
+    }
+
     @TruffleBoundary(allowInlining = true)
     public long getPythonThreadStackSize() {
         return pythonThreadStackSize.get();
@@ -1510,6 +1625,7 @@ public final class PythonContext extends Python3Core {
             initialize(this);
             setupRuntimeInformation(false);
             postInitialize();
+            startSamplingProfilerIfEnabled();
             if (!ImageInfo.inImageBuildtimeCode()) {
                 importSiteIfForced();
             } else if (posixSupport instanceof ImageBuildtimePosixSupport) {
@@ -1534,6 +1650,7 @@ public final class PythonContext extends Python3Core {
             setEnv(newEnv);
             setupRuntimeInformation(true);
             postInitialize();
+            startSamplingProfilerIfEnabled();
             importSiteIfForced();
         } finally {
             releaseGil();
@@ -2030,6 +2147,8 @@ public final class PythonContext extends Python3Core {
             }
             // shut down async actions threads
             handler.shutdown();
+            shutdownTRegexBackgroundCompiler();
+            shutdownSamplingProfiler();
             finalizing = true;
             // interrupt and join or kill python threads
             joinThreads();
@@ -2050,6 +2169,13 @@ public final class PythonContext extends Python3Core {
         mainThread = null;
     }
 
+    private synchronized void shutdownTRegexBackgroundCompiler() {
+        if (tregexBackgroundCompiler != null) {
+            tregexBackgroundCompiler.shutdown();
+            tregexBackgroundCompiler = null;
+        }
+    }
+
     // Equivalent of CPython's flush_std_files
     @TruffleBoundary
     public void flushStdFiles() {
@@ -2198,7 +2324,7 @@ public final class PythonContext extends Python3Core {
                     // that are not running GraalPython code anymore, they will just never receive
                     // PythonThreadKillException and continue as if nothing happened.
                     disposeThread(thread);
-                    boolean isOurThread = runViaLauncher || thread.getThreadGroup() == threadGroup;
+                    boolean isOurThread = runViaLauncher || thread.getThreadGroup() == threadGroup || virtualThreads.contains(thread);
                     // Do not try so hard when running in embedded mode and the thread may not be
                     // running any GraalPython code anymore
                     int tries = isOurThread ? 100 : 5;
@@ -2257,6 +2383,61 @@ public final class PythonContext extends Python3Core {
         return handler;
     }
 
+    /**
+     * Returns the background compiler for regexes or {@code null} if this context cannot create
+     * threads.
+     */
+    @TruffleBoundary
+    public synchronized SREModuleBuiltins.TRegexBackgroundCompiler getTRegexBackgroundCompiler() {
+        if (!tregexBackgroundCompilerCreated && !finalizing) {
+            tregexBackgroundCompilerCreated = true;
+            tregexBackgroundCompiler = SREModuleBuiltins.TRegexBackgroundCompiler.create(this);
+        }
+        return tregexBackgroundCompiler;
+    }
+
+    /**
+     * Returns the sampling profiler or {@code null} if this context cannot create threads.
+     */
+    @TruffleBoundary
+    public synchronized SamplingProfiler getSamplingProfiler() {
+        if (samplingProfiler == null && !finalizing && env.isCreateThreadAllowed()) {
+            samplingProfiler = new SamplingProfiler(this, getOption(PythonOptions.SamplingProfilerCapacity));
+        }
+        return samplingProfiler;
+    }
+
+    private void startSamplingProfilerIfEnabled() {
+        if (getOption(PythonOptions.SamplingProfiler) && !ImageInfo.inImageBuildtimeCode()) {
+            SamplingProfiler profiler = getSamplingProfiler();
+            if (profiler != null) {
+                profiler.start(getOption(PythonOptions.SamplingProfilerInterval));
+            } else {
+                LOGGER.warning("the sampling profiler cannot be started, because creating threads is not allowed");
+            }
+        }
+    }
+
+    private void shutdownSamplingProfiler() {
+        SamplingProfiler profiler;
+        synchronized (this) {
+            profiler = samplingProfiler;
+        }
+        if (profiler == null) {
+            return;
+        }
+        profiler.stop();
+        String output = getOption(PythonOptions.SamplingProfilerOutput);
+        if (!output.isEmpty()) {
+            String format = output.endsWith(".jfr") ? SamplingProfiler.FORMAT_JFR : SamplingProfiler.FORMAT_COLLAPSED;
+            try (OutputStream out = env.getPublicTruffleFile(output).newOutputStream()) {
+                profiler.dump(out, format);
+            } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                LOGGER.warning(() -> "cannot write the samples of the sampling profiler to " + output + ": " + e);
+            }
+        }
+    }
+
     /**
      * Register an action for regular execution. Refer to {@link AsyncHandler#registerAction} for
      * details.
@@ -2321,6 +2502,13 @@ public final class PythonContext extends Python3Core {
         return globalInterpreterLock.hasQueuedThreads();
     }
 
+    /**
+     * Should not be used outside of {@link SamplingProfiler}
+     */
+    boolean isWaitingForGil(Thread thread) {
+        return globalInterpreterLock.hasQueuedThread(thread);
+    }
+
     /**
      * Should not be called directly.
      *
@@ -292,6 +292,10 @@ public final class PythonOptions {
     @Option(category = OptionCategory.INTERNAL, usageSyntax = "<path>", help = "Used by the launcher to pass the path to be executed", stability = OptionStability.STABLE) //
     public static final OptionKey<TruffleString> InputFilePath = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
 
+    @Option(category = OptionCategory.USER, usageSyntax = "<path>", help = "A file with application modules that were frozen at build time by the GraalPy Maven or Gradle plugin. " +
+                    "These modules are imported from their frozen code instead of being looked up on the module search path. Ignored if the file does not exist.", stability = OptionStability.STABLE) //
+    public static final OptionKey<TruffleString> ApplicationFrozenModules = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
+
     // disabling TRegex has an effect on the _sre Python functions that are
     // dynamically created, so we cannot change that option again.
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Use the optimized TRegex engine. Default true") //
@@ -300,6 +304,13 @@ public final class PythonOptions {
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Use the CPython sre engine as a fallback to the TRegex engine.") //
     public static final OptionKey<Boolean> TRegexUsesSREFallback = new OptionKey<>(true);
 
+    @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "<size>", help = "Maximum number of compiled TRegex regexes that are shared between all contexts of an engine. " +
+                    "0 disables the shared cache.") //
+    public static final OptionKey<Integer> TRegexEngineCacheSize = new OptionKey<>(1024);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Compile regexes created by re.compile on a background thread, so that they are ready when first used.") //
+    public static final OptionKey<Boolean> TRegexBackgroundCompilation = new OptionKey<>(false);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Switch on/off using lazy strings for performance reasons. Default true.") //
     public static final OptionKey<Boolean> LazyStrings = new OptionKey<>(true);
 
@@ -340,6 +351,28 @@ public final class PythonOptions {
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Disable weakref callback processing, signal handling, and other periodic async actions.") //
     public static final OptionKey<Boolean> NoAsyncActions = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Run threads started by the _thread and threading modules on JDK virtual threads, if the JVM supports them. " +
+                    "Useful for many mostly blocked threads, e.g., one thread per connection. Ignored in native images.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> VirtualThreads = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.USER, usageSyntax = "true|false", help = "Continuously sample the Python stacks of all threads. The overhead is low enough to leave it enabled in production. " +
+                    "The samples can be written with __graalpython__.sampling_profiler_dump or at exit with the SamplingProfilerOutput option.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> SamplingProfiler = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<ms>", help = "The sampling interval of the sampling profiler in milliseconds.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> SamplingProfilerInterval = new OptionKey<>(10);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<samples>", help = "The number of most recent samples the sampling profiler keeps.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> SamplingProfilerCapacity = new OptionKey<>(1 << 16);
+
+    @Option(category = OptionCategory.USER, usageSyntax = "<path>", help = "Write the samples of the sampling profiler to this file when the context exits. " +
+                    "The file is a JFR recording if the name ends with .jfr, and collapsed stacks for flame graph tools otherwise.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<String> SamplingProfilerOutput = new OptionKey<>("");
+
+    @Option(category = OptionCategory.USER, usageSyntax = "<n>", help = "Let tracemalloc record the traceback of only one in n allocations of Python objects on average, " +
+                    "and scale their sizes accordingly. Use values larger than 1 to keep tracemalloc enabled in long running applications.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Integer> TracemallocSampleRate = new OptionKey<>(1);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Propagate append operations to lists created as literals back to where they were created, to inform overallocation to avoid having to grow them later.") //
     public static final OptionKey<Boolean> OverallocateLiteralLists = new OptionKey<>(true);
 
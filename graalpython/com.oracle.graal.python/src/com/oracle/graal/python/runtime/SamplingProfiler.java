@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.Future;
+
+import com.oracle.graal.python.nodes.bytecode.PBytecodeGeneratorRootNode;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.graal.python.nodes.function.BuiltinFunctionRootNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.ThreadLocalAction;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameInstanceVisitor;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * A sampling profiler that is cheap enough to stay enabled in production. A daemon thread wakes up
+ * every interval and submits a thread local action to the thread that currently holds the GIL,
+ * which records its Python stack at the next safepoint. Threads that are queued on the GIL are
+ * recorded with the stack of their last sample and an additional {@value #GIL_WAIT_FRAME} frame,
+ * since asking them for their stack would wake them up and cost them their place in the queue.
+ * Threads that released the GIL for blocking operations are not sampled at all.
+ *
+ * Only the most recent samples are kept in a ring, and consecutive identical stacks of a thread
+ * share the same array, so the memory is bounded by the capacity. Functions are identified by their
+ * labels, of which at most {@value #MAX_FRAME_LABELS} are kept; functions seen after that are all
+ * recorded as {@value #OTHER_FRAME}. Frames running compiled code are marked with
+ * {@value #COMPILED_SUFFIX}, which flame graph tools render in a different color.
+ */
+public final class SamplingProfiler {
+    public static final String FORMAT_COLLAPSED = "collapsed";
+    public static final String FORMAT_JFR = "jfr";
+
+    static final String GIL_WAIT_FRAME = "[GIL wait]";
+    static final String COMPILED_SUFFIX = "_[j]";
+    static final String OTHER_FRAME = "[other]";
+    private static final int MAX_DEPTH = 256;
+    private static final int MAX_FRAME_LABELS = 1 << 16;
+    private static final int[] EMPTY_STACK = new int[0];
+
+    private final PythonContext context;
+
+    private final int[][] stacks;
+    private final boolean[] gilWait;
+    private int next;
+    private int size;
+
+    private long totalSamples;
+    private long compiledSamples;
+    private long gilWaitSamples;
+    private long missedSamples;
+
+    /** Frame ids are the indices into {@link #frameLabels}, shifted left by one. */
+    private final Map<RootNode, Integer> frameIds = new WeakHashMap<>();
+    private final ArrayList<String> frameLabels = new ArrayList<>();
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private final Map<Thread, int[]> lastStacks = new WeakHashMap<>();
+
+    private volatile Thread samplerThread;
+    private volatile int intervalMillis;
+
+    /*
+     * The last action submitted to the GIL owner and its target, only accessed by the sampler
+     * thread.
+     */
+    private Future<Void> pendingSample;
+    private Thread pendingSampleThread;
+
+    public SamplingProfiler(PythonContext context, int capacity) {
+        this.context = context;
+        this.stacks = new int[Math.max(capacity, 1)][];
+        this.gilWait = new boolean[stacks.length];
+    }
+
+    @TruffleBoundary
+    public synchronized void start(int interval) {
+        intervalMillis = Math.max(interval, 1);
+        if (samplerThread == null) {
+            Thread thread = new Thread(this::run, "python-sampling-profiler");
+            thread.setDaemon(true);
+            samplerThread = thread;
+            thread.start();
+        }
+    }
+
+    @TruffleBoundary
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            thread = samplerThread;
+            samplerThread = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return samplerThread != null;
+    }
+
+    public int getInterval() {
+        return intervalMillis;
+    }
+
+    private void run() {
+        Thread self = Thread.currentThread();
+        while (samplerThread == self) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            sample();
+        }
+    }
+
+    private void sample() {
+        Thread owner = context.getGilOwner();
+        for (Thread thread : context.getThreads()) {
+            if (thread != owner && context.isWaitingForGil(thread)) {
+                synchronized (this) {
+                    int[] stack = lastStacks.get(thread);
+                    record(stack != null ? stack : EMPTY_STACK, true);
+                }
+            }
+        }
+        if (owner == null) {
+            return;
+        }
+        Future<Void> pending = pendingSample;
+        if (pending != null && !pending.isDone()) {
+            if (pendingSampleThread == owner) {
+                // the owner did not reach a safepoint since the last interval, e.g., it runs a long
+                // native call
+                synchronized (this) {
+                    missedSamples++;
+                }
+                return;
+            }
+            // the GIL moved on, e.g., the previous owner blocks or left the context, and the action
+            // may never run, so it must not keep us from sampling the new owner
+            pending.cancel(false);
+        }
+        pendingSample = null;
+        pendingSampleThread = null;
+        try {
+            pendingSample = context.getEnv().submitThreadLocal(new Thread[]{owner}, new ThreadLocalAction(false, false) {
+                @Override
+                protected void perform(Access access) {
+                    if (context.ownsGil()) {
+                        sampleCurrentThread();
+                    }
+                }
+            });
+            pendingSampleThread = owner;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // the context or the thread is gone
+        }
+    }
+
+    private void sampleCurrentThread() {
+        StackCollector collector = new StackCollector();
+        Truffle.getRuntime().iterateFrames(collector);
+        // store the stack root first
+        int depth = collector.depth;
+        int[] stack = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            stack[i] = collector.frames[depth - 1 - i];
+        }
+        recordCurrentThread(stack);
+    }
+
+    private final class StackCollector implements FrameInstanceVisitor<Object> {
+        int[] frames = new int[32];
+        int depth;
+
+        @Override
+        public Object visitFrame(FrameInstance frameInstance) {
+            if (frameInstance.getCallTarget() instanceof RootCallTarget callTarget) {
+                RootNode rootNode = callTarget.getRootNode();
+                if (rootNode instanceof PBytecodeGeneratorRootNode generatorRootNode) {
+                    rootNode = generatorRootNode.getBytecodeRootNode();
+                }
+                if ((rootNode instanceof PBytecodeRootNode bytecodeRootNode && !bytecodeRootNode.isPythonInternal()) || rootNode instanceof BuiltinFunctionRootNode) {
+                    if (depth == frames.length) {
+                        if (depth == MAX_DEPTH) {
+                            return frameInstance;
+                        }
+                        frames = Arrays.copyOf(frames, depth * 2);
+                    }
+                    frames[depth++] = getFrameId(rootNode) | (frameInstance.getCompilationTier() > 0 ? 1 : 0);
+                }
+            }
+            return null;
+        }
+    }
+
+    private synchronized int getFrameId(RootNode rootNode) {
+        Integer id = frameIds.get(rootNode);
+        if (id == null) {
+            String label = getLabel(rootNode);
+            if (!labelIds.containsKey(label) && frameLabels.size() >= MAX_FRAME_LABELS) {
+                label = OTHER_FRAME;
+            }
+            id = labelIds.get(label);
+            if (id == null) {
+                id = frameLabels.size() << 1;
+                frameLabels.add(label);
+                labelIds.put(label, id);
+            }
+            frameIds.put(rootNode, id);
+        }
+        return id;
+    }
+
+    private static String getLabel(RootNode rootNode) {
+        if (rootNode instanceof PBytecodeRootNode bytecodeRootNode) {
+            Source source = bytecodeRootNode.getSource();
+            String file = source.getPath() != null ? source.getPath() : source.getName();
+            return bytecodeRootNode.getCodeUnit().qualname.toJavaStringUncached() + " (" + file + ":" + bytecodeRootNode.getCodeUnit().startLine + ")";
+        }
+        return rootNode.getName() + " [builtin]";
+    }
+
+    private synchronized void recordCurrentThread(int[] stack) {
+        Thread thread = Thread.currentThread();
+        int[] last = lastStacks.get(thread);
+        if (last != null && Arrays.equals(last, stack)) {
+            record(last, false);
+        } else {
+            lastStacks.put(thread, stack);
+            record(stack, false);
+        }
+    }
+
+    private void record(int[] stack, boolean waitingForGil) {
+        assert Thread.holdsLock(this);
+        stacks[next] = stack;
+        gilWait[next] = waitingForGil;
+        next = (next + 1) % stacks.length;
+        size = Math.min(size + 1, stacks.length);
+        totalSamples++;
+        if (waitingForGil) {
+            gilWaitSamples++;
+        } else if (stack.length > 0 && (stack[stack.length - 1] & 1) != 0) {
+            compiledSamples++;
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void clear() {
+        Arrays.fill(stacks, null);
+        next = 0;
+        size = 0;
+        totalSamples = compiledSamples = gilWaitSamples = missedSamples = 0;
+        lastStacks.clear();
+    }
+
+    /**
+     * Returns {@code total, retained, compiled, gil_wait, missed} sample counts.
+     */
+    @TruffleBoundary
+    public synchronized long[] getCounts() {
+        return new long[]{totalSamples, size, compiledSamples, gilWaitSamples, missedSamples};
+    }
+
+    /**
+     * Aggregates the retained samples into collapsed stacks, i.e., the frames from the root to the
+     * leaf separated by {@code ;}, mapped to the number of samples.
+     */
+    @TruffleBoundary
+    public Map<String, Long> getCollapsedStacks() {
+        Map<int[], Long> counts = new IdentityHashMap<>();
+        Map<int[], Long> gilWaitCounts = new IdentityHashMap<>();
+        String[] labels;
+        synchronized (this) {
+            for (int i = 0; i < size; i++) {
+                (gilWait[i] ? gilWaitCounts : counts).merge(stacks[i], 1L, Long::sum);
+            }
+            labels = frameLabels.toArray(new String[0]);
+        }
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<int[], Long> entry : counts.entrySet()) {
+            result.merge(toCollapsed(entry.getKey(), labels, false), entry.getValue(), Long::sum);
+        }
+        for (Map.Entry<int[], Long> entry : gilWaitCounts.entrySet()) {
+            result.merge(toCollapsed(entry.getKey(), labels, true), entry.getValue(), Long::sum);
+        }
+        return result;
+    }
+
+    private static String toCollapsed(int[] stack, String[] labels, boolean waitingForGil) {
+        StringBuilder sb = new StringBuilder();
+        for (int frame : stack) {
+            if (sb.length() > 0) {
+                sb.append(';');
+            }
+            // the separators of the collapsed format must not appear in the labels
+            sb.append(labels[frame >> 1].replace(';', ':').replace('\n', ' '));
+            if ((frame & 1) != 0) {
+                sb.append(COMPILED_SUFFIX);
+            }
+        }
+        if (waitingForGil) {
+            if (sb.length() > 0) {
+                sb.append(';');
+            }
+            sb.append(GIL_WAIT_FRAME);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the retained samples in the given format, see {@link #FORMAT_COLLAPSED} and
+     * {@link #FORMAT_JFR}.
+     */
+    @TruffleBoundary
+    public void dump(OutputStream out, String format) throws IOException {
+        Map<String, Long> collapsed = getCollapsedStacks();
+        if (FORMAT_JFR.equals(format)) {
+            SamplingProfilerJfr.write(collapsed, out);
+        } else {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, Long> entry : collapsed.entrySet()) {
+                sb.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.graalvm.nativeimage.ImageInfo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writes the samples of the {@link SamplingProfiler} as a JFR file. Each collapsed stack becomes
+ * one {@code graalpy.PythonStackSample} event with its sample count, which can be inspected with
+ * {@code jfr print --events graalpy.PythonStackSample} or JDK Mission Control.
+ */
+final class SamplingProfilerJfr {
+    private SamplingProfilerJfr() {
+    }
+
+    @Name("graalpy.PythonStackSample")
+    @Label("Python Stack Sample")
+    @Category({"GraalPy", "Profiling"})
+    @Description("Aggregated samples of the GraalPy sampling profiler")
+    @StackTrace(false)
+    static final class PythonStackSampleEvent extends Event {
+        @Label("Stack") @Description("The Python frames from the root to the leaf, separated by ';'") String stack;
+        @Label("Samples") long samples;
+        @Label("GIL Wait") boolean gilWait;
+        @Label("Compiled") boolean compiled;
+    }
+
+    static void write(Map<String, Long> collapsed, OutputStream out) throws IOException {
+        if (ImageInfo.inImageRuntimeCode()) {
+            throw new IOException("JFR output is not supported in native images, use the collapsed format");
+        }
+        try (Recording recording = new Recording()) {
+            recording.setName("GraalPy sampling profiler");
+            recording.enable(PythonStackSampleEvent.class);
+            recording.start();
+            for (Map.Entry<String, Long> entry : collapsed.entrySet()) {
+                PythonStackSampleEvent event = new PythonStackSampleEvent();
+                event.stack = entry.getKey();
+                event.samples = entry.getValue();
+                event.gilWait = entry.getKey().endsWith(SamplingProfiler.GIL_WAIT_FRAME);
+                event.compiled = !event.gilWait && entry.getKey().endsWith(SamplingProfiler.COMPILED_SUFFIX);
+                event.commit();
+            }
+            recording.stop();
+            try (InputStream in = recording.getStream(null, null)) {
+                if (in != null) {
+                    in.transferTo(out);
+                }
+            }
+        }
+    }
+}
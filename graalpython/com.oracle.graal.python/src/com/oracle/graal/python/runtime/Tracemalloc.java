@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.code.PCode;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.bytecode.FrameInfo;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeGeneratorRootNode;
+import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameInstanceVisitor;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The state of the {@code tracemalloc} module of a context. Allocations of Python objects are
+ * reported by {@link com.oracle.graal.python.runtime.object.PythonObjectFactory} and native
+ * allocations by {@code PyTraceMalloc_Track}. Python objects are sampled: on average only one in
+ * {@link PythonOptions#TracemallocSampleRate} allocations records a traceback, and its size is
+ * scaled by the rate, so that the statistics of snapshots stay unbiased. The gaps between samples
+ * are random to avoid aliasing with loops that allocate periodically.
+ *
+ * Managed objects do not have a size, so it is estimated from the object kind and the length of
+ * its storage at allocation time. Traced objects are only weakly referenced and their memory is
+ * subtracted once the garbage collector reclaimed them.
+ *
+ * The objects that the {@code _tracemalloc} functions create for their results are not traced, see
+ * {@link #suspend()}.
+ */
+public final class Tracemalloc {
+    public static final int MAX_NFRAME = 65535;
+    /** The domain of managed allocations, CPython uses the same for {@code PyObject_Malloc}. */
+    public static final int DEFAULT_DOMAIN = 0;
+
+    private static final long OBJECT_SIZE = 32;
+    private static final long REFERENCE_SIZE = 8;
+    private static final long TRACE_OVERHEAD = 64;
+
+    private final PythonContext context;
+    private volatile boolean tracing;
+    private int maxFrames = 1;
+    private int sampleRate = 1;
+    private int countdown = 1;
+    private int suspended;
+
+    private HashMap<TracedObject, Trace> objectTraces;
+    private HashMap<NativeKey, Trace> nativeTraces;
+    private ReferenceQueue<Object> queue;
+    private HashMap<Traceback, Traceback> tracebacks;
+    private IdentityHashMap<RootNode, TruffleString> filenames;
+    private long tracedMemory;
+    private long peakMemory;
+
+    Tracemalloc(PythonContext context) {
+        this.context = context;
+    }
+
+    public boolean isTracing() {
+        return tracing;
+    }
+
+    public int getTracebackLimit() {
+        return maxFrames;
+    }
+
+    /**
+     * Called for every allocated Python object while {@link #isTracing() tracing}.
+     */
+    public void onAllocation(Object object) {
+        if (--countdown <= 0) {
+            sample(object);
+        }
+    }
+
+    /**
+     * Stops recording allocations until the matching {@link #resume()}, so that the objects
+     * created while reporting the traces do not show up in them. Allocations only happen with the
+     * GIL held, so the thread that suspends tracing is the only one allocating.
+     */
+    public void suspend() {
+        suspended++;
+    }
+
+    public void resume() {
+        assert suspended > 0;
+        suspended--;
+    }
+
+    @TruffleBoundary
+    public synchronized void start(int nframe) {
+        maxFrames = nframe;
+        if (tracing) {
+            return;
+        }
+        sampleRate = context.getOption(PythonOptions.TracemallocSampleRate);
+        countdown = nextCountdown();
+        objectTraces = new HashMap<>();
+        nativeTraces = new HashMap<>();
+        queue = new ReferenceQueue<>();
+        tracebacks = new HashMap<>();
+        filenames = new IdentityHashMap<>();
+        tracedMemory = 0;
+        peakMemory = 0;
+        PythonLanguage.get(null).noTracemallocAssumption.invalidate();
+        tracing = true;
+    }
+
+    @TruffleBoundary
+    public synchronized void stop() {
+        if (tracing) {
+            tracing = false;
+            objectTraces = null;
+            nativeTraces = null;
+            queue = null;
+            tracebacks = null;
+            filenames = null;
+            tracedMemory = 0;
+            peakMemory = 0;
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void clearTraces() {
+        if (tracing) {
+            objectTraces.clear();
+            nativeTraces.clear();
+            queue = new ReferenceQueue<>();
+            tracebacks.clear();
+            tracedMemory = 0;
+            peakMemory = 0;
+        }
+    }
+
+    /**
+     * Returns the current and the peak size of the traced memory.
+     */
+    @TruffleBoundary
+    public synchronized long[] getTracedMemory() {
+        if (!tracing) {
+            return new long[]{0, 0};
+        }
+        expungeStaleEntries();
+        return new long[]{tracedMemory, peakMemory};
+    }
+
+    @TruffleBoundary
+    public synchronized void resetPeak() {
+        if (tracing) {
+            expungeStaleEntries();
+            peakMemory = tracedMemory;
+        }
+    }
+
+    /**
+     * Returns an estimate of the memory used to store the traces.
+     */
+    @TruffleBoundary
+    public synchronized long getTracemallocMemory() {
+        if (!tracing) {
+            return 0;
+        }
+        long size = (objectTraces.size() + nativeTraces.size()) * TRACE_OVERHEAD;
+        for (Traceback traceback : tracebacks.keySet()) {
+            size += TRACE_OVERHEAD + traceback.lines.length * 2 * REFERENCE_SIZE;
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of all live traces.
+     */
+    @TruffleBoundary
+    public synchronized Trace[] getTraces() {
+        if (!tracing) {
+            return new Trace[0];
+        }
+        expungeStaleEntries();
+        ArrayList<Trace> result = new ArrayList<>(objectTraces.size() + nativeTraces.size());
+        result.addAll(objectTraces.values());
+        result.addAll(nativeTraces.values());
+        return result.toArray(new Trace[0]);
+    }
+
+    /**
+     * Returns the traceback where the object was allocated, or {@code null} if its allocation was
+     * not sampled.
+     */
+    @TruffleBoundary
+    public synchronized Traceback getObjectTraceback(Object object) {
+        if (!tracing) {
+            return null;
+        }
+        Trace trace = objectTraces.get(new TracedObject(object, null));
+        return trace != null ? trace.traceback : null;
+    }
+
+    @TruffleBoundary
+    public synchronized void trackNative(int domain, Object pointer, long size) {
+        if (tracing) {
+            Trace trace = new Trace(domain, size, captureTraceback());
+            Trace old = nativeTraces.put(new NativeKey(domain, pointer), trace);
+            if (old != null) {
+                tracedMemory -= old.size;
+            }
+            addMemory(size);
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void untrackNative(int domain, Object pointer) {
+        if (tracing) {
+            Trace old = nativeTraces.remove(new NativeKey(domain, pointer));
+            if (old != null) {
+                tracedMemory -= old.size;
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private synchronized void sample(Object object) {
+        if (!tracing) {
+            return;
+        }
+        countdown = nextCountdown();
+        if (suspended > 0) {
+            return;
+        }
+        expungeStaleEntries();
+        long size = estimateSize(object) * sampleRate;
+        objectTraces.put(new TracedObject(object, queue), new Trace(DEFAULT_DOMAIN, size, captureTraceback()));
+        addMemory(size);
+    }
+
+    private void addMemory(long size) {
+        tracedMemory += size;
+        if (tracedMemory > peakMemory) {
+            peakMemory = tracedMemory;
+        }
+    }
+
+    private void expungeStaleEntries() {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null) {
+            Trace trace = objectTraces.remove(ref);
+            if (trace != null) {
+                tracedMemory -= trace.size;
+            }
+        }
+    }
+
+    /**
+     * Draws the number of allocations until the next sample from a geometric distribution with the
+     * mean {@link #sampleRate}.
+     */
+    private int nextCountdown() {
+        if (sampleRate <= 1) {
+            return 1;
+        }
+        double u = ThreadLocalRandom.current().nextDouble();
+        double n = Math.log1p(-u) / Math.log1p(-1.0 / sampleRate);
+        return (int) Math.min(Integer.MAX_VALUE, 1 + (long) n);
+    }
+
+    private static long estimateSize(Object object) {
+        if (object instanceof PBytesLike bytes) {
+            return OBJECT_SIZE + bytes.getSequenceStorage().length();
+        } else if (object instanceof PList list) {
+            return OBJECT_SIZE + list.getSequenceStorage().getCapacity() * REFERENCE_SIZE;
+        } else if (object instanceof PTuple tuple) {
+            return OBJECT_SIZE + tuple.getSequenceStorage().length() * REFERENCE_SIZE;
+        }
+        return OBJECT_SIZE;
+    }
+
+    private Traceback captureTraceback() {
+        TracebackCollector collector = new TracebackCollector();
+        Truffle.getRuntime().iterateFrames(collector);
+        Traceback traceback = new Traceback(Arrays.copyOf(collector.filenames, collector.depth), Arrays.copyOf(collector.lines, collector.depth), collector.total);
+        Traceback existing = tracebacks.putIfAbsent(traceback, traceback);
+        return existing != null ? existing : traceback;
+    }
+
+    private TruffleString getFilename(PBytecodeRootNode rootNode) {
+        TruffleString filename = filenames.get(rootNode);
+        if (filename == null) {
+            filename = PCode.extractFileName(rootNode);
+            filenames.put(rootNode, filename);
+        }
+        return filename;
+    }
+
+    private static int getLine(FrameInstance frameInstance, PBytecodeRootNode rootNode, boolean generator) {
+        Frame frame = frameInstance.getFrame(FrameInstance.FrameAccess.READ_ONLY);
+        if (generator) {
+            frame = PArguments.getGeneratorFrame(frame);
+        }
+        if (frame != null && frame.getFrameDescriptor().getInfo() instanceof FrameInfo frameInfo) {
+            int bci = frameInfo.getBci(frame);
+            if (bci >= 0) {
+                return rootNode.bciToLine(bci);
+            }
+        }
+        return rootNode.getFirstLineno();
+    }
+
+    private final class TracebackCollector implements FrameInstanceVisitor<Object> {
+        TruffleString[] filenames = new TruffleString[Math.min(maxFrames, 16)];
+        int[] lines = new int[filenames.length];
+        int depth;
+        int total;
+
+        @Override
+        public Object visitFrame(FrameInstance frameInstance) {
+            if (frameInstance.getCallTarget() instanceof RootCallTarget callTarget) {
+                RootNode rootNode = callTarget.getRootNode();
+                boolean generator = false;
+                if (rootNode instanceof PBytecodeGeneratorRootNode generatorRootNode) {
+                    rootNode = generatorRootNode.getBytecodeRootNode();
+                    generator = true;
+                }
+                if (rootNode instanceof PBytecodeRootNode bytecodeRootNode && !bytecodeRootNode.isPythonInternal()) {
+                    if (depth < maxFrames) {
+                        if (depth == filenames.length) {
+                            int newLength = Math.min(maxFrames, depth * 2);
+                            filenames = Arrays.copyOf(filenames, newLength);
+                            lines = Arrays.copyOf(lines, newLength);
+                        }
+                        filenames[depth] = getFilename(bytecodeRootNode);
+                        lines[depth] = getLine(frameInstance, bytecodeRootNode, generator);
+                        depth++;
+                    }
+                    total++;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A traced allocation, the size of sampled objects is already scaled by the sample rate.
+     */
+    public static final class Trace {
+        public final int domain;
+        public final long size;
+        public final Traceback traceback;
+
+        Trace(int domain, long size, Traceback traceback) {
+            this.domain = domain;
+            this.size = size;
+            this.traceback = traceback;
+        }
+    }
+
+    /**
+     * The frames of an allocation, the most recent first. Equal tracebacks are shared between
+     * traces, and the Python tuple is created only once.
+     */
+    public static final class Traceback {
+        private final TruffleString[] filenames;
+        private final int[] lines;
+        private final int totalFrames;
+        private final int hash;
+        private Object pythonTuple;
+
+        Traceback(TruffleString[] filenames, int[] lines, int totalFrames) {
+            this.filenames = filenames;
+            this.lines = lines;
+            this.totalFrames = totalFrames;
+            this.hash = 31 * Arrays.hashCode(filenames) + Arrays.hashCode(lines);
+        }
+
+        public int getFrameCount() {
+            return lines.length;
+        }
+
+        public TruffleString getFilename(int i) {
+            return filenames[i];
+        }
+
+        public int getLine(int i) {
+            return lines[i];
+        }
+
+        public int getTotalFrames() {
+            return totalFrames;
+        }
+
+        public Object getPythonTuple() {
+            return pythonTuple;
+        }
+
+        public void setPythonTuple(Object pythonTuple) {
+            this.pythonTuple = pythonTuple;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Traceback other && hash == other.hash && totalFrames == other.totalFrames && Arrays.equals(lines, other.lines) && Arrays.equals(filenames, other.filenames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A weak reference that compares its referent by identity, so that it can be used to look up
+     * the trace of an object.
+     */
+    private static final class TracedObject extends WeakReference<Object> {
+        private final int hash;
+
+        TracedObject(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof TracedObject other && hash == other.hash) {
+                Object referent = get();
+                return referent != null && referent == other.get();
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record NativeKey(int domain, Object pointer) {
+    }
+}
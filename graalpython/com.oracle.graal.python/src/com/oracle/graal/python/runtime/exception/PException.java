@@ -42,6 +42,7 @@ package com.oracle.graal.python.runtime.exception;
 
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.ChainExceptionsNode;
 import com.oracle.graal.python.builtins.objects.exception.ExceptionNodes;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.frame.PFrame;
@@ -52,6 +53,7 @@ import com.oracle.graal.python.builtins.objects.traceback.PTraceback;
 import com.oracle.graal.python.lib.PyExceptionInstanceCheckNode;
 import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
+import com.oracle.graal.python.nodes.util.ExceptionStateNodes;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -91,6 +93,7 @@ public final class PException extends AbstractTruffleException {
     private boolean reified = false;
     private boolean skipFirstTracebackFrame;
     private int tracebackFrameCount;
+    private boolean contextPending;
 
     private PException(Object pythonException, Node node) {
         super(node);
@@ -246,7 +249,36 @@ public final class PException extends AbstractTruffleException {
         this.catchBci = catchBci;
     }
 
+    /**
+     * Defers the implicit chaining of this exception to the exception state of the callers of the
+     * frame that caught it. Finding that state may require a stack walk, and after it the callers
+     * pass the state on every call. Most exceptions that are used for control flow are handled
+     * without ever being looked at, so we only chain them once they escape to the program or are
+     * re-raised. The frame must have been set with
+     * {@link #setCatchingFrameReference(Frame, PBytecodeRootNode, int)}.
+     */
+    public void setContextPending() {
+        assert frameInfo != null;
+        contextPending = true;
+    }
+
+    private void resolvePendingContext() {
+        if (contextPending) {
+            doResolvePendingContext();
+        }
+    }
+
+    @TruffleBoundary
+    private void doResolvePendingContext() {
+        contextPending = false;
+        AbstractTruffleException outer = ExceptionStateNodes.GetCaughtExceptionNode.stackWalkFromCallerOf(frameInfo);
+        if (outer instanceof PException outerPException && outer != NO_EXCEPTION) {
+            ChainExceptionsNode.executeUncached(this, outerPException);
+        }
+    }
+
     public void markEscaped() {
+        resolvePendingContext();
         markFrameEscaped();
         if (!(pythonException instanceof PBaseException)) {
             materializeNativeExceptionTraceback();
@@ -311,6 +343,7 @@ public final class PException extends AbstractTruffleException {
      * end of `finally`, `__exit__`...
      */
     public PException getExceptionForReraise(boolean rootNodeVisible) {
+        resolvePendingContext();
         ensureReified();
         PException pe = PException.fromObject(pythonException, getLocation(), false);
         if (rootNodeVisible) {
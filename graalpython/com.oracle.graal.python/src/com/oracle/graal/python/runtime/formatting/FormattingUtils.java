@@ -40,6 +40,10 @@
  */
 package com.oracle.graal.python.runtime.formatting;
 
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.runtime.formatting.InternalFormat.Formatter;
 import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
 import com.oracle.truffle.api.nodes.Node;
@@ -64,4 +68,27 @@ public final class FormattingUtils {
                 throw Formatter.unknownFormat(spec.type, forType, raisingNode);
         }
     }
+
+    /**
+     * Whether an integer should be converted to a float to format it with the given spec.
+     */
+    public static boolean isDoubleSpec(Spec spec) {
+        return spec.type == 'e' || spec.type == 'E' || spec.type == 'f' || //
+                        spec.type == 'F' || spec.type == 'g' || //
+                        spec.type == 'G' || spec.type == '%';
+    }
+
+    public static Spec validateForInt(Spec spec, Node raisingNode) {
+        if (Spec.specified(spec.precision)) {
+            throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.PRECISION_NOT_ALLOWED_FOR_INT);
+        }
+        if (spec.type == 'c') {
+            if (Spec.specified(spec.sign)) {
+                throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.SIGN_NOT_ALLOWED_WITH_C_FOR_INT);
+            } else if (spec.alternate) {
+                throw PRaiseNode.raiseUncached(raisingNode, ValueError, ErrorMessages.ALTERNATE_NOT_ALLOWED_WITH_C_FOR_INT);
+            }
+        }
+        return spec;
+    }
 }
@@ -45,6 +45,7 @@ import com.oracle.graal.python.builtins.modules.cjkcodecs.MultibyteIncrementalEn
 import com.oracle.graal.python.builtins.modules.cjkcodecs.MultibyteStreamReaderObject;
 import com.oracle.graal.python.builtins.modules.cjkcodecs.MultibyteStreamWriterObject;
 import com.oracle.graal.python.builtins.modules.codecs.PEncodingMap;
+import com.oracle.graal.python.builtins.modules.csv.CSVBlockParser;
 import com.oracle.graal.python.builtins.modules.csv.CSVDialect;
 import com.oracle.graal.python.builtins.modules.csv.CSVReader;
 import com.oracle.graal.python.builtins.modules.csv.CSVWriter;
@@ -88,6 +89,7 @@ import com.oracle.graal.python.builtins.objects.asyncio.PAsyncGenASend;
 import com.oracle.graal.python.builtins.objects.asyncio.PAsyncGenAThrow;
 import com.oracle.graal.python.builtins.objects.asyncio.PAsyncGenWrappedValue;
 import com.oracle.graal.python.builtins.objects.asyncio.PCoroutineWrapper;
+import com.oracle.graal.python.builtins.objects.asyncio.PLoopCore;
 import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.capsule.PyCapsule;
@@ -231,6 +233,7 @@ import com.oracle.graal.python.nodes.bytecode.PBytecodeRootNode;
 import com.oracle.graal.python.runtime.NFIZlibSupport;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.Tracemalloc;
 import com.oracle.graal.python.runtime.object.PythonObjectFactoryNodeGen.LazyNodeGen;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
@@ -318,6 +321,9 @@ public abstract class PythonObjectFactory extends Node {
         if (reporter.isActive()) {
             doTraceImpl(o, size, reporter);
         }
+        if (!PythonLanguage.get(null).noTracemallocAssumption.isValid()) {
+            doTracemalloc(o);
+        }
         return null;
     }
 
@@ -327,6 +333,14 @@ public abstract class PythonObjectFactory extends Node {
         reporter.onReturnValue(o, 0, size);
     }
 
+    @InliningCutoff
+    private static void doTracemalloc(Object o) {
+        Tracemalloc tracemalloc = PythonContext.get(null).getTracemalloc();
+        if (tracemalloc.isTracing()) {
+            tracemalloc.onAllocation(o);
+        }
+    }
+
     @NeverDefault
     protected AllocationReporter getAllocationReporter() {
         return PythonContext.get(this).getAllocationReporter();
@@ -966,6 +980,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PCoroutineWrapper(getLanguage(), generator));
     }
 
+    public final PLoopCore createAsyncioLoopCore(Object cls) {
+        return trace(new PLoopCore(cls, getShape(cls)));
+    }
+
     public final PAsyncGen createAsyncGenerator(TruffleString name, TruffleString qualname, PBytecodeRootNode rootNode, RootCallTarget[] callTargets, Object[] arguments) {
         return trace(PAsyncGen.create(getLanguage(), name, qualname, rootNode, callTargets, arguments));
     }
@@ -1316,6 +1334,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new CSVReader(clazz, getShape(clazz), inputIter, dialect));
     }
 
+    public final CSVReader createCSVReader(Object clazz, Object file, CSVDialect dialect, CSVBlockParser.Rows blockParser) {
+        return trace(new CSVReader(clazz, getShape(clazz), file, dialect, blockParser));
+    }
+
     public final CSVWriter createCSVWriter(Object clazz, Object write, CSVDialect dialect) {
         return trace(new CSVWriter(clazz, getShape(clazz), write, dialect));
     }
@@ -63,6 +63,7 @@ import org.graalvm.python.embedding.tools.vfs.VFSUtils;
 
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.GRAALPY_GROUP_ID;
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.LAUNCHER_NAME;
+import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_ARCHIVE;
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_HOME;
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_ROOT;
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_VENV;
@@ -97,6 +98,26 @@ public class ManageResourcesMojo extends AbstractMojo {
     @Parameter
     PythonHome pythonHome;
 
+    /**
+     * Pack the virtual filesystem resources into a single indexed archive instead of shipping them
+     * as separate resources.
+     */
+    @Parameter(defaultValue = "false")
+    boolean packResources;
+
+    /**
+     * Compress the files in the packed archive. Compressed files are inflated in memory when read.
+     */
+    @Parameter(defaultValue = "false")
+    boolean compressPackedResources;
+
+    /**
+     * Application modules and packages to freeze at build time. They are compiled into a single
+     * file in the resources and imported from there instead of from their sources.
+     */
+    @Parameter
+    List<String> frozenModules;
+
     @Parameter(defaultValue = "${session}", readonly = true, required = true)
     private MavenSession session;
 
@@ -117,6 +138,7 @@ public class ManageResourcesMojo extends AbstractMojo {
 
         manageHome();
         manageVenv();
+        freezeModules();
         listGraalPyResources();
         manageNativeImageConfig();
 
@@ -165,7 +187,7 @@ public class ManageResourcesMojo extends AbstractMojo {
 
         Path homeDirectory;
         if(pythonResourcesDirectory == null) {
-            homeDirectory = Path.of(project.getBuild().getOutputDirectory(), VFS_ROOT, VFS_HOME);
+            homeDirectory = getVfsWorkDirectory().resolve(VFS_HOME);
         } else {
             homeDirectory = Path.of(pythonResourcesDirectory, VFS_HOME);
         }
@@ -187,9 +209,44 @@ public class ManageResourcesMojo extends AbstractMojo {
         return new ArrayList<>(0);
     }
 
+    /**
+     * The directory where the home and venv are managed. When packing the resources, they are kept
+     * outside of the output directory, so that they survive the removal of the packed files and
+     * are only updated when needed.
+     */
+    private Path getVfsWorkDirectory() {
+        if (packResources) {
+            return Path.of(project.getBuild().getDirectory(), "graalpy-vfs", VFS_ROOT);
+        }
+        return Path.of(project.getBuild().getOutputDirectory(), VFS_ROOT);
+    }
+
+    private void freezeModules() throws MojoExecutionException {
+        Path vfs;
+        List<Path> roots = new ArrayList<>();
+        if (pythonResourcesDirectory == null) {
+            vfs = Path.of(project.getBuild().getOutputDirectory(), VFS_ROOT);
+            roots.add(getVfsWorkDirectory());
+            roots.add(vfs);
+            for (Resource r : project.getBuild().getResources()) {
+                roots.add(Path.of(r.getDirectory(), VFS_ROOT));
+            }
+        } else {
+            vfs = Path.of(pythonResourcesDirectory);
+            roots.add(vfs);
+        }
+        try {
+            VFSUtils.freezeModules(vfs, roots, frozenModules, () -> calculateLauncherClasspath(project), new MavenDelegateLog(getLog()), (s) -> getLog().info(s));
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Failed to freeze modules into '%s'", vfs), e);
+        }
+    }
+
     private void listGraalPyResources() throws MojoExecutionException {
         Path vfs = Path.of(project.getBuild().getOutputDirectory(), VFS_ROOT);
-        if (Files.exists(vfs)) {
+        if (packResources) {
+            packGraalPyResources(vfs);
+        } else if (Files.exists(vfs)) {
             try {
                 VFSUtils.generateVFSFilesList(vfs);
             } catch (IOException e) {
@@ -198,10 +255,33 @@ public class ManageResourcesMojo extends AbstractMojo {
         }
     }
 
+    private void packGraalPyResources(Path vfs) throws MojoExecutionException {
+        List<Path> roots = new ArrayList<>();
+        Path workDirectory = getVfsWorkDirectory();
+        if (Files.exists(workDirectory)) {
+            roots.add(workDirectory);
+        }
+        if (Files.exists(vfs)) {
+            roots.add(vfs);
+        }
+        if (roots.isEmpty()) {
+            return;
+        }
+        Path archive = workDirectory.resolveSibling(VFS_ARCHIVE);
+        try {
+            VFSUtils.generateVFSArchive(archive, compressPackedResources, roots.toArray(new Path[0]));
+            VFSUtils.delete(vfs);
+            Files.createDirectories(vfs);
+            Files.move(archive, vfs.resolve(VFS_ARCHIVE));
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Failed to pack the virtual filesystem resources into '%s'", vfs.resolve(VFS_ARCHIVE)), e);
+        }
+    }
+
     private void manageVenv() throws MojoExecutionException {
         Path venvDirectory;
         if(pythonResourcesDirectory == null) {
-            venvDirectory = Path.of(project.getBuild().getOutputDirectory(), VFS_ROOT, VFS_VENV);
+            venvDirectory = getVfsWorkDirectory().resolve(VFS_VENV);
         } else {
             venvDirectory = Path.of(pythonResourcesDirectory, VFS_VENV);
         }
@@ -0,0 +1,195 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+"""
+An asyncio event loop with its core implemented in Java.
+
+The ready queue, the timer heap and the polling for I/O are kept in
+``_asyncio._LoopCore``, which runs a whole iteration of the loop in Java.
+Only the callbacks and coroutines scheduled on the loop run as Python code.
+The loop is otherwise the default selector event loop, so transports,
+servers, subprocesses and signal handlers work as usual::
+
+    import graalpy_asyncio
+    graalpy_asyncio.install()
+
+or for a single program::
+
+    graalpy_asyncio.run(main())
+
+The loop always uses ``time.monotonic()`` as its clock, subclasses must not
+override ``time()``.
+"""
+
+import asyncio
+import selectors
+from asyncio import base_events
+from asyncio import events
+from _asyncio import _LoopCore
+
+__all__ = ('EventLoop', 'EventLoopPolicy', 'new_event_loop', 'install', 'run')
+
+
+class _CoreSelector:
+    """Presents the readers and writers registered in the loop core as keys of
+    a selector, for the parts of asyncio that inspect the loop's selector."""
+
+    def __init__(self, core):
+        self._core = core
+
+    def get_key(self, fileobj):
+        fd = selectors._fileobj_to_fd(fileobj)
+        handles = self._core.get_handles(fd)
+        if handles is None:
+            raise KeyError("{!r} is not registered".format(fileobj))
+        reader, writer = handles
+        mask = 0
+        if reader is not None:
+            mask |= selectors.EVENT_READ
+        if writer is not None:
+            mask |= selectors.EVENT_WRITE
+        return selectors.SelectorKey(fileobj, fd, mask, handles)
+
+    def close(self):
+        self._core.close()
+
+
+class EventLoop(asyncio.SelectorEventLoop):
+
+    def __init__(self):
+        self._core = _LoopCore()
+        super().__init__(_CoreSelector(self._core))
+
+    def _call_soon(self, callback, args, context):
+        handle = events.Handle(callback, args, self, context)
+        if handle._source_traceback:
+            del handle._source_traceback[-1]
+        self._core.call_soon(handle)
+        return handle
+
+    def _add_callback(self, handle):
+        if not handle._cancelled:
+            self._core.call_soon(handle)
+
+    def call_at(self, when, callback, *args, context=None):
+        if when is None:
+            raise TypeError("when cannot be None")
+        self._check_closed()
+        if self._debug:
+            self._check_thread()
+            self._check_callback(callback, 'call_at')
+        timer = events.TimerHandle(when, callback, args, self, context)
+        if timer._source_traceback:
+            del timer._source_traceback[-1]
+        self._core.call_at(when, timer)
+        timer._scheduled = True
+        return timer
+
+    def _timer_handle_cancelled(self, handle):
+        # the core resets _scheduled when a timer leaves its heap
+        if handle._scheduled:
+            self._core.timer_cancelled()
+
+    def _add_reader(self, fd, callback, *args):
+        self._check_closed()
+        handle = events.Handle(callback, args, self, None)
+        previous = self._core.add_reader(fd, handle)
+        if previous is not None:
+            previous.cancel()
+        return handle
+
+    def _remove_reader(self, fd):
+        if self.is_closed():
+            return False
+        handle = self._core.remove_reader(fd)
+        if handle is None:
+            return False
+        handle.cancel()
+        return True
+
+    def _add_writer(self, fd, callback, *args):
+        self._check_closed()
+        handle = events.Handle(callback, args, self, None)
+        previous = self._core.add_writer(fd, handle)
+        if previous is not None:
+            previous.cancel()
+        return handle
+
+    def _remove_writer(self, fd):
+        if self.is_closed():
+            return False
+        handle = self._core.remove_writer(fd)
+        if handle is None:
+            return False
+        handle.cancel()
+        return True
+
+    def _run_once(self):
+        self._core.run_once(self._stopping, self._run_handle_debug if self._debug else None)
+
+    def _run_handle_debug(self, handle):
+        try:
+            self._current_handle = handle
+            t0 = self.time()
+            handle._run()
+            dt = self.time() - t0
+            if dt >= self.slow_callback_duration:
+                base_events.logger.warning('Executing %s took %.3f seconds',
+                                           base_events._format_handle(handle), dt)
+        finally:
+            self._current_handle = None
+
+
+class EventLoopPolicy(asyncio.DefaultEventLoopPolicy):
+    _loop_factory = EventLoop
+
+
+def new_event_loop():
+    return EventLoop()
+
+
+def install():
+    """Makes EventLoop the event loop of all threads that did not set one."""
+    asyncio.set_event_loop_policy(EventLoopPolicy())
+
+
+def run(main, *, debug=None):
+    """Like asyncio.run(), but runs the coroutine in a new EventLoop."""
+    with asyncio.Runner(debug=debug, loop_factory=new_event_loop) as runner:
+        return runner.run(main)
@@ -157,6 +157,12 @@ import math as _math
 import numbers as _numbers
 import sys
 
+# graalpy change: fast paths for the arithmetic on finite decimals
+try:
+    import _decimal_graalpy as _fast
+except ImportError:
+    _fast = None
+
 try:
     from collections import namedtuple as _namedtuple
     DecimalTuple = _namedtuple('DecimalTuple', 'sign digits exponent')
@@ -523,7 +529,8 @@ def localcontext(ctx=None, **kwargs):
 class Decimal(object):
     """Floating point class for decimal arithmetic."""
 
-    __slots__ = ('_exp','_int','_sign', '_is_special')
+    # graalpy change: _coeff caches int(_int) for the fast paths
+    __slots__ = ('_exp','_int','_sign', '_is_special', '_coeff')
     # Generally, the value of the Decimal instance is given by
     #  (-1)**_sign * _int * 10**_exp
     # Special values are signified by _is_special == True
@@ -557,6 +564,13 @@ class Decimal(object):
         # From a string
         # REs insist on real strings, so we can too.
         if isinstance(value, str):
+            # graalpy change: fast path for plain finite literals
+            if _fast is not None:
+                parsed = _fast.parse(value)
+                if parsed is not None:
+                    self._sign, self._int, self._coeff, self._exp = parsed
+                    self._is_special = False
+                    return self
             m = _parser(value.strip().replace("_", ""))
             if m is None:
                 if context is None:
@@ -1189,6 +1203,13 @@ class Decimal(object):
             if other._isinfinity():
                 return Decimal(other)  # Can't both be infinity here
 
+        # graalpy change: fast path for finite operands
+        if _fast is not None:
+            ans = _fast.add(self._sign, _fast_coeff(self), self._exp, other._sign, _fast_coeff(other), other._exp,
+                            context.prec, context.rounding, context.Emin, context.Emax, context.clamp)
+            if ans is not None:
+                return _from_fast_result(ans, context)
+
         exp = min(self._exp, other._exp)
         negativezero = 0
         if context.rounding == ROUND_FLOOR and self._sign != other._sign:
@@ -1262,6 +1283,14 @@ class Decimal(object):
             ans = self._check_nans(other, context=context)
             if ans:
                 return ans
+        # graalpy change: fast path for finite operands
+        elif _fast is not None:
+            if context is None:
+                context = getcontext()
+            ans = _fast.add(self._sign, _fast_coeff(self), self._exp, other._sign ^ 1, _fast_coeff(other), other._exp,
+                            context.prec, context.rounding, context.Emin, context.Emax, context.clamp)
+            if ans is not None:
+                return _from_fast_result(ans, context)
 
         # self - other is computed as self + other.copy_negate()
         return self.__add__(other.copy_negate(), context=context)
@@ -1303,6 +1332,13 @@ class Decimal(object):
                     return context._raise_error(InvalidOperation, '0 * (+-)INF')
                 return _SignedInfinity[resultsign]
 
+        # graalpy change: fast path for finite operands
+        if _fast is not None:
+            ans = _fast.multiply(self._sign, _fast_coeff(self), self._exp, other._sign, _fast_coeff(other), other._exp,
+                                 context.prec, context.rounding, context.Emin, context.Emax, context.clamp)
+            if ans is not None:
+                return _from_fast_result(ans, context)
+
         resultexp = self._exp + other._exp
 
         # Special case for multiplying by zero
@@ -1363,6 +1399,13 @@ class Decimal(object):
                 return context._raise_error(DivisionUndefined, '0 / 0')
             return context._raise_error(DivisionByZero, 'x / 0', sign)
 
+        # graalpy change: fast path for finite operands
+        if _fast is not None:
+            ans = _fast.divide(self._sign, _fast_coeff(self), self._exp, other._sign, _fast_coeff(other), other._exp,
+                               context.prec, context.rounding, context.Emin, context.Emax, context.clamp)
+            if ans is not None:
+                return _from_fast_result(ans, context)
+
         if not self:
             exp = self._exp - other._exp
             coeff = 0
@@ -3857,6 +3900,28 @@ def _dec_from_triple(sign, coefficient, exponent, special=False):
 
     return self
 
+# graalpy change: fast paths for the arithmetic on finite decimals
+def _fast_coeff(dec):
+    """Return the coefficient of a finite decimal as an int, computing it
+    from the digits only once."""
+    try:
+        return dec._coeff
+    except AttributeError:
+        dec._coeff = coeff = int(dec._int)
+        return coeff
+
+def _from_fast_result(result, context):
+    """Create a decimal from the (sign, digits, coefficient, exponent, flags)
+    result of a fast path and signal the flags like _fix does."""
+    sign, digits, coefficient, exponent, flags = result
+    if flags & _fast.FLAG_INEXACT:
+        context._raise_error(Inexact)
+    if flags & _fast.FLAG_ROUNDED:
+        context._raise_error(Rounded)
+    ans = _dec_from_triple(sign, digits, exponent)
+    ans._coeff = coefficient
+    return ans
+
 # Register Decimal as a kind of Number (an abstract base class).
 # However, do not register it as Real (because Decimals are not
 # interoperable with floats).
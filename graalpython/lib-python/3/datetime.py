@@ -12,6 +12,12 @@ import time as _time
 import math as _math
 import sys
 from operator import index as _index
+# graalpy change: Java helpers for the common cases. The types below stay the
+# implementation; the helpers only speed up some of their methods.
+try:
+    import _datetime_graalpy as _fast
+except ImportError:
+    _fast = None
 
 def _cmp(x, y):
     return 0 if x == y else 1 if x > y else -1
@@ -147,6 +153,11 @@ def _ord2ymd(n):
     # start of that month:  we're done!
     return year, month, n+1
 
+# graalpy change: calendar arithmetic in Java
+if _fast is not None:
+    _ymd2ord = _fast.ymd2ord
+    _ord2ymd = _fast.ord2ymd
+
 # Month and day names.  For localized versions, see the calendar module.
 _MONTHNAMES = [None, "Jan", "Feb", "Mar", "Apr", "May", "Jun",
                      "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"]
@@ -179,6 +190,10 @@ def _format_time(hh, mm, ss, us, timespec='auto'):
     else:
         return fmt.format(hh, mm, ss, us)
 
+# graalpy change: format in Java
+if _fast is not None:
+    _format_time = _fast.format_time
+
 def _format_offset(off):
     s = ''
     if off is not None:
@@ -455,6 +470,14 @@ def _parse_isoformat_time(tstr):
 
     return time_comps
 
+# graalpy change: the tzinfo for the offset in microseconds from the Java parsers
+def _fast_offset_tz(off):
+    if off is None:
+        return None
+    if not off:
+        return timezone.utc
+    return timezone(timedelta(0, 0, off))
+
 # tuple[int, int, int] -> tuple[int, int, int] version of date.fromisocalendar
 def _isoweek_to_gregorian(year, week, day):
     # Year is bounded this way because 9999-12-31 is (9999, 52, 5)
@@ -601,6 +624,16 @@ class timedelta:
 
         # XXX Check that all inputs are ints or floats.
 
+        # graalpy change: normalize int arguments in Java
+        if _fast is not None:
+            normalized = _fast.normalize_timedelta(days, seconds, microseconds,
+                                                   milliseconds, minutes, hours, weeks)
+            if normalized is not None:
+                self = object.__new__(cls)
+                self._days, self._seconds, self._microseconds = normalized
+                self._hashcode = -1
+                return self
+
         # Final values, all integer.
         # s and us fit in 32-bit signed ints; d isn't bounded.
         d = s = us = 0
@@ -982,6 +1015,15 @@ class date:
         if not isinstance(date_string, str):
             raise TypeError('fromisoformat: argument must be str')
 
+        # graalpy change: parse YYYY-MM-DD in Java
+        if _fast is not None:
+            date_components = _fast.parse_isoformat_date(date_string)
+            if date_components is not None:
+                try:
+                    return cls(*date_components)
+                except Exception:
+                    raise ValueError(f'Invalid isoformat string: {date_string!r}')
+
         if len(date_string) not in (7, 8, 10):
             raise ValueError(f'Invalid isoformat string: {date_string!r}')
 
@@ -1541,6 +1583,16 @@ class time:
         # is no ambiguity with date strings.
         time_string = time_string.removeprefix('T')
 
+        # graalpy change: parse the common forms in Java
+        if _fast is not None:
+            time_components = _fast.parse_isoformat_time(time_string)
+            if time_components is not None:
+                hh, mm, ss, us, off = time_components
+                try:
+                    return cls(hh, mm, ss, us, _fast_offset_tz(off))
+                except Exception:
+                    raise ValueError(f'Invalid isoformat string: {time_string!r}')
+
         try:
             return cls(*_parse_isoformat_time(time_string))
         except Exception:
@@ -1741,6 +1793,18 @@ class datetime(date):
 
         A timezone info object may be passed in as well.
         """
+        # graalpy change: convert in Java, which also detects the fold
+        if _fast is not None:
+            components = _fast.fromtimestamp(t, utc)
+            if components is not None:
+                y, m, d, hh, mm, ss, us, fold = components
+                result = cls(y, m, d, hh, mm, ss, us, tz)
+                if fold:
+                    result._fold = 1
+                elif tz is not None:
+                    result = tz.fromutc(result)
+                return result
+
         frac, t = _math.modf(t)
         us = round(frac * 1e6)
         if us >= 1000000:
@@ -1825,6 +1889,13 @@ class datetime(date):
         if not isinstance(date_string, str):
             raise TypeError('fromisoformat: argument must be str')
 
+        # graalpy change: parse the common forms in Java
+        if _fast is not None:
+            components = _fast.parse_isoformat_datetime(date_string)
+            if components is not None:
+                y, m, d, hh, mm, ss, us, off = components
+                return cls(y, m, d, hh, mm, ss, us, _fast_offset_tz(off))
+
         if len(date_string) < 7:
             raise ValueError(f'Invalid isoformat string: {date_string!r}')
 
@@ -2018,9 +2089,16 @@ class datetime(date):
         terms of the time to include. Valid options are 'auto', 'hours',
         'minutes', 'seconds', 'milliseconds' and 'microseconds'.
         """
-        s = ("%04d-%02d-%02d%c" % (self._year, self._month, self._day, sep) +
-             _format_time(self._hour, self._minute, self._second,
-                          self._microsecond, timespec))
+        # graalpy change: format in Java
+        s = None
+        if _fast is not None:
+            s = _fast.format_datetime(self._year, self._month, self._day, sep,
+                                      self._hour, self._minute, self._second,
+                                      self._microsecond, timespec)
+        if s is None:
+            s = ("%04d-%02d-%02d%c" % (self._year, self._month, self._day, sep) +
+                 _format_time(self._hour, self._minute, self._second,
+                              self._microsecond, timespec))
 
         off = self.utcoffset()
         tz = _format_offset(off)
@@ -2636,7 +2714,7 @@ else:
          _divide_and_round, _parse_isoformat_date, _parse_isoformat_time,
          _parse_hh_mm_ss_ff, _IsoCalendarDate, _isoweek_to_gregorian,
          _find_isoformat_datetime_separator, _FRACTION_CORRECTION,
-         _is_ascii_digit)
+         _is_ascii_digit, _fast, _fast_offset_tz)
     # XXX Since import * above excludes names that start with _,
     # docstring does not get overwritten. In the future, it may be
     # appropriate to maintain a single module level docstring and
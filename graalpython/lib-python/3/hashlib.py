@@ -287,6 +287,11 @@ def file_digest(fileobj, digest, /, *, _bufsize=2**18):
             f"'{fileobj!r}' is not a file-like object in binary reading mode."
         )
 
+    # GraalPy change: hash seekable files directly from their file descriptor,
+    # without reading the data into Python objects
+    if _hashlib is not None and _file_digest_fd(fileobj, digestobj):
+        return digestobj
+
     # binary file, socket.SocketIO object
     # Note: socket I/O uses different syscalls than file I/O.
     buf = bytearray(_bufsize)  # Reusable buffer to reduce allocations.
@@ -300,6 +305,27 @@ def file_digest(fileobj, digest, /, *, _bufsize=2**18):
     return digestobj
 
 
+# GraalPy change: fast path for file_digest
+def _file_digest_fd(fileobj, digestobj):
+    try:
+        if not fileobj.seekable():
+            return False
+        fd = fileobj.fileno()
+        pos = fileobj.tell()
+    except (AttributeError, OSError, ValueError):
+        return False
+    import os
+    raw_pos = os.lseek(fd, 0, os.SEEK_CUR)
+    os.lseek(fd, pos, os.SEEK_SET)
+    hashed = _hashlib._file_digest_fd(digestobj, fd)
+    if hashed:
+        # drop any data the file object has buffered
+        fileobj.seek(0, os.SEEK_END)
+    else:
+        os.lseek(fd, raw_pos, os.SEEK_SET)
+    return hashed
+
+
 for __func_name in __always_supported:
     # try them all, some may not work due to the OpenSSL
     # version not supporting that algorithm.
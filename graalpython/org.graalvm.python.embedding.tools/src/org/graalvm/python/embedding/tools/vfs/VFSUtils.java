@@ -43,9 +43,13 @@ package org.graalvm.python.embedding.tools.vfs;
 import org.graalvm.python.embedding.tools.exec.GraalPyRunner;
 import org.graalvm.python.embedding.tools.exec.SubprocessLog;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -61,18 +65,30 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 public final class VFSUtils {
 
     public static final String VFS_ROOT = "org.graalvm.python.vfs";
     public static final String VFS_HOME = "home";
     public static final String VFS_VENV = "venv";
+    public static final String VFS_SRC = "src";
+    public static final String VFS_FROZEN_MODULES = "frozen_modules.bin";
     public static final String VFS_FILESLIST = "fileslist.txt";
+    public static final String VFS_ARCHIVE = "vfs.pack";
+
+    private static final byte[] ARCHIVE_MAGIC = {'G', 'P', 'Y', 'V', 'F', 'S', 0, 1};
+    private static final byte ARCHIVE_STORED = 0;
+    private static final byte ARCHIVE_DEFLATED = 1;
+    private static final byte ARCHIVE_DIRECTORY = 2;
 
     public static final String GRAALPY_GROUP_ID = "org.graalvm.python";
 
@@ -152,6 +168,190 @@ public final class VFSUtils {
         }
     }
 
+    /**
+     * Packs the files and directories of the given virtual filesystem resource roots into a single
+     * archive, which the virtual filesystem reads instead of the individual resources and the files
+     * list. The archive starts with an index sorted by the resource paths, so that opening it does
+     * not need to touch the file contents. Uncompressed files are read directly from the archive,
+     * compressed ones are inflated on access. Later roots take precedence for files that exist in
+     * more than one root.
+     *
+     * @param archive the archive file to write
+     * @param compress whether to deflate the files that become smaller by it
+     * @param vfsRoots directories named {@value #VFS_ROOT}
+     */
+    public static void generateVFSArchive(Path archive, boolean compress, Path... vfsRoots) throws IOException {
+        Map<String, Path> entries = new TreeMap<>();
+        for (Path vfs : vfsRoots) {
+            if (!Files.isDirectory(vfs)) {
+                throw new IOException(String.format("'%s' has to exist and be a directory.\n", vfs.toString()));
+            }
+            try (var s = Files.walk(vfs)) {
+                s.forEach(p -> {
+                    Path rel = vfs.relativize(p);
+                    String resourcePath = "/" + VFS_ROOT + (rel.toString().isEmpty() ? "" : "/" + rel.toString().replace(File.separatorChar, '/'));
+                    if (Files.isDirectory(p)) {
+                        entries.put(resourcePath + "/", null);
+                    } else if (Files.isRegularFile(p) && !p.toAbsolutePath().equals(archive.toAbsolutePath()) && !(p.getParent().equals(vfs) && p.getFileName().toString().equals(VFS_FILESLIST))) {
+                        entries.put(resourcePath, p);
+                    }
+                });
+            }
+        }
+        createParentDirectories(archive);
+        Path data = Files.createTempFile(archive.toAbsolutePath().getParent(), VFS_ARCHIVE, ".data");
+        try {
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            try (DataOutputStream indexOut = new DataOutputStream(index);
+                            OutputStream dataOut = new BufferedOutputStream(Files.newOutputStream(data))) {
+                long offset = 0;
+                for (Map.Entry<String, Path> e : entries.entrySet()) {
+                    indexOut.writeUTF(e.getKey());
+                    if (e.getValue() == null) {
+                        indexOut.writeByte(ARCHIVE_DIRECTORY);
+                        indexOut.writeLong(0);
+                        indexOut.writeInt(0);
+                        indexOut.writeInt(0);
+                        continue;
+                    }
+                    byte[] contents = Files.readAllBytes(e.getValue());
+                    byte[] stored = compress ? deflate(contents) : null;
+                    byte method = ARCHIVE_DEFLATED;
+                    if (stored == null || stored.length >= contents.length) {
+                        stored = contents;
+                        method = ARCHIVE_STORED;
+                    }
+                    dataOut.write(stored);
+                    indexOut.writeByte(method);
+                    indexOut.writeLong(offset);
+                    indexOut.writeInt(contents.length);
+                    indexOut.writeInt(stored.length);
+                    offset += stored.length;
+                }
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archive)))) {
+                out.write(ARCHIVE_MAGIC);
+                out.writeInt(entries.size());
+                out.writeLong(ARCHIVE_MAGIC.length + Integer.BYTES + Long.BYTES + index.size());
+                index.writeTo(out);
+                Files.copy(data, out);
+            }
+        } finally {
+            Files.deleteIfExists(data);
+        }
+    }
+
+    private static byte[] deflate(byte[] contents) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(contents);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /*
+     * Compiles the sources of the given modules and packages with all their submodules and writes
+     * the marshalled code to a file which the GraalPy runtime reads with
+     * PythonContext#lookupApplicationFrozenModule.
+     */
+    private static final String FREEZE_MODULES_SCRIPT = """
+                    import _imp, marshal, os, struct, sys
+                    out, roots, names = sys.argv[1], sys.argv[2].split(os.pathsep), sys.argv[3:]
+                    modules = {}
+                    def add(name, path, is_package):
+                        with open(path, 'rb') as f:
+                            code = compile(f.read(), f'<frozen {name}>', 'exec')
+                        modules[name] = (is_package, marshal.dumps(code))
+                    def freeze(name):
+                        rel = os.path.join(*name.split('.'))
+                        for root in roots:
+                            pkg = os.path.join(root, rel)
+                            if os.path.isfile(os.path.join(pkg, '__init__.py')):
+                                for dirpath, dirnames, filenames in os.walk(pkg):
+                                    dirnames[:] = [d for d in dirnames if os.path.isfile(os.path.join(dirpath, d, '__init__.py'))]
+                                    relpkg = os.path.relpath(dirpath, pkg)
+                                    prefix = name if relpkg == os.curdir else name + '.' + '.'.join(relpkg.split(os.sep))
+                                    for f in filenames:
+                                        if f == '__init__.py':
+                                            add(prefix, os.path.join(dirpath, f), True)
+                                        elif f.endswith('.py'):
+                                            add(prefix + '.' + f[:-3], os.path.join(dirpath, f), False)
+                                return
+                            if os.path.isfile(pkg + '.py'):
+                                add(name, pkg + '.py', False)
+                                return
+                        sys.exit(f'cannot find the sources of {name} to freeze in {os.pathsep.join(roots)}')
+                    for name in names:
+                        freeze(name)
+                    with open(out, 'wb') as f:
+                        f.write(b'GPYFRZ\\x00\\x01')
+                        # the magic number is 21000 + 10 * the bytecode version of the compiler
+                        f.write(struct.pack('>I', (int.from_bytes(_imp.get_magic()[:2], 'little') - 21000) // 10))
+                        f.write(struct.pack('>I', len(modules)))
+                        for name, (is_package, code) in sorted(modules.items()):
+                            encoded = name.encode('utf-8')
+                            f.write(struct.pack('>H', len(encoded)) + encoded)
+                            f.write(struct.pack('>?I', is_package, len(code)) + code)
+                    """;
+
+    /**
+     * Freezes the given modules and packages, including all their submodules, into the file
+     * {@value #VFS_FROZEN_MODULES} in the given virtual filesystem root. GraalPy contexts created
+     * by {@code GraalPyResources} import these modules from their precompiled code instead of
+     * looking up and compiling their sources. The sources are looked up in the {@value #VFS_SRC}
+     * directories and the venv site-packages of the given roots. Like for frozen stdlib modules,
+     * frozen modules have no {@code __file__} and frozen packages have an empty {@code __path__},
+     * so only pure Python packages that do not access their files can be frozen.
+     *
+     * @param vfs the virtual filesystem root to write the frozen modules to
+     * @param sourceRoots virtual filesystem roots that contain the sources, including {@code vfs}
+     *            itself if it contains any
+     * @param modules the names of the modules and packages to freeze. If empty, a previously
+     *            frozen modules file is removed.
+     */
+    public static void freezeModules(Path vfs, List<Path> sourceRoots, List<String> modules, LauncherClassPath launcherClassPath, SubprocessLog subprocessLog, Log log) throws IOException {
+        Path output = vfs.resolve(VFS_FROZEN_MODULES);
+        if (modules == null || trim(modules).isEmpty()) {
+            Files.deleteIfExists(output);
+            return;
+        }
+        List<String> searchPath = new ArrayList<>();
+        for (Path root : sourceRoots) {
+            addIfDirectory(searchPath, root.resolve(VFS_SRC));
+            addIfDirectory(searchPath, root.resolve("proj"));
+            Path venv = root.resolve(VFS_VENV);
+            addIfDirectory(searchPath, venv.resolve("Lib").resolve("site-packages"));
+            Path lib = venv.resolve("lib");
+            if (Files.isDirectory(lib)) {
+                try (var s = Files.list(lib)) {
+                    s.filter(p -> p.getFileName().toString().startsWith("python")).forEach(p -> addIfDirectory(searchPath, p.resolve("site-packages")));
+                }
+            }
+        }
+        log.info(String.format("Freezing %s", String.join(", ", modules)));
+        createParentDirectories(output);
+        Files.deleteIfExists(output);
+        List<String> args = new ArrayList<>(List.of("-I", "-c", FREEZE_MODULES_SCRIPT, output.toAbsolutePath().toString(), String.join(File.pathSeparator, searchPath)));
+        args.addAll(modules);
+        try {
+            GraalPyRunner.run(launcherClassPath.get(), subprocessLog, args.toArray(new String[0]));
+        } catch (InterruptedException e) {
+            throw new IOException("interrupted while freezing modules", e);
+        }
+        if (!Files.exists(output)) {
+            throw new IOException(String.format("failed to freeze %s", String.join(", ", modules)));
+        }
+    }
+
+    private static void addIfDirectory(List<String> paths, Path p) {
+        if (Files.isDirectory(p)) {
+            paths.add(p.toAbsolutePath().toString());
+        }
+    }
+
     private static String makeDirPath(Path p) {
         String ret = p.toString();
         if (!ret.endsWith(File.separator)) {
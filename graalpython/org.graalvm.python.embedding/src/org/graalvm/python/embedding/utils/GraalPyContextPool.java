@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.graalvm.python.embedding.utils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+
+/**
+ * A pool of pre-initialized GraalPy contexts for applications that run Python code per request.
+ * <p>
+ * Creating a context and importing the <code>site</code> module dominates the cost of short
+ * requests. The pool keeps a number of fully initialized contexts ready, optionally with modules
+ * already imported, and replaces used contexts in the background. All contexts of a pool share one
+ * {@link Engine}, so that the code loaded and compiled by one context is reused by the others.
+ * </p>
+ * <p>
+ * A context is only handed out to one user at a time. By default a released context is closed and
+ * replaced by a fresh one, which is the only way to guarantee that no state leaks from one use to
+ * the next. Applications that control the executed code can allow reusing a context several times
+ * with {@link Builder#maxUses(int)} and clean up after each use with
+ * {@link Builder#resetAction(Consumer)}.
+ * </p>
+ * <p>
+ * <b>Example</b>
+ *
+ * <pre>
+ * try (GraalPyContextPool pool = GraalPyContextPool.newBuilder().size(4).preloadModules("json").build()) {
+ *     Context context = pool.acquire();
+ *     try {
+ *         context.eval("python", "print(json.dumps({'hello': 'world'}))");
+ *     } finally {
+ *         pool.release(context);
+ *     }
+ * }
+ * </pre>
+ * </p>
+ *
+ * @see GraalPyResources
+ */
+public final class GraalPyContextPool implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(GraalPyContextPool.class.getName());
+
+    private static final String PYTHON = "python";
+
+    /**
+     * Builder class to create {@link GraalPyContextPool} instances.
+     */
+    public static final class Builder {
+        private int size = Runtime.getRuntime().availableProcessors();
+        private VirtualFileSystem vfs;
+        private Path resourcesDirectory;
+        private Consumer<Context.Builder> configuration;
+        private final List<String> preloadModules = new ArrayList<>();
+        private int maxUses = 1;
+        private Consumer<Context> resetAction;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of initialized contexts the pool keeps ready. Defaults to the number of
+         * available processors.
+         */
+        public Builder size(int value) {
+            if (value < 1) {
+                throw new IllegalArgumentException("pool size must be positive");
+            }
+            size = value;
+            return this;
+        }
+
+        /**
+         * Creates the contexts like {@link GraalPyResources#contextBuilder(VirtualFileSystem)}.
+         * This is the default, using a {@link VirtualFileSystem} with default settings that is
+         * shared by all contexts of the pool.
+         */
+        public Builder virtualFileSystem(VirtualFileSystem value) {
+            vfs = value;
+            resourcesDirectory = null;
+            return this;
+        }
+
+        /**
+         * Creates the contexts like {@link GraalPyResources#contextBuilder(Path)}.
+         */
+        public Builder resourcesDirectory(Path value) {
+            resourcesDirectory = value;
+            vfs = null;
+            return this;
+        }
+
+        /**
+         * Applies further options to each context builder. Engine options cannot be set here,
+         * since the contexts share the engine of the pool.
+         */
+        public Builder configure(Consumer<Context.Builder> value) {
+            configuration = value;
+            return this;
+        }
+
+        /**
+         * Python modules to import into the <code>__main__</code> module of each context before it
+         * is handed out.
+         */
+        public Builder preloadModules(String... modules) {
+            preloadModules.addAll(List.of(modules));
+            return this;
+        }
+
+        /**
+         * How often a context is handed out before it is closed and replaced. Defaults to 1, i.e.,
+         * each context is used only once. Reusing contexts avoids the creation cost, but any state
+         * that the code leaves behind, such as module attributes, is visible to later users unless
+         * the {@link #resetAction(Consumer) reset action} removes it.
+         */
+        public Builder maxUses(int value) {
+            if (value < 1) {
+                throw new IllegalArgumentException("maxUses must be positive");
+            }
+            maxUses = value;
+            return this;
+        }
+
+        /**
+         * Called with a released context before it is handed out again. If the action throws an
+         * exception, the context is closed and replaced instead.
+         */
+        public Builder resetAction(Consumer<Context> value) {
+            resetAction = value;
+            return this;
+        }
+
+        /**
+         * Creates the pool. The first context is initialized on the calling thread, so that
+         * configuration errors are reported here, the remaining ones in the background.
+         */
+        public GraalPyContextPool build() {
+            GraalPyContextPool pool = new GraalPyContextPool(this);
+            pool.start();
+            return pool;
+        }
+    }
+
+    /**
+     * A snapshot of the counters of a pool.
+     */
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long created;
+        private final long reused;
+        private final long discarded;
+        private final long creationNanos;
+        private final long resetNanos;
+        private final int idle;
+
+        private Statistics(GraalPyContextPool pool) {
+            hits = pool.hits.sum();
+            misses = pool.misses.sum();
+            created = pool.created.sum();
+            reused = pool.reused.sum();
+            discarded = pool.discarded.sum();
+            creationNanos = pool.creationNanos.sum();
+            resetNanos = pool.resetNanos.sum();
+            idle = pool.idle.size();
+        }
+
+        /**
+         * The number of {@link GraalPyContextPool#acquire()} calls served with a ready context.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * The number of {@link GraalPyContextPool#acquire()} calls that had to create a context.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * The number of contexts created and initialized so far.
+         */
+        public long getContextsCreated() {
+            return created;
+        }
+
+        /**
+         * The number of released contexts that were reset and put back into the pool.
+         */
+        public long getContextsReused() {
+            return reused;
+        }
+
+        /**
+         * The number of released contexts that were closed.
+         */
+        public long getContextsDiscarded() {
+            return discarded;
+        }
+
+        /**
+         * The time spent creating and initializing contexts, including the preloaded modules.
+         */
+        public Duration getTotalCreationTime() {
+            return Duration.ofNanos(creationNanos);
+        }
+
+        public Duration getAverageCreationTime() {
+            return Duration.ofNanos(created == 0 ? 0 : creationNanos / created);
+        }
+
+        /**
+         * The time spent in the {@link Builder#resetAction(Consumer) reset action}.
+         */
+        public Duration getTotalResetTime() {
+            return Duration.ofNanos(resetNanos);
+        }
+
+        /**
+         * The number of contexts that were ready when the snapshot was taken.
+         */
+        public int getIdleContexts() {
+            return idle;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GraalPyContextPool.Statistics[hits=%d, misses=%d, created=%d, reused=%d, discarded=%d, averageCreationTime=%s, totalResetTime=%s, idle=%d]",
+                            hits, misses, created, reused, discarded, getAverageCreationTime(), getTotalResetTime(), idle);
+        }
+    }
+
+    private static final class PooledContext {
+        private final Context context;
+        private int uses;
+
+        private PooledContext(Context context) {
+            this.context = context;
+        }
+    }
+
+    private final int size;
+    private final Engine engine;
+    private final VirtualFileSystem vfs;
+    private final boolean ownsVfs;
+    private final Path resourcesDirectory;
+    private final Consumer<Context.Builder> configuration;
+    private final String preloadCode;
+    private final int maxUses;
+    private final Consumer<Context> resetAction;
+
+    private final LinkedBlockingDeque<PooledContext> idle = new LinkedBlockingDeque<>();
+    /** The contexts that are currently handed out, used to count their uses. */
+    private final Map<Context, PooledContext> inUse = new ConcurrentHashMap<>();
+    /** The number of contexts that are ready or being created in the background. */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder creationNanos = new LongAdder();
+    private final LongAdder resetNanos = new LongAdder();
+
+    private GraalPyContextPool(Builder builder) {
+        size = builder.size;
+        resourcesDirectory = builder.resourcesDirectory;
+        if (resourcesDirectory == null && builder.vfs == null) {
+            vfs = VirtualFileSystem.create();
+            ownsVfs = true;
+        } else {
+            vfs = builder.vfs;
+            ownsVfs = false;
+        }
+        configuration = builder.configuration;
+        StringBuilder code = new StringBuilder();
+        for (String module : builder.preloadModules) {
+            code.append("import ").append(module).append('\n');
+        }
+        preloadCode = code.toString();
+        maxUses = builder.maxUses;
+        resetAction = builder.resetAction;
+        engine = GraalPyResources.createEngine();
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "GraalPy context pool");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private void start() {
+        try {
+            idle.add(createContext());
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        pending.set(1);
+        replenish();
+    }
+
+    /**
+     * Returns a ready context, or creates one on the calling thread if none is ready. The context
+     * must be given back with {@link #release(Context)} and must not be used afterwards.
+     */
+    public Context acquire() {
+        if (closed) {
+            throw new IllegalStateException("the context pool is closed");
+        }
+        PooledContext pooled = idle.pollFirst();
+        if (pooled != null) {
+            hits.increment();
+            pending.decrementAndGet();
+            replenish();
+        } else {
+            misses.increment();
+            pooled = createContext();
+        }
+        pooled.uses++;
+        inUse.put(pooled.context, pooled);
+        return pooled.context;
+    }
+
+    /**
+     * Gives back a context obtained from {@link #acquire()}. The context is either reset and kept
+     * for the next use, or closed and replaced in the background.
+     */
+    public void release(Context context) {
+        PooledContext pooled = inUse.remove(context);
+        if (pooled == null) {
+            throw new IllegalArgumentException("the context was not acquired from this pool");
+        }
+        if (!closed && pooled.uses < maxUses && reset(pooled)) {
+            reused.increment();
+            // the most recently used context is the most likely to still be warm, so if the pool
+            // is already full, the context that waited longest is dropped instead
+            pending.incrementAndGet();
+            idle.addFirst(pooled);
+            while (pending.get() > size) {
+                PooledContext oldest = idle.peekLast();
+                if (oldest == null || oldest == pooled) {
+                    // the remaining contexts are still being created, see createInBackground
+                    break;
+                }
+                if (idle.removeLastOccurrence(oldest)) {
+                    pending.decrementAndGet();
+                    discard(oldest);
+                }
+            }
+            if (closed && idle.remove(pooled)) {
+                discard(pooled);
+            }
+            return;
+        }
+        discard(pooled);
+        replenish();
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(this);
+    }
+
+    /**
+     * Closes all ready contexts and the shared engine. Contexts that are still in use are closed
+     * when they are {@link #release(Context) released}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+        try {
+            // contexts that are still queued for creation are skipped
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PooledContext pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.context.close();
+        }
+        if (inUse.isEmpty()) {
+            closeShared();
+        }
+    }
+
+    private void closeShared() {
+        try {
+            engine.close();
+        } catch (IllegalStateException e) {
+            // contexts are still in use, the engine is closed with the last of them
+            return;
+        }
+        if (ownsVfs) {
+            vfs.close();
+        }
+    }
+
+    private boolean reset(PooledContext pooled) {
+        if (resetAction == null) {
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            resetAction.accept(pooled.context);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "resetting a pooled context failed", e);
+            return false;
+        } finally {
+            resetNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void discard(PooledContext pooled) {
+        discarded.increment();
+        try {
+            pooled.context.close();
+        } catch (PolyglotException | IllegalStateException e) {
+            LOGGER.log(Level.FINE, "closing a pooled context failed", e);
+        }
+        if (closed && inUse.isEmpty()) {
+            closeShared();
+        }
+    }
+
+    /**
+     * Schedules the creation of contexts until the pool holds its size again.
+     */
+    private void replenish() {
+        while (!closed && reserveSlot()) {
+            try {
+                executor.execute(this::createInBackground);
+            } catch (RejectedExecutionException e) {
+                // the pool was closed concurrently
+                pending.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int n = pending.get();
+            if (n >= size) {
+                return false;
+            }
+            if (pending.compareAndSet(n, n + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void createInBackground() {
+        if (closed) {
+            return;
+        }
+        PooledContext pooled;
+        try {
+            pooled = createContext();
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            if (!closed) {
+                LOGGER.log(Level.WARNING, "creating a pooled context failed", e);
+            }
+            return;
+        }
+        if (closed || pending.get() > size) {
+            // a released context was kept in the meantime
+            pending.decrementAndGet();
+            pooled.context.close();
+            return;
+        }
+        idle.addLast(pooled);
+    }
+
+    private PooledContext createContext() {
+        long start = System.nanoTime();
+        Context.Builder builder = resourcesDirectory != null ? GraalPyResources.contextBuilder(resourcesDirectory, engine) : GraalPyResources.contextBuilder(vfs, engine);
+        if (configuration != null) {
+            configuration.accept(builder);
+        }
+        Context context = builder.build();
+        try {
+            context.initialize(PYTHON);
+            if (!preloadCode.isEmpty()) {
+                context.eval(PYTHON, preloadCode);
+            }
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        created.increment();
+        creationNanos.add(System.nanoTime() - start);
+        return new PooledContext(context);
+    }
+}
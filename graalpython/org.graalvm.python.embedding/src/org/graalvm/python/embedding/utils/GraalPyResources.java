@@ -44,6 +44,7 @@ package org.graalvm.python.embedding.utils;
 import org.graalvm.nativeimage.ImageInfo;
 import org.graalvm.nativeimage.ProcessProperties;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotAccess;
 import org.graalvm.polyglot.io.FileSystem;
@@ -251,7 +252,11 @@ public class GraalPyResources {
      * 
      */
     public static Context.Builder contextBuilder(VirtualFileSystem vfs) {
-        return createContextBuilder().
+        return contextBuilder(vfs, null);
+    }
+
+    static Context.Builder contextBuilder(VirtualFileSystem vfs, Engine engine) {
+        return createContextBuilder(engine).
         // allow access to the virtual and the host filesystem, as well as sockets
                         allowIO(IOAccess.newBuilder().allowHostSocketAccess(true).fileSystem(vfs).build()).
                         // The sys.executable path, a virtual path that is used by the interpreter
@@ -263,7 +268,9 @@ public class GraalPyResources {
                         // src/main/resources/org.graalvm.python.vfs/src
                         option("python.PythonPath", vfs.vfsSrcPath() + File.pathSeparator + vfs.vfsProjPath()).
                         // pass the path to be executed
-                        option("python.InputFilePath", vfs.vfsSrcPath());
+                        option("python.InputFilePath", vfs.vfsSrcPath()).
+                        // modules frozen at build time, if any
+                        option("python.ApplicationFrozenModules", vfs.vfsFrozenModulesPath());
     }
 
     /**
@@ -308,10 +315,15 @@ public class GraalPyResources {
      * @param resourcesDirectory the root directory with GraalPy specific embedding resources
      */
     public static Context.Builder contextBuilder(Path resourcesDirectory) {
+        return contextBuilder(resourcesDirectory, null);
+    }
+
+    static Context.Builder contextBuilder(Path resourcesDirectory, Engine engine) {
         String execPath = resourcesDirectory.resolve(VirtualFileSystem.VFS_VENV + "/bin/python").toAbsolutePath().toString();
         String homePath = resourcesDirectory.resolve(VirtualFileSystem.VFS_HOME).toAbsolutePath().toString();
         String srcPath = resourcesDirectory.resolve(VirtualFileSystem.VFS_SRC).toAbsolutePath().toString();
-        return createContextBuilder().
+        String frozenModulesPath = resourcesDirectory.resolve(VirtualFileSystem.VFS_FROZEN_MODULES).toAbsolutePath().toString();
+        return createContextBuilder(engine).
         // allow all IO access
                         allowIO(IOAccess.ALL).
                         // The sys.executable path, a virtual path that is used by the interpreter
@@ -323,11 +335,13 @@ public class GraalPyResources {
                         // src/main/resources/org.graalvm.python.vfs/src
                         option("python.PythonPath", srcPath).
                         // pass the path to be executed
-                        option("python.InputFilePath", srcPath);
+                        option("python.InputFilePath", srcPath).
+                        // modules frozen at build time, if any
+                        option("python.ApplicationFrozenModules", frozenModulesPath);
     }
 
-    private static Context.Builder createContextBuilder() {
-        return Context.newBuilder().
+    private static Context.Builder createContextBuilder(Engine engine) {
+        Context.Builder builder = Context.newBuilder().
         // set true to allow experimental options
                         allowExperimentalOptions(false).
                         // setting false will deny all privileges unless configured below
@@ -356,11 +370,23 @@ public class GraalPyResources {
                         // Force to automatically import site.py module, to make Python packages
                         // available
                         option("python.ForceImportSite", "true").
-                        // Do not warn if running without JIT. This can be desirable for short
-                        // running scripts to reduce memory footprint.
-                        option("engine.WarnInterpreterOnly", "false").
                         // causes the interpreter to always assume hash-based pycs are valid
                         option("python.CheckHashPycsMode", "never");
+        if (engine != null) {
+            // engine options can only be set on the shared engine itself, see createEngine
+            return builder.engine(engine);
+        }
+        // Do not warn if running without JIT. This can be desirable for short running scripts to
+        // reduce memory footprint.
+        return builder.option("engine.WarnInterpreterOnly", "false");
+    }
+
+    /**
+     * Creates an engine to be shared by GraalPy contexts created with the package private
+     * {@code contextBuilder} variants.
+     */
+    static Engine createEngine() {
+        return Engine.newBuilder("python").option("engine.WarnInterpreterOnly", "false").build();
     }
 
     /**
@@ -40,14 +40,22 @@
  */
 package org.graalvm.python.embedding.utils;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.DirectoryStream;
@@ -61,18 +69,24 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import org.graalvm.polyglot.io.FileSystem;
 
@@ -88,12 +102,31 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     static final String VFS_PROJ = "proj";
     static final String VFS_SRC = "src";
 
+    /*
+     * Application modules frozen at build time, see VFSUtils#freezeModules in the embedding tools.
+     */
+    static final String VFS_FROZEN_MODULES = "frozen_modules.bin";
+
     /*
      * Index of all files and directories available in the resources at runtime. - paths are
      * absolute - directory paths end with a '/' - uses '/' separator regardless of platform. Used
      * to determine directory entries, if an entry is a file or a directory, etc.
      */
     private static final String FILES_LIST_PATH = VFS_ROOT + "/fileslist.txt";
+
+    /*
+     * A packed archive of all files and directories, which is used instead of the individual
+     * resources and the files list if present. The archive starts with the magic bytes, the number
+     * of entries and the absolute position of the data section. Then follows the index of all
+     * entries sorted by their resource path, each consisting of the resource path (directory paths
+     * end with a '/'), the storage method, the position of the data relative to the data section,
+     * the size and the stored size. See also VFSUtils#generateVFSArchive in the embedding tools.
+     */
+    private static final String ARCHIVE_PATH = VFS_ROOT + "/vfs.pack";
+    private static final byte[] ARCHIVE_MAGIC = {'G', 'P', 'Y', 'V', 'F', 'S', 0, 1};
+    private static final byte ARCHIVE_STORED = 0;
+    private static final byte ARCHIVE_DEFLATED = 1;
+    private static final byte ARCHIVE_DIRECTORY = 2;
     private static final String VENV_PREFIX = VFS_ROOT + "/" + VFS_VENV;
     private static final String HOME_PREFIX = VFS_ROOT + "/" + VFS_HOME;
     // TODO see GR-54915, deprecated and should be removed after 24.2.0
@@ -102,6 +135,11 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
 
     private boolean extractOnStartup = "true".equals(System.getProperty("graalpy.vfs.extractOnStartup"));
 
+    /*
+     * Upper bound for the size of the file contents that are kept in memory after being read.
+     */
+    private final long maxCachedBytes = Long.getLong("graalpy.vfs.maxCachedBytes", 32L * 1024 * 1024);
+
     public static enum HostIO {
         NONE,
         READ,
@@ -215,10 +253,23 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     }
 
     /*
-     * Maps platform-specific paths to entries.
+     * Maps platform-specific paths to entries. If the files are packed in an archive, the entries
+     * are created on demand from the {@link #archiveIndex} and only the ones that were looked up are
+     * kept here.
      */
     private Map<String, BaseEntry> vfsEntries;
 
+    /**
+     * The index of the packed archive, or {@code null} if the files are separate resources.
+     */
+    private ArchiveIndex archiveIndex;
+
+    /*
+     * Archives that are not plain files, e.g., in a jar or a native image, are copied to a
+     * temporary file once per process and shared by all virtual filesystems reading them.
+     */
+    private static final Map<String, Path> ARCHIVE_COPIES = new ConcurrentHashMap<>();
+
     /**
      * Class used to read resources with getResource(name). By default VirtualFileSystem.class.
      */
@@ -247,25 +298,173 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     }
 
     private final class FileEntry extends BaseEntry {
-        private byte[] data;
+        /**
+         * The position of the data in the {@link #archive}, or -1 if the file is a separate
+         * resource.
+         */
+        private long archiveOffset = -1;
+        private int storedSize;
+        private boolean deflated;
+        private long size = -1;
 
         public FileEntry(String path) {
             super(path);
         }
 
         private byte[] getData() throws IOException {
+            byte[] data = dataCache.get(this);
             if (data == null) {
-                data = readResource(getResourcePath());
+                data = archiveOffset >= 0 ? readArchiveEntry(this) : readResource(getResourcePath());
+                if (data != null) {
+                    size = data.length;
+                    dataCache.put(this, data);
+                }
             }
             return data;
         }
+
+        private long getSize() throws IOException {
+            if (size < 0) {
+                getData();
+            }
+            return size;
+        }
+
+        private boolean isStoredInArchive() {
+            return archiveOffset >= 0 && !deflated;
+        }
     }
 
+    /**
+     * Keeps the most recently read file contents up to {@link #maxCachedBytes}, so that the memory
+     * held by the filesystem does not grow with every file that is touched.
+     */
+    private final class DataCache {
+        private final LinkedHashMap<FileEntry, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long cachedBytes;
+
+        synchronized byte[] get(FileEntry entry) {
+            return entries.get(entry);
+        }
+
+        synchronized void put(FileEntry entry, byte[] data) {
+            if (data.length > maxCachedBytes) {
+                return;
+            }
+            byte[] previous = entries.put(entry, data);
+            if (previous != null) {
+                cachedBytes -= previous.length;
+            }
+            cachedBytes += data.length;
+            Iterator<byte[]> it = entries.values().iterator();
+            while (cachedBytes > maxCachedBytes && it.hasNext()) {
+                cachedBytes -= it.next().length;
+                it.remove();
+            }
+        }
+    }
+
+    private final DataCache dataCache = new DataCache();
+
+    /**
+     * The opened packed archive, or {@code null} if the files are separate resources.
+     */
+    private FileChannel archive;
+
     private final class DirEntry extends BaseEntry {
-        List<BaseEntry> entries = new ArrayList<>();
+        /**
+         * The directory contents, or {@code null} if they were not yet looked up in the
+         * {@link #archiveIndex}.
+         */
+        private volatile List<BaseEntry> entries;
 
-        DirEntry(String platformPath) {
+        DirEntry(String platformPath, List<BaseEntry> entries) {
             super(platformPath);
+            this.entries = entries;
+        }
+
+        List<BaseEntry> getEntries() {
+            List<BaseEntry> result = entries;
+            if (result == null) {
+                result = archiveIndex.getChildren(getPlatformPath());
+                entries = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The index of the packed archive as parallel arrays sorted by the case comparable platform
+     * paths, so that opening an archive does not create an entry for every file and directory.
+     */
+    private final class ArchiveIndex {
+        private final String[] keys;
+        private final String[] platformPaths;
+        private final byte[] methods;
+        private final long[] offsets;
+        private final int[] sizes;
+        private final int[] storedSizes;
+
+        ArchiveIndex(String[] keys, String[] platformPaths, byte[] methods, long[] offsets, int[] sizes, int[] storedSizes) {
+            this.keys = keys;
+            this.platformPaths = platformPaths;
+            this.methods = methods;
+            this.offsets = offsets;
+            this.sizes = sizes;
+            this.storedSizes = storedSizes;
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        boolean isDirectory(int i) {
+            return methods[i] == ARCHIVE_DIRECTORY;
+        }
+
+        BaseEntry lookup(String key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? getEntry(i) : null;
+        }
+
+        BaseEntry getEntry(int i) {
+            return vfsEntries.computeIfAbsent(keys[i], k -> {
+                if (isDirectory(i)) {
+                    return new DirEntry(platformPaths[i], null);
+                }
+                FileEntry fileEntry = new FileEntry(platformPaths[i]);
+                fileEntry.archiveOffset = offsets[i];
+                fileEntry.size = sizes[i];
+                fileEntry.storedSize = storedSizes[i];
+                fileEntry.deflated = methods[i] == ARCHIVE_DEFLATED;
+                return fileEntry;
+            });
+        }
+
+        /**
+         * Returns the direct children of the given directory. All paths below the directory form a
+         * contiguous range of the sorted keys, in which the contents of the subdirectories are
+         * skipped.
+         */
+        List<BaseEntry> getChildren(String platformPath) {
+            String prefix = toCaseComparable(platformPath) + PLATFORM_SEPARATOR;
+            List<BaseEntry> children = new ArrayList<>();
+            int i = lowerBound(prefix);
+            while (i < keys.length && keys[i].startsWith(prefix)) {
+                int sep = keys[i].indexOf(PLATFORM_SEPARATOR, prefix.length());
+                if (sep < 0) {
+                    children.add(getEntry(i));
+                    i++;
+                } else {
+                    i = lowerBound(keys[i].substring(0, sep) + (char) (PLATFORM_SEPARATOR.charAt(0) + 1));
+                }
+            }
+            return children;
+        }
+
+        private int lowerBound(String key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? i : -i - 1;
         }
     }
 
@@ -379,6 +578,13 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
 
     @Override
     public void close() {
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
         if (deleteTempDir != null) {
             deleteTempDir.removeExtractDir();
         }
@@ -404,6 +610,10 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         return resourcePathToPlatformPath(VENV_PREFIX);
     }
 
+    String vfsFrozenModulesPath() {
+        return resourcePathToPlatformPath(VFS_ROOT + "/" + VFS_FROZEN_MODULES);
+    }
+
     /**
      * Converts the given path starting with the internal resource root to the path as seen by
      * Python IO. For example if no other mount point was set then the path
@@ -452,6 +662,12 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     }
 
     private void initEntries() throws IOException {
+        URL archiveUrl = this.resourceLoadingClass.getResource(ARCHIVE_PATH);
+        if (archiveUrl != null) {
+            vfsEntries = new ConcurrentHashMap<>();
+            initArchiveEntries(archiveUrl);
+            return;
+        }
         vfsEntries = new HashMap<>();
         try (InputStream stream = this.resourceLoadingClass.getResourceAsStream(FILES_LIST_PATH)) {
             if (stream == null) {
@@ -460,36 +676,224 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
             BufferedReader br = new BufferedReader(new InputStreamReader(stream));
             String line;
             while ((line = br.readLine()) != null) {
-                String platformPath = resourcePathToPlatformPath(line);
-                int i = 0;
-                DirEntry parent = null;
-                while ((i = platformPath.indexOf(PLATFORM_SEPARATOR, i)) != -1) {
-                    String dir = platformPath.substring(0, i);
-                    String dirKey = toCaseComparable(dir);
-                    DirEntry dirEntry = (DirEntry) vfsEntries.get(dirKey);
-                    if (dirEntry == null) {
-                        dirEntry = new DirEntry(dir);
-                        vfsEntries.put(dirKey, dirEntry);
-                        if (parent != null) {
-                            parent.entries.add(dirEntry);
-                        }
-                    }
-                    parent = dirEntry;
-                    i++;
+                FileEntry fileEntry = addEntry(line);
+                if (fileEntry != null) {
+                    extractOnStartup(fileEntry);
                 }
-                assert parent != null;
-                if (!platformPath.endsWith(PLATFORM_SEPARATOR)) {
-                    FileEntry fileEntry = new FileEntry(platformPath);
-                    vfsEntries.put(toCaseComparable(platformPath), fileEntry);
-                    parent.entries.add(fileEntry);
-                    if (extractOnStartup) {
-                        Path p = Paths.get(fileEntry.getPlatformPath());
-                        if (shouldExtract(p)) {
-                            getExtractedPath(p);
-                        }
-                    }
+            }
+        }
+    }
+
+    /**
+     * Adds the entry for the given resource path and all its parent directories. Returns the new
+     * entry if the path is a file.
+     */
+    private FileEntry addEntry(String resourcePath) {
+        String platformPath = resourcePathToPlatformPath(resourcePath);
+        int i = 0;
+        DirEntry parent = null;
+        while ((i = platformPath.indexOf(PLATFORM_SEPARATOR, i)) != -1) {
+            String dir = platformPath.substring(0, i);
+            String dirKey = toCaseComparable(dir);
+            DirEntry dirEntry = (DirEntry) vfsEntries.get(dirKey);
+            if (dirEntry == null) {
+                dirEntry = new DirEntry(dir, new ArrayList<>());
+                vfsEntries.put(dirKey, dirEntry);
+                if (parent != null) {
+                    parent.entries.add(dirEntry);
                 }
             }
+            parent = dirEntry;
+            i++;
+        }
+        assert parent != null;
+        if (!platformPath.endsWith(PLATFORM_SEPARATOR)) {
+            FileEntry fileEntry = new FileEntry(platformPath);
+            vfsEntries.put(toCaseComparable(platformPath), fileEntry);
+            parent.entries.add(fileEntry);
+            return fileEntry;
+        }
+        return null;
+    }
+
+    private void extractOnStartup(FileEntry fileEntry) {
+        if (extractOnStartup) {
+            Path p = Paths.get(fileEntry.getPlatformPath());
+            if (shouldExtract(p)) {
+                getExtractedPath(p);
+            }
+        }
+    }
+
+    private void initArchiveEntries(URL archiveUrl) throws IOException {
+        archive = openArchive(archiveUrl);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(archive.position(0))));
+        byte[] magic = new byte[ARCHIVE_MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ARCHIVE_MAGIC)) {
+            throw new IOException(String.format("'%s' is not a virtual filesystem archive of this version", ARCHIVE_PATH));
+        }
+        int count = in.readInt();
+        long dataStart = in.readLong();
+        String[] keys = new String[count];
+        String[] platformPaths = new String[count];
+        byte[] methods = new byte[count];
+        long[] offsets = new long[count];
+        int[] sizes = new int[count];
+        int[] storedSizes = new int[count];
+        boolean sorted = true;
+        for (int i = 0; i < count; i++) {
+            String resourcePath = in.readUTF();
+            methods[i] = in.readByte();
+            offsets[i] = dataStart + in.readLong();
+            sizes[i] = in.readInt();
+            storedSizes[i] = in.readInt();
+            boolean isDirectory = resourcePath.endsWith(RESOURCE_SEPARATOR);
+            if (isDirectory != (methods[i] == ARCHIVE_DIRECTORY)) {
+                throw new IOException(String.format("corrupted virtual filesystem archive entry '%s'", resourcePath));
+            }
+            String platformPath = resourcePathToPlatformPath(resourcePath);
+            if (isDirectory && platformPath.endsWith(PLATFORM_SEPARATOR)) {
+                platformPath = platformPath.substring(0, platformPath.length() - PLATFORM_SEPARATOR.length());
+            }
+            platformPaths[i] = platformPath;
+            keys[i] = toCaseComparable(platformPath);
+            sorted &= i == 0 || keys[i - 1].compareTo(keys[i]) < 0;
+        }
+        if (!sorted) {
+            // the archive is sorted by resource paths, which differ from the keys in the
+            // separators and the case
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+            archiveIndex = new ArchiveIndex(permute(keys, order, new String[count]), permute(platformPaths, order, new String[count]),
+                            permute(methods, order), permute(offsets, order), permute(sizes, order), permute(storedSizes, order));
+        } else {
+            archiveIndex = new ArchiveIndex(keys, platformPaths, methods, offsets, sizes, storedSizes);
+        }
+        if (extractOnStartup) {
+            for (int i = 0; i < count; i++) {
+                if (!archiveIndex.isDirectory(i)) {
+                    extractOnStartup((FileEntry) archiveIndex.getEntry(i));
+                }
+            }
+        }
+    }
+
+    private static String[] permute(String[] values, Integer[] order, String[] result) {
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private static byte[] permute(byte[] values, Integer[] order) {
+        byte[] result = new byte[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private static long[] permute(long[] values, Integer[] order) {
+        long[] result = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    private static int[] permute(int[] values, Integer[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Opens the archive as a file, so that its entries can be read without keeping the whole
+     * archive in memory. An archive that is not a plain file, e.g., in a jar or a native image, is
+     * copied to a temporary file, which is shared with all other virtual filesystems reading the
+     * same archive.
+     */
+    private static FileChannel openArchive(URL archiveUrl) throws IOException {
+        if ("file".equals(archiveUrl.getProtocol())) {
+            try {
+                return FileChannel.open(Path.of(archiveUrl.toURI()), StandardOpenOption.READ);
+            } catch (URISyntaxException e) {
+                // fall through and copy the archive
+            }
+        }
+        Path copy;
+        try {
+            copy = ARCHIVE_COPIES.compute(archiveUrl.toExternalForm(), (url, existing) -> {
+                if (existing != null && Files.isRegularFile(existing)) {
+                    return existing;
+                }
+                try {
+                    return copyArchive(archiveUrl);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return FileChannel.open(copy, StandardOpenOption.READ);
+    }
+
+    private static Path copyArchive(URL archiveUrl) throws IOException {
+        Path copy = Files.createTempFile("org.graalvm.python.vfs", ".pack");
+        copy.toFile().deleteOnExit();
+        try (InputStream stream = archiveUrl.openStream()) {
+            Files.copy(stream, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return copy;
+    }
+
+    private byte[] readArchiveEntry(FileEntry entry) throws IOException {
+        ByteBuffer stored = ByteBuffer.allocate(entry.storedSize);
+        readArchive(stored, entry.archiveOffset);
+        if (!entry.deflated) {
+            return stored.array();
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored.array());
+            byte[] data = new byte[(int) entry.size];
+            int n = 0;
+            while (n < data.length && !inflater.finished()) {
+                int read = inflater.inflate(data, n, data.length - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != data.length) {
+                throw new IOException(String.format("corrupted virtual filesystem archive entry '%s'", entry.getResourcePath()));
+            }
+            return data;
+        } catch (DataFormatException e) {
+            throw new IOException(String.format("corrupted virtual filesystem archive entry '%s'", entry.getResourcePath()), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Fills the buffer with the archive contents starting at the given position.
+     */
+    private void readArchive(ByteBuffer dst, long position) throws IOException {
+        long pos = position;
+        while (dst.hasRemaining()) {
+            int n = archive.read(dst, pos);
+            if (n < 0) {
+                throw new IOException("unexpected end of the virtual filesystem archive");
+            }
+            pos += n;
         }
     }
 
@@ -522,7 +926,12 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
             initEntries();
         }
         Path path = toAbsolutePathInternal(inputPath).normalize();
-        return vfsEntries.get(toCaseComparable(path.toString()));
+        String key = toCaseComparable(path.toString());
+        BaseEntry entry = vfsEntries.get(key);
+        if (entry == null && archiveIndex != null) {
+            entry = archiveIndex.lookup(key);
+        }
+        return entry;
     }
 
     /**
@@ -620,15 +1029,17 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         if (entry instanceof FileEntry) {
             extractPath(path, false);
         } else if (entry != null) {
-            if (((DirEntry) entry).entries != null) {
-                for (BaseEntry be : ((DirEntry) entry).entries) {
-                    extract(Path.of(be.getPlatformPath()));
-                }
+            for (BaseEntry be : ((DirEntry) entry).getEntries()) {
+                extract(Path.of(be.getPlatformPath()));
             }
         }
     }
 
     void extractResources(Path resourcesDirectory) throws IOException {
+        if (this.resourceLoadingClass.getResource(ARCHIVE_PATH) != null) {
+            extractArchive(resourcesDirectory);
+            return;
+        }
         InputStream stream = this.resourceLoadingClass.getResourceAsStream(FILES_LIST_PATH);
         if (stream == null) {
             return;
@@ -652,6 +1063,25 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         }
     }
 
+    private void extractArchive(Path resourcesDirectory) throws IOException {
+        if (vfsEntries == null) {
+            initEntries();
+        }
+        for (int i = 0; i < archiveIndex.size(); i++) {
+            BaseEntry entry = archiveIndex.getEntry(i);
+            Path destFile = resourcesDirectory.resolve(mountPoint.relativize(Path.of(entry.getPlatformPath())).toString());
+            if (entry instanceof DirEntry) {
+                Files.createDirectories(destFile);
+            } else {
+                Path parent = destFile.getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Files.write(destFile, ((FileEntry) entry).getData());
+            }
+        }
+    }
+
     @Override
     @Deprecated
     public Path parsePath(URI uri) {
@@ -722,6 +1152,9 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                 // appropriate python error
                 throw new FileSystemException(path.toString(), null, "Is a directory");
             }
+            if (fileEntry.isStoredInArchive()) {
+                return new ArchiveEntryChannel(fileEntry);
+            }
             return new SeekableByteChannel() {
                 long position = 0;
 
@@ -802,7 +1235,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
 
                 @Override
                 public Iterator<Path> iterator() {
-                    return dirEntry.entries.stream().map(e -> Path.of(e.getPlatformPath())).iterator();
+                    return dirEntry.getEntries().stream().map(e -> Path.of(e.getPlatformPath())).iterator();
                 }
             };
         } else {
@@ -856,7 +1289,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         attrs.put("isDirectory", entry instanceof DirEntry);
         attrs.put("isSymbolicLink", false);
         attrs.put("isOther", false);
-        attrs.put("size", (long) (entry instanceof FileEntry fileEntry ? fileEntry.getData().length : 0));
+        attrs.put("size", entry instanceof FileEntry fileEntry ? fileEntry.getSize() : 0L);
         attrs.put("mode", 0555);
         attrs.put("dev", 0L);
         attrs.put("nlink", 1);
@@ -865,4 +1298,80 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         attrs.put("ctime", FileTime.fromMillis(0));
         return attrs;
     }
+
+    /**
+     * Reads an uncompressed file directly from its slice of the archive, without keeping the
+     * contents in memory.
+     */
+    private final class ArchiveEntryChannel implements SeekableByteChannel {
+        private final long start;
+        private final long size;
+        private long position;
+        private boolean open = true;
+
+        ArchiveEntryChannel(FileEntry entry) {
+            this.start = entry.archiveOffset;
+            this.size = entry.size;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (position >= size) {
+                return -1;
+            }
+            int length = (int) Math.min(size - position, dst.remaining());
+            ByteBuffer slice = dst.slice();
+            slice.limit(length);
+            readArchive(slice, start + position);
+            dst.position(dst.position() + length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            throw new IOException("read-only");
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            position = Math.max(0, newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return size;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long newSize) throws IOException {
+            throw new IOException("read-only");
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            open = false;
+        }
+
+        private void ensureOpen() throws ClosedChannelException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
 }
@@ -50,6 +50,8 @@ import org.gradle.api.Project;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.DependencySet;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.jvm.tasks.Jar;
 import org.gradle.language.jvm.tasks.ProcessResources;
@@ -59,6 +61,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.GRAALPY_GROUP_ID;
+import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_ROOT;
 
 public abstract class GraalPyGradlePlugin implements Plugin<Project> {
     private static final String PYTHON_LAUNCHER_ARTIFACT_ID = "python-launcher";
@@ -85,6 +88,9 @@ public abstract class GraalPyGradlePlugin implements Plugin<Project> {
         extension.getPythonHome().getIncludes().convention(List.of(".*"));
         extension.getPythonHome().getExcludes().convention(Collections.emptyList());
         extension.getPackages().convention(Collections.emptyList());
+        extension.getPackResources().convention(false);
+        extension.getCompressPackedResources().convention(false);
+        extension.getFrozenModules().convention(Collections.emptyList());
 
         TaskProvider<ResourcesTask> resourcesTask = project.getTasks().register(GRAALPY_RESOURCES_TASK, ResourcesTask.class);
         resourcesTask.configure(t -> {
@@ -96,6 +102,8 @@ public abstract class GraalPyGradlePlugin implements Plugin<Project> {
 
             t.getExcludes().set(extension.getPythonHome().getExcludes());
             t.getPackages().set(extension.getPackages());
+            t.getFrozenModules().set(extension.getFrozenModules());
+            t.getFrozenModulesSourceRoots().from(project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME).getResources().getSrcDirs().stream().map(d -> new File(d, VFS_ROOT)).toList());
 
             if(extension.getPythonResourcesDirectory().isPresent()) {
                 t.getOutput().set(extension.getPythonResourcesDirectory());
@@ -118,6 +126,8 @@ public abstract class GraalPyGradlePlugin implements Plugin<Project> {
         TaskProvider<VFSFilesListTask> vfsFilesListTask = project.getTasks().register(GRAALPY_VFS_FILESLIST_TASK, VFSFilesListTask.class);
         vfsFilesListTask.configure(t -> {
             t.getResourcesDir().convention((((ProcessResources) project.getTasks().getByName(JavaPlugin.PROCESS_RESOURCES_TASK_NAME)).getDestinationDir()));
+            t.getPackResources().convention(extension.getPackResources());
+            t.getCompressPackedResources().convention(extension.getCompressPackedResources());
             t.setGroup(GRAALPY_GRADLE_PLUGIN_TASK_GROUP);
         });
         project.getTasks().getByName(JavaPlugin.PROCESS_RESOURCES_TASK_NAME, t -> t.finalizedBy(GRAALPY_VFS_FILESLIST_TASK));
@@ -43,6 +43,7 @@ package org.graalvm.python.dsl;
 import org.gradle.api.Action;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.Nested;
 
@@ -65,6 +66,22 @@ public interface GraalPyExtension {
     @Nested
     PythonHomeInfo getPythonHome();
 
+    /**
+     * Pack the virtual filesystem resources into a single indexed archive instead of shipping them as separate resources.
+     */
+    Property<Boolean> getPackResources();
+
+    /**
+     * Compress the files in the packed archive. Compressed files are inflated in memory when read.
+     */
+    Property<Boolean> getCompressPackedResources();
+
+    /**
+     * Application modules and packages to freeze at build time. They are compiled into a single file in the resources
+     * and imported from there instead of from their sources.
+     */
+    SetProperty<String> getFrozenModules();
+
     default void pythonHome(Action<? super PythonHomeInfo> action) {
         action.execute(getPythonHome());
     }
@@ -44,6 +44,7 @@ import org.graalvm.python.GradleLogger;
 import org.graalvm.python.embedding.tools.vfs.VFSUtils;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.*;
 import org.gradle.api.tasks.*;
@@ -82,6 +83,16 @@ public abstract class ResourcesTask extends DefaultTask {
     @Input
     public abstract ListProperty<String> getExcludes();
 
+    @Input
+    public abstract ListProperty<String> getFrozenModules();
+
+    /**
+     * The virtual filesystem roots in the project resources, which are searched for the frozen modules.
+     */
+    @InputFiles
+    @Optional
+    public abstract ConfigurableFileCollection getFrozenModulesSourceRoots();
+
     @OutputDirectory
     public abstract DirectoryProperty getOutput();
 
@@ -89,6 +100,7 @@ public abstract class ResourcesTask extends DefaultTask {
     public void exec() {
         manageHome();
         manageVenv();
+        freezeModules();
     }
 
     private void manageHome() {
@@ -113,6 +125,18 @@ public abstract class ResourcesTask extends DefaultTask {
         }
     }
 
+    private void freezeModules() {
+        Path vfs = getResourceDirectory("");
+        List<Path> roots = new ArrayList<>();
+        roots.add(vfs);
+        getFrozenModulesSourceRoots().getFiles().forEach(f -> roots.add(f.toPath()));
+        try {
+            VFSUtils.freezeModules(vfs, roots, new ArrayList<>(getFrozenModules().get()), () -> calculateLauncherClasspath(), GradleLogger.of(getLogger()), (s) -> getLogger().lifecycle(s));
+        } catch (IOException e) {
+            throw new GradleException(String.format("failed to freeze modules into %s", vfs), e);
+        }
+    }
+
     private Set<String> calculateLauncherClasspath() {
         if (launcherClassPath == null) {
             var addedPluginDependency = getProject().getConfigurations().getByName("runtimeClasspath").getAllDependencies().stream().filter(d -> d.getGroup().equals(GRAALPY_GROUP_ID) && d.getName().equals("python-launcher") && d.getVersion().equals(getGraalPyVersion(getProject()))).findFirst().orElseThrow();
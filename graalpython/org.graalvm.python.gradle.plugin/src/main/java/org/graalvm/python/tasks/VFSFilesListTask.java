@@ -44,6 +44,7 @@ import org.graalvm.python.embedding.tools.vfs.VFSUtils;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleScriptException;
 import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.TaskAction;
 
@@ -52,6 +53,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_ARCHIVE;
 import static org.graalvm.python.embedding.tools.vfs.VFSUtils.VFS_ROOT;
 
 public abstract class VFSFilesListTask extends DefaultTask {
@@ -59,10 +61,28 @@ public abstract class VFSFilesListTask extends DefaultTask {
     @InputDirectory
     public abstract Property<File> getResourcesDir();
 
+    @Input
+    public abstract Property<Boolean> getPackResources();
+
+    @Input
+    public abstract Property<Boolean> getCompressPackedResources();
+
     @TaskAction
     public void exec() {
         Path vfs = getVFSDir();
-        if (Files.exists(vfs)) {
+        if (getPackResources().get()) {
+            if (Files.exists(vfs)) {
+                Path archive = getTemporaryDir().toPath().resolve(VFS_ARCHIVE);
+                try {
+                    VFSUtils.generateVFSArchive(archive, getCompressPackedResources().get(), vfs);
+                    VFSUtils.delete(vfs);
+                    Files.createDirectories(vfs);
+                    Files.move(archive, vfs.resolve(VFS_ARCHIVE));
+                } catch (IOException e) {
+                    throw new GradleScriptException(String.format("failed to pack the resources in '%s'", vfs), e);
+                }
+            }
+        } else if (Files.exists(vfs)) {
             try {
                 VFSUtils.generateVFSFilesList(vfs);
             } catch (IOException e) {
@@ -75,6 +75,7 @@
 #include <sys/file.h>
 #include <sys/mman.h>
 #include <unistd.h>
+#include <poll.h>
 #include <pwd.h>
 
 #ifdef __APPLE__
@@ -215,6 +216,46 @@ int32_t call_select(int32_t nfds, int32_t* readfds, int32_t readfdsLen,
     return (int32_t) result;
 }
 
+// Like call_select, but uses poll, which has no limit on the values of the
+// file descriptors. A negative timeout means no timeout.
+int32_t call_poll(int32_t* readfds, int32_t readfdsLen, int32_t* writefds, int32_t writefdsLen,
+    int32_t timeoutMillis, int8_t* selected) {
+
+    int32_t len = readfdsLen + writefdsLen;
+    struct pollfd *pollfds = NULL;
+    if (len > 0) {
+        pollfds = (struct pollfd *) malloc(len * sizeof(struct pollfd));
+        if (pollfds == NULL) {
+            errno = ENOMEM;
+            return -1;
+        }
+    }
+    for (int32_t i = 0; i < readfdsLen; ++i) {
+        pollfds[i].fd = readfds[i];
+        pollfds[i].events = POLLIN;
+        pollfds[i].revents = 0;
+    }
+    for (int32_t i = 0; i < writefdsLen; ++i) {
+        pollfds[readfdsLen + i].fd = writefds[i];
+        pollfds[readfdsLen + i].events = POLLOUT;
+        pollfds[readfdsLen + i].revents = 0;
+    }
+
+    int result = poll(pollfds, (nfds_t) len, timeoutMillis < 0 ? -1 : timeoutMillis);
+
+    if (result > 0) {
+        // like select, report errors and hang-ups as readiness, the following
+        // operation on the file descriptor reports them
+        for (int32_t i = 0; i < len; ++i) {
+            if (pollfds[i].revents != 0) {
+                selected[i] = 1;
+            }
+        }
+    }
+    free(pollfds);
+    return (int32_t) result;
+}
+
 int64_t call_lseek(int32_t fd, int64_t offset, int32_t whence) {
     return lseek(fd, offset, whence);
 }
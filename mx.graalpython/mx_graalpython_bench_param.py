@@ -87,6 +87,14 @@ MICRO_BENCHMARKS = {
     'list-sort-strings': ITER_10 + ['500_000'],
     'list-sort-keyed': ITER_10 + ['50_000'],
     'dict-getitem-sized': ITER_10 + ['50_000_000'],
+    'dict-int-keys-sized': ITER_10 + ['50_000_000'],
+    'dict-str-keys-sized': ITER_10 + ['50_000_000'],
+    'array-tolist-sized': ITER_10 + ['5_000_000'],
+    'builtin-reductions-sized': ITER_10 + ['500_000'],
+    'int-str-conversion-sized': ITER_10 + ['1_000_000'],
+    'int-mixed-width-sized': ITER_10 + ['5_000_000'],
+    'fstring-format-sized': ITER_10 + ['2_000_000'],
+    'bytes-builder-sized': ITER_10 + ['1_000_000'],
     'math-sqrt': ITER_10 + ['500000000'],
     'object-allocate': ITER_10 + ['5000'],
     'object-layout-change': ITER_10 + ['1000000'],
@@ -99,11 +107,14 @@ MICRO_BENCHMARKS = {
     'call-classmethod-sized': ITER_10 + ['500_000_000'],
     'mmap-anonymous-sized': ITER_10 + ['20_000'],
     'mmap-file': ITER_10 + ['1000'],
+    'hashlib-file-digest': ITER_10 + ['160'],
+    'threads-blocked': ITER_10 + ['2'],
     'generate-functions-sized': ITER_15 + ['500_000_000'],
     'try-except-simple': ITER_10 + ['500_000_000'],
     'try-except-store-simple': ITER_10 + ['500_000_000'],
     'try-except-store-two-types': ITER_10 + ['100_000_000'],
     'try-except-two-types': ITER_10 + ['100_000_000'],
+    'try-except-fallback': ITER_10 + ['20_000_000'],
     'with-exception': ITER_10 + ['100_000_000'],
     'tuple-indexing-from-constructor': ITER_10 + ['10000000'],
     'tuple-indexing-from-literal': ITER_10 + ['10000000'],
@@ -149,6 +160,14 @@ MICRO_BENCHMARKS_SMALL = {
     'list-iterating-obj-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'list-constructions-sized': ITER_15 + WARMUP_2 + ['500'],
     'dict-getitem-sized': ITER_10 + WARMUP_2 + ['1_000_000'],
+    'dict-int-keys-sized': ITER_10 + WARMUP_2 + ['1_000_000'],
+    'dict-str-keys-sized': ITER_10 + WARMUP_2 + ['1_000_000'],
+    'array-tolist-sized': ITER_10 + WARMUP_2 + ['200_000'],
+    'builtin-reductions-sized': ITER_10 + WARMUP_2 + ['20_000'],
+    'int-str-conversion-sized': ITER_10 + WARMUP_2 + ['100_000'],
+    'int-mixed-width-sized': ITER_10 + WARMUP_2 + ['500_000'],
+    'fstring-format-sized': ITER_10 + WARMUP_2 + ['200_000'],
+    'bytes-builder-sized': ITER_10 + WARMUP_2 + ['100_000'],
     'math-sqrt': ITER_6 + WARMUP_2 + ['20_000_000'],
     'object-allocate': ITER_6 + WARMUP_2 + ['50'],
     'object-layout-change': ITER_6 + WARMUP_2 + ['10_000'],
@@ -166,6 +185,7 @@ MICRO_BENCHMARKS_SMALL = {
     'try-except-store-simple': ITER_6 + WARMUP_2 + ['2_000_000'],
     'try-except-store-two-types': ITER_10 + WARMUP_2 + ['1_000_000'],
     'try-except-two-types': ITER_10 + WARMUP_2 + ['1_000_000'],
+    'try-except-fallback': ITER_10 + WARMUP_2 + ['500_000'],
     'with-exception': ITER_6 + WARMUP_2 + ['5_000_000'],
     'tuple-indexing-from-constructor': ITER_6 + WARMUP_2 + ['250_000'],
     'tuple-indexing-from-literal': ITER_6 + WARMUP_2 + ['400_000'],
@@ -283,6 +303,7 @@ INTEROP_JAVA_BENCHMARKS = {
     'euler11': [_INTEROP_JAVA_PACKAGE + 'PyEuler11'] + MESO_BENCHMARKS['euler11'],
     'nbody3': [_INTEROP_JAVA_PACKAGE + 'PyNbody'] + MESO_BENCHMARKS['nbody3'],
     'fannkuchredux3': [_INTEROP_JAVA_PACKAGE + 'PyFannkuchredux'] + MESO_BENCHMARKS['fannkuchredux3'],
+    'context-creation': [_INTEROP_JAVA_PACKAGE + 'PyContextCreation'] + ITER_10 + ['20'],
 }
 
 JAVA_EMBEDDING_MESO_BENCHMARKS = {
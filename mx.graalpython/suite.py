@@ -429,6 +429,7 @@ suite = {
                 "jdk.management",
                 "jdk.unsupported",
                 "jdk.security.auth",
+                "jdk.jfr",
             ],
             "jacoco": "include",
             "javaCompliance": "17+",
@@ -481,6 +482,7 @@ suite = {
             "sourceDirs": ["src"],
             "dependencies": [
                 "GRAALPYTHON_EMBEDDING",
+                "GRAALPYTHON_EMBEDDING_TOOLS",
                 "mx:JUNIT",
                 "sdk:GRAAL_SDK",
             ],
@@ -1187,6 +1189,7 @@ suite = {
                 "GRAALPYTHON",
                 "GRAALPYTHON_RESOURCES",
                 "GRAALPYTHON_EMBEDDING",
+                "GRAALPYTHON_EMBEDDING_TOOLS",
                 "sulong:SULONG_NATIVE", # See MultiContextTest#testSharingWithStruct
                 "sdk:GRAAL_SDK",
             ],